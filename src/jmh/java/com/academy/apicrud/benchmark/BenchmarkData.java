@@ -0,0 +1,58 @@
+package com.academy.apicrud.benchmark;
+
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.response.ResponseDataCrud;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.academy.apicrud.util.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos sintéticos compartidos por los benchmarks, con nombres de longitud realista.
+ */
+final class BenchmarkData {
+
+    private static final String[] NOMBRES = {
+            "Dr. Juan Pérez", "Dra. María González", "Dr. Carlos Rodríguez", "Dra. Ana Martínez",
+            "Dr. Luis Fernández", "Dra. Lucía Sánchez", "Dr. Jorge Ramírez", "Dra. Sofía Torres"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static Medico medico(long id) {
+        return new Medico(id, NOMBRES[(int) (id % NOMBRES.length)] + " " + id, id % 12 + 1);
+    }
+
+    static MedicoDto medicoDto(long id) {
+        return MedicoDto.builder()
+                .id(id)
+                .nombre(NOMBRES[(int) (id % NOMBRES.length)] + " " + id)
+                .especialidadId(id % 12 + 1)
+                .build();
+    }
+
+    static List<MedicoDto> medicoDtos(int size) {
+        List<MedicoDto> medicos = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            medicos.add(medicoDto(i));
+        }
+        return medicos;
+    }
+
+    static ResponseDataCrud<List<MedicoDto>> listResponse(int size) {
+        List<MedicoDto> medicos = medicoDtos(size);
+        return new ResponseDataCrud<>(String.valueOf(Constants.HTTP_OK), Constants.GET, medicos.size(), medicos);
+    }
+
+    static ResponseDataCrud<List<ResponseMedico>> especialidadResponse(int size) {
+        List<ResponseMedico> medicos = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            medicos.add(new ResponseMedico(id, NOMBRES[(int) (id % NOMBRES.length)] + " " + id, id % 12 + 1,
+                    "Especialidad " + (id % 12 + 1)));
+        }
+        return new ResponseDataCrud<>(String.valueOf(Constants.HTTP_OK), Constants.GET, medicos.size(), medicos);
+    }
+}
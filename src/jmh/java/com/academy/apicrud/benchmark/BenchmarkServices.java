@@ -0,0 +1,122 @@
+package com.academy.apicrud.benchmark;
+
+import com.academy.apicrud.model.domain.MedicoChange;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.dto.PageResponseDto;
+import com.academy.apicrud.model.dto.SyncRecordDto;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.academy.apicrud.service.MedicoService;
+import com.academy.apicrud.service.impl.MedicoServiceImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Servicios de médicos para los benchmarks. Es el único punto a editar cuando cambian el constructor de
+ * MedicoServiceImpl o la interfaz MedicoService, y el cambio no compila hasta hacerlo.
+ */
+final class BenchmarkServices {
+
+    private BenchmarkServices() {
+    }
+
+    /**
+     * MedicoServiceImpl sin dependencias, solo para métodos que no las usan (validateSortParameters)
+     */
+    static MedicoServiceImpl medicoServiceWithoutDependencies() {
+        return new MedicoServiceImpl(null, null, null, null, null, null, null, null, null);
+    }
+
+    static MedicoService stubMedicoService() {
+        return new StubMedicoService();
+    }
+
+    /**
+     * Servicio sin base de datos que responde al instante y siempre con los mismos datos: un médico en
+     * las búsquedas por ID y altas/modificaciones, una página de 10 en la consulta paginada, la lista de un
+     * médico en getAllMedicos y vacío en el resto de consultas
+     */
+    static class StubMedicoService implements MedicoService {
+
+        private final MedicoDto medico = BenchmarkData.medicoDto(1L);
+        private final PageResponseDto<MedicoDto> page = PageResponseDto.<MedicoDto>builder()
+                .content(BenchmarkData.medicoDtos(10))
+                .pageNumber(0)
+                .pageSize(10)
+                .first(true)
+                .build();
+
+        @Override
+        public Flux<ResponseMedico> getAllMedicosWithEspecialidad() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<ResponseMedico> getMedicoWithEspecialidadById(Long id) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Flux<MedicoDto> getAllMedicos() {
+            return Flux.fromIterable(List.of(medico));
+        }
+
+        @Override
+        public Flux<MedicoDto> streamMedicos() {
+            return getAllMedicos();
+        }
+
+        @Override
+        public Flux<ResponseMedico> streamMedicosWithEspecialidad() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Flux<ResponseMedico> exportMedicosWithEspecialidad(String nombre, Long especialidadId, Sort sort) {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<MedicoDto> getMedicoById(Long id) {
+            return Mono.just(medico);
+        }
+
+        @Override
+        public Mono<MedicoDto> saveMedico(MedicoDto medicoDto) {
+            return Mono.just(medico);
+        }
+
+        @Override
+        public Mono<MedicoDto> updateMedico(Long id, MedicoDto medicoDto) {
+            return Mono.just(medico);
+        }
+
+        @Override
+        public Mono<Void> deleteMedico(Long id) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<PageResponseDto<MedicoDto>> getMedicosPaginados(String nombre, Long especialidadId, Pageable pageable) {
+            return Mono.just(page);
+        }
+
+        @Override
+        public void validateSortParameters(String sortBy, String sortOrder) {
+        }
+
+        @Override
+        public Flux<MedicoChange> getMedicoChanges(Long lastEventId) {
+            return Flux.empty();
+        }
+
+        @Override
+        public Flux<SyncRecordDto> getChangesSince(LocalDateTime since) {
+            return Flux.empty();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.academy.apicrud.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.academy.apicrud.config.MedicoRouterConfig;
+import com.academy.apicrud.controller.MedicoController;
+import com.academy.apicrud.exception.GlobalExceptionHandler;
+import com.academy.apicrud.handler.GlobalErrorFilter;
+import com.academy.apicrud.handler.MedicoHandler;
+import com.academy.apicrud.util.LogSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU y asignación por petición de {@code MedicoController} frente a las rutas funcionales de
+ * {@code MedicoRouterConfig}, pasando por todo el pipeline de WebFlux (filtros, dispatcher, códecs)
+ * en memoria y con un servicio que responde al instante, para aislar el coste del stack web.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndpointStackBenchmark {
+
+    private static final String BODY = "{\"nombre\":\"Dr. Juan Pérez\",\"especialidadId\":1}";
+
+    @Param({"ANNOTATED", "FUNCTIONAL"})
+    public String stack;
+
+    private AnnotationConfigApplicationContext context;
+    private HttpHandler httpHandler;
+
+    @Setup
+    public void setup() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        context = new AnnotationConfigApplicationContext(
+                "FUNCTIONAL".equals(stack) ? FunctionalStack.class : AnnotatedStack.class);
+        httpHandler = WebHttpHandlerBuilder.applicationContext(context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockServerHttpResponse getById() {
+        return handle(MockServerHttpRequest.get("/api/medicos/1").build());
+    }
+
+    @Benchmark
+    public MockServerHttpResponse page() {
+        return handle(MockServerHttpRequest.get("/api/medicos/page?page=0&size=10&sortBy=nombre&sortOrder=desc").build());
+    }
+
+    @Benchmark
+    public MockServerHttpResponse create() {
+        return handle(MockServerHttpRequest.post("/api/medicos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BODY));
+    }
+
+    private MockServerHttpResponse handle(MockServerHttpRequest request) {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        httpHandler.handle(request, response).block();
+        return response;
+    }
+
+    @Configuration
+    @EnableWebFlux
+    static class AnnotatedStack {
+
+        @Bean
+        public MedicoController medicoController() {
+            return new MedicoController(BenchmarkServices.stubMedicoService(), new LogSampler(100));
+        }
+
+        @Bean
+        public GlobalExceptionHandler globalExceptionHandler() {
+            return new GlobalExceptionHandler();
+        }
+    }
+
+    @Configuration
+    @EnableWebFlux
+    static class FunctionalStack {
+
+        @Bean
+        public RouterFunction<ServerResponse> medicoRoutes() {
+            return new MedicoRouterConfig().medicoRoutes(new MedicoHandler(BenchmarkServices.stubMedicoService(), new LogSampler(100)),
+                    new GlobalErrorFilter(new GlobalExceptionHandler()));
+        }
+    }
+}
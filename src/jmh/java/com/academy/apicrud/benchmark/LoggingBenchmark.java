@@ -0,0 +1,116 @@
+package com.academy.apicrud.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.util.LogSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput del logging de la ruta de petición: appender síncrono frente al asíncrono acotado
+ * de logback-spring.xml, y log INFO por petición frente a DEBUG deshabilitado o INFO muestreado.
+ * Se ejecuta con varios hilos para reflejar la contención del appender síncrono.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+
+    private static final String PAGE_REQUEST = "REST request para obtener médicos paginados: page={}, size={}, sortBy={}, sortOrder={}, nombre={}, especialidadId={}";
+
+    @Param({"SYNC", "ASYNC"})
+    public String appender;
+
+    private LoggerContext context;
+    private Logger log;
+    private Medico medico;
+    private LogSampler logSampler;
+
+    @Setup
+    public void setup() {
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        Appender<ILoggingEvent> rootAppender = console;
+        if ("ASYNC".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(1024);
+            async.setDiscardingThreshold(205);
+            async.setNeverBlock(true);
+            async.addAppender(console);
+            async.start();
+            rootAppender = async;
+        }
+
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(rootAppender);
+        log = context.getLogger("com.academy.apicrud.service.impl.MedicoServiceImpl");
+
+        medico = new Medico(1L, "Dr. Juan Pérez", 1L);
+        logSampler = new LogSampler(100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void infoWithEntity() {
+        log.info("Médico encontrado: {}", medico);
+    }
+
+    @Benchmark
+    public void infoPerRequest() {
+        log.info(PAGE_REQUEST, 0, 10, "id", "asc", null, null);
+    }
+
+    @Benchmark
+    public void debugDisabled() {
+        log.debug("Médico encontrado: {}", medico);
+    }
+
+    @Benchmark
+    public void sampledInfoPerRequest() {
+        if (logSampler.sample(log)) {
+            logSampler.log(log, PAGE_REQUEST, 0, 10, "id", "asc", null, null);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.academy.apicrud.benchmark;
+
+import com.academy.apicrud.mapper.impl.MedicoMapperImpl;
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.response.ResponseMedico;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversiones de {@link MedicoMapperImpl} que se ejecutan por cada fila leída o escrita.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private MedicoMapperImpl mapper;
+    private Medico medico;
+    private MedicoDto medicoDto;
+
+    @Setup
+    public void setup() {
+        mapper = new MedicoMapperImpl();
+        medico = BenchmarkData.medico(42L);
+        medicoDto = BenchmarkData.medicoDto(42L);
+    }
+
+    @Benchmark
+    public MedicoDto toDto() {
+        return mapper.toDto(medico);
+    }
+
+    @Benchmark
+    public Medico toEntity() {
+        return mapper.toEntity(medicoDto);
+    }
+
+    @Benchmark
+    public ResponseMedico toResponseMedico() {
+        return mapper.toResponseMedico(medico, "Cardiología");
+    }
+}
@@ -0,0 +1,112 @@
+package com.academy.apicrud.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.academy.apicrud.exception.GlobalExceptionHandler;
+import com.academy.apicrud.exception.ResourceNotFoundException;
+import com.academy.apicrud.model.response.ResponseDataCrud;
+import com.academy.apicrud.util.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ruta de un id inexistente: {@code findById} vacío, {@code switchIfEmpty(Mono.error(...))} y la respuesta
+ * del handler. Compara la excepción original (traza completa y {@code String.format}) y el handler con
+ * {@code HashMap} y {@code LocalDateTime.now()} frente a la implementación actual.
+ * El profile benchmark añade {@code -prof gc} para comparar también la tasa de asignación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotFoundPathBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private Long id;
+
+    @Setup
+    public void setup() {
+        // Sin configuración Logback registra en DEBUG por consola; en producción el nivel es INFO
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        handler = new GlobalExceptionHandler();
+        id = 987654L;
+    }
+
+    @Benchmark
+    public Object legacyException() {
+        return new LegacyResourceNotFoundException("Médico", "id", id);
+    }
+
+    @Benchmark
+    public Object stacklessException() {
+        return new ResourceNotFoundException("Médico", "id", id);
+    }
+
+    @Benchmark
+    public Object legacyNotFoundPath() {
+        return Mono.empty()
+                .switchIfEmpty(Mono.error(new LegacyResourceNotFoundException("Médico", "id", id)))
+                .onErrorResume(LegacyResourceNotFoundException.class, NotFoundPathBenchmark::legacyResponse)
+                .block();
+    }
+
+    @Benchmark
+    public Object notFoundPath() {
+        return Mono.empty()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)))
+                .onErrorResume(ResourceNotFoundException.class, handler::handleResourceNotFoundException)
+                .block();
+    }
+
+    private static Mono<ResponseEntity<ResponseDataCrud<Map<String, Object>>>> legacyResponse(
+            LegacyResourceNotFoundException ex) {
+        Map<String, Object> details = new HashMap<>();
+        details.put("resourceName", ex.resourceName);
+        details.put("fieldName", ex.fieldName);
+        details.put("fieldValue", ex.fieldValue);
+        details.put("timestamp", LocalDateTime.now());
+
+        ResponseDataCrud<Map<String, Object>> response = new ResponseDataCrud<>(
+                String.valueOf(Constants.HTTP_NOT_FOUND),
+                ex.getMessage(),
+                null,
+                details
+        );
+        return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(response));
+    }
+
+    /**
+     * Copia de la excepción anterior a la jerarquía sin traza, como línea base
+     */
+    static class LegacyResourceNotFoundException extends RuntimeException {
+        private final String resourceName;
+        private final String fieldName;
+        private final Object fieldValue;
+
+        LegacyResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
+            super(String.format("%s no encontrado con %s: '%s'", resourceName, fieldName, fieldValue));
+            this.resourceName = resourceName;
+            this.fieldName = fieldName;
+            this.fieldValue = fieldValue;
+        }
+    }
+}
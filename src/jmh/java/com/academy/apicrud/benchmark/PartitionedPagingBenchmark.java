@@ -0,0 +1,159 @@
+package com.academy.apicrud.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Páginas filtradas por especialidad y sin filtro sobre medico sin particionar frente a medico particionada
+ * por LIST (especialidad_id) como en la migración V5, contra un PostgreSQL local. Las sentencias se preparan
+ * con parámetros enlazados como las de R2DBC, así que tras unas ejecuciones PostgreSQL puede usar el plan
+ * genérico: {@code filteredPageOrPredicate} es la condición de findByNombreAndEspecialidadId, que con plan
+ * genérico no descarta particiones, y {@code filteredPage} la de findByEspecialidadIdAndNombre.
+ * <p>
+ * Las tablas medico_bench_* se crean y pueblan la primera vez (varios minutos con 10M filas) y se reutilizan.
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PartitionedPagingBenchmark -p url=jdbc:postgresql://localhost:5432/apolo_bench"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionedPagingBenchmark {
+
+    private static final int ESPECIALIDADES = 50;
+    private static final int PAGE_SIZE = 10;
+    private static final int PAGES = 100;
+
+    @Param({"PLAIN", "PARTITIONED"})
+    public String layout;
+
+    @Param({"10000000"})
+    public long rows;
+
+    @Param({"jdbc:postgresql://localhost:5432/apolo_bench"})
+    public String url;
+
+    @Param({"postgres"})
+    public String username;
+
+    @Param({"123456"})
+    public String password;
+
+    private Connection connection;
+    private PreparedStatement filteredPage;
+    private PreparedStatement filteredPageOrPredicate;
+    private PreparedStatement unfilteredPage;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(url, username, password);
+        String table = "PLAIN".equals(layout) ? "medico_bench_plain" : "medico_bench_part";
+        seed(table);
+        filteredPage = connection.prepareStatement("SELECT * FROM " + table +
+                " WHERE especialidad_id = ? ORDER BY id ASC LIMIT ? OFFSET ?");
+        filteredPageOrPredicate = connection.prepareStatement("SELECT * FROM " + table +
+                " WHERE (?::bigint IS NULL OR especialidad_id = ?) ORDER BY id ASC LIMIT ? OFFSET ?");
+        unfilteredPage = connection.prepareStatement("SELECT * FROM " + table +
+                " ORDER BY id ASC LIMIT ? OFFSET ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private void seed(String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS medico_bench_seed (name VARCHAR(40) PRIMARY KEY, rows BIGINT NOT NULL)");
+            try (ResultSet rs = statement.executeQuery("SELECT rows FROM medico_bench_seed WHERE name = '" + table + "'")) {
+                if (rs.next() && rs.getLong(1) == rows) {
+                    return;
+                }
+            }
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            if ("medico_bench_plain".equals(table)) {
+                statement.execute("CREATE TABLE " + table + " (id BIGINT NOT NULL, nombre VARCHAR(150) NOT NULL, " +
+                        "especialidad_id BIGINT NOT NULL, updated_at TIMESTAMP NOT NULL, PRIMARY KEY (id))");
+            } else {
+                statement.execute("CREATE TABLE " + table + " (id BIGINT NOT NULL, nombre VARCHAR(150) NOT NULL, " +
+                        "especialidad_id BIGINT NOT NULL, updated_at TIMESTAMP NOT NULL, PRIMARY KEY (id, especialidad_id)) " +
+                        "PARTITION BY LIST (especialidad_id)");
+                statement.execute("CREATE TABLE " + table + "_default PARTITION OF " + table + " DEFAULT");
+                for (int especialidad = 1; especialidad <= ESPECIALIDADES; especialidad++) {
+                    statement.execute("CREATE TABLE " + table + "_" + especialidad + " PARTITION OF " + table +
+                            " FOR VALUES IN (" + especialidad + ")");
+                }
+            }
+            statement.execute("INSERT INTO " + table + " SELECT g, 'Dr. ' || md5(g::text), " +
+                    "1 + floor(power(random(), 3) * " + ESPECIALIDADES + ")::int, now() - random() * interval '365 days' " +
+                    "FROM generate_series(1, " + rows + ") g");
+            statement.execute("CREATE INDEX ON " + table + " (especialidad_id, id)");
+            statement.execute("VACUUM ANALYZE " + table);
+            statement.execute("INSERT INTO medico_bench_seed VALUES ('" + table + "', " + rows + ") " +
+                    "ON CONFLICT (name) DO UPDATE SET rows = EXCLUDED.rows");
+        }
+    }
+
+    private static long especialidad() {
+        return 1 + ThreadLocalRandom.current().nextInt(ESPECIALIDADES);
+    }
+
+    private static long offset() {
+        return (long) ThreadLocalRandom.current().nextInt(PAGES) * PAGE_SIZE;
+    }
+
+    private static long drain(PreparedStatement statement) throws SQLException {
+        long sum = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                sum += rs.getLong(1);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long filteredPage() throws SQLException {
+        filteredPage.setLong(1, especialidad());
+        filteredPage.setInt(2, PAGE_SIZE);
+        filteredPage.setLong(3, offset());
+        return drain(filteredPage);
+    }
+
+    @Benchmark
+    public long filteredPageOrPredicate() throws SQLException {
+        long especialidad = especialidad();
+        filteredPageOrPredicate.setLong(1, especialidad);
+        filteredPageOrPredicate.setLong(2, especialidad);
+        filteredPageOrPredicate.setInt(3, PAGE_SIZE);
+        filteredPageOrPredicate.setLong(4, offset());
+        return drain(filteredPageOrPredicate);
+    }
+
+    @Benchmark
+    public long unfilteredPage() throws SQLException {
+        unfilteredPage.setInt(1, PAGE_SIZE);
+        unfilteredPage.setLong(2, offset());
+        return drain(unfilteredPage);
+    }
+}
@@ -0,0 +1,91 @@
+package com.academy.apicrud.benchmark;
+
+import com.academy.apicrud.json.MedicoJsonModule;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.response.ResponseDataCrud;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de las respuestas de {@code GET /api/medicos} y {@code GET /api/medicos/with-especialidad},
+ * con un ObjectMapper configurado como el de Spring Boot. Se serializa a {@code byte[]}, igual que el encoder
+ * Jackson de WebFlux. Los métodos custom* usan además {@link MedicoJsonModule} y un writer con el tipo de la
+ * respuesta ya resuelto, como la aplicación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private ObjectWriter customListWriter;
+    private ObjectWriter especialidadWriter;
+    private ObjectWriter customEspecialidadWriter;
+    private ResponseDataCrud<List<MedicoDto>> response;
+    private ResponseDataCrud<List<ResponseMedico>> especialidadResponse;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper customMapper = Jackson2ObjectMapperBuilder.json().modules(new MedicoJsonModule()).build();
+        listWriter = listWriter(objectMapper, MedicoDto.class);
+        customListWriter = listWriter(customMapper, MedicoDto.class);
+        especialidadWriter = listWriter(objectMapper, ResponseMedico.class);
+        customEspecialidadWriter = listWriter(customMapper, ResponseMedico.class);
+        response = BenchmarkData.listResponse(size);
+        especialidadResponse = BenchmarkData.especialidadResponse(size);
+    }
+
+    private static ObjectWriter listWriter(ObjectMapper mapper, Class<?> elementType) {
+        return mapper.writerFor(mapper.getTypeFactory().constructParametricType(ResponseDataCrud.class,
+                mapper.getTypeFactory().constructCollectionType(List.class, elementType)));
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] typedWriter() throws Exception {
+        return listWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] customSerializers() throws Exception {
+        return customListWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] especialidadTypedWriter() throws Exception {
+        return especialidadWriter.writeValueAsBytes(especialidadResponse);
+    }
+
+    @Benchmark
+    public byte[] especialidadCustomSerializers() throws Exception {
+        return customEspecialidadWriter.writeValueAsBytes(especialidadResponse);
+    }
+}
@@ -0,0 +1,51 @@
+package com.academy.apicrud.benchmark;
+
+import com.academy.apicrud.service.impl.MedicoServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code validateSortParameters}, invocado en cada {@code GET /api/medicos/page}, con parámetros
+ * válidos y con un campo de ordenamiento inválido (ruta de error 400).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortValidationBenchmark {
+
+    private MedicoServiceImpl medicoService;
+
+    @Setup
+    public void setup() {
+        // validateSortParameters no usa repositorios ni mapper
+        medicoService = BenchmarkServices.medicoServiceWithoutDependencies();
+    }
+
+    @Benchmark
+    public void validParameters() {
+        medicoService.validateSortParameters("nombre", "DESC");
+    }
+
+    @Benchmark
+    public Object invalidSortField() {
+        try {
+            medicoService.validateSortParameters("apellido", "asc");
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
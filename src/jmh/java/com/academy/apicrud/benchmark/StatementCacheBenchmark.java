@@ -0,0 +1,105 @@
+package com.academy.apicrud.benchmark;
+
+import com.academy.apicrud.repository.MedicoRepository;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.r2dbc.repository.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de findMedicoWithEspecialidadById por una conexión r2dbc-postgresql con la cache de sentencias
+ * preparadas deshabilitada (Parse, Bind y Execute en cada ejecución) y con la cache de
+ * {@code app.r2dbc.postgresql.prepared-statement-cache-queries} (solo Bind y Execute), contra un PostgreSQL
+ * local. El texto es el del {@code @Query} del repositorio con el marcador que genera Spring Data.
+ * Crea y puebla especialidad y medico si no existen.
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="StatementCacheBenchmark -p url=r2dbc:postgresql://localhost:5432/apolo_bench"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatementCacheBenchmark {
+
+    private static final int MEDICOS = 10_000;
+
+    @Param({"0", "256"})
+    public int preparedStatementCacheQueries;
+
+    @Param({"r2dbc:postgresql://localhost:5432/apolo_bench"})
+    public String url;
+
+    @Param({"postgres"})
+    public String username;
+
+    @Param({"123456"})
+    public String password;
+
+    private Connection connection;
+    private String query;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        query = MedicoRepository.class.getMethod("findMedicoWithEspecialidadById", Long.class)
+                .getAnnotation(Query.class).value()
+                .replace(":id", "$1");
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .option(PostgresqlConnectionFactoryProvider.PREPARED_STATEMENT_CACHE_QUERIES, preparedStatementCacheQueries)
+                .build();
+        connection = Mono.from(ConnectionFactories.get(options).create()).block();
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Mono.from(connection.close()).block();
+    }
+
+    private void seed() {
+        execute("CREATE TABLE IF NOT EXISTS especialidad (id BIGSERIAL PRIMARY KEY, nombre VARCHAR(100) NOT NULL)");
+        execute("CREATE TABLE IF NOT EXISTS medico (id BIGSERIAL PRIMARY KEY, nombre VARCHAR(150) NOT NULL, " +
+                "especialidad_id BIGINT NOT NULL REFERENCES especialidad (id))");
+        execute("INSERT INTO especialidad (nombre) SELECT 'Especialidad ' || g FROM generate_series(1, 50) g " +
+                "WHERE NOT EXISTS (SELECT 1 FROM especialidad)");
+        execute("INSERT INTO medico (nombre, especialidad_id) SELECT 'Dr. ' || g, " +
+                "(SELECT min(id) FROM especialidad) + g % 50 FROM generate_series(1, " + MEDICOS + ") g " +
+                "WHERE NOT EXISTS (SELECT 1 FROM medico)");
+        execute("ANALYZE especialidad");
+        execute("ANALYZE medico");
+    }
+
+    private void execute(String sql) {
+        Flux.from(connection.createStatement(sql).execute())
+                .flatMap(result -> result.getRowsUpdated())
+                .blockLast();
+    }
+
+    @Benchmark
+    public Object findMedicoWithEspecialidadById() {
+        long id = 1 + ThreadLocalRandom.current().nextInt(MEDICOS);
+        return Flux.from(connection.createStatement(query).bind("$1", id).execute())
+                .flatMap(result -> result.map((row, metadata) -> row.get("nombreEspecialidad", String.class)))
+                .blockLast();
+    }
+}
@@ -2,12 +2,30 @@ package com.academy.apicrud;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.NativeDetector;
 
 @SpringBootApplication
 public class CrudApplication {
 
+	// Pasos del arranque que se conservan para /actuator/startup; el resto se descarta
+	private static final int STARTUP_STEPS = 2048;
+
+	// Perfil de application.yml con la configuración que solo necesita la imagen nativa
+	private static final String NATIVE_PROFILE = "native";
+
 	public static void main(String[] args) {
-		SpringApplication.run(CrudApplication.class, args);
+		SpringApplication application = new SpringApplication(CrudApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		if (NativeDetector.inNativeImage()) {
+			application.setAdditionalProfiles(NATIVE_PROFILE);
+		}
+		ConfigurableApplicationContext context = application.run(args);
+		// Ejecución de entrenamiento del perfil cds de Maven: se cierra al terminar de arrancar y la JVM vuelca el archivo CDS
+		if (context.getEnvironment().getProperty("app.startup.exit-after-start", Boolean.class, false)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
@@ -0,0 +1,177 @@
+package com.academy.apicrud.admission;
+
+import com.academy.apicrud.config.AdmissionControlProperties;
+import com.academy.apicrud.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Control de admisión: cada petición de las rutas incluidas necesita un permiso del limitador de
+ * su grupo (lecturas o escrituras) antes de entrar en la cadena. Sin permiso disponible espera en
+ * una cola acotada; si la cola está llena o vence la espera responde 503 con {@code Retry-After}
+ * sin llegar a tocar la base de datos.
+ * <p>
+ * Las respuestas de streaming (NDJSON, SSE) comparten ruta con sus versiones JSON y solo se distinguen por el
+ * tipo de contenido. Su permiso se devuelve al comprometer la respuesta: cubre la consulta hasta la primera
+ * fila, no la conexión completa, y la latencia que ve el modo ADAPTIVE es la de ese primer tramo.
+ * <p>
+ * Un stream por cursor retiene una conexión del pool R2DBC mientras el cliente siga leyendo. Las peticiones a
+ * las rutas de streaming (CSV, sincronización) o que piden un tipo de streaming en {@code Accept} necesitan
+ * además un permiso del limitador de streams, de límite fijo y por debajo del tamaño del pool, que se conserva
+ * hasta que el stream termina o el cliente se desconecta.
+ */
+@Slf4j
+public class AdmissionControlFilter implements WebFilter, Ordered {
+
+    private static final byte[] REJECTED_BODY = ("{\"code\":\"" + Constants.HTTP_SERVICE_UNAVAILABLE
+            + "\",\"message\":\"" + Constants.SERVICIO_SATURADO + "\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final AdmissionLimiter readLimiter;
+    private final AdmissionLimiter writeLimiter;
+    private final AdmissionLimiter streamLimiter;
+    private final List<PathPattern> includePaths;
+    private final List<PathPattern> excludePaths;
+    private final List<PathPattern> streamPaths;
+    private final List<MediaType> streamingMediaTypes;
+    private final String retryAfter;
+
+    public AdmissionControlFilter(AdmissionLimiter readLimiter, AdmissionLimiter writeLimiter,
+                                  AdmissionLimiter streamLimiter, AdmissionControlProperties properties) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.streamLimiter = streamLimiter;
+        this.includePaths = parse(properties.getIncludePaths());
+        this.excludePaths = parse(properties.getExcludePaths());
+        this.streamPaths = parse(properties.getStreamPaths());
+        this.streamingMediaTypes = MediaType.parseMediaTypes(Arrays.asList(properties.getStreamingMediaTypes()));
+        this.retryAfter = String.valueOf(Math.max(1, properties.getRetryAfter().getSeconds()));
+    }
+
+    @Override
+    public int getOrder() {
+        // Antes que cualquier otro filtro: una petición rechazada no debe consumir más trabajo
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!isIncluded(exchange)) {
+            return chain.filter(exchange);
+        }
+        if (!isStreamRequest(exchange)) {
+            return admit(exchange, chain, false);
+        }
+
+        return streamLimiter.acquire()
+                .flatMap(stream -> {
+                    if (!stream.isAdmitted()) {
+                        return reject(exchange, streamLimiter);
+                    }
+                    return admit(exchange, chain, true)
+                            .doFinally(signal -> stream.release());
+                });
+    }
+
+    private Mono<Void> admit(ServerWebExchange exchange, WebFilterChain chain, boolean streamRequest) {
+        AdmissionLimiter limiter = isRead(exchange.getRequest().getMethod()) ? readLimiter : writeLimiter;
+        return limiter.acquire()
+                .flatMap(permit -> {
+                    if (!permit.isAdmitted()) {
+                        return reject(exchange, limiter);
+                    }
+                    exchange.getResponse().beforeCommit(() -> {
+                        if (streamRequest || isStreaming(exchange.getResponse())) {
+                            permit.release();
+                        }
+                        return Mono.empty();
+                    });
+                    return chain.filter(exchange)
+                            .doFinally(signal -> permit.release());
+                });
+    }
+
+    private static List<PathPattern> parse(String[] patterns) {
+        return Arrays.stream(patterns)
+                .map(PathPatternParser.defaultInstance::parse)
+                .collect(Collectors.toList());
+    }
+
+    private boolean isIncluded(ServerWebExchange exchange) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        return matchesAny(includePaths, path) && !matchesAny(excludePaths, path);
+    }
+
+    private static boolean matchesAny(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Solo tipos concretos: un {@code Accept: *}{@code /*} recibe la versión JSON, no el stream
+     */
+    private boolean isStreamRequest(ServerWebExchange exchange) {
+        if (matchesAny(streamPaths, exchange.getRequest().getPath().pathWithinApplication())) {
+            return true;
+        }
+        for (MediaType accept : exchange.getRequest().getHeaders().getAccept()) {
+            for (MediaType streaming : streamingMediaTypes) {
+                if (streaming.includes(accept)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isStreaming(ServerHttpResponse response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        for (MediaType streaming : streamingMediaTypes) {
+            if (streaming.isCompatibleWith(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRead(HttpMethod method) {
+        return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, AdmissionLimiter limiter) {
+        if (log.isDebugEnabled()) {
+            log.debug("Petición rechazada por control de admisión ({}): {} {}", limiter.getGroup(),
+                    exchange.getRequest().getMethod(), exchange.getRequest().getPath());
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory().wrap(REJECTED_BODY);
+        return response.writeWith(Mono.just(body));
+    }
+}
@@ -0,0 +1,332 @@
+package com.academy.apicrud.admission;
+
+import com.academy.apicrud.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de peticiones concurrentes de un grupo de rutas con una cola acotada de espera.
+ * En modo adaptativo aplica AIMD: cada respuesta por debajo del umbral de latencia suma
+ * {@code 1/límite} (un permiso más por cada "ronda" completa) y cada respuesta lenta multiplica
+ * el límite por {@code backoffRatio}, una sola vez por ventana: las respuestas lentas de peticiones que ya
+ * estaban en curso al reducirlo no lo reducen otra vez.
+ * <p>
+ * Los permisos se conceden fuera del candado: el permiso se entrega de forma síncrona y el
+ * suscriptor puede empezar a procesar la petición en el mismo hilo. Un permiso que no llega a su
+ * suscriptor (cancelado mientras se concedía) se devuelve sin contar como muestra de latencia: Reactor lo
+ * descarta o, si la cancelación llega a mitad de la entrega, lo tira con onNextDropped, así que tras emitirlo
+ * se comprueba si llegó.
+ * Las concesiones pasan por un bucle de drenado: si el suscriptor termina y libera en el mismo hilo, el
+ * siguiente permiso lo entrega el bucle en curso en lugar de una llamada anidada, y una cola larga de
+ * peticiones síncronas no desborda la pila.
+ */
+public class AdmissionLimiter {
+
+    private static final Permit REJECTED = new Permit(null, 0);
+
+    private final String group;
+    private final boolean adaptive;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final long queueTimeoutNanos;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final Scheduler timer;
+
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private final Queue<Waiter> granting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger grantWip = new AtomicInteger();
+    private double limit;
+    private int inFlight;
+    private long lastBackoffNanos;
+
+    private final Counter admitted;
+    private final Counter queued;
+    private final Counter rejected;
+
+    public AdmissionLimiter(String group, AdmissionControlProperties.Group config, AdmissionControlProperties properties,
+                            MeterRegistry meterRegistry, Scheduler timer) {
+        this(group, config, properties.getMode() == AdmissionControlProperties.Mode.ADAPTIVE, properties,
+                meterRegistry, timer);
+    }
+
+    /**
+     * Con {@code adaptive} a false el límite queda fijo sea cual sea el modo configurado
+     */
+    public AdmissionLimiter(String group, AdmissionControlProperties.Group config, boolean adaptive,
+                            AdmissionControlProperties properties, MeterRegistry meterRegistry, Scheduler timer) {
+        this.group = group;
+        this.adaptive = adaptive;
+        this.minLimit = Math.max(1, config.getMinLimit());
+        this.maxLimit = Math.max(config.getLimit(), config.getMaxLimit());
+        this.queueSize = config.getQueueSize();
+        this.queueTimeoutNanos = config.getQueueTimeout().toNanos();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.timer = timer;
+        this.limit = Math.max(1, config.getLimit());
+        this.lastBackoffNanos = System.nanoTime();
+
+        this.admitted = outcomeCounter(meterRegistry, "admitted");
+        this.queued = outcomeCounter(meterRegistry, "queued");
+        this.rejected = outcomeCounter(meterRegistry, "rejected");
+        Gauge.builder("http.admission.in.flight", this, AdmissionLimiter::getInFlight)
+                .description("Peticiones en ejecución")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("http.admission.queued", this, AdmissionLimiter::getQueued)
+                .description("Peticiones esperando un permiso")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("http.admission.limit", this, AdmissionLimiter::getLimit)
+                .description("Límite de concurrencia actual")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+
+    private Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("http.admission.requests")
+                .description("Decisiones del control de admisión")
+                .tag("group", group)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Emite un permiso admitido, de inmediato o tras esperar en la cola, o uno rechazado si la
+     * cola está llena o vence el tiempo de espera.
+     */
+    public Mono<Permit> acquire() {
+        return Mono.<Permit>create(sink -> {
+            Waiter waiter = null;
+            boolean admit = false;
+            synchronized (this) {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    admit = true;
+                } else if (waiters.size() < queueSize) {
+                    waiter = new Waiter(sink);
+                    waiters.addLast(waiter);
+                }
+            }
+
+            if (admit) {
+                admitted.increment();
+                emit(sink);
+            } else if (waiter == null) {
+                rejected.increment();
+                sink.success(REJECTED);
+            } else {
+                queued.increment();
+                Waiter queuedWaiter = waiter;
+                queuedWaiter.timeout = timer.schedule(() -> expire(queuedWaiter), queueTimeoutNanos, TimeUnit.NANOSECONDS);
+                sink.onCancel(() -> cancel(queuedWaiter));
+            }
+        })
+                .doOnNext(Permit::delivered)
+                // Permiso emitido a un suscriptor ya cancelado: Reactor lo descarta en lugar de entregarlo
+                .doOnDiscard(Permit.class, Permit::discard);
+    }
+
+    private void emit(MonoSink<Permit> sink) {
+        Permit permit = new Permit(this, System.nanoTime());
+        sink.success(permit);
+        // Con la petición ya hecha la entrega es síncrona: si no llegó, el suscriptor canceló a la vez
+        permit.discardIfUndelivered();
+    }
+
+    void release(long startNanos, long endNanos) {
+        List<Waiter> granted;
+        synchronized (this) {
+            inFlight--;
+            if (adaptive) {
+                adapt(startNanos, endNanos);
+            }
+            granted = grantWaiters();
+        }
+        grant(granted);
+    }
+
+    /**
+     * Devuelve un permiso que no llegó a usarse, sin ajustar el límite
+     */
+    private void unused() {
+        List<Waiter> granted;
+        synchronized (this) {
+            inFlight--;
+            granted = grantWaiters();
+        }
+        grant(granted);
+    }
+
+    private void adapt(long startNanos, long endNanos) {
+        if (endNanos - startNanos <= latencyThresholdNanos) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        } else if (startNanos - lastBackoffNanos >= 0) {
+            // Solo peticiones iniciadas tras la última reducción: las anteriores ya se midieron con el límite alto
+            limit = Math.max(minLimit, limit * backoffRatio);
+            lastBackoffNanos = endNanos;
+        }
+    }
+
+    private List<Waiter> grantWaiters() {
+        List<Waiter> granted = null;
+        while (inFlight < (int) limit && !waiters.isEmpty()) {
+            if (granted == null) {
+                granted = new ArrayList<>(2);
+            }
+            inFlight++;
+            granted.add(waiters.pollFirst());
+        }
+        return granted == null ? List.of() : granted;
+    }
+
+    private void grant(List<Waiter> granted) {
+        if (granted.isEmpty()) {
+            return;
+        }
+        granting.addAll(granted);
+        if (grantWip.getAndIncrement() != 0) {
+            // Otro hilo, o este mismo más arriba en la pila, ya está entregando permisos
+            return;
+        }
+        int missed = 1;
+        do {
+            Waiter waiter;
+            while ((waiter = granting.poll()) != null) {
+                waiter.cancelTimeout();
+                if (waiter.grant()) {
+                    admitted.increment();
+                    emit(waiter.sink);
+                } else {
+                    // Cancelada entre salir de la cola y recibir el permiso
+                    unused();
+                }
+            }
+            missed = grantWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void expire(Waiter waiter) {
+        synchronized (this) {
+            if (!waiters.remove(waiter)) {
+                return;
+            }
+        }
+        rejected.increment();
+        waiter.sink.success(REJECTED);
+    }
+
+    private void cancel(Waiter waiter) {
+        if (!waiter.cancel()) {
+            return;
+        }
+        synchronized (this) {
+            // Si ya no está en la cola, grant() verá la cancelación y devolverá el permiso
+            waiters.remove(waiter);
+        }
+        waiter.cancelTimeout();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return waiters.size();
+    }
+
+    public synchronized double getLimit() {
+        return limit;
+    }
+
+    private static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile Disposable timeout;
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        private boolean grant() {
+            return state.compareAndSet(WAITING, GRANTED);
+        }
+
+        private boolean cancel() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+
+        private void cancelTimeout() {
+            Disposable scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.dispose();
+            }
+        }
+    }
+
+    /**
+     * Permiso de ejecución; debe liberarse una sola vez al terminar la petición
+     */
+    public static final class Permit {
+
+        private final AdmissionLimiter limiter;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean delivered;
+
+        private Permit(AdmissionLimiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+
+        public boolean isAdmitted() {
+            return limiter != null;
+        }
+
+        public void release() {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release(startNanos, System.nanoTime());
+            }
+        }
+
+        private void discard() {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.unused();
+            }
+        }
+
+        private void delivered() {
+            delivered = true;
+        }
+
+        private void discardIfUndelivered() {
+            if (!delivered) {
+                discard();
+            }
+        }
+    }
+}
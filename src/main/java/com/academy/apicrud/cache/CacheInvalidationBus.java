@@ -0,0 +1,125 @@
+package com.academy.apicrud.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Propaga las escrituras a las caches locales del resto de instancias.
+ * <p>
+ * Cada escritura envía {@code pg_notify(canal, "entidad:id:instancia")} por la conexión de la propia
+ * escritura: dentro de una transacción PostgreSQL solo entrega la notificación tras el commit y la
+ * descarta en un rollback. {@link PostgresNotificationListener} recibe las notificaciones y llama a
+ * {@link #onNotification(String)}, que ejecuta los handlers registrados para la entidad. Las
+ * notificaciones de la propia instancia se ignoran: el servicio ya invalidó sus caches. Solo hay caches
+ * locales de médicos; las especialidades se leen siempre de la base de datos y no se notifican.
+ */
+@Slf4j
+public class CacheInvalidationBus {
+
+    public static final String MEDICO = "medico";
+
+    private static final String ALL = "*";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final String channel;
+    private final DatabaseClient databaseClient;
+    private final Map<String, List<Consumer<Long>>> handlers = new ConcurrentHashMap<>();
+
+    private final Counter sent;
+    private final Counter received;
+
+    /**
+     * @param databaseClient null si las notificaciones están deshabilitadas
+     */
+    public CacheInvalidationBus(String channel, DatabaseClient databaseClient, MeterRegistry meterRegistry) {
+        this.channel = channel;
+        this.databaseClient = databaseClient;
+        this.sent = invalidationCounter(meterRegistry, "sent");
+        this.received = invalidationCounter(meterRegistry, "received");
+    }
+
+    private static Counter invalidationCounter(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("cache.invalidation")
+                .description("Notificaciones de invalidación de caches entre instancias")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra un handler de invalidación; recibe el id modificado o null para descartar todo
+     */
+    public void register(String entity, Consumer<Long> handler) {
+        handlers.computeIfAbsent(entity, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Notifica una escritura al resto de instancias. Un fallo se registra y no afecta a la escritura
+     */
+    public Mono<Void> publish(String entity, Long id) {
+        if (databaseClient == null) {
+            return Mono.empty();
+        }
+        String payload = entity + ':' + (id == null ? ALL : id.toString()) + ':' + nodeId;
+        return databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                .bind("channel", channel)
+                .bind("payload", payload)
+                .then()
+                .doOnSuccess(v -> sent.increment())
+                .onErrorResume(error -> {
+                    log.warn("No se pudo notificar la invalidación {}: {}", payload, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public void onNotification(String payload) {
+        String[] parts = payload == null ? new String[0] : payload.split(":", 3);
+        if (parts.length != 3) {
+            log.warn("Notificación de invalidación con formato inválido: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[2])) {
+            return;
+        }
+        received.increment();
+        Long id;
+        try {
+            id = ALL.equals(parts[1]) ? null : Long.valueOf(parts[1]);
+        } catch (NumberFormatException e) {
+            log.warn("Notificación de invalidación con id inválido: {}", payload);
+            return;
+        }
+        invalidate(parts[0], id);
+    }
+
+    /**
+     * Descarta todas las caches registradas. Se llama al (re)abrir la conexión de LISTEN porque las
+     * notificaciones enviadas mientras estaba cerrada se han perdido
+     */
+    public void invalidateAll() {
+        handlers.keySet().forEach(entity -> invalidate(entity, null));
+    }
+
+    private void invalidate(String entity, Long id) {
+        for (Consumer<Long> handler : handlers.getOrDefault(entity, List.of())) {
+            try {
+                handler.accept(id);
+            } catch (RuntimeException e) {
+                log.error("Error al invalidar la cache de {}: {}", entity, e.getMessage());
+            }
+        }
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+}
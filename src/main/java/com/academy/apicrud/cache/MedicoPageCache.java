@@ -0,0 +1,183 @@
+package com.academy.apicrud.cache;
+
+import com.academy.apicrud.config.PageCacheProperties;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.dto.PageResponseDto;
+import com.academy.apicrud.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache de páginas de médicos con semántica stale-while-revalidate:
+ * <ul>
+ *     <li>dentro del TTL la página se sirve desde memoria;</li>
+ *     <li>entre el TTL y TTL + staleWhileRevalidate se sirve la copia anterior y se lanza un único
+ *     refresco en segundo plano;</li>
+ *     <li>después la entrada expira y la siguiente petición consulta la base de datos. Las peticiones
+ *     concurrentes de una misma página comparten una sola consulta.</li>
+ * </ul>
+ * El tamaño se acota por una estimación de bytes por página. Cualquier escritura de médicos
+ * incrementa la generación y vacía la cache; una consulta iniciada antes de la escritura no llega a
+ * guardarse como vigente.
+ */
+@Slf4j
+public class MedicoPageCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Ticker ticker;
+    private final AsyncCache<PageKey, Entry> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final ConcurrentHashMap<PageKey, Boolean> refreshing = new ConcurrentHashMap<>();
+
+    private final Counter staleServed;
+    private final Counter refreshSuccess;
+    private final Counter refreshError;
+
+    public MedicoPageCache(PageCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    MedicoPageCache(PageCacheProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.enabled = properties.isEnabled();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.ticker = ticker;
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((PageKey key, Entry entry) -> key.estimatedBytes() + entry.bytes)
+                .expireAfterWrite(properties.getTtl().plus(properties.getStaleWhileRevalidate()).toNanos(), TimeUnit.NANOSECONDS)
+                .ticker(ticker)
+                .recordStats()
+                .<PageKey, Entry>buildAsync(), "medicoPage");
+
+        this.staleServed = Counter.builder("cache.stale.served")
+                .description("Respuestas servidas desde una entrada vencida mientras se refresca")
+                .tag("cache", "medicoPage")
+                .register(meterRegistry);
+        this.refreshSuccess = refreshCounter(meterRegistry, "success");
+        this.refreshError = refreshCounter(meterRegistry, "error");
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cache.refresh")
+                .description("Refrescos en segundo plano de entradas vencidas")
+                .tag("cache", "medicoPage")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve la página de la cache o la obtiene con {@code loader}, que solo se suscribe en un fallo
+     * o en el refresco en segundo plano
+     */
+    public Mono<PageResponseDto<MedicoDto>> get(PageKey key, Supplier<Mono<PageResponseDto<MedicoDto>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CompletableFuture<Entry> cached = cache.getIfPresent(key);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            Entry entry = cached.join();
+            if (entry.generation == generation.get()) {
+                if (ticker.read() - entry.loadedAt >= ttlNanos) {
+                    staleServed.increment();
+                    refresh(key, loader);
+                }
+                return Mono.just(entry.page);
+            }
+            cache.asMap().remove(key, cached);
+        }
+
+        long currentGeneration = generation.get();
+        CompletableFuture<Entry> future = cache.get(key, (k, executor) -> load(loader, currentGeneration));
+        // thenApply: cancelar la petición no cancela la consulta que comparten otras peticiones
+        return Mono.fromFuture(future.thenApply(entry -> entry == null ? null : entry.page));
+    }
+
+    private void refresh(PageKey key, Supplier<Mono<PageResponseDto<MedicoDto>>> loader) {
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        long currentGeneration = generation.get();
+        load(loader, currentGeneration).whenComplete((entry, error) -> {
+            refreshing.remove(key);
+            if (error != null) {
+                refreshError.increment();
+                log.warn("Error al refrescar la página en cache {}: {}", key, error.getMessage());
+            } else {
+                refreshSuccess.increment();
+                if (entry.generation == generation.get()) {
+                    cache.put(key, CompletableFuture.completedFuture(entry));
+                }
+            }
+        });
+    }
+
+    private CompletableFuture<Entry> load(Supplier<Mono<PageResponseDto<MedicoDto>>> loader, long loadGeneration) {
+        return loader.get()
+                .map(page -> new Entry(page, loadGeneration, ticker.read()))
+                .toFuture();
+    }
+
+    /**
+     * Descarta todas las páginas. Se llama tras cualquier alta, modificación o baja de médicos
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Invalida ya y, si hay una transacción activa, de nuevo tras el commit: una consulta concurrente
+     * a la escritura podría haber leído los datos anteriores al commit
+     */
+    public Mono<Void> invalidateAfterCommit() {
+        return Mono.defer(() -> {
+            invalidateAll();
+            return AfterCommit.run(this::invalidateAll);
+        });
+    }
+
+    long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    private static final class Entry {
+        private final PageResponseDto<MedicoDto> page;
+        private final long generation;
+        private final long loadedAt;
+        private final int bytes;
+
+        private Entry(PageResponseDto<MedicoDto> page, long generation, long loadedAt) {
+            this.page = page;
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+            this.bytes = estimateBytes(page);
+        }
+
+        /**
+         * Aproximación de la huella en memoria: cabeceras de objeto, Long y String por médico
+         */
+        private static int estimateBytes(PageResponseDto<MedicoDto> page) {
+            int bytes = 64;
+            if (page.getContent() != null) {
+                for (MedicoDto medico : page.getContent()) {
+                    bytes += 96 + (medico.getNombre() == null ? 0 : medico.getNombre().length() * 2);
+                }
+            }
+            return bytes;
+        }
+    }
+}
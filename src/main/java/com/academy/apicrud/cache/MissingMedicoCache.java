@@ -0,0 +1,75 @@
+package com.academy.apicrud.cache;
+
+import com.academy.apicrud.config.MissingMedicoCacheProperties;
+import com.academy.apicrud.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ids de médicos que la base de datos ha confirmado como inexistentes. Durante el TTL una búsqueda
+ * de esos ids se responde como no encontrada sin consultar la base de datos.
+ * <p>
+ * Solo una búsqueda por la tabla medico marca un id: la consulta con especialidad usa un INNER JOIN y
+ * no distingue un médico inexistente de uno sin especialidad. Un alta retira el id generado y una baja
+ * lo añade tras el commit. El hit rate se publica como {@code cache.gets{cache=medicoMissing}}.
+ */
+public class MissingMedicoCache {
+
+    private final boolean enabled;
+    private final Cache<Long, Boolean> cache;
+
+    public MissingMedicoCache(MissingMedicoCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    MissingMedicoCache(MissingMedicoCacheProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.enabled = properties.isEnabled();
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl().toNanos(), TimeUnit.NANOSECONDS)
+                .ticker(ticker)
+                .recordStats()
+                .<Long, Boolean>build(), "medicoMissing");
+    }
+
+    /**
+     * true si el id se consultó hace menos del TTL y no existía
+     */
+    public boolean isMissing(Long id) {
+        return enabled && cache.getIfPresent(id) != null;
+    }
+
+    public void markMissing(Long id) {
+        if (enabled) {
+            cache.put(id, Boolean.TRUE);
+        }
+    }
+
+    public void markPresent(Long id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Retira el id ya y de nuevo tras el commit: una búsqueda concurrente al alta podría volver a
+     * marcarlo antes de que el registro sea visible
+     */
+    public Mono<Void> markPresentAfterCommit(Long id) {
+        return Mono.defer(() -> {
+            markPresent(id);
+            return AfterCommit.run(() -> markPresent(id));
+        });
+    }
+
+    /**
+     * Marca el id solo si la baja llega a confirmarse
+     */
+    public Mono<Void> markMissingAfterCommit(Long id) {
+        return Mono.defer(() -> AfterCommit.run(() -> markMissing(id)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.academy.apicrud.cache;
+
+import lombok.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Clave normalizada de una consulta paginada: un nombre vacío equivale a sin filtro y el orden
+ * se guarda como propiedad y dirección, igual que lo interpreta {@code MedicoServiceImpl}.
+ */
+@Value
+public class PageKey {
+
+    String nombre;
+    Long especialidadId;
+    int page;
+    int size;
+    String sortBy;
+    boolean ascending;
+
+    public static PageKey of(String nombre, Long especialidadId, Pageable pageable) {
+        Sort.Order order = pageable.getSort().isEmpty() ? null : pageable.getSort().iterator().next();
+        return new PageKey(
+                nombre == null || nombre.isEmpty() ? null : nombre,
+                especialidadId,
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                order == null ? "id" : order.getProperty(),
+                order == null || order.isAscending());
+    }
+
+    int estimatedBytes() {
+        return 64 + (nombre == null ? 0 : 40 + nombre.length() * 2);
+    }
+}
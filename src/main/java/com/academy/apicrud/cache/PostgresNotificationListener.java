@@ -0,0 +1,78 @@
+package com.academy.apicrud.cache;
+
+import com.academy.apicrud.config.CacheInvalidationProperties;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Mantiene una conexión dedicada, fuera del pool, con {@code LISTEN} sobre el canal de invalidación
+ * y entrega cada notificación a {@link CacheInvalidationBus}. Si la conexión se cae o el servidor la cierra
+ * se reabre con backoff exponencial y, como las notificaciones intermedias se pierden, se descartan todas las caches.
+ */
+@Slf4j
+public class PostgresNotificationListener implements SmartLifecycle {
+
+    private final ConnectionFactory listenConnectionFactory;
+    private final CacheInvalidationBus bus;
+    private final CacheInvalidationProperties properties;
+
+    private volatile Disposable subscription;
+
+    public PostgresNotificationListener(ConnectionFactory listenConnectionFactory, CacheInvalidationBus bus,
+                                        CacheInvalidationProperties properties) {
+        this.listenConnectionFactory = listenConnectionFactory;
+        this.bus = bus;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        subscription = Flux.defer(this::listen)
+                // El servidor cierra la conexión sin error (reinicio, failover, pg_terminate_backend): se trata
+                // como un error para reabrirla con el mismo backoff y no en un bucle sin espera
+                .concatWith(Mono.error(() -> new IllegalStateException("conexión cerrada por el servidor")))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.getMinReconnectBackoff())
+                        .maxBackoff(properties.getMaxReconnectBackoff())
+                        // Una conexión que llegó a recibir notificaciones reinicia la espera
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Conexión de LISTEN perdida, reintentando: {}",
+                                signal.failure().getMessage())))
+                .subscribe(notification -> bus.onNotification(notification.getParameter()));
+    }
+
+    private Flux<Notification> listen() {
+        return Mono.from(listenConnectionFactory.create())
+                .cast(PostgresqlConnection.class)
+                .flatMapMany(connection -> connection.createStatement("LISTEN " + properties.getChannel())
+                        .execute()
+                        .flatMap(PostgresqlResult::getRowsUpdated)
+                        .then(Mono.fromRunnable(() -> {
+                            log.info("Escuchando invalidaciones de cache en el canal {}", properties.getChannel());
+                            bus.invalidateAll();
+                        }))
+                        .thenMany(connection.getNotifications())
+                        .doFinally(signal -> Mono.from(connection.close()).subscribe()));
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+}
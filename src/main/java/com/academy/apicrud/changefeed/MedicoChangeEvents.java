@@ -0,0 +1,68 @@
+package com.academy.apicrud.changefeed;
+
+import com.academy.apicrud.model.domain.MedicoChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * Conversión del feed de cambios a Server-Sent Events, compartida por {@code MedicoController}
+ * y {@code MedicoHandler}.
+ */
+@Slf4j
+public final class MedicoChangeEvents {
+
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1);
+
+    private MedicoChangeEvents() {
+    }
+
+    /**
+     * Un evento por cambio con el id de medico_change como id SSE y la operación como tipo. Se intercala
+     * un comentario periódico para mantener viva la conexión. Con la respuesta ya iniciada un error no
+     * puede convertirse en un código HTTP: se completa el stream y el cliente reconecta enviando el
+     * último id recibido, tanto si era un suscriptor lento como si falló la lectura de medico_change
+     */
+    public static Flux<ServerSentEvent<MedicoChange>> toServerSentEvents(Flux<MedicoChange> changes) {
+        Flux<ServerSentEvent<MedicoChange>> events = changes
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(String.valueOf(change.getId()))
+                        .event(change.getOperation().name())
+                        .build())
+                .onErrorResume(error -> {
+                    if (error instanceof SlowConsumerException) {
+                        log.info("Suscriptor del feed de cambios desconectado: {}", error.getMessage());
+                    } else {
+                        log.warn("Error en el feed de cambios de médicos: {}", error.getMessage());
+                    }
+                    return Flux.empty();
+                });
+        ServerSentEvent<MedicoChange> connected = ServerSentEvent.<MedicoChange>builder()
+                .comment("conectado")
+                .retry(RECONNECT_DELAY)
+                .build();
+        return Flux.just(connected).concatWith(events.publish(shared -> Flux.merge(shared,
+                Flux.interval(HEARTBEAT)
+                        .map(tick -> ServerSentEvent.<MedicoChange>builder().comment("heartbeat").build())
+                        .takeUntilOther(shared.then()))));
+    }
+
+    /**
+     * Id del último evento recibido por el cliente; un valor no numérico se ignora
+     */
+    public static Long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.academy.apicrud.changefeed;
+
+import com.academy.apicrud.config.MedicoChangeFeedProperties;
+import com.academy.apicrud.model.domain.MedicoChange;
+import com.academy.apicrud.repository.MedicoChangeRepository;
+import com.academy.apicrud.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Feed de altas, modificaciones y bajas de médicos.
+ * <p>
+ * Cada escritura inserta una fila en {@code medico_change} dentro de su transacción. Tras el commit
+ * (en esta instancia) o al recibir la notificación de otra instancia por LISTEN/NOTIFY se despierta un
+ * único lector que consulta las filas con id mayor que la última publicada y las difunde a los
+ * suscriptores. Las notificaciones solo despiertan al lector: el orden y el contenido salen siempre de
+ * la tabla. Los ids se asignan al insertar, de modo que una transacción puede hacer commit después de otra
+ * con id mayor ya publicada: los ids saltados al publicar se vuelven a buscar en cada lectura durante
+ * {@code lateCommitWindow} y se publican, fuera de orden, cuando aparecen. Cada id se publica una sola vez.
+ * <p>
+ * Cada suscriptor tiene un buffer acotado. Con la política DISCONNECT un suscriptor lento recibe lo
+ * acumulado y se cierra su stream; al reconectar con {@code Last-Event-ID} recupera de la tabla lo que
+ * no recibió. Como un commit tardío se publica después de ids mayores, el reenvío incluye además las filas
+ * con id menor que {@code Last-Event-ID} registradas hasta {@code lateCommitWindow} antes que esa fila: la
+ * reanudación es al menos una vez y el cliente descarta por id las que ya recibió. Solo se pierde el cambio
+ * cuya transacción tarde más de {@code lateCommitWindow} en hacer commit tras registrarlo, que tampoco se
+ * publica en vivo (el reloj de las instancias que escriben cuenta dentro de ese margen).
+ */
+@Slf4j
+public class MedicoChangeFeed implements SmartLifecycle {
+
+    private static final Object TICK = new Object();
+
+    // Ids saltados pendientes de commit; más allá se descartan (saltos grandes de la secuencia)
+    private static final int MAX_PENDING_GAPS = 1000;
+
+    private final MedicoChangeRepository repository;
+    private final MedicoChangeFeedProperties properties;
+
+    // Una sola señal pendiente: las notificaciones recibidas durante una consulta se agrupan en la siguiente
+    private final Sinks.Many<Object> wakeups = Sinks.many().unicast().onBackpressureBuffer(Queues.one().get());
+    private final Sinks.Many<MedicoChange> live = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter overflowDisconnect;
+    private final Counter overflowDrop;
+
+    private volatile long lastPublished;
+    // Id saltado -> System.nanoTime() a partir del cual deja de buscarse
+    private final ConcurrentSkipListMap<Long, Long> gaps = new ConcurrentSkipListMap<>();
+    private volatile Disposable tailing;
+    private volatile Disposable pruning;
+
+    public MedicoChangeFeed(MedicoChangeRepository repository, MedicoChangeFeedProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        Gauge.builder("medico.changes.subscribers", subscribers, AtomicInteger::get)
+                .description("Suscriptores conectados al feed de cambios de médicos")
+                .register(meterRegistry);
+        this.overflowDisconnect = overflowCounter(meterRegistry, MedicoChangeFeedProperties.Overflow.DISCONNECT);
+        this.overflowDrop = overflowCounter(meterRegistry, MedicoChangeFeedProperties.Overflow.DROP);
+    }
+
+    private static Counter overflowCounter(MeterRegistry meterRegistry, MedicoChangeFeedProperties.Overflow policy) {
+        return Counter.builder("medico.changes.overflow")
+                .description("Eventos que no cabían en el buffer de un suscriptor lento")
+                .tag("policy", policy.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra el cambio en la transacción en curso y despierta al lector tras el commit
+     */
+    public Mono<Void> record(Long medicoId, MedicoChange.Operation operation) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> repository.save(new MedicoChange(null, medicoId, operation, LocalDateTime.now())))
+                .then(AfterCommit.run(this::wakeUp));
+    }
+
+    /**
+     * Señal de que hay filas nuevas en medico_change; si ya hay una pendiente se descarta
+     */
+    public synchronized void wakeUp() {
+        wakeups.tryEmitNext(TICK);
+    }
+
+    /**
+     * Stream de cambios del suscriptor. Con {@code lastEventId} reenvía primero las filas de la tabla que
+     * pudo no recibir (commits tardíos con id menor y filas posteriores); sin él empieza en los cambios
+     * siguientes a la suscripción
+     */
+    public Flux<MedicoChange> subscribe(Long lastEventId) {
+        if (!properties.isEnabled()) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> {
+            int bufferSize = properties.getSubscriberBuffer();
+            // Capacidad exacta: Queues.get redondea a potencia de 2 con un mínimo de 8
+            Sinks.Many<MedicoChange> buffer = Sinks.many().unicast()
+                    .onBackpressureBuffer(new ArrayBlockingQueue<>(bufferSize));
+            // Todo lo que se publique a partir de ahora tiene un id >= floor; se lee antes de suscribirse
+            long floor = liveFloor();
+            // Suscrito antes del reenvío para no perder los cambios publicados mientras se lee la tabla
+            Disposable liveSubscription = live.asFlux().subscribe(change -> offer(buffer, change, bufferSize));
+            subscribers.incrementAndGet();
+
+            // Filas reenviadas que también pueden llegar en vivo; cada una se descarta la primera vez que llega
+            Set<Long> replayed = ConcurrentHashMap.newKeySet();
+            Flux<MedicoChange> replay = lastEventId == null ? Flux.empty() : readLateCommitsBefore(lastEventId)
+                    .concatWith(readAfter(lastEventId))
+                    .doOnNext(change -> {
+                        if (change.getId() >= floor) {
+                            replayed.add(change.getId());
+                        }
+                    });
+            return replay.concatWith(buffer.asFlux().filter(change -> !replayed.remove(change.getId())))
+                    .doFinally(signal -> {
+                        liveSubscription.dispose();
+                        subscribers.decrementAndGet();
+                    });
+        });
+    }
+
+    private void offer(Sinks.Many<MedicoChange> buffer, MedicoChange change, int bufferSize) {
+        if (buffer.tryEmitNext(change) != Sinks.EmitResult.FAIL_OVERFLOW) {
+            return;
+        }
+        if (properties.getOverflow() == MedicoChangeFeedProperties.Overflow.DISCONNECT) {
+            overflowDisconnect.increment();
+            buffer.tryEmitError(new SlowConsumerException(bufferSize));
+        } else {
+            overflowDrop.increment();
+        }
+    }
+
+    /**
+     * Menor id que aún puede publicarse: el primer id saltado pendiente o el siguiente al último publicado
+     */
+    private long liveFloor() {
+        long next = lastPublished + 1;
+        Map.Entry<Long, Long> firstGap = gaps.firstEntry();
+        return firstGap == null ? next : Math.min(firstGap.getKey(), next);
+    }
+
+    /**
+     * Filas con id menor que lastId que pudieron hacer commit, y publicarse, después de ella: las registradas
+     * desde lateCommitWindow antes que lastId. Sin la fila de lastId (depurada) no se reenvía ninguna
+     */
+    private Flux<MedicoChange> readLateCommitsBefore(long lastId) {
+        return repository.findById(lastId)
+                .flatMapMany(last -> repository.findBeforeChangedSince(lastId,
+                        last.getChangedAt().minus(properties.getLateCommitWindow())));
+    }
+
+    private Flux<MedicoChange> readAfter(long lastId) {
+        int batchSize = properties.getBatchSize();
+        return repository.findAfter(lastId, batchSize).collectList()
+                .expand(batch -> batch.size() < batchSize
+                        ? Mono.empty()
+                        : repository.findAfter(batch.get(batch.size() - 1).getId(), batchSize).collectList())
+                .flatMapIterable(Function.<List<MedicoChange>>identity());
+    }
+
+    private Mono<Void> publishNew() {
+        return Mono.defer(this::publishLateCommits)
+                .thenMany(Flux.defer(() -> readAfter(lastPublished)))
+                .doOnNext(this::publishNext)
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("Error al leer medico_change: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Filas de ids saltados que ya hicieron commit; los que superan lateCommitWindow se dejan de buscar
+     */
+    private Mono<Void> publishLateCommits() {
+        long now = System.nanoTime();
+        gaps.values().removeIf(deadline -> now - deadline > 0);
+        if (gaps.isEmpty()) {
+            return Mono.empty();
+        }
+        return repository.findByIds(new ArrayList<>(gaps.keySet()))
+                .doOnNext(change -> {
+                    if (gaps.remove(change.getId()) != null) {
+                        live.tryEmitNext(change);
+                    }
+                })
+                .then();
+    }
+
+    private void publishNext(MedicoChange change) {
+        long id = change.getId();
+        long deadline = System.nanoTime() + properties.getLateCommitWindow().toNanos();
+        for (long gap = lastPublished + 1; gap < id && gaps.size() < MAX_PENDING_GAPS; gap++) {
+            gaps.put(gap, deadline);
+        }
+        lastPublished = id;
+        live.tryEmitNext(change);
+    }
+
+    @Override
+    public void start() {
+        tailing = repository.findLastId()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("No se pudo leer el último cambio de médicos, reintentando: {}",
+                                signal.failure().getMessage())))
+                .doOnNext(id -> lastPublished = id)
+                .thenMany(wakeups.asFlux().concatMap(tick -> publishNew(), 1))
+                .subscribe();
+        pruning = Flux.interval(properties.getPruneInterval())
+                .concatMap(tick -> repository.deleteOlderThan(LocalDateTime.now().minus(properties.getRetention()))
+                        .doOnNext(deleted -> log.debug("Eliminadas {} filas antiguas de medico_change", deleted))
+                        .onErrorResume(error -> {
+                            log.warn("Error al depurar medico_change: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (tailing != null) {
+            tailing.dispose();
+        }
+        if (pruning != null) {
+            pruning.dispose();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return tailing != null && !tailing.isDisposed();
+    }
+}
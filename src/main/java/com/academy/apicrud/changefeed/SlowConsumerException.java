@@ -0,0 +1,12 @@
+package com.academy.apicrud.changefeed;
+
+/**
+ * Un suscriptor del feed de cambios no consume al ritmo de las escrituras y su buffer se ha llenado.
+ * Sin traza: es un caso esperado que cierra el stream para que el cliente reconecte.
+ */
+public class SlowConsumerException extends RuntimeException {
+
+    public SlowConsumerException(int bufferSize) {
+        super("Buffer del suscriptor lleno (" + bufferSize + " eventos)", null, false, false);
+    }
+}
@@ -0,0 +1,50 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.admission.AdmissionControlFilter;
+import com.academy.apicrud.admission.AdmissionLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Registra el filtro de control de admisión con un limitador para lecturas, otro para escrituras y otro, de
+ * límite fijo, para los streams por cursor.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(AdmissionControlProperties properties,
+                                                         MeterRegistry meterRegistry,
+                                                         ObjectProvider<R2dbcProperties> r2dbcProperties) {
+        AdmissionLimiter readLimiter = new AdmissionLimiter("read", properties.getRead(), properties,
+                meterRegistry, Schedulers.parallel());
+        AdmissionLimiter writeLimiter = new AdmissionLimiter("write", properties.getWrite(), properties,
+                meterRegistry, Schedulers.parallel());
+        AdmissionLimiter streamLimiter = new AdmissionLimiter("stream", properties.getStream(), false, properties,
+                meterRegistry, Schedulers.parallel());
+        warnIfStreamsCanExhaustPool(properties, r2dbcProperties.getIfAvailable());
+        return new AdmissionControlFilter(readLimiter, writeLimiter, streamLimiter, properties);
+    }
+
+    private static void warnIfStreamsCanExhaustPool(AdmissionControlProperties properties, R2dbcProperties r2dbc) {
+        if (r2dbc == null || !r2dbc.getPool().isEnabled()) {
+            return;
+        }
+        int streamLimit = properties.getStream().getLimit();
+        int poolMaxSize = r2dbc.getPool().getMaxSize();
+        if (streamLimit >= poolMaxSize) {
+            log.warn("app.admission.stream.limit ({}) no es menor que spring.r2dbc.pool.max-size ({}): "
+                    + "los streams por cursor pueden ocupar todas las conexiones", streamLimit, poolMaxSize);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del control de admisión de peticiones HTTP (prefijo {@code app.admission}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionControlProperties {
+
+    /**
+     * Habilita el filtro que limita las peticiones concurrentes por grupo de rutas
+     */
+    private boolean enabled = true;
+
+    /**
+     * STATIC mantiene el límite configurado; ADAPTIVE lo ajusta con AIMD según la latencia observada
+     */
+    private Mode mode = Mode.ADAPTIVE;
+
+    /**
+     * Patrones de ruta sujetos a control de admisión; actuator y la documentación quedan fuera
+     */
+    private String[] includePaths = {"/api/**"};
+
+    /**
+     * Patrones excluidos aunque coincidan con includePaths. El SSE de cambios no lee por cursor: ocuparía un
+     * permiso mientras el cliente siga conectado y su duración falsearía la latencia del modo ADAPTIVE
+     */
+    private String[] excludePaths = {"/api/medicos/changes"};
+
+    /**
+     * Rutas propias de streams por cursor, sea cual sea su tipo de contenido: la exportación CSV y la
+     * sincronización incremental. Pasan por el limitador de streams y devuelven el permiso de su grupo al
+     * comprometer la respuesta
+     */
+    private String[] streamPaths = {"/api/medicos/export.csv", "/api/medicos/sync"};
+
+    /**
+     * Tipos de contenido de las respuestas de streaming que comparten ruta con una respuesta JSON (GET
+     * /api/medicos con Accept NDJSON). Pasan por el limitador de streams y su permiso se devuelve al
+     * comprometer la respuesta
+     */
+    private String[] streamingMediaTypes = {"application/x-ndjson", "text/event-stream"};
+
+    /**
+     * Valor de la cabecera Retry-After de las respuestas 503
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Modo ADAPTIVE: una respuesta más lenta que este umbral reduce el límite
+     */
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    /**
+     * Modo ADAPTIVE: factor de reducción multiplicativa del límite
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * GET, HEAD y OPTIONS
+     */
+    private Group read = new Group(100, 10, 500, 200);
+
+    /**
+     * POST, PUT, PATCH y DELETE
+     */
+    private Group write = new Group(20, 5, 100, 50);
+
+    /**
+     * Streams por cursor (streamPaths o Accept NDJSON/SSE): cada uno retiene una conexión del pool R2DBC mientras el cliente
+     * lee. Límite fijo también en modo ADAPTIVE; debe quedar por debajo de spring.r2dbc.pool.max-size para
+     * dejar conexiones libres al resto de peticiones
+     */
+    private Group stream = new Group(6, 6, 6, 20);
+
+    public enum Mode {
+        STATIC,
+        ADAPTIVE
+    }
+
+    @Data
+    public static class Group {
+
+        /**
+         * Peticiones concurrentes permitidas (inicial en modo ADAPTIVE)
+         */
+        private int limit;
+
+        private int minLimit;
+
+        private int maxLimit;
+
+        /**
+         * Peticiones que pueden esperar un permiso; las siguientes se rechazan con 503
+         */
+        private int queueSize;
+
+        /**
+         * Tiempo máximo de espera en la cola antes de responder 503
+         */
+        private Duration queueTimeout = Duration.ofMillis(500);
+
+        public Group() {
+        }
+
+        public Group(int limit, int minLimit, int maxLimit, int queueSize) {
+            this.limit = limit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.queueSize = queueSize;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.cache.CacheInvalidationBus;
+import com.academy.apicrud.cache.MedicoPageCache;
+import com.academy.apicrud.cache.MissingMedicoCache;
+import com.academy.apicrud.cache.PostgresNotificationListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Bus de invalidación de caches entre instancias. Las notificaciones solo se envían y escuchan
+ * con PostgreSQL; con otra base de datos (H2 en la prueba de carga) cada instancia invalida solo
+ * sus caches.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+public class CacheInvalidationConfig {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(CacheInvalidationProperties properties,
+                                                     ConnectionFactory connectionFactory,
+                                                     DatabaseClient databaseClient,
+                                                     MeterRegistry meterRegistry,
+                                                     MedicoPageCache medicoPageCache,
+                                                     MissingMedicoCache missingMedicoCache) {
+        CacheInvalidationBus bus = new CacheInvalidationBus(properties.getChannel(),
+                notificationsEnabled(properties, connectionFactory) ? databaseClient : null, meterRegistry);
+        bus.register(CacheInvalidationBus.MEDICO, id -> {
+            medicoPageCache.invalidateAll();
+            if (id != null) {
+                missingMedicoCache.markPresent(id);
+            }
+        });
+        return bus;
+    }
+
+    @Bean
+    public PostgresNotificationListener postgresNotificationListener(CacheInvalidationProperties properties,
+                                                                     ConnectionFactory connectionFactory,
+                                                                     ObjectProvider<R2dbcProperties> r2dbcProperties,
+                                                                     CacheInvalidationBus bus) {
+        R2dbcProperties r2dbc = r2dbcProperties.getIfAvailable();
+        if (!notificationsEnabled(properties, connectionFactory) || r2dbc == null || r2dbc.getUrl() == null) {
+            return null;
+        }
+        return new PostgresNotificationListener(listenConnectionFactory(r2dbc), bus, properties);
+    }
+
+    private static boolean notificationsEnabled(CacheInvalidationProperties properties, ConnectionFactory connectionFactory) {
+        return properties.isEnabled() && POSTGRESQL.equals(connectionFactory.getMetadata().getName());
+    }
+
+    /**
+     * Conexión sin pool: LISTEN queda ligado a la sesión y ocuparía una conexión del pool indefinidamente
+     */
+    private static ConnectionFactory listenConnectionFactory(R2dbcProperties r2dbc) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbc.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.DRIVER, "postgresql");
+        if (r2dbc.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, r2dbc.getUsername());
+        }
+        if (r2dbc.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, r2dbc.getPassword());
+        }
+        return ConnectionFactories.get(options.build());
+    }
+}
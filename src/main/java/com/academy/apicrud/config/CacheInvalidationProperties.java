@@ -0,0 +1,33 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Invalidación de caches entre instancias con LISTEN/NOTIFY de PostgreSQL
+ * (prefijo {@code app.cache.invalidation}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.invalidation")
+public class CacheInvalidationProperties {
+
+    /**
+     * Con false cada instancia solo invalida sus propias caches. Con otra base de datos que no sea
+     * PostgreSQL se desactiva siempre
+     */
+    private boolean enabled = true;
+
+    /**
+     * Canal de NOTIFY compartido por todas las instancias
+     */
+    private String channel = "cache_invalidation";
+
+    /**
+     * Espera inicial antes de reabrir la conexión de LISTEN tras un error; se duplica hasta maxReconnectBackoff
+     */
+    private Duration minReconnectBackoff = Duration.ofSeconds(1);
+
+    private Duration maxReconnectBackoff = Duration.ofSeconds(30);
+}
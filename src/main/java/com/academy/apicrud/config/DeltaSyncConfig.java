@@ -0,0 +1,25 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.mapper.IMedicoMapper;
+import com.academy.apicrud.repository.EspecialidadRepository;
+import com.academy.apicrud.repository.MedicoRepository;
+import com.academy.apicrud.repository.TombstoneRepository;
+import com.academy.apicrud.sync.DeltaSync;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sincronización incremental de médicos y especialidades por watermark.
+ */
+@Configuration
+@EnableConfigurationProperties(DeltaSyncProperties.class)
+public class DeltaSyncConfig {
+
+    @Bean
+    public DeltaSync deltaSync(MedicoRepository medicoRepository, EspecialidadRepository especialidadRepository,
+                               TombstoneRepository tombstoneRepository, IMedicoMapper medicoMapper,
+                               DeltaSyncProperties properties) {
+        return new DeltaSync(medicoRepository, especialidadRepository, tombstoneRepository, medicoMapper, properties);
+    }
+}
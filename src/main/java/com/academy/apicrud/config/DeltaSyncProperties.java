@@ -0,0 +1,27 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sincronización incremental {@code GET /api/medicos/sync} (prefijo {@code app.sync}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sync")
+public class DeltaSyncProperties {
+
+    /**
+     * Margen que se resta al watermark devuelto para cubrir transacciones que hicieron commit tarde y
+     * la diferencia de reloj entre instancias; los cambios del margen se reenvían en la siguiente sincronización
+     */
+    private Duration overlap = Duration.ofSeconds(5);
+
+    /**
+     * Antigüedad máxima de las bajas registradas; un watermark anterior recibe RESET y la copia completa
+     */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    private Duration pruneInterval = Duration.ofHours(1);
+}
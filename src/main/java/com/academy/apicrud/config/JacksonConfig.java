@@ -0,0 +1,35 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.json.CachingJackson2JsonEncoder;
+import com.academy.apicrud.json.MedicoJsonModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Serialización JSON de las respuestas: los Module se registran en el ObjectMapper de Spring Boot y el
+ * codificador de WebFlux reutiliza los ObjectWriter por tipo de respuesta.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public MedicoJsonModule medicoJsonModule() {
+        return new MedicoJsonModule();
+    }
+
+    // Bean para que el calentamiento de arranque llene la cache de writers del mismo codificador que usa WebFlux
+    @Bean
+    public CachingJackson2JsonEncoder cachingJackson2JsonEncoder(ObjectMapper objectMapper) {
+        return new CachingJackson2JsonEncoder(objectMapper);
+    }
+
+    // Después del CodecCustomizer de Jackson de Spring Boot (orden 0), que registra su propio codificador
+    @Bean
+    @Order(1)
+    public CodecCustomizer cachingJacksonEncoderCustomizer(CachingJackson2JsonEncoder cachingJackson2JsonEncoder) {
+        return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(cachingJackson2JsonEncoder);
+    }
+}
@@ -0,0 +1,19 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.util.LogSampler;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Muestreo de los logs por petición de los endpoints de médicos.
+ */
+@Configuration
+@EnableConfigurationProperties(LoggingProperties.class)
+public class LoggingConfig {
+
+    @Bean
+    public LogSampler logSampler(LoggingProperties properties) {
+        return new LogSampler(properties.getSampleRate());
+    }
+}
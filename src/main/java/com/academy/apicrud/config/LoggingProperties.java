@@ -0,0 +1,28 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del muestreo de logs por petición (prefijo {@code app.logging}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.logging")
+public class LoggingProperties {
+
+    /**
+     * Con nivel INFO se registra una de cada {@code sampleRate} peticiones
+     */
+    private int sampleRate = 100;
+
+    /**
+     * Cola del appender asíncrono; logback-spring.xml lee estos valores con springProperty
+     */
+    private Async async = new Async();
+
+    @Data
+    public static class Async {
+        private int queueSize = 1024;
+        private int discardingThreshold = 205;
+    }
+}
@@ -0,0 +1,26 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.cache.CacheInvalidationBus;
+import com.academy.apicrud.changefeed.MedicoChangeFeed;
+import com.academy.apicrud.repository.MedicoChangeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Feed de cambios de médicos. Las notificaciones de escrituras en otras instancias llegan por el
+ * bus de invalidación y despiertan al lector de medico_change.
+ */
+@Configuration
+@EnableConfigurationProperties(MedicoChangeFeedProperties.class)
+public class MedicoChangeFeedConfig {
+
+    @Bean
+    public MedicoChangeFeed medicoChangeFeed(MedicoChangeRepository repository, MedicoChangeFeedProperties properties,
+                                             MeterRegistry meterRegistry, CacheInvalidationBus cacheInvalidationBus) {
+        MedicoChangeFeed feed = new MedicoChangeFeed(repository, properties, meterRegistry);
+        cacheInvalidationBus.register(CacheInvalidationBus.MEDICO, id -> feed.wakeUp());
+        return feed;
+    }
+}
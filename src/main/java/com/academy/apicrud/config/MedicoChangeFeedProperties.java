@@ -0,0 +1,55 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Feed de cambios de médicos {@code GET /api/medicos/changes} (prefijo {@code app.medico-changes}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.medico-changes")
+public class MedicoChangeFeedProperties {
+
+    /**
+     * Con false no se registran cambios en medico_change y el feed no emite eventos
+     */
+    private boolean enabled = true;
+
+    /**
+     * Eventos pendientes de enviar por suscriptor; al superarlo se aplica {@code overflow}
+     */
+    private int subscriberBuffer = 256;
+
+    private Overflow overflow = Overflow.DISCONNECT;
+
+    /**
+     * Filas leídas por consulta al reenviar desde un Last-Event-ID o tras una notificación
+     */
+    private int batchSize = 500;
+
+    /**
+     * Antigüedad máxima de las filas de medico_change; un cliente desconectado más tiempo pierde eventos
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    private Duration pruneInterval = Duration.ofHours(1);
+
+    /**
+     * Tiempo durante el que se sigue buscando un id saltado al publicar (transacción aún sin commit). Un
+     * cambio cuya transacción tarde más en hacer commit no se emite en vivo
+     */
+    private Duration lateCommitWindow = Duration.ofMinutes(1);
+
+    public enum Overflow {
+        /**
+         * Cierra el stream del suscriptor lento; al reconectar con Last-Event-ID recupera lo perdido
+         */
+        DISCONNECT,
+        /**
+         * Descarta los eventos nuevos mientras el buffer esté lleno; el suscriptor no los recibe
+         */
+        DROP
+    }
+}
@@ -0,0 +1,48 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.handler.GlobalErrorFilter;
+import com.academy.apicrud.handler.MedicoHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Rutas funcionales de {@code /api/medicos}. Con {@code app.web.functional-endpoints.enabled=true}
+ * sustituyen a {@code MedicoController}, que deja de registrarse.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.web.functional-endpoints.enabled", havingValue = "true")
+public class MedicoRouterConfig {
+
+    // accept() también coincide con */*: el stream solo se sirve a quien pide NDJSON, como produces en el controlador
+    private static final RequestPredicate NDJSON = RequestPredicates.headers(headers -> headers.accept().stream()
+            .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype));
+
+    @Bean
+    public RouterFunction<ServerResponse> medicoRoutes(MedicoHandler handler, GlobalErrorFilter errorFilter) {
+        return route()
+                .path("/api/medicos", builder -> builder
+                        .GET("/page", handler::getMedicosPaginados)
+                        .GET("/export.csv", handler::exportMedicosCsv)
+                        .GET("/changes", handler::getMedicoChanges)
+                        .GET("/sync", handler::syncMedicos)
+                        .GET("/with-especialidad", NDJSON, handler::streamMedicosWithEspecialidad)
+                        .GET("/with-especialidad", handler::getAllMedicosWithEspecialidad)
+                        .GET("/{id}/with-especialidad", handler::getMedicoWithEspecialidadById)
+                        .GET("/{id}", handler::getMedicoById)
+                        .GET("", NDJSON, handler::streamMedicos)
+                        .GET("", handler::getAllMedicos)
+                        .POST("", handler::createMedico)
+                        .PUT("/{id}", handler::updateMedico)
+                        .DELETE("/{id}", handler::deleteMedico))
+                .filter(errorFilter)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.cache.MissingMedicoCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache negativa de la búsqueda de médicos por id.
+ */
+@Configuration
+@EnableConfigurationProperties(MissingMedicoCacheProperties.class)
+public class MissingMedicoCacheConfig {
+
+    @Bean
+    public MissingMedicoCache missingMedicoCache(MissingMedicoCacheProperties properties, MeterRegistry meterRegistry) {
+        return new MissingMedicoCache(properties, meterRegistry);
+    }
+}
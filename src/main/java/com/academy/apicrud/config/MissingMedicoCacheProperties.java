@@ -0,0 +1,29 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cache de ids de médicos inexistentes (prefijo {@code app.cache.medico-missing}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.medico-missing")
+public class MissingMedicoCacheProperties {
+
+    /**
+     * Con false cada id inexistente consulta la base de datos
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tiempo durante el que un id se responde como inexistente sin consultar la base de datos
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Número máximo de ids recordados; por encima se descartan los menos usados
+     */
+    private long maxSize = 100_000;
+}
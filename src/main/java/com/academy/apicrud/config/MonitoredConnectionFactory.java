@@ -0,0 +1,50 @@
+package com.academy.apicrud.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+
+/**
+ * ConnectionFactory que delega en el proxy de R2DBC pero conserva el ciclo de vida del pool original,
+ * de modo que Spring pueda seguir invocando {@code dispose()} al cerrar el contexto.
+ */
+public class MonitoredConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+
+    private final ConnectionFactory proxy;
+    private final ConnectionFactory target;
+
+    public MonitoredConnectionFactory(ConnectionFactory proxy, ConnectionFactory target) {
+        this.proxy = proxy;
+        this.target = target;
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return proxy.create();
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return target.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return target;
+    }
+
+    @Override
+    public void dispose() {
+        if (target instanceof Disposable) {
+            ((Disposable) target).dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return target instanceof Disposable && ((Disposable) target).isDisposed();
+    }
+}
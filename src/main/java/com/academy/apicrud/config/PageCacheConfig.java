@@ -0,0 +1,20 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.cache.MedicoPageCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache de respuestas de la consulta paginada de médicos.
+ */
+@Configuration
+@EnableConfigurationProperties(PageCacheProperties.class)
+public class PageCacheConfig {
+
+    @Bean
+    public MedicoPageCache medicoPageCache(PageCacheProperties properties, MeterRegistry meterRegistry) {
+        return new MedicoPageCache(properties, meterRegistry);
+    }
+}
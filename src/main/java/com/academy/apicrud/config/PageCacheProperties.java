@@ -0,0 +1,36 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Cache de la consulta paginada de médicos (prefijo {@code app.cache.medico-page}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.medico-page")
+public class PageCacheProperties {
+
+    /**
+     * Con false cada petición consulta la base de datos
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tiempo durante el que una página se sirve como fresca
+     */
+    private Duration ttl = Duration.ofSeconds(5);
+
+    /**
+     * Tras el TTL la página se sigue sirviendo mientras se refresca en segundo plano durante este tiempo;
+     * después se descarta y la siguiente petición espera a la base de datos
+     */
+    private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+
+    /**
+     * Memoria máxima estimada que ocupan las páginas en cache
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+}
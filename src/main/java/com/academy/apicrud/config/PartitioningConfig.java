@@ -0,0 +1,20 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.partitioning.MedicoPartitions;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Mantenimiento de las particiones LIST de medico.
+ */
+@Configuration
+@EnableConfigurationProperties(PartitioningProperties.class)
+public class PartitioningConfig {
+
+    @Bean
+    public MedicoPartitions medicoPartitions(DatabaseClient databaseClient, PartitioningProperties properties) {
+        return new MedicoPartitions(databaseClient, properties.isEnabled());
+    }
+}
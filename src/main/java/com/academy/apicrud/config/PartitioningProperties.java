@@ -0,0 +1,17 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Particiones de medico por especialidad (prefijo {@code app.partitioning}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.partitioning")
+public class PartitioningProperties {
+
+    /**
+     * Crear la partición de cada especialidad nueva y eliminarla con su baja; requiere las migraciones V5 y V6
+     */
+    private boolean enabled = true;
+}
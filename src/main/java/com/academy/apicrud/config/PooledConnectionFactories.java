@@ -0,0 +1,57 @@
+package com.academy.apicrud.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.util.StringUtils;
+
+/**
+ * ConnectionFactory con el mismo pool que crea Spring Boot para {@code spring.r2dbc}, para las bases
+ * de datos adicionales (réplica de lectura, shards) que no configura Boot, con las mismas opciones del driver.
+ */
+final class PooledConnectionFactories {
+
+    private static final String POOL_DRIVER = "pool";
+
+    private PooledConnectionFactories() {
+    }
+
+    static ConnectionFactory create(String url, String username, String password, R2dbcProperties.Pool pool,
+                                    PostgresqlDriverProperties driver) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (username != null) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (password != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        PostgresqlDriverOptions.apply(options, url, driver);
+        ConnectionFactoryOptions built = options.build();
+        ConnectionFactory connectionFactory = ConnectionFactories.get(built);
+        if (POOL_DRIVER.equals(built.getValue(ConnectionFactoryOptions.DRIVER)) || !pool.isEnabled()) {
+            return connectionFactory;
+        }
+
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .validationDepth(pool.getValidationDepth());
+        if (pool.getMaxLifeTime() != null) {
+            configuration.maxLifeTime(pool.getMaxLifeTime());
+        }
+        if (pool.getMaxAcquireTime() != null) {
+            configuration.maxAcquireTime(pool.getMaxAcquireTime());
+        }
+        if (pool.getMaxCreateConnectionTime() != null) {
+            configuration.maxCreateConnectionTime(pool.getMaxCreateConnectionTime());
+        }
+        if (StringUtils.hasText(pool.getValidationQuery())) {
+            configuration.validationQuery(pool.getValidationQuery());
+        }
+        return new ConnectionPool(configuration.build());
+    }
+}
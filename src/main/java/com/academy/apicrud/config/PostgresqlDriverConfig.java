@@ -0,0 +1,22 @@
+package com.academy.apicrud.config;
+
+import org.springframework.boot.autoconfigure.r2dbc.ConnectionFactoryOptionsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opciones de r2dbc-postgresql para la ConnectionFactory que crea Spring Boot a partir de
+ * {@code spring.r2dbc.url}; la réplica y los shards las aplican en {@link PooledConnectionFactories}.
+ */
+@Configuration
+@EnableConfigurationProperties(PostgresqlDriverProperties.class)
+public class PostgresqlDriverConfig {
+
+    @Bean
+    public ConnectionFactoryOptionsBuilderCustomizer postgresqlDriverOptionsCustomizer(R2dbcProperties r2dbc,
+                                                                                       PostgresqlDriverProperties properties) {
+        return options -> PostgresqlDriverOptions.apply(options, r2dbc.getUrl(), properties);
+    }
+}
@@ -0,0 +1,45 @@
+package com.academy.apicrud.config;
+
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+
+/**
+ * Aplica {@link PostgresqlDriverProperties} a las opciones de una URL R2DBC si su driver es postgresql,
+ * directamente o a través de r2dbc-pool.
+ */
+final class PostgresqlDriverOptions {
+
+    private static final String POSTGRESQL_DRIVER = "postgresql";
+    private static final String POOL_DRIVER = "pool";
+    private static final String PLAN_CACHE_MODE = "plan_cache_mode";
+
+    private PostgresqlDriverOptions() {
+    }
+
+    static void apply(ConnectionFactoryOptions.Builder options, String url, PostgresqlDriverProperties properties) {
+        if (properties == null || url == null || !isPostgresql(ConnectionFactoryOptions.parse(url))) {
+            return;
+        }
+        options.option(PostgresqlConnectionFactoryProvider.PREPARED_STATEMENT_CACHE_QUERIES,
+                properties.getPreparedStatementCacheQueries());
+        options.option(PostgresqlConnectionFactoryProvider.FORCE_BINARY, properties.isForceBinary());
+        // Parámetro de arranque de la sesión; si la URL ya trae options se respetan las suyas
+        if (StringUtils.hasText(properties.getPlanCacheMode())
+                && !ConnectionFactoryOptions.parse(url).hasOption(PostgresqlConnectionFactoryProvider.OPTIONS)) {
+            options.option(PostgresqlConnectionFactoryProvider.OPTIONS,
+                    Map.of(PLAN_CACHE_MODE, properties.getPlanCacheMode()));
+        }
+    }
+
+    static boolean isPostgresql(ConnectionFactoryOptions options) {
+        Object driver = options.getValue(ConnectionFactoryOptions.DRIVER);
+        if (POOL_DRIVER.equals(driver)) {
+            Object protocol = options.getValue(ConnectionFactoryOptions.PROTOCOL);
+            return protocol != null && protocol.toString().startsWith(POSTGRESQL_DRIVER);
+        }
+        return POSTGRESQL_DRIVER.equals(driver);
+    }
+}
@@ -0,0 +1,39 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Opciones del driver r2dbc-postgresql para la base de datos principal, la réplica y los shards
+ * (prefijo {@code app.r2dbc.postgresql}). Con otro driver, como H2 en las pruebas, no se aplican.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.r2dbc.postgresql")
+public class PostgresqlDriverProperties {
+
+    /**
+     * Sentencias preparadas que cada conexión mantiene en el servidor, por texto y tipos de parámetros;
+     * al superarlo se cierra la menos usada. -1 sin límite (valor por defecto del driver), 0 prepara
+     * cada ejecución
+     */
+    private int preparedStatementCacheQueries = 256;
+
+    /**
+     * Parámetros y filas en formato binario en lugar de texto
+     */
+    private boolean forceBinary = false;
+
+    /**
+     * plan_cache_mode de cada sesión. Con la cache de sentencias, PostgreSQL pasa al plan genérico tras cinco
+     * ejecuciones, y en las consultas con (:nombre IS NULL OR ...) AND (:especialidadId IS NULL OR ...) ese plan
+     * no usa el índice de especialidad ni el trigram ni descarta particiones. force_custom_plan planifica cada
+     * ejecución con los valores enlazados y conserva el ahorro del análisis. Vacío deja el valor del servidor
+     */
+    private String planCacheMode = "force_custom_plan";
+
+    /**
+     * Filas por bloque de las lecturas completas por cursor (streamAll de MedicoCursorRepository); el siguiente
+     * bloque se pide cuando el suscriptor consume el anterior. 0 lee el resultado de una vez
+     */
+    private int cursorFetchSize = 500;
+}
@@ -0,0 +1,34 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del monitoreo de consultas R2DBC (prefijo {@code app.r2dbc.monitoring}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.r2dbc.monitoring")
+public class QueryMonitoringProperties {
+
+    /**
+     * Habilita el proxy de R2DBC que mide cada sentencia
+     */
+    private boolean enabled = true;
+
+    /**
+     * Las sentencias que superen este tiempo se registran en el log de consultas lentas
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(500);
+
+    /**
+     * Oculta los valores de los parámetros en el log de consultas lentas
+     */
+    private boolean redactParameters = true;
+
+    /**
+     * Número de consultas que devuelve por defecto el endpoint slowqueries
+     */
+    private int topQueries = 20;
+}
@@ -0,0 +1,75 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.monitoring.QueryMetricsListener;
+import com.academy.apicrud.monitoring.QueryStatsRegistry;
+import com.academy.apicrud.monitoring.SlowQueriesEndpoint;
+import com.academy.apicrud.monitoring.StatementCacheMetricsListener;
+import com.academy.apicrud.routing.ReadWriteRoutingConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Envuelve la ConnectionFactory de R2DBC con r2dbc-proxy para medir todas las sentencias
+ * y los aciertos de la cache de sentencias preparadas de r2dbc-postgresql.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryMonitoringProperties.class)
+@ConditionalOnProperty(prefix = "app.r2dbc.monitoring", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class R2dbcMonitoringConfig {
+
+    @Bean
+    public QueryStatsRegistry queryStatsRegistry() {
+        return new QueryStatsRegistry();
+    }
+
+    @Bean
+    public QueryMetricsListener queryMetricsListener(QueryMonitoringProperties properties,
+                                                     MeterRegistry meterRegistry,
+                                                     QueryStatsRegistry queryStatsRegistry) {
+        return new QueryMetricsListener(properties, meterRegistry, queryStatsRegistry);
+    }
+
+    @Bean
+    public StatementCacheMetricsListener statementCacheMetricsListener(PostgresqlDriverProperties driver,
+                                                                       MeterRegistry meterRegistry) {
+        return new StatementCacheMetricsListener(driver.getPreparedStatementCacheQueries(), meterRegistry);
+    }
+
+    @Bean
+    public SlowQueriesEndpoint slowQueriesEndpoint(QueryStatsRegistry queryStatsRegistry,
+                                                   QueryMonitoringProperties properties) {
+        return new SlowQueriesEndpoint(queryStatsRegistry, properties);
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionFactoryProxyPostProcessor(ObjectProvider<ProxyExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // El proxy no propaga el contexto de Reactor: con réplica se envuelven los destinos, no el enrutador
+                if (bean instanceof ConnectionFactory && !(bean instanceof MonitoredConnectionFactory)
+                        && !(bean instanceof ReadWriteRoutingConnectionFactory)) {
+                    return monitored((ConnectionFactory) bean, listeners.orderedStream().collect(Collectors.toList()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    static ConnectionFactory monitored(ConnectionFactory target, List<ProxyExecutionListener> listeners) {
+        ProxyConnectionFactory.Builder proxy = ProxyConnectionFactory.builder(target);
+        listeners.forEach(proxy::listener);
+        return new MonitoredConnectionFactory(proxy.build(), target);
+    }
+}
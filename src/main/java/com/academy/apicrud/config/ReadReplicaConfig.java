@@ -0,0 +1,55 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.routing.ReadWriteRoutingConnectionFactory;
+import com.academy.apicrud.routing.ReadYourWritesFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Con réplica configurada sustituye la ConnectionFactory de Spring Boot por una que enruta las lecturas
+ * marcadas a la réplica y el resto al primario; cada destino tiene su propio pool. El proxy de
+ * monitoreo envuelve cada destino por separado, ya que pierde el contexto de Reactor que decide la ruta.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(prefix = "app.r2dbc.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ReadWriteRoutingConnectionFactory connectionFactory(R2dbcProperties r2dbc, ReadReplicaProperties replica,
+                                                               PostgresqlDriverProperties driver,
+                                                               MeterRegistry meterRegistry,
+                                                               ObjectProvider<ProxyExecutionListener> proxyListeners) {
+        if (!StringUtils.hasText(replica.getUrl())) {
+            throw new IllegalStateException("app.r2dbc.replica.url es obligatorio con app.r2dbc.replica.enabled=true");
+        }
+        ConnectionFactory primary = PooledConnectionFactories.create(r2dbc.getUrl(), r2dbc.getUsername(), r2dbc.getPassword(), r2dbc.getPool(),
+                driver);
+        ConnectionFactory replicaFactory = PooledConnectionFactories.create(replica.getUrl(),
+                StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : r2dbc.getUsername(),
+                StringUtils.hasText(replica.getPassword()) ? replica.getPassword() : r2dbc.getPassword(),
+                replica.getPool(), driver);
+        List<ProxyExecutionListener> listeners = proxyListeners.orderedStream().collect(Collectors.toList());
+        if (!listeners.isEmpty()) {
+            primary = R2dbcMonitoringConfig.monitored(primary, listeners);
+            replicaFactory = R2dbcMonitoringConfig.monitored(replicaFactory, listeners);
+        }
+        return new ReadWriteRoutingConnectionFactory(primary, replicaFactory, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadReplicaProperties replica) {
+        return new ReadYourWritesFilter(replica.getReadYourWrites());
+    }
+}
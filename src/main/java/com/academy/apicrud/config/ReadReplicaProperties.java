@@ -0,0 +1,37 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réplica de solo lectura para las lecturas fuera de transacción (prefijo {@code app.r2dbc.replica}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.r2dbc.replica")
+public class ReadReplicaProperties {
+
+    /**
+     * Con false todas las consultas van a {@code spring.r2dbc.url}
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    /**
+     * Sin valor se usan las credenciales de {@code spring.r2dbc}
+     */
+    private String username;
+
+    private String password;
+
+    private R2dbcProperties.Pool pool = new R2dbcProperties.Pool();
+
+    /**
+     * Tiempo durante el que las lecturas de un cliente van al primario tras una escritura suya;
+     * debe cubrir el retraso habitual de la réplica. Con 0 no se aplica
+     */
+    private Duration readYourWrites = Duration.ofSeconds(5);
+}
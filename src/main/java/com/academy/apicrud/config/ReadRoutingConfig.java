@@ -0,0 +1,19 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.routing.ReadRouting;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enrutado de lecturas a la réplica; sin {@code app.r2dbc.replica.enabled} las lecturas marcadas van al primario.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadRoutingConfig {
+
+    @Bean
+    public ReadRouting readRouting(ReadReplicaProperties replica) {
+        return new ReadRouting(replica.isEnabled());
+    }
+}
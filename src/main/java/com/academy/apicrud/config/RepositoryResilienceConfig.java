@@ -0,0 +1,26 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.resilience.RepositoryResilienceAspect;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra el aspecto de timeouts, reintentos y circuit breaker sobre los repositorios.
+ */
+@Configuration
+@EnableConfigurationProperties(RepositoryResilienceProperties.class)
+@ConditionalOnProperty(prefix = "app.resilience", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryResilienceConfig {
+
+    @Bean
+    public RepositoryResilienceAspect repositoryResilienceAspect(RepositoryResilienceProperties properties,
+                                                                 CircuitBreakerRegistry circuitBreakerRegistry,
+                                                                 MeterRegistry meterRegistry) {
+        return new RepositoryResilienceAspect(properties,
+                circuitBreakerRegistry.circuitBreaker(properties.getCircuitBreaker()), meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Timeouts y reintentos de las llamadas a los repositorios (prefijo {@code app.resilience}).
+ * El circuit breaker se configura en {@code resilience4j.circuitbreaker.instances.database}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.resilience")
+public class RepositoryResilienceProperties {
+
+    /**
+     * Habilita el aspecto de resiliencia sobre los repositorios
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre de la instancia de circuit breaker de resilience4j
+     */
+    private String circuitBreaker = "database";
+
+    private Timeout timeout = new Timeout();
+
+    private Retry retry = new Retry();
+
+    @Data
+    public static class Timeout {
+
+        /**
+         * Timeout de las operaciones sin valor propio. En un Flux se aplica al primer elemento
+         * y entre elementos, no a la duración total
+         */
+        private Duration defaultTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Timeout por nombre de método del repositorio
+         */
+        private Map<String, Duration> operations = new HashMap<>();
+    }
+
+    @Data
+    public static class Retry {
+
+        /**
+         * Reintentos adicionales de las lecturas ante errores transitorios; 0 los deshabilita
+         */
+        private int maxAttempts = 2;
+
+        private Duration minBackoff = Duration.ofMillis(50);
+
+        private Duration maxBackoff = Duration.ofMillis(500);
+
+        /**
+         * Fracción aleatoria del backoff, para no sincronizar los reintentos de todas las peticiones
+         */
+        private double jitter = 0.5;
+    }
+}
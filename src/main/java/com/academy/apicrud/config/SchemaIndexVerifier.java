@@ -0,0 +1,98 @@
+package com.academy.apicrud.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Comprueba tras las migraciones de Flyway que existen los índices de los que dependen las consultas
+ * paginadas y filtradas; si falta alguno (borrado a mano, migración baselined sin aplicar) el arranque
+ * falla en lugar de degradar a recorridos secuenciales de la tabla.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.schema", name = "verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements Callback {
+
+    static final Map<String, List<String>> EXPECTED_INDEXES = new LinkedHashMap<>();
+
+    static {
+        EXPECTED_INDEXES.put("medico", List.of(
+                "idx_medico_nombre",
+                "idx_medico_especialidad_id",
+                "idx_medico_especialidad_nombre",
+                "idx_medico_nombre_trgm",
+                "idx_medico_updated_at"));
+        EXPECTED_INDEXES.put("especialidad", List.of("idx_especialidad_updated_at"));
+        EXPECTED_INDEXES.put("medico_change", List.of("idx_medico_change_changed_at"));
+        EXPECTED_INDEXES.put("tombstone", List.of("idx_tombstone_deleted_at"));
+    }
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        try {
+            verify(context.getConnection());
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudieron leer los índices de la base de datos", e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "verificacion-indices";
+    }
+
+    void verify(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, List<String>> table : EXPECTED_INDEXES.entrySet()) {
+            Set<String> existing = indexes(metaData, connection.getSchema(), table.getKey());
+            table.getValue().stream()
+                    .filter(index -> !existing.contains(index))
+                    .forEach(missing::add);
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Faltan índices requeridos por las consultas: " + missing);
+        }
+        log.info("Índices de consulta verificados: {} tablas", EXPECTED_INDEXES.size());
+    }
+
+    private static Set<String> indexes(DatabaseMetaData metaData, String schema, String table) throws SQLException {
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Set<String> indexes = new HashSet<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, schema, name, false, true)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME");
+                if (index != null) {
+                    indexes.add(index.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,67 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.repository.EspecialidadRepository;
+import com.academy.apicrud.sharding.MedicoShard;
+import com.academy.apicrud.sharding.ShardedMedicoRepository;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Con sharding habilitado los servicios reciben un {@link ShardedMedicoRepository} en lugar del repositorio
+ * de Spring Data, que sigue existiendo sobre {@code spring.r2dbc.url}. Cada shard tiene su propio pool y,
+ * como no son beans, el proxy de monitoreo se aplica aquí.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "dispose")
+    @Primary
+    public ShardedMedicoRepository shardedMedicoRepository(ShardingProperties sharding, R2dbcProperties r2dbc,
+                                                           DatabaseClient databaseClient,
+                                                           EspecialidadRepository especialidadRepository,
+                                                           PostgresqlDriverProperties driver,
+                                                           ObjectProvider<ProxyExecutionListener> proxyListeners) {
+        if (sharding.getShards().isEmpty()) {
+            throw new IllegalStateException("app.sharding.shards es obligatorio con app.sharding.enabled=true");
+        }
+        List<ProxyExecutionListener> listeners = proxyListeners.orderedStream().collect(Collectors.toList());
+        List<MedicoShard> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : sharding.getShards()) {
+            if (!StringUtils.hasText(shard.getName()) || !StringUtils.hasText(shard.getUrl())) {
+                throw new IllegalStateException("Cada shard de app.sharding.shards necesita name y url");
+            }
+            ConnectionFactory connectionFactory = PooledConnectionFactories.create(shard.getUrl(),
+                    StringUtils.hasText(shard.getUsername()) ? shard.getUsername() : r2dbc.getUsername(),
+                    StringUtils.hasText(shard.getPassword()) ? shard.getPassword() : r2dbc.getPassword(),
+                    shard.getPool(), driver);
+            if (!listeners.isEmpty()) {
+                connectionFactory = R2dbcMonitoringConfig.monitored(connectionFactory, listeners);
+            }
+            shards.add(new MedicoShard(shard.getName(), connectionFactory, driver));
+        }
+        Mono<Long> nextId = databaseClient.sql(sharding.getIdSequenceQuery())
+                .map(row -> row.get(0, Long.class))
+                .one();
+        log.info("Sharding de medico habilitado: {} shards por {}", shards.size(), sharding.getKey());
+        return new ShardedMedicoRepository(shards, sharding.getKey(), sharding.getVirtualNodes(), nextId,
+                especialidadRepository);
+    }
+}
@@ -0,0 +1,65 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reparto de la tabla medico entre varias bases de datos (prefijo {@code app.sharding}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    /**
+     * Con false la tabla medico está en {@code spring.r2dbc.url}
+     */
+    private boolean enabled = false;
+
+    private ShardKey key = ShardKey.ID;
+
+    /**
+     * Posiciones de cada shard en el anillo; más nodos virtuales reparten las claves de forma más uniforme
+     */
+    private int virtualNodes = 160;
+
+    /**
+     * Los ids se asignan en {@code spring.r2dbc.url} para que sean únicos entre shards
+     */
+    private String idSequenceQuery = "SELECT nextval('medico_id_seq')";
+
+    /**
+     * El nombre de cada shard fija su posición en el anillo: no debe cambiar mientras tenga datos
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    public enum ShardKey {
+        /**
+         * Las operaciones por id van a un único shard; los filtros por especialidad consultan todos
+         */
+        ID,
+        /**
+         * Los médicos de una especialidad comparten shard: los filtros por especialidad consultan uno
+         * solo y las operaciones por id consultan todos
+         */
+        ESPECIALIDAD_ID
+    }
+
+    @Data
+    public static class Shard {
+        private String name;
+        private String url;
+
+        /**
+         * Sin valor se usan las credenciales de {@code spring.r2dbc}
+         */
+        private String username;
+
+        private String password;
+
+        private R2dbcProperties.Pool pool = new R2dbcProperties.Pool();
+    }
+}
@@ -0,0 +1,41 @@
+package com.academy.apicrud.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.sql.init.AbstractScriptDatabaseInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Inicialización diferida del perfil fast-startup (spring.main.lazy-initialization): solo se difieren los
+ * beans de librerías (springdoc, endpoints y métricas extra de actuator, Jackson...) y OpenApiConfig. Los de
+ * la aplicación siguen creándose al arrancar porque abren conexiones, programan tareas o validan la
+ * configuración, y un error suyo debe impedir el arranque y no aparecer en la primera petición.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.academy.apicrud.";
+
+    // Beans propios que no atienden peticiones de la API
+    static final List<Class<?>> NON_CRITICAL = List.of(OpenApiConfig.class);
+
+    // Migraciones y scripts de spring.sql.init: diferidos no se ejecutarían, nada depende de ellos
+    static final List<Class<?>> DATABASE_INITIALIZERS = List.of(
+            FlywayMigrationInitializer.class,
+            AbstractScriptDatabaseInitializer.class);
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerApplicationBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && isEager(beanType);
+    }
+
+    static boolean isEager(Class<?> beanType) {
+        if (DATABASE_INITIALIZERS.stream().anyMatch(type -> type.isAssignableFrom(beanType))) {
+            return true;
+        }
+        return beanType.getName().startsWith(APPLICATION_PACKAGE) && !NON_CRITICAL.contains(beanType);
+    }
+}
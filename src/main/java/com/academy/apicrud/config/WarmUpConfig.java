@@ -0,0 +1,31 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.json.CachingJackson2JsonEncoder;
+import com.academy.apicrud.repository.MedicoRepository;
+import com.academy.apicrud.service.EspecialidadService;
+import com.academy.apicrud.service.MedicoService;
+import com.academy.apicrud.warmup.StartupWarmUp;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Calentamiento del pool, las consultas, la cache de páginas y el codificador JSON antes de que la sonda de readiness
+ * acepte tráfico.
+ */
+@Configuration
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class WarmUpConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.warm-up", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public StartupWarmUp startupWarmUp(ConnectionFactory connectionFactory, MedicoRepository medicoRepository,
+                                       EspecialidadService especialidadService, MedicoService medicoService,
+                                       CachingJackson2JsonEncoder jsonEncoder, WarmUpProperties properties, MeterRegistry meterRegistry) {
+        return new StartupWarmUp(connectionFactory, medicoRepository, especialidadService, medicoService,
+                jsonEncoder, properties.getMaxDuration(), meterRegistry);
+    }
+}
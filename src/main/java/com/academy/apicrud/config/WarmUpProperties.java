@@ -0,0 +1,24 @@
+package com.academy.apicrud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Calentamiento antes de aceptar tráfico (prefijo {@code app.warm-up}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.warm-up")
+public class WarmUpProperties {
+
+    /**
+     * Con false la aplicación acepta tráfico en cuanto arranca
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tiempo máximo que la sonda de readiness espera al calentamiento; después se acepta tráfico igualmente
+     */
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
@@ -1,12 +1,18 @@
 package com.academy.apicrud.controller;
 
+import com.academy.apicrud.changefeed.MedicoChangeEvents;
 import com.academy.apicrud.exception.ResourceNotFoundException;
+import com.academy.apicrud.export.MedicoCsv;
+import com.academy.apicrud.model.domain.MedicoChange;
 import com.academy.apicrud.model.dto.MedicoDto;
 import com.academy.apicrud.model.dto.PageResponseDto;
+import com.academy.apicrud.model.dto.SyncRecordDto;
 import com.academy.apicrud.model.response.ResponseDataCrud;
 import com.academy.apicrud.model.response.ResponseMedico;
+import com.academy.apicrud.resilience.ResilienceErrors;
 import com.academy.apicrud.service.MedicoService;
 import com.academy.apicrud.util.Constants;
+import com.academy.apicrud.util.LogSampler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,17 +20,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -32,9 +44,11 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Médicos", description = "API para gestión de médicos")
+@ConditionalOnProperty(name = "app.web.functional-endpoints.enabled", havingValue = "false", matchIfMissing = true)
 public class MedicoController {
 
     private final MedicoService medicoService;
+    private final LogSampler logSampler;
 
     @GetMapping("/page")
     @Operation(summary = "Obtener médicos paginados y filtrados")
@@ -49,8 +63,10 @@ public class MedicoController {
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String sortOrder) {
 
-        log.info("REST request para obtener médicos paginados: page={}, size={}, sortBy={}, sortOrder={}, nombre={}, especialidadId={}",
-                page, size, sortBy, sortOrder, nombre, especialidadId);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para obtener médicos paginados: page={}, size={}, sortBy={}, sortOrder={}, nombre={}, especialidadId={}",
+                    page, size, sortBy, sortOrder, nombre, especialidadId);
+        }
 
         try {
             // Validar parámetros de ordenamiento
@@ -76,7 +92,7 @@ public class MedicoController {
                         );
                         return ResponseEntity.ok(response);
                     })
-                    .onErrorResume(e -> {
+                    .onErrorResume(ResilienceErrors::isRecoverable, e -> {
                         if (e instanceof IllegalArgumentException) {
                             log.error("Error de validación en parámetros de paginación: {}", e.getMessage());
                             ResponseDataCrud<PageResponseDto<MedicoDto>> response = new ResponseDataCrud<>(
@@ -108,12 +124,43 @@ public class MedicoController {
         }
     }
 
+    @GetMapping("/export.csv")
+    @Operation(summary = "Exportar médicos con especialidad en CSV")
+    @ApiResponse(responseCode = "200", description = "Un médico por fila con los filtros y el orden de /page, sin paginar; gzip si Accept-Encoding lo admite",
+            content = @Content(mediaType = "text/csv"))
+    @ApiResponse(responseCode = "400", description = "Parámetros de ordenamiento inválidos")
+    public ResponseEntity<Flux<DataBuffer>> exportMedicosCsv(
+            @RequestParam(required = false) String nombre,
+            @RequestParam(required = false) Long especialidadId,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortOrder,
+            ServerWebExchange exchange) {
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para exportar médicos en CSV: sortBy={}, sortOrder={}, nombre={}, especialidadId={}",
+                    sortBy, sortOrder, nombre, especialidadId);
+        }
+
+        // Un parámetro inválido se responde con 400 en GlobalExceptionHandler
+        medicoService.validateSortParameters(sortBy, sortOrder);
+        Sort sort = sortOrder.equalsIgnoreCase(Sort.Direction.ASC.name())
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+
+        boolean gzip = MedicoCsv.acceptsGzip(exchange.getRequest().getHeaders());
+        return ResponseEntity.ok()
+                .headers(headers -> MedicoCsv.headers(headers, gzip))
+                .body(MedicoCsv.write(medicoService.exportMedicosWithEspecialidad(nombre, especialidadId, sort),
+                        exchange.getResponse().bufferFactory(), gzip));
+    }
+
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Obtener todos los médicos")
     @ApiResponse(responseCode = "200", description = "Lista de médicos",
             content = @Content(schema = @Schema(implementation = ResponseDataCrud.class)))
     public Mono<ResponseEntity<ResponseDataCrud<List<MedicoDto>>>> getAllMedicos() {
-        log.info("REST request para obtener todos los médicos");
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para obtener todos los médicos");
+        }
         return medicoService.getAllMedicos()
                 .collectList()
                 .map(medicosDto -> {
@@ -127,12 +174,47 @@ public class MedicoController {
                 });
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream de todos los médicos (NDJSON)")
+    @ApiResponse(responseCode = "200", description = "Un médico por línea, leídos de la base de datos al ritmo que los consume el cliente")
+    public Flux<MedicoDto> streamMedicos() {
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para el stream de todos los médicos");
+        }
+        return medicoService.streamMedicos();
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream de altas, modificaciones y bajas de médicos (Server-Sent Events)")
+    @ApiResponse(responseCode = "200", description = "Un evento por cambio; con Last-Event-ID se reenvían, al menos una vez, los cambios que pudo no recibir")
+    public Flux<ServerSentEvent<MedicoChange>> getMedicoChanges(
+            @RequestHeader(value = MedicoChangeEvents.LAST_EVENT_ID, required = false) String lastEventId) {
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para suscribirse a los cambios de médicos, Last-Event-ID: {}", lastEventId);
+        }
+        return MedicoChangeEvents.toServerSentEvents(
+                medicoService.getMedicoChanges(MedicoChangeEvents.parseLastEventId(lastEventId)));
+    }
+
+    @GetMapping(value = "/sync", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Sincronización incremental de médicos y especialidades (NDJSON)")
+    @ApiResponse(responseCode = "200", description = "Altas, modificaciones y bajas posteriores a since, terminadas por el nuevo watermark")
+    public Flux<SyncRecordDto> syncMedicos(
+            @RequestParam(value = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para sincronizar médicos desde: {}", since);
+        }
+        return medicoService.getChangesSince(since);
+    }
+
     @GetMapping(value = "/with-especialidad", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Obtener todos los médicos con su especialidad")
     @ApiResponse(responseCode = "200", description = "Lista de médicos con especialidad",
             content = @Content(schema = @Schema(implementation = ResponseDataCrud.class)))
     public Mono<ResponseEntity<ResponseDataCrud<List<ResponseMedico>>>> getAllMedicosWithEspecialidad() {
-        log.info("REST request para obtener todos los médicos con especialidad");
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para obtener todos los médicos con especialidad");
+        }
         return medicoService.getAllMedicosWithEspecialidad()
                 .collectList()
                 .map(medicosResponse -> {
@@ -146,13 +228,25 @@ public class MedicoController {
                 });
     }
 
+    @GetMapping(value = "/with-especialidad", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream de todos los médicos con su especialidad (NDJSON)")
+    @ApiResponse(responseCode = "200", description = "Un médico con especialidad por línea, leídos al ritmo que los consume el cliente")
+    public Flux<ResponseMedico> streamMedicosWithEspecialidad() {
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para el stream de todos los médicos con especialidad");
+        }
+        return medicoService.streamMedicosWithEspecialidad();
+    }
+
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Obtener un médico por ID")
     @ApiResponse(responseCode = "200", description = "Médico encontrado",
             content = @Content(schema = @Schema(implementation = ResponseDataCrud.class)))
     @ApiResponse(responseCode = "404", description = "Médico no encontrado")
     public Mono<ResponseEntity<ResponseDataCrud<MedicoDto>>> getMedicoById(@PathVariable Long id) {
-        log.info("REST request para obtener médico con ID: {}", id);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para obtener médico con ID: {}", id);
+        }
         return medicoService.getMedicoById(id)
                 .map(medicoDto -> {
                     ResponseDataCrud<MedicoDto> response = new ResponseDataCrud<>(
@@ -163,7 +257,7 @@ public class MedicoController {
                     );
                     return ResponseEntity.ok(response);
                 })
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Médico", "id", id)));
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)));
     }
 
     @GetMapping(value = "/{id}/with-especialidad", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -172,7 +266,9 @@ public class MedicoController {
             content = @Content(schema = @Schema(implementation = ResponseDataCrud.class)))
     @ApiResponse(responseCode = "404", description = "Médico no encontrado")
     public Mono<ResponseEntity<ResponseDataCrud<ResponseMedico>>> getMedicoWithEspecialidadById(@PathVariable Long id) {
-        log.info("REST request para obtener médico con especialidad, ID: {}", id);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para obtener médico con especialidad, ID: {}", id);
+        }
         return medicoService.getMedicoWithEspecialidadById(id)
                 .map(responseMedico -> {
                     ResponseDataCrud<ResponseMedico> response = new ResponseDataCrud<>(
@@ -183,7 +279,7 @@ public class MedicoController {
                     );
                     return ResponseEntity.ok(response);
                 })
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Médico", "id", id)));
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)));
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -193,7 +289,9 @@ public class MedicoController {
             content = @Content(schema = @Schema(implementation = ResponseDataCrud.class)))
     @ApiResponse(responseCode = "400", description = "Datos de médico inválidos")
     public Mono<ResponseEntity<ResponseDataCrud<MedicoDto>>> createMedico(@Valid @RequestBody MedicoDto medicoDto) {
-        log.info("REST request para crear un nuevo médico: {}", medicoDto);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para crear un nuevo médico: {}", medicoDto);
+        }
         return medicoService.saveMedico(medicoDto)
                 .map(medicoGuardado -> {
                     ResponseDataCrud<MedicoDto> response = new ResponseDataCrud<>(
@@ -213,7 +311,9 @@ public class MedicoController {
     @ApiResponse(responseCode = "404", description = "Médico no encontrado")
     @ApiResponse(responseCode = "400", description = "Datos de médico inválidos")
     public Mono<ResponseEntity<ResponseDataCrud<MedicoDto>>> updateMedico(@PathVariable Long id, @Valid @RequestBody MedicoDto medicoDto) {
-        log.info("REST request para actualizar médico con ID: {}", id);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para actualizar médico con ID: {}", id);
+        }
         return medicoService.updateMedico(id, medicoDto)
                 .map(medicoActualizado -> {
                     ResponseDataCrud<MedicoDto> response = new ResponseDataCrud<>(
@@ -224,7 +324,7 @@ public class MedicoController {
                     );
                     return ResponseEntity.ok(response);
                 })
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Médico", "id", id)));
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)));
     }
 
     @DeleteMapping("/{id}")
@@ -232,7 +332,9 @@ public class MedicoController {
     @ApiResponse(responseCode = "204", description = "Médico eliminado")
     @ApiResponse(responseCode = "404", description = "Médico no encontrado")
     public Mono<ResponseEntity<ResponseDataCrud<Object>>> deleteMedico(@PathVariable Long id) {
-        log.info("REST request para eliminar médico con ID: {}", id);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para eliminar médico con ID: {}", id);
+        }
         return medicoService.getMedicoById(id)
                 .flatMap(medico -> medicoService.deleteMedico(id)
                         .then(Mono.just(ResponseEntity.status(HttpStatus.NO_CONTENT)
@@ -242,6 +344,6 @@ public class MedicoController {
                                         null,
                                         null
                                 )))))
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Médico", "id", id)));
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)));
     }
 }
\ No newline at end of file
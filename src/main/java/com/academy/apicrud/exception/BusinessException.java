@@ -0,0 +1,33 @@
+package com.academy.apicrud.exception;
+
+/**
+ * Base de las excepciones de negocio que viajan por las cadenas reactivas hasta {@link GlobalExceptionHandler}.
+ * <p>
+ * No captura la traza de la pila ni admite excepciones suprimidas: el handler solo usa el mensaje y los
+ * datos de la excepción, y en rutas calientes (ids inexistentes, validaciones) la traza era el coste principal.
+ * El mensaje se construye la primera vez que se solicita.
+ */
+public abstract class BusinessException extends RuntimeException {
+
+    private transient volatile String message;
+
+    protected BusinessException() {
+        super(null, null, false, false);
+    }
+
+    /**
+     * Construye el mensaje de la excepción; solo se invoca cuando alguien lo solicita
+     * @return Mensaje descriptivo del error
+     */
+    protected abstract String buildMessage();
+
+    @Override
+    public String getMessage() {
+        String result = message;
+        if (result == null) {
+            result = buildMessage();
+            message = result;
+        }
+        return result;
+    }
+}
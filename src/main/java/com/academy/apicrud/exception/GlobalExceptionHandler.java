@@ -1,37 +1,50 @@
 package com.academy.apicrud.exception;
 
+import com.academy.apicrud.model.response.ErrorDetails;
+import com.academy.apicrud.model.response.NotFoundDetails;
 import com.academy.apicrud.model.response.ResponseDataCrud;
+import com.academy.apicrud.util.CoarseClock;
 import com.academy.apicrud.util.Constants;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.reactive.function.server.ServerRequest;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private static final String NOT_FOUND_CODE = String.valueOf(Constants.HTTP_NOT_FOUND);
+    private static final String BAD_REQUEST_CODE = String.valueOf(Constants.HTTP_BAD_REQUEST);
+    private static final String SERVICE_UNAVAILABLE_CODE = String.valueOf(Constants.HTTP_SERVICE_UNAVAILABLE);
+    private static final String INTERNAL_SERVER_ERROR_CODE = String.valueOf(Constants.HTTP_INTERNAL_SERVER_ERROR);
+    private static final String SOLICITUD_INVALIDA = "Solicitud inválida";
+    private static final String ERROR_INTERNO = "Error interno del servidor";
+    private static final String SERVICIO_NO_DISPONIBLE = "Servicio no disponible";
+    private static final String RETRY_AFTER_SECONDS = "5";
+
     @ExceptionHandler(ResourceNotFoundException.class)
-    public Mono<ResponseEntity<ResponseDataCrud<Map<String, Object>>>> handleResourceNotFoundException(
+    public Mono<ResponseEntity<ResponseDataCrud<NotFoundDetails>>> handleResourceNotFoundException(
             ResourceNotFoundException ex) {
 
-        log.error("Recurso no encontrado: {}", ex.getMessage());
+        // Los 404 son esperados (clientes y scanners con ids inexistentes): no se registran como error
+        log.debug("Recurso no encontrado: {}", ex.getMessage());
 
-        Map<String, Object> details = new HashMap<>();
-        details.put("resourceName", ex.getResourceName());
-        details.put("fieldName", ex.getFieldName());
-        details.put("fieldValue", ex.getFieldValue());
-        details.put("timestamp", LocalDateTime.now());
+        NotFoundDetails details = new NotFoundDetails(
+                ex.getResourceName(),
+                ex.getFieldName(),
+                ex.getFieldValue(),
+                CoarseClock.now()
+        );
 
-        ResponseDataCrud<Map<String, Object>> response = new ResponseDataCrud<>(
-                String.valueOf(Constants.HTTP_NOT_FOUND),
+        ResponseDataCrud<NotFoundDetails> response = new ResponseDataCrud<>(
+                NOT_FOUND_CODE,
                 ex.getMessage(),
                 null,
                 details
@@ -41,18 +54,15 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    public Mono<ResponseEntity<ResponseDataCrud<Map<String, Object>>>> handleIllegalArgumentException(
+    public Mono<ResponseEntity<ResponseDataCrud<ErrorDetails>>> handleIllegalArgumentException(
             IllegalArgumentException ex) {
 
-        log.error("Argumento ilegal: {}", ex.getMessage());
+        log.warn("Argumento ilegal: {}", ex.getMessage());
 
-        Map<String, Object> details = new HashMap<>();
-        details.put("error", "Solicitud inválida");
-        details.put("message", ex.getMessage());
-        details.put("timestamp", LocalDateTime.now());
+        ErrorDetails details = new ErrorDetails(SOLICITUD_INVALIDA, ex.getMessage(), CoarseClock.now());
 
-        ResponseDataCrud<Map<String, Object>> response = new ResponseDataCrud<>(
-                String.valueOf(Constants.HTTP_BAD_REQUEST),
+        ResponseDataCrud<ErrorDetails> response = new ResponseDataCrud<>(
+                BAD_REQUEST_CODE,
                 ex.getMessage(),
                 null,
                 details
@@ -61,22 +71,52 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response));
     }
 
+    @ExceptionHandler(CallNotPermittedException.class)
+    public Mono<ResponseEntity<ResponseDataCrud<ErrorDetails>>> handleCallNotPermittedException(
+            CallNotPermittedException ex) {
+
+        // Circuito abierto: la base de datos no responde y se falla rápido sin intentar la consulta
+        log.warn("Circuit breaker abierto: {}", ex.getMessage());
+        return serviceUnavailable(Constants.BASE_DATOS_NO_DISPONIBLE);
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public Mono<ResponseEntity<ResponseDataCrud<ErrorDetails>>> handleTimeoutException(TimeoutException ex) {
+
+        // Timeout de la operación de repositorio, tras agotar los reintentos si era una lectura
+        log.warn("Timeout de base de datos: {}", ex.getMessage());
+        return serviceUnavailable(Constants.BASE_DATOS_SIN_RESPUESTA);
+    }
+
+    private static Mono<ResponseEntity<ResponseDataCrud<ErrorDetails>>> serviceUnavailable(String message) {
+        ErrorDetails details = new ErrorDetails(SERVICIO_NO_DISPONIBLE, message, CoarseClock.now());
+
+        ResponseDataCrud<ErrorDetails> response = new ResponseDataCrud<>(
+                SERVICE_UNAVAILABLE_CODE,
+                message,
+                null,
+                details
+        );
+
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(response));
+    }
+
     @ExceptionHandler(Exception.class)
-    public Mono<ResponseEntity<ResponseDataCrud<Map<String, Object>>>> handleGenericException(Exception ex) {
+    public Mono<ResponseEntity<ResponseDataCrud<ErrorDetails>>> handleGenericException(Exception ex) {
 
         log.error("Error interno: {}", ex.getMessage());
 
-        Map<String, Object> details = new HashMap<>();
-        details.put("error", "Error interno del servidor");
-        details.put("timestamp", LocalDateTime.now());
+        ErrorDetails details = new ErrorDetails(ERROR_INTERNO, null, CoarseClock.now());
 
-        ResponseDataCrud<Map<String, Object>> response = new ResponseDataCrud<>(
-                String.valueOf(Constants.HTTP_INTERNAL_SERVER_ERROR),
-                "Error interno del servidor",
+        ResponseDataCrud<ErrorDetails> response = new ResponseDataCrud<>(
+                INTERNAL_SERVER_ERROR_CODE,
+                ERROR_INTERNO,
                 null,
                 details
         );
 
         return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response));
     }
-}
\ No newline at end of file
+}
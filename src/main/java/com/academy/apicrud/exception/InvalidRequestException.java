@@ -0,0 +1,20 @@
+package com.academy.apicrud.exception;
+
+/**
+ * Error de validación sin traza de la pila.
+ * <p>
+ * Extiende {@link IllegalArgumentException} para que el controlador y {@link GlobalExceptionHandler}
+ * sigan respondiendo 400. No se comparten instancias: IllegalArgumentException no permite desactivar
+ * las excepciones suprimidas y Reactor puede adjuntarlas (checkpoints, operadores con delayError).
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
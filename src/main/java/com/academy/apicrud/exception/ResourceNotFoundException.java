@@ -3,16 +3,20 @@ package com.academy.apicrud.exception;
 import lombok.Getter;
 
 @Getter
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends BusinessException {
 
     private final String resourceName;
     private final String fieldName;
     private final Object fieldValue;
 
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s no encontrado con %s: '%s'", resourceName, fieldName, fieldValue));
         this.resourceName = resourceName;
         this.fieldName = fieldName;
         this.fieldValue = fieldValue;
     }
+
+    @Override
+    protected String buildMessage() {
+        return resourceName + " no encontrado con " + fieldName + ": '" + fieldValue + "'";
+    }
 }
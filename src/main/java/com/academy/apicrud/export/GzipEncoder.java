@@ -0,0 +1,86 @@
+package com.academy.apicrud.export;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresión gzip (RFC 1952) de una secuencia de DataBuffers con un único Deflater por respuesta: lee
+ * cada buffer sin copiarlo a un array y escribe la salida en buffers de la misma fábrica. Los métodos
+ * son sincronizados porque la cancelación de la respuesta puede llegar en otro hilo durante un encode.
+ */
+final class GzipEncoder {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final CRC32 crc = new CRC32();
+    private final byte[] chunk = new byte[8192];
+    private boolean headerWritten;
+    private boolean ended;
+
+    /**
+     * Comprime {@code input} y lo libera; la salida puede estar vacía si el deflater aún no completó un bloque
+     */
+    synchronized DataBuffer encode(DataBuffer input, DataBufferFactory bufferFactory) {
+        try {
+            DataBuffer output = bufferFactory.allocateBuffer(input.readableByteCount() / 2 + HEADER.length);
+            if (ended) {
+                return output;
+            }
+            writeHeader(output);
+            ByteBuffer bytes = input.asByteBuffer();
+            crc.update(bytes.duplicate());
+            deflater.setInput(bytes);
+            while (!deflater.needsInput()) {
+                output.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return output;
+        } finally {
+            DataBufferUtils.release(input);
+        }
+    }
+
+    /**
+     * Último bloque comprimido y la cola con el CRC32 y la longitud de la entrada
+     */
+    synchronized DataBuffer finish(DataBufferFactory bufferFactory) {
+        DataBuffer output = bufferFactory.allocateBuffer(chunk.length);
+        if (ended) {
+            return output;
+        }
+        writeHeader(output);
+        deflater.finish();
+        while (!deflater.finished()) {
+            output.write(chunk, 0, deflater.deflate(chunk));
+        }
+        writeIntLittleEndian(output, crc.getValue());
+        writeIntLittleEndian(output, deflater.getBytesRead());
+        return output;
+    }
+
+    synchronized void end() {
+        if (!ended) {
+            ended = true;
+            deflater.end();
+        }
+    }
+
+    private void writeHeader(DataBuffer output) {
+        if (!headerWritten) {
+            output.write(HEADER);
+            headerWritten = true;
+        }
+    }
+
+    private static void writeIntLittleEndian(DataBuffer output, long value) {
+        output.write((byte) value)
+                .write((byte) (value >> 8))
+                .write((byte) (value >> 16))
+                .write((byte) (value >> 24));
+    }
+}
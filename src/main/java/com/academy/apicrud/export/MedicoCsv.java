@@ -0,0 +1,208 @@
+package com.academy.apicrud.export;
+
+import com.academy.apicrud.model.response.ResponseMedico;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Exportación CSV (RFC 4180, UTF-8, fin de línea CRLF) de médicos con especialidad.
+ * <p>
+ * Las filas se escriben byte a byte en buffers de la fábrica de la respuesta (con Netty, del pool de
+ * ByteBuf), {@value #ROWS_PER_BUFFER} filas por buffer, sin construir un String por fila. La memoria no
+ * depende del número de filas: el cursor pide filas al ritmo al que Netty escribe los buffers. La
+ * cabecera va en el primer buffer de filas, así que un error de la consulta antes de la primera fila
+ * todavía se responde con el código de error y no con un CSV cortado.
+ */
+public final class MedicoCsv {
+
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    public static final String FILENAME = "medicos.csv";
+    static final int ROWS_PER_BUFFER = 256;
+
+    private static final byte[] HEADER = "id,nombreMedico,especialidadId,nombreEspecialidad\r\n"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final int ROW_CAPACITY = 64;
+    private static final String GZIP = "gzip";
+
+    private MedicoCsv() {
+    }
+
+    /**
+     * Buffers del CSV, comprimidos en gzip si {@code gzip}; los buffers descartados por una cancelación se liberan
+     */
+    public static Flux<DataBuffer> write(Flux<ResponseMedico> medicos, DataBufferFactory bufferFactory, boolean gzip) {
+        Flux<DataBuffer> rows = Flux.defer(() -> {
+            RowWriter writer = new RowWriter(bufferFactory);
+            return medicos.buffer(ROWS_PER_BUFFER)
+                    .map(writer::write)
+                    .switchIfEmpty(Mono.fromSupplier(() -> writer.write(List.of())));
+        });
+        return (gzip ? gzip(rows, bufferFactory) : rows)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private static Flux<DataBuffer> gzip(Flux<DataBuffer> csv, DataBufferFactory bufferFactory) {
+        return Flux.using(GzipEncoder::new, encoder -> csv
+                        .<DataBuffer>handle((buffer, sink) -> {
+                            DataBuffer compressed = encoder.encode(buffer, bufferFactory);
+                            // El deflater retiene la entrada hasta completar un bloque: no se envían buffers vacíos
+                            if (compressed.readableByteCount() > 0) {
+                                sink.next(compressed);
+                            } else {
+                                DataBufferUtils.release(compressed);
+                            }
+                        })
+                        .concatWith(Mono.fromSupplier(() -> encoder.finish(bufferFactory))),
+                GzipEncoder::end);
+    }
+
+    /**
+     * Si el cliente acepta gzip según Accept-Encoding (sin q=0)
+     */
+    public static boolean acceptsGzip(HttpHeaders requestHeaders) {
+        for (String value : requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : StringUtils.tokenizeToStringArray(value, ",")) {
+                String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+                if (parts.length > 0 && (GZIP.equalsIgnoreCase(parts[0]) || "x-gzip".equalsIgnoreCase(parts[0]))) {
+                    return parts.length == 1 || quality(parts[1]) > 0;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static double quality(String parameter) {
+        String[] pair = StringUtils.tokenizeToStringArray(parameter, "=");
+        if (pair.length != 2 || !"q".equalsIgnoreCase(pair[0])) {
+            return 1;
+        }
+        try {
+            return Double.parseDouble(pair[1]);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Cabeceras de la respuesta: tipo, descarga como fichero y codificación
+     */
+    public static void headers(HttpHeaders headers, boolean gzip) {
+        headers.setContentType(TEXT_CSV);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(FILENAME).build());
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+    }
+
+    /**
+     * Estado de una exportación: la cabecera pendiente y el espacio para los dígitos de los ids
+     */
+    static final class RowWriter {
+
+        private final DataBufferFactory bufferFactory;
+        private final byte[] digits = new byte[20];
+        private boolean headerWritten;
+
+        RowWriter(DataBufferFactory bufferFactory) {
+            this.bufferFactory = bufferFactory;
+        }
+
+        DataBuffer write(List<ResponseMedico> medicos) {
+            DataBuffer buffer = bufferFactory.allocateBuffer(HEADER.length + medicos.size() * ROW_CAPACITY);
+            if (!headerWritten) {
+                buffer.write(HEADER);
+                headerWritten = true;
+            }
+            for (ResponseMedico medico : medicos) {
+                writeNumber(buffer, medico.getId());
+                buffer.write((byte) ',');
+                writeText(buffer, medico.getNombreMedico());
+                buffer.write((byte) ',');
+                writeNumber(buffer, medico.getEspecialidadId());
+                buffer.write((byte) ',');
+                writeText(buffer, medico.getNombreEspecialidad());
+                buffer.write((byte) '\r').write((byte) '\n');
+            }
+            return buffer;
+        }
+
+        private void writeNumber(DataBuffer buffer, Long value) {
+            if (value == null) {
+                return;
+            }
+            long remaining = value;
+            if (remaining < 0) {
+                buffer.write((byte) '-');
+            }
+            int position = digits.length;
+            do {
+                digits[--position] = (byte) ('0' + Math.abs(remaining % 10));
+                remaining /= 10;
+            } while (remaining != 0);
+            buffer.write(digits, position, digits.length - position);
+        }
+    }
+
+    /**
+     * Campo de texto en UTF-8; entre comillas (con las comillas duplicadas) si contiene coma, comillas o salto de línea
+     */
+    static void writeText(DataBuffer buffer, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quoted = needsQuotes(value);
+        if (quoted) {
+            buffer.write((byte) '"');
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"') {
+                    buffer.write((byte) '"');
+                }
+                buffer.write((byte) c);
+            } else if (c < 0x800) {
+                buffer.write((byte) (0xC0 | (c >> 6)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.write((byte) (0xF0 | (codePoint >> 18)));
+                buffer.write((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.write((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.write((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Surrogate suelto: como String.getBytes(UTF_8)
+                buffer.write((byte) '?');
+            } else {
+                buffer.write((byte) (0xE0 | (c >> 12)));
+                buffer.write((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        if (quoted) {
+            buffer.write((byte) '"');
+        }
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
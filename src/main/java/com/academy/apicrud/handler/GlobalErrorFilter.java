@@ -0,0 +1,72 @@
+package com.academy.apicrud.handler;
+
+import com.academy.apicrud.exception.GlobalExceptionHandler;
+import com.academy.apicrud.exception.ResourceNotFoundException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Aplica a las rutas funcionales el mismo {@link GlobalExceptionHandler} que usan los controladores
+ * anotados, con la misma precedencia que sus {@code @ExceptionHandler}. Los errores lanzados de forma
+ * síncrona por el handler (conversión de parámetros) también se traducen.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.web.functional-endpoints.enabled", havingValue = "true")
+public class GlobalErrorFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private final GlobalExceptionHandler exceptionHandler;
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> next.handle(request))
+                .onErrorResume(this::toResponse);
+    }
+
+    private Mono<ServerResponse> toResponse(Throwable error) {
+        if (error instanceof ResourceNotFoundException) {
+            return exceptionHandler.handleResourceNotFoundException((ResourceNotFoundException) error)
+                    .flatMap(GlobalErrorFilter::fromEntity);
+        }
+        if (error instanceof CallNotPermittedException) {
+            return exceptionHandler.handleCallNotPermittedException((CallNotPermittedException) error)
+                    .flatMap(GlobalErrorFilter::fromEntity);
+        }
+        if (error instanceof TimeoutException) {
+            return exceptionHandler.handleTimeoutException((TimeoutException) error)
+                    .flatMap(GlobalErrorFilter::fromEntity);
+        }
+        if (error instanceof UnsupportedMediaTypeStatusException) {
+            // Con @RequestMapping(consumes) el 415 se produce al resolver el handler, fuera del advice
+            return Mono.error(error);
+        }
+        if (error instanceof IllegalArgumentException) {
+            return exceptionHandler.handleIllegalArgumentException((IllegalArgumentException) error)
+                    .flatMap(GlobalErrorFilter::fromEntity);
+        }
+        if (error instanceof Exception) {
+            return exceptionHandler.handleGenericException((Exception) error)
+                    .flatMap(GlobalErrorFilter::fromEntity);
+        }
+        return Mono.error(error);
+    }
+
+    private static Mono<ServerResponse> fromEntity(ResponseEntity<?> entity) {
+        return ServerResponse.status(entity.getStatusCode())
+                .headers(headers -> headers.addAll(entity.getHeaders()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(entity.getBody());
+    }
+}
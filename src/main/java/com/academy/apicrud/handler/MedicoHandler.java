@@ -0,0 +1,314 @@
+package com.academy.apicrud.handler;
+
+import com.academy.apicrud.changefeed.MedicoChangeEvents;
+import com.academy.apicrud.exception.ResourceNotFoundException;
+import com.academy.apicrud.export.MedicoCsv;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.dto.PageResponseDto;
+import com.academy.apicrud.model.dto.SyncRecordDto;
+import com.academy.apicrud.model.response.ResponseDataCrud;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.academy.apicrud.resilience.ResilienceErrors;
+import com.academy.apicrud.service.MedicoService;
+import com.academy.apicrud.util.Constants;
+import com.academy.apicrud.util.LogSampler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Implementación funcional de la API de médicos, equivalente en el cable a {@code MedicoController}
+ * (mismos códigos HTTP y cuerpos) pero sin resolución reflexiva de argumentos ni {@code ResponseEntity}.
+ * Las excepciones se traducen en {@link GlobalErrorFilter} con el mismo {@code GlobalExceptionHandler}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.web.functional-endpoints.enabled", havingValue = "true")
+public class MedicoHandler {
+
+    private static final String OK_CODE = String.valueOf(Constants.HTTP_OK);
+    private static final String CREATED_CODE = String.valueOf(Constants.HTTP_CREATED);
+    private static final String NO_CONTENT_CODE = String.valueOf(Constants.HTTP_NO_CONTENT);
+    private static final String BAD_REQUEST_CODE = String.valueOf(Constants.HTTP_BAD_REQUEST);
+    private static final String INTERNAL_SERVER_ERROR_CODE = String.valueOf(Constants.HTTP_INTERNAL_SERVER_ERROR);
+
+    private final MedicoService medicoService;
+    private final LogSampler logSampler;
+
+    public Mono<ServerResponse> getMedicosPaginados(ServerRequest request) {
+        String nombre = request.queryParam("nombre").orElse(null);
+        Long especialidadId = longParam(request, "especialidadId");
+        int page = intParam(request, "page", 0);
+        int size = intParam(request, "size", 10);
+        String sortBy = stringParam(request, "sortBy", "id");
+        String sortOrder = stringParam(request, "sortOrder", "asc");
+
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para obtener médicos paginados: page={}, size={}, sortBy={}, sortOrder={}, nombre={}, especialidadId={}",
+                    page, size, sortBy, sortOrder, nombre, especialidadId);
+        }
+
+        try {
+            medicoService.validateSortParameters(sortBy, sortOrder);
+
+            Sort sort = sortOrder.equalsIgnoreCase(Sort.Direction.ASC.name())
+                    ? Sort.by(sortBy).ascending()
+                    : Sort.by(sortBy).descending();
+            Pageable pageable = PageRequest.of(page, size, sort);
+
+            return medicoService.getMedicosPaginados(nombre, especialidadId, pageable)
+                    .flatMap(pageResponse -> ok(new ResponseDataCrud<>(
+                            OK_CODE,
+                            Constants.GET,
+                            pageResponse.getContent().size(),
+                            pageResponse
+                    )))
+                    .onErrorResume(ResilienceErrors::isRecoverable, e -> {
+                        if (e instanceof IllegalArgumentException) {
+                            return badRequest(e);
+                        }
+                        log.error("Error al obtener médicos paginados: {}", e.getMessage());
+                        return json(HttpStatus.INTERNAL_SERVER_ERROR, new ResponseDataCrud<PageResponseDto<MedicoDto>>(
+                                INTERNAL_SERVER_ERROR_CODE,
+                                "Error al obtener médicos paginados: " + e.getMessage(),
+                                null,
+                                null
+                        ));
+                    });
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    public Mono<ServerResponse> exportMedicosCsv(ServerRequest request) {
+        String nombre = request.queryParam("nombre").orElse(null);
+        Long especialidadId = longParam(request, "especialidadId");
+        String sortBy = stringParam(request, "sortBy", "id");
+        String sortOrder = stringParam(request, "sortOrder", "asc");
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para exportar médicos en CSV: sortBy={}, sortOrder={}, nombre={}, especialidadId={}",
+                    sortBy, sortOrder, nombre, especialidadId);
+        }
+
+        medicoService.validateSortParameters(sortBy, sortOrder);
+        Sort sort = sortOrder.equalsIgnoreCase(Sort.Direction.ASC.name())
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+
+        boolean gzip = MedicoCsv.acceptsGzip(request.headers().asHttpHeaders());
+        return ServerResponse.ok()
+                .headers(headers -> MedicoCsv.headers(headers, gzip))
+                .body(BodyInserters.fromDataBuffers(MedicoCsv.write(
+                        medicoService.exportMedicosWithEspecialidad(nombre, especialidadId, sort),
+                        request.exchange().getResponse().bufferFactory(), gzip)));
+    }
+
+    public Mono<ServerResponse> getAllMedicos(ServerRequest request) {
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para obtener todos los médicos");
+        }
+        return medicoService.getAllMedicos()
+                .collectList()
+                .flatMap(medicosDto -> ok(new ResponseDataCrud<>(OK_CODE, Constants.GET, medicosDto.size(), medicosDto)));
+    }
+
+    public Mono<ServerResponse> getAllMedicosWithEspecialidad(ServerRequest request) {
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para obtener todos los médicos con especialidad");
+        }
+        return medicoService.getAllMedicosWithEspecialidad()
+                .collectList()
+                .flatMap(medicos -> ok(new ResponseDataCrud<>(OK_CODE, Constants.GET, medicos.size(), medicos)));
+    }
+
+    public Mono<ServerResponse> streamMedicos(ServerRequest request) {
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para el stream de todos los médicos");
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(medicoService.streamMedicos(), MedicoDto.class);
+    }
+
+    public Mono<ServerResponse> streamMedicosWithEspecialidad(ServerRequest request) {
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para el stream de todos los médicos con especialidad");
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(medicoService.streamMedicosWithEspecialidad(), ResponseMedico.class);
+    }
+
+    public Mono<ServerResponse> getMedicoById(ServerRequest request) {
+        Long id = pathId(request);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para obtener médico con ID: {}", id);
+        }
+        return medicoService.getMedicoById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)))
+                .flatMap(medicoDto -> ok(new ResponseDataCrud<>(OK_CODE, Constants.GET, 1, medicoDto)));
+    }
+
+    public Mono<ServerResponse> getMedicoWithEspecialidadById(ServerRequest request) {
+        Long id = pathId(request);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para obtener médico con especialidad, ID: {}", id);
+        }
+        return medicoService.getMedicoWithEspecialidadById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)))
+                .flatMap(responseMedico -> ok(new ResponseDataCrud<>(OK_CODE, Constants.GET, 1, responseMedico)));
+    }
+
+    public Mono<ServerResponse> createMedico(ServerRequest request) {
+        return body(request)
+                .flatMap(medicoDto -> {
+                    if (logSampler.sample(log)) {
+                        logSampler.log(log, "REST request para crear un nuevo médico: {}", medicoDto);
+                    }
+                    return medicoService.saveMedico(medicoDto);
+                })
+                .flatMap(medicoGuardado -> json(HttpStatus.CREATED,
+                        new ResponseDataCrud<>(CREATED_CODE, Constants.POST, null, medicoGuardado)));
+    }
+
+    public Mono<ServerResponse> updateMedico(ServerRequest request) {
+        Long id = pathId(request);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para actualizar médico con ID: {}", id);
+        }
+        return body(request)
+                .flatMap(medicoDto -> medicoService.updateMedico(id, medicoDto))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)))
+                .flatMap(medicoActualizado -> ok(new ResponseDataCrud<>(OK_CODE, Constants.PUT, null, medicoActualizado)));
+    }
+
+    public Mono<ServerResponse> deleteMedico(ServerRequest request) {
+        Long id = pathId(request);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para eliminar médico con ID: {}", id);
+        }
+        return medicoService.getMedicoById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)))
+                .flatMap(medico -> medicoService.deleteMedico(id)
+                        .then(json(HttpStatus.NO_CONTENT,
+                                new ResponseDataCrud<>(NO_CONTENT_CODE, Constants.DELETE, null, null))));
+    }
+
+    public Mono<ServerResponse> getMedicoChanges(ServerRequest request) {
+        String lastEventId = request.headers().firstHeader(MedicoChangeEvents.LAST_EVENT_ID);
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para suscribirse a los cambios de médicos, Last-Event-ID: {}", lastEventId);
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(MedicoChangeEvents.toServerSentEvents(
+                        medicoService.getMedicoChanges(MedicoChangeEvents.parseLastEventId(lastEventId)))));
+    }
+
+    public Mono<ServerResponse> syncMedicos(ServerRequest request) {
+        LocalDateTime since = dateTimeParam(request, "since");
+        if (logSampler.sample(log)) {
+            logSampler.log(log, "REST request para sincronizar médicos desde: {}", since);
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(medicoService.getChangesSince(since), SyncRecordDto.class);
+    }
+
+    private Mono<ServerResponse> badRequest(Throwable e) {
+        log.error("Error de validación en parámetros de paginación: {}", e.getMessage());
+        return json(HttpStatus.BAD_REQUEST, new ResponseDataCrud<PageResponseDto<MedicoDto>>(
+                BAD_REQUEST_CODE,
+                e.getMessage(),
+                null,
+                null
+        ));
+    }
+
+    private static Mono<ServerResponse> ok(Object body) {
+        return json(HttpStatus.OK, body);
+    }
+
+    private static Mono<ServerResponse> json(HttpStatus status, Object body) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body);
+    }
+
+    /**
+     * Igual que {@code @RequestBody} obligatorio: sin cuerpo es un error de entrada
+     */
+    private static Mono<MedicoDto> body(ServerRequest request) {
+        return request.bodyToMono(MedicoDto.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Falta el cuerpo de la petición")));
+    }
+
+    // Los errores de conversión se lanzan como ServerWebInputException, igual que en la resolución
+    // de @PathVariable/@RequestParam, y no como IllegalArgumentException (que se responde con 400)
+
+    private static Long pathId(ServerRequest request) {
+        return parseLong("id", request.pathVariable("id"));
+    }
+
+    private static Long longParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .filter(value -> !value.isEmpty())
+                .map(value -> parseLong(name, value))
+                .orElse(null);
+    }
+
+    // Mismo formato que @DateTimeFormat(iso = DATE_TIME)
+    private static LocalDateTime dateTimeParam(ServerRequest request, String name) {
+        String value = stringParam(request, name, null);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim(), DateTimeFormatter.ISO_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new ServerWebInputException("Valor inválido para el parámetro '" + name + "': " + value);
+        }
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        String value = stringParam(request, name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Valor inválido para el parámetro '" + name + "': " + value);
+        }
+    }
+
+    private static String stringParam(ServerRequest request, String name, String defaultValue) {
+        return request.queryParam(name)
+                .filter(value -> !value.isEmpty())
+                .orElse(defaultValue);
+    }
+
+    private static Long parseLong(String name, String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Valor inválido para el parámetro '" + name + "': " + value);
+        }
+    }
+}
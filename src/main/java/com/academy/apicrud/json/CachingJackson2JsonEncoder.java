@@ -0,0 +1,48 @@
+package com.academy.apicrud.json;
+
+import com.academy.apicrud.model.response.ResponseDataCrud;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codificador JSON de WebFlux que reutiliza un ObjectWriter por tipo de respuesta. El de Spring crea en cada
+ * respuesta un ObjectWriter sin tipo y busca el serializador raíz por la clase del valor; para
+ * ResponseDataCrud se guarda, por su tipo genérico completo, un writer con el serializador raíz ya resuelto.
+ * Las claves son los tipos de retorno de los controladores y handlers, un conjunto fijo. Con una vista
+ * JSON, otro ObjectMapper o un writer modificado (SSE con sangría) se usa el writer de Spring sin cache.
+ */
+public class CachingJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public CachingJackson2JsonEncoder(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable MimeType mimeType,
+                                           ResolvableType elementType, @Nullable Map<String, Object> hints) {
+        ObjectWriter customized = super.customizeWriter(writer, mimeType, elementType, hints);
+        if (customized != writer || !ResponseDataCrud.class.equals(elementType.resolve())
+                || writer.getConfig().getActiveView() != null || writer.getFactory() != getObjectMapper().getFactory()) {
+            return customized;
+        }
+        return writers.computeIfAbsent(elementType.getType(),
+                type -> writer.forType(getObjectMapper().getTypeFactory().constructType(type)));
+    }
+
+    /**
+     * Writers guardados; el calentamiento de arranque los crea antes de aceptar tráfico
+     */
+    public int cachedWriters() {
+        return writers.size();
+    }
+}
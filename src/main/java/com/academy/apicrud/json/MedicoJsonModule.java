@@ -0,0 +1,88 @@
+package com.academy.apicrud.json;
+
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializadores escritos a mano para los elementos de las respuestas de listas de médicos: escriben los
+ * campos con nombres ya codificados, sin recorrer propiedades ni invocar getters por reflexión como el
+ * BeanSerializer. La salida es la misma que la del BeanSerializer con la configuración de Spring Boot:
+ * propiedades en orden de declaración y nulos incluidos. Un campo nuevo en MedicoDto o ResponseMedico hay
+ * que añadirlo también aquí (MedicoJsonModuleTest compara ambas salidas).
+ */
+public class MedicoJsonModule extends SimpleModule {
+
+    public MedicoJsonModule() {
+        super("MedicoJsonModule");
+        addSerializer(MedicoDto.class, new MedicoDtoSerializer());
+        addSerializer(ResponseMedico.class, new ResponseMedicoSerializer());
+    }
+
+    static final class MedicoDtoSerializer extends StdSerializer<MedicoDto> {
+
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString NOMBRE = new SerializedString("nombre");
+        private static final SerializableString ESPECIALIDAD_ID = new SerializedString("especialidadId");
+
+        MedicoDtoSerializer() {
+            super(MedicoDto.class);
+        }
+
+        @Override
+        public void serialize(MedicoDto value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(value);
+            writeNumber(generator, ID, value.getId());
+            writeString(generator, NOMBRE, value.getNombre());
+            writeNumber(generator, ESPECIALIDAD_ID, value.getEspecialidadId());
+            generator.writeEndObject();
+        }
+    }
+
+    static final class ResponseMedicoSerializer extends StdSerializer<ResponseMedico> {
+
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString NOMBRE_MEDICO = new SerializedString("nombreMedico");
+        private static final SerializableString ESPECIALIDAD_ID = new SerializedString("especialidadId");
+        private static final SerializableString NOMBRE_ESPECIALIDAD = new SerializedString("nombreEspecialidad");
+
+        ResponseMedicoSerializer() {
+            super(ResponseMedico.class);
+        }
+
+        @Override
+        public void serialize(ResponseMedico value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(value);
+            writeNumber(generator, ID, value.getId());
+            writeString(generator, NOMBRE_MEDICO, value.getNombreMedico());
+            writeNumber(generator, ESPECIALIDAD_ID, value.getEspecialidadId());
+            writeString(generator, NOMBRE_ESPECIALIDAD, value.getNombreEspecialidad());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, SerializableString name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+}
@@ -4,8 +4,11 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,4 +19,8 @@ public class Especialidad {
     private Long id;
 
     private String nombre;
+
+    // Última alta o modificación; GET /api/medicos/sync devuelve las filas posteriores al watermark
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
 }
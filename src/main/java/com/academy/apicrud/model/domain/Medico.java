@@ -7,6 +7,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,4 +22,12 @@ public class Medico {
 
     @Column("especialidad_id")
     private Long especialidadId;
-}
\ No newline at end of file
+
+    // Última alta o modificación; GET /api/medicos/sync devuelve las filas posteriores al watermark
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    public Medico(Long id, String nombre, Long especialidadId) {
+        this(id, nombre, especialidadId, null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.academy.apicrud.model.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("medico_change")
+public class MedicoChange {
+
+    @Id
+    private Long id;
+
+    @Column("medico_id")
+    private Long medicoId;
+
+    private Operation operation;
+
+    @Column("changed_at")
+    private LocalDateTime changedAt;
+
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+}
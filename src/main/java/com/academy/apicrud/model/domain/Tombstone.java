@@ -0,0 +1,31 @@
+package com.academy.apicrud.model.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Baja de un médico o una especialidad, conservada para que la sincronización incremental la informe
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("tombstone")
+public class Tombstone {
+
+    @Id
+    private Long id;
+
+    private String entity;
+
+    @Column("entity_id")
+    private Long entityId;
+
+    @Column("deleted_at")
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,43 @@
+package com.academy.apicrud.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Línea del stream NDJSON de {@code GET /api/medicos/sync}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncRecordDto {
+
+    private Type type;
+    private String entity;
+    private Long id;
+    private Object data;
+
+    // Siempre ISO-8601 para que el cliente lo reenvíe tal cual como ?since=
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime watermark;
+
+    public enum Type {
+        /**
+         * El watermark es anterior a la retención de bajas: el cliente descarta su copia y aplica lo que sigue
+         */
+        RESET,
+        UPSERT,
+        DELETE,
+        /**
+         * Última línea del stream; es el {@code since} de la siguiente sincronización
+         */
+        WATERMARK
+    }
+}
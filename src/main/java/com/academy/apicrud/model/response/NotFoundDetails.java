@@ -0,0 +1,17 @@
+package com.academy.apicrud.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotFoundDetails {
+    private String resourceName;
+    private String fieldName;
+    private Object fieldValue;
+    private LocalDateTime timestamp;
+}
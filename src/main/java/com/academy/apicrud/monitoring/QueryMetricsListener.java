@@ -0,0 +1,139 @@
+package com.academy.apicrud.monitoring;
+
+import com.academy.apicrud.config.QueryMonitoringProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.proxy.core.Binding;
+import io.r2dbc.proxy.core.Bindings;
+import io.r2dbc.proxy.core.BoundValue;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener del proxy R2DBC que mide cada sentencia ejecutada: publica un histograma de latencia
+ * y de filas por consulta, acumula estadísticas para el endpoint {@code slowqueries} y registra
+ * en el log las sentencias que superan el umbral configurado.
+ */
+@Slf4j
+public class QueryMetricsListener implements ProxyExecutionListener {
+
+    private static final int MAX_TAG_LENGTH = 200;
+
+    private final QueryMonitoringProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final QueryStatsRegistry statsRegistry;
+
+    // Cache de textos normalizados y medidores para no recrearlos en cada ejecución
+    private final ConcurrentMap<String, String> normalizedQueries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, QueryMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetricsListener(QueryMonitoringProperties properties, MeterRegistry meterRegistry,
+                                QueryStatsRegistry statsRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.statsRegistry = statsRegistry;
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo execInfo) {
+        List<QueryInfo> queries = execInfo.getQueries();
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        String query = normalize(queries.get(0).getQuery());
+        long durationNanos = execInfo.getExecuteDuration().toNanos();
+        int rows = execInfo.getCurrentResultCount();
+        boolean success = execInfo.isSuccess();
+
+        QueryMeters queryMeters = meters.computeIfAbsent(query, this::createMeters);
+        (success ? queryMeters.success : queryMeters.error).record(durationNanos, TimeUnit.NANOSECONDS);
+        queryMeters.rows.record(rows);
+        statsRegistry.record(query, durationNanos, rows, success);
+
+        if (durationNanos >= properties.getSlowQueryThreshold().toNanos()) {
+            log.warn("Consulta lenta ({} ms, {} filas): {} | parámetros: {}",
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos), rows, query, formatBindings(queries.get(0)));
+        }
+    }
+
+    String normalize(String query) {
+        return normalizedQueries.computeIfAbsent(query, raw -> raw.trim().replaceAll("\\s+", " "));
+    }
+
+    private QueryMeters createMeters(String query) {
+        String tag = query.length() > MAX_TAG_LENGTH ? query.substring(0, MAX_TAG_LENGTH) : query;
+        return new QueryMeters(
+                queryTimer(tag, "SUCCESS"),
+                queryTimer(tag, "ERROR"),
+                DistributionSummary.builder("r2dbc.query.rows")
+                        .description("Filas devueltas por consulta")
+                        .tag("query", tag)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+        );
+    }
+
+    private Timer queryTimer(String tag, String outcome) {
+        return Timer.builder("r2dbc.query")
+                .description("Tiempo de ejecución de las consultas R2DBC, incluido el consumo de filas")
+                .tag("query", tag)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private String formatBindings(QueryInfo queryInfo) {
+        List<Bindings> bindingsList = queryInfo.getBindingsList();
+        if (bindingsList.isEmpty()) {
+            return "[]";
+        }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (Bindings bindings : bindingsList) {
+            appendBindings(sb, bindings);
+        }
+        return sb.append(']').toString();
+    }
+
+    private void appendBindings(StringBuilder sb, Bindings bindings) {
+        for (Binding binding : bindings.getIndexBindings()) {
+            appendBinding(sb, "$" + ((Integer) binding.getKey() + 1), binding.getBoundValue());
+        }
+        for (Binding binding : bindings.getNamedBindings()) {
+            appendBinding(sb, String.valueOf(binding.getKey()), binding.getBoundValue());
+        }
+    }
+
+    private void appendBinding(StringBuilder sb, String key, BoundValue value) {
+        if (sb.length() > 1) {
+            sb.append(", ");
+        }
+        sb.append(key).append('=');
+        if (value.isNull()) {
+            sb.append("null");
+        } else {
+            sb.append(properties.isRedactParameters() ? "****" : value.getValue());
+        }
+    }
+
+    private static final class QueryMeters {
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary rows;
+
+        private QueryMeters(Timer success, Timer error, DistributionSummary rows) {
+            this.success = success;
+            this.error = error;
+            this.rows = rows;
+        }
+    }
+}
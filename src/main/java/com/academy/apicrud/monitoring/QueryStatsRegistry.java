@@ -0,0 +1,79 @@
+package com.academy.apicrud.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumula estadísticas por texto de consulta desde el arranque de la aplicación.
+ */
+public class QueryStatsRegistry {
+
+    private final ConcurrentMap<String, QueryStats> stats = new ConcurrentHashMap<>();
+
+    public void record(String query, long durationNanos, long rows, boolean success) {
+        QueryStats queryStats = stats.computeIfAbsent(query, key -> new QueryStats());
+        queryStats.executions.increment();
+        queryStats.totalNanos.add(durationNanos);
+        queryStats.rows.add(rows);
+        if (!success) {
+            queryStats.errors.increment();
+        }
+        queryStats.maxNanos.accumulateAndGet(durationNanos, Math::max);
+    }
+
+    /**
+     * Devuelve las consultas ordenadas por su peor tiempo de ejecución
+     * @param limit Número máximo de consultas a devolver
+     * @return Lista de consultas, de la más lenta a la más rápida
+     */
+    public List<QuerySummary> topSlowest(int limit) {
+        List<QuerySummary> summaries = new ArrayList<>(stats.size());
+        stats.forEach((query, queryStats) -> summaries.add(queryStats.summarize(query)));
+        summaries.sort(Comparator.comparingDouble(QuerySummary::getMaxMs).reversed());
+        return summaries.size() > limit ? summaries.subList(0, Math.max(limit, 0)) : summaries;
+    }
+
+    public void clear() {
+        stats.clear();
+    }
+
+    private static final class QueryStats {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private QuerySummary summarize(String query) {
+            long count = executions.sum();
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            return new QuerySummary(
+                    query,
+                    count,
+                    errors.sum(),
+                    count == 0 ? 0 : totalMs / count,
+                    maxNanos.get() / 1_000_000.0,
+                    rows.sum()
+            );
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class QuerySummary {
+        private String query;
+        private long executions;
+        private long errors;
+        private double meanMs;
+        private double maxMs;
+        private long totalRows;
+    }
+}
@@ -0,0 +1,34 @@
+package com.academy.apicrud.monitoring;
+
+import com.academy.apicrud.config.QueryMonitoringProperties;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Endpoint de actuator ({@code /actuator/slowqueries}) con las consultas más lentas desde el arranque.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private final QueryStatsRegistry statsRegistry;
+    private final QueryMonitoringProperties properties;
+
+    public SlowQueriesEndpoint(QueryStatsRegistry statsRegistry, QueryMonitoringProperties properties) {
+        this.statsRegistry = statsRegistry;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public List<QueryStatsRegistry.QuerySummary> slowQueries(@Nullable Integer limit) {
+        return statsRegistry.topSlowest(limit != null ? limit : properties.getTopQueries());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statsRegistry.clear();
+    }
+}
@@ -0,0 +1,145 @@
+package com.academy.apicrud.monitoring;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.proxy.core.Binding;
+import io.r2dbc.proxy.core.Bindings;
+import io.r2dbc.proxy.core.BoundValue;
+import io.r2dbc.proxy.core.ConnectionInfo;
+import io.r2dbc.proxy.core.ExecutionType;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aciertos y fallos de la cache de sentencias preparadas de r2dbc-postgresql. El driver no expone la cache,
+ * así que se replica su comportamiento: por cada conexión física (la del pool, no la prestada) un LRU de
+ * {@code preparedStatementCacheQueries} entradas con clave texto y tipos de los parámetros. Un fallo es un
+ * Parse adicional en el servidor; un número de fallos que no baja tras el arranque indica sentencias cuyo
+ * texto cambia en cada ejecución. Las sentencias sin parámetros usan el protocolo simple y no se cuentan.
+ */
+public class StatementCacheMetricsListener implements ProxyExecutionListener {
+
+    private final int cacheQueries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    // Claves débiles: la entrada desaparece cuando el pool cierra la conexión física
+    private final Cache<Connection, Map<String, Boolean>> statements = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    public StatementCacheMetricsListener(int cacheQueries, MeterRegistry meterRegistry) {
+        this.cacheQueries = cacheQueries;
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+        this.evictions = Counter.builder("r2dbc.statement.cache.evictions")
+                .description("Sentencias preparadas cerradas por superar preparedStatementCacheQueries")
+                .register(meterRegistry);
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("r2dbc.statement.cache")
+                .description("Ejecuciones con parámetros según encuentren o no la sentencia preparada en la conexión")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(QueryExecutionInfo execInfo) {
+        if (execInfo.getType() != ExecutionType.STATEMENT || execInfo.getQueries().isEmpty()) {
+            return;
+        }
+        Connection connection = physicalConnection(execInfo.getConnectionInfo());
+        if (!(connection instanceof PostgresqlConnection)) {
+            return;
+        }
+        QueryInfo query = execInfo.getQueries().get(0);
+        for (Bindings bindings : query.getBindingsList()) {
+            record(connection, key(query.getQuery(), bindings));
+        }
+    }
+
+    private void record(Connection connection, String key) {
+        if (cacheQueries == 0) {
+            misses.increment();
+            return;
+        }
+        Map<String, Boolean> prepared = statements.get(connection, ignored -> new PreparedStatements(cacheQueries, evictions));
+        synchronized (prepared) {
+            if (prepared.get(key) != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                prepared.put(key, Boolean.TRUE);
+            }
+        }
+    }
+
+    private static Connection physicalConnection(ConnectionInfo connectionInfo) {
+        if (connectionInfo == null) {
+            return null;
+        }
+        Object connection = connectionInfo.getOriginalConnection();
+        while (connection instanceof Wrapped && !(connection instanceof PostgresqlConnection)) {
+            Object unwrapped = ((Wrapped<?>) connection).unwrap();
+            if (unwrapped == connection) {
+                break;
+            }
+            connection = unwrapped;
+        }
+        return connection instanceof Connection ? (Connection) connection : null;
+    }
+
+    /**
+     * Texto y tipos de los parámetros, como la clave del driver: un mismo texto con un parámetro nulo de
+     * otro tipo es otra sentencia preparada
+     */
+    static String key(String query, Bindings bindings) {
+        StringBuilder key = new StringBuilder(query);
+        appendTypes(key, bindings.getIndexBindings());
+        appendTypes(key, bindings.getNamedBindings());
+        return key.toString();
+    }
+
+    private static void appendTypes(StringBuilder key, Iterable<Binding> bindings) {
+        for (Binding binding : bindings) {
+            BoundValue value = binding.getBoundValue();
+            Class<?> type = value.isNull() ? value.getNullType() : value.getValue().getClass();
+            key.append('|').append(binding.getKey()).append(':').append(type == null ? "null" : type.getName());
+        }
+    }
+
+    /**
+     * LRU por conexión; -1 sin límite como el driver
+     */
+    private static final class PreparedStatements extends LinkedHashMap<String, Boolean> {
+
+        private final int limit;
+        private final Counter evictions;
+
+        private PreparedStatements(int limit, Counter evictions) {
+            super(16, 0.75f, true);
+            this.limit = limit;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            if (limit > 0 && size() > limit) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
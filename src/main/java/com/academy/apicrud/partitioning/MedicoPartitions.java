@@ -0,0 +1,59 @@
+package com.academy.apicrud.partitioning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Crea y elimina la partición de medico de cada especialidad con las funciones {@code medico_crear_particion}
+ * y {@code medico_eliminar_particion} de la migración V6.
+ * <p>
+ * Las dos bloquean medico o medico_default, así que se llaman fuera de la transacción de la especialidad:
+ * cada una es una sentencia propia con commit inmediato y {@code lock_timeout}. Un fallo no se propaga. Sin
+ * partición, los médicos de la especialidad van a medico_default y las consultas siguen siendo correctas,
+ * aunque sin poda de particiones.
+ */
+@Slf4j
+public class MedicoPartitions {
+
+    private static final String CREATE_PARTITION = "SELECT medico_crear_particion(:especialidadId)";
+    private static final String DROP_PARTITION = "SELECT medico_eliminar_particion(:especialidadId)";
+
+    private final DatabaseClient databaseClient;
+    private final boolean enabled;
+
+    public MedicoPartitions(DatabaseClient databaseClient, boolean enabled) {
+        this.databaseClient = databaseClient;
+        this.enabled = enabled;
+    }
+
+    public Mono<Void> createFor(Long especialidadId) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(CREATE_PARTITION)
+                .bind("especialidadId", especialidadId)
+                .then()
+                .doOnSuccess(v -> log.info("Partición de medico para la especialidad {} disponible", especialidadId))
+                .onErrorResume(error -> {
+                    log.warn("No se pudo crear la partición de la especialidad {}, sus médicos irán a medico_default: {}",
+                            especialidadId, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> dropFor(Long especialidadId) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(DROP_PARTITION)
+                .bind("especialidadId", especialidadId)
+                .then()
+                .doOnSuccess(v -> log.info("Partición de medico de la especialidad {} eliminada", especialidadId))
+                .onErrorResume(error -> {
+                    log.warn("No se pudo eliminar la partición vacía de la especialidad {}: {}",
+                            especialidadId, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
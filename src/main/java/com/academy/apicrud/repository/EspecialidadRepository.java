@@ -1,11 +1,18 @@
 package com.academy.apicrud.repository;
 
 import com.academy.apicrud.model.domain.Especialidad;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
 
 @Repository
 public interface EspecialidadRepository extends ReactiveCrudRepository<Especialidad, Long> {
     // Los métodos básicos de CRUD ya son proporcionados por ReactiveCrudRepository
-    // Se pueden añadir consultas personalizadas si es necesario
-}
\ No newline at end of file
+
+    // Sincronización incremental: usa el índice sobre updated_at
+    @Query("SELECT * FROM especialidad WHERE updated_at > :since ORDER BY updated_at ASC, id ASC")
+    Flux<Especialidad> findUpdatedAfter(LocalDateTime since);
+}
@@ -0,0 +1,32 @@
+package com.academy.apicrud.repository;
+
+import com.academy.apicrud.model.domain.MedicoChange;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface MedicoChangeRepository extends ReactiveCrudRepository<MedicoChange, Long> {
+
+    @Query("SELECT * FROM medico_change WHERE id > :lastId ORDER BY id ASC LIMIT :limit")
+    Flux<MedicoChange> findAfter(long lastId, int limit);
+
+    @Query("SELECT * FROM medico_change WHERE id < :beforeId AND changed_at >= :since ORDER BY id ASC")
+    Flux<MedicoChange> findBeforeChangedSince(long beforeId, LocalDateTime since);
+
+    @Query("SELECT * FROM medico_change WHERE id IN (:ids) ORDER BY id ASC")
+    Flux<MedicoChange> findByIds(Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(id), 0) FROM medico_change")
+    Mono<Long> findLastId();
+
+    @Modifying
+    @Query("DELETE FROM medico_change WHERE changed_at < :before")
+    Mono<Integer> deleteOlderThan(LocalDateTime before);
+}
@@ -0,0 +1,30 @@
+package com.academy.apicrud.repository;
+
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.response.ResponseMedico;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+
+/**
+ * Lecturas completas de medico por cursor: la base de datos envía las filas en bloques de
+ * {@code app.r2dbc.postgresql.cursor-fetch-size} y pide el siguiente bloque solo cuando el suscriptor
+ * ha consumido el anterior, así que un cliente lento no obliga a tener el resultado entero en memoria.
+ */
+public interface MedicoCursorRepository {
+
+    Flux<Medico> streamAll();
+
+    Flux<ResponseMedico> streamAllMedicoWithEspecialidad();
+
+    /**
+     * Médicos con los filtros de la consulta paginada (nombre contenido, especialidad exacta; nulo es sin
+     * filtro) y sin límite, en el orden de {@code sort} (id, nombre o especialidadId; por id si no hay orden).
+     * El id desempata en la dirección del primer criterio.
+     */
+    Flux<Medico> streamByNombreAndEspecialidadId(String nombre, Long especialidadId, Sort sort);
+
+    /**
+     * Como {@link #streamByNombreAndEspecialidadId} con el nombre de la especialidad
+     */
+    Flux<ResponseMedico> streamMedicoWithEspecialidad(String nombre, Long especialidadId, Sort sort);
+}
@@ -0,0 +1,122 @@
+package com.academy.apicrud.repository;
+
+import com.academy.apicrud.config.PostgresqlDriverProperties;
+import com.academy.apicrud.exception.InvalidRequestException;
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.response.ResponseMedico;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * Implementación de {@link MedicoCursorRepository} con DatabaseClient: fija el fetch size de la sentencia,
+ * con lo que r2dbc-postgresql usa un portal y envía un Execute por bloque tras consumir el anterior, y pide
+ * las filas aguas arriba con {@code limitRate} del mismo tamaño.
+ */
+public class MedicoCursorRepositoryImpl implements MedicoCursorRepository {
+
+    static final String FIND_ALL = "SELECT * FROM medico";
+    static final String FIND_ALL_WITH_ESPECIALIDAD = "SELECT m.id AS id, m.nombre AS nombreMedico, " +
+            "m.especialidad_id AS especialidadId, e.nombre AS nombreEspecialidad " +
+            "FROM medico m " +
+            "INNER JOIN especialidad e ON m.especialidad_id = e.id";
+    static final String FIND_FILTERED = "SELECT m.* FROM medico m";
+
+    // Propiedades de ordenación válidas en la consulta paginada y su columna
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "m.id",
+            "nombre", "m.nombre",
+            "especialidadId", "m.especialidad_id");
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    private final int fetchSize;
+
+    public MedicoCursorRepositoryImpl(DatabaseClient databaseClient, R2dbcConverter converter,
+                                      PostgresqlDriverProperties properties) {
+        this.databaseClient = databaseClient;
+        this.converter = converter;
+        this.fetchSize = properties.getCursorFetchSize();
+    }
+
+    @Override
+    public Flux<Medico> streamAll() {
+        return stream(FIND_ALL, Medico.class);
+    }
+
+    @Override
+    public Flux<ResponseMedico> streamAllMedicoWithEspecialidad() {
+        return stream(FIND_ALL_WITH_ESPECIALIDAD, ResponseMedico.class);
+    }
+
+    @Override
+    public Flux<Medico> streamByNombreAndEspecialidadId(String nombre, Long especialidadId, Sort sort) {
+        return stream(bind(filtered(FIND_FILTERED, nombre, especialidadId, sort), nombre, especialidadId), Medico.class);
+    }
+
+    @Override
+    public Flux<ResponseMedico> streamMedicoWithEspecialidad(String nombre, Long especialidadId, Sort sort) {
+        return stream(bind(filtered(FIND_ALL_WITH_ESPECIALIDAD, nombre, especialidadId, sort), nombre, especialidadId),
+                ResponseMedico.class);
+    }
+
+    /**
+     * Solo las condiciones de los filtros presentes: con especialidad_id = :especialidadId el planificador
+     * descarta las demás particiones de medico, cosa que no hace con (:especialidadId IS NULL OR ...)
+     */
+    static String filtered(String select, String nombre, Long especialidadId, Sort sort) {
+        StringBuilder sql = new StringBuilder(select);
+        String connector = " WHERE ";
+        if (especialidadId != null) {
+            sql.append(connector).append("m.especialidad_id = :especialidadId");
+            connector = " AND ";
+        }
+        if (StringUtils.hasLength(nombre)) {
+            sql.append(connector).append("m.nombre LIKE CONCAT('%', :nombre, '%')");
+        }
+        Sort.Direction first = null;
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new InvalidRequestException("Campo de ordenamiento no válido: " + order.getProperty());
+            }
+            sql.append(first == null ? " ORDER BY " : ", ").append(column).append(' ').append(order.getDirection().name());
+            if (first == null) {
+                first = order.getDirection();
+            }
+        }
+        if (sort.getOrderFor("id") == null) {
+            sql.append(first == null ? " ORDER BY " : ", ").append("m.id ")
+                    .append(first == null ? Sort.Direction.ASC.name() : first.name());
+        }
+        return sql.toString();
+    }
+
+    private GenericExecuteSpec bind(String sql, String nombre, Long especialidadId) {
+        GenericExecuteSpec spec = databaseClient.sql(sql);
+        if (especialidadId != null) {
+            spec = spec.bind("especialidadId", especialidadId);
+        }
+        if (StringUtils.hasLength(nombre)) {
+            spec = spec.bind("nombre", nombre);
+        }
+        return spec;
+    }
+
+    private <T> Flux<T> stream(String sql, Class<T> type) {
+        return stream(databaseClient.sql(sql), type);
+    }
+
+    private <T> Flux<T> stream(GenericExecuteSpec spec, Class<T> type) {
+        Flux<T> rows = spec
+                .filter((statement, next) -> next.execute(fetchSize > 0 ? statement.fetchSize(fetchSize) : statement))
+                .map((row, metadata) -> converter.read(type, row, metadata))
+                .all();
+        return fetchSize > 0 ? rows.limitRate(fetchSize) : rows;
+    }
+}
@@ -9,8 +9,10 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 @Repository
-public interface MedicoRepository extends ReactiveCrudRepository<Medico, Long> {
+public interface MedicoRepository extends ReactiveCrudRepository<Medico, Long>, MedicoCursorRepository {
 
     @Query("SELECT m.id AS id, m.nombre AS nombreMedico, " +
             "m.especialidad_id AS especialidadId, e.nombre AS nombreEspecialidad " +
@@ -79,6 +81,19 @@ public interface MedicoRepository extends ReactiveCrudRepository<Medico, Long> {
             "ORDER BY especialidad_id DESC LIMIT :size OFFSET :offset")
     Flux<Medico> findByNombreAndEspecialidadIdOrderByEspecialidadIdDesc(String nombre, Long especialidadId, int size, long offset);
 
+    // Filtro por especialidad con igualdad simple: con la tabla particionada el planificador descarta las
+    // demás particiones también con el plan genérico de una sentencia preparada, cosa que no hace con
+    // (:especialidadId IS NULL OR especialidad_id = :especialidadId)
+    @Query("SELECT * FROM medico WHERE especialidad_id = :especialidadId " +
+            "AND (:nombre IS NULL OR nombre LIKE CONCAT('%', :nombre, '%')) " +
+            "ORDER BY id ASC LIMIT :size OFFSET :offset")
+    Flux<Medico> findByEspecialidadIdAndNombreOrderByIdAsc(Long especialidadId, String nombre, int size, long offset);
+
+    @Query("SELECT * FROM medico WHERE especialidad_id = :especialidadId " +
+            "AND (:nombre IS NULL OR nombre LIKE CONCAT('%', :nombre, '%')) " +
+            "ORDER BY id DESC LIMIT :size OFFSET :offset")
+    Flux<Medico> findByEspecialidadIdAndNombreOrderByIdDesc(Long especialidadId, String nombre, int size, long offset);
+
     // Consultas para contar
     @Query("SELECT COUNT(*) FROM medico")
     Mono<Long> count();
@@ -86,4 +101,8 @@ public interface MedicoRepository extends ReactiveCrudRepository<Medico, Long> {
     @Query("SELECT COUNT(*) FROM medico WHERE (:nombre IS NULL OR nombre LIKE CONCAT('%', :nombre, '%')) " +
             "AND (:especialidadId IS NULL OR especialidad_id = :especialidadId)")
     Mono<Long> countByNombreAndEspecialidadId(String nombre, Long especialidadId);
+
+    // Sincronización incremental: usa el índice sobre updated_at
+    @Query("SELECT * FROM medico WHERE updated_at > :since ORDER BY updated_at ASC, id ASC")
+    Flux<Medico> findUpdatedAfter(LocalDateTime since);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.academy.apicrud.repository;
+
+import com.academy.apicrud.model.domain.Tombstone;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TombstoneRepository extends ReactiveCrudRepository<Tombstone, Long> {
+
+    @Query("SELECT * FROM tombstone WHERE deleted_at > :since ORDER BY deleted_at ASC, id ASC")
+    Flux<Tombstone> findDeletedAfter(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM tombstone WHERE deleted_at < :before")
+    Mono<Integer> deleteOlderThan(LocalDateTime before);
+}
@@ -0,0 +1,156 @@
+package com.academy.apicrud.resilience;
+
+import com.academy.apicrud.config.RepositoryResilienceProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.R2dbcTransientException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Capa de resiliencia alrededor de los repositorios de Spring Data: timeout por operación,
+ * circuit breaker compartido por la base de datos y reintentos con backoff y jitter solo para
+ * lecturas idempotentes ({@code find*}, {@code count*}, {@code exists*}).
+ * <p>
+ * Un Flux solo se reintenta si aún no emitió ningún elemento, para no duplicar filas aguas abajo.
+ * Dentro de una transacción activa no se reintenta: en PostgreSQL una sentencia fallida aborta la
+ * transacción, y tras un timeout el reintento esperaría a la consulta que sigue en la misma conexión.
+ * El circuit breaker queda dentro del reintento: cada intento cuenta como una llamada y, con el
+ * circuito abierto, {@code CallNotPermittedException} no se reintenta.
+ * <p>
+ * Las lecturas por cursor ({@code stream*}) duran lo que tarde el cliente en consumirlas: solo llevan el
+ * timeout entre elementos, ya que el circuit breaker las contaría como llamadas lentas.
+ */
+@Aspect
+@Slf4j
+public class RepositoryResilienceAspect {
+
+    private static final Mono<Boolean> IN_TRANSACTION = TransactionSynchronizationManager.forCurrentTransaction()
+            .map(TransactionSynchronizationManager::isActualTransactionActive)
+            .onErrorReturn(NoTransactionException.class, false);
+
+    private final RepositoryResilienceProperties properties;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Counter> timeouts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> retries = new ConcurrentHashMap<>();
+
+    public RepositoryResilienceAspect(RepositoryResilienceProperties properties, CircuitBreaker circuitBreaker,
+                                      MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        String operation = joinPoint.getSignature().getName();
+
+        if (result instanceof Mono) {
+            return decorate((Mono<?>) result, operation);
+        }
+        if (result instanceof Flux) {
+            return decorate((Flux<?>) result, operation);
+        }
+        return result;
+    }
+
+    <T> Mono<T> decorate(Mono<T> source, String operation) {
+        Mono<T> guarded = source
+                .timeout(timeout(operation))
+                .doOnError(TimeoutException.class, e -> timeoutCounter(operation).increment())
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        if (!isRetryable(operation)) {
+            return guarded;
+        }
+        Mono<T> retried = guarded.retryWhen(retrySpec(operation, null));
+        return IN_TRANSACTION.flatMap(inTransaction -> inTransaction ? guarded : retried);
+    }
+
+    <T> Flux<T> decorate(Flux<T> source, String operation) {
+        Flux<T> timed = source
+                .timeout(timeout(operation))
+                .doOnError(TimeoutException.class, e -> timeoutCounter(operation).increment());
+        if (operation.startsWith("stream")) {
+            return timed;
+        }
+        Flux<T> guarded = timed.transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        if (!isRetryable(operation)) {
+            return guarded;
+        }
+        return IN_TRANSACTION.flatMapMany(inTransaction -> {
+            if (inTransaction) {
+                return guarded;
+            }
+            AtomicBoolean emitted = new AtomicBoolean();
+            return guarded
+                    .doOnNext(element -> emitted.lazySet(true))
+                    .retryWhen(retrySpec(operation, emitted));
+        });
+    }
+
+    private Retry retrySpec(String operation, AtomicBoolean emitted) {
+        RepositoryResilienceProperties.Retry retry = properties.getRetry();
+        return Retry.backoff(retry.getMaxAttempts(), retry.getMinBackoff())
+                .maxBackoff(retry.getMaxBackoff())
+                .jitter(retry.getJitter())
+                .filter(error -> (emitted == null || !emitted.get()) && isTransient(error))
+                .doBeforeRetry(signal -> {
+                    retryCounter(operation).increment();
+                    log.debug("Reintento {} de {} tras error transitorio: {}", signal.totalRetries() + 1,
+                            operation, signal.failure().toString());
+                })
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private boolean isRetryable(String operation) {
+        return properties.getRetry().getMaxAttempts() > 0
+                && (operation.startsWith("find") || operation.startsWith("count") || operation.startsWith("exists"));
+    }
+
+    static boolean isTransient(Throwable error) {
+        return error instanceof TimeoutException
+                || error instanceof TransientDataAccessException
+                || error instanceof DataAccessResourceFailureException
+                || error instanceof R2dbcTransientException
+                || error.getCause() instanceof R2dbcTransientException;
+    }
+
+    private Duration timeout(String operation) {
+        return properties.getTimeout().getOperations()
+                .getOrDefault(operation, properties.getTimeout().getDefaultTimeout());
+    }
+
+    private Counter timeoutCounter(String operation) {
+        return timeouts.computeIfAbsent(operation, op -> Counter.builder("repository.timeouts")
+                .description("Operaciones de repositorio que superaron su timeout")
+                .tag("operation", op)
+                .register(meterRegistry));
+    }
+
+    private Counter retryCounter(String operation) {
+        return retries.computeIfAbsent(operation, op -> Counter.builder("repository.retries")
+                .description("Reintentos de lecturas tras errores transitorios")
+                .tag("operation", op)
+                .register(meterRegistry));
+    }
+}
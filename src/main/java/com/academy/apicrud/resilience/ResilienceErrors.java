@@ -0,0 +1,23 @@
+package com.academy.apicrud.resilience;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Errores de la capa de resiliencia de los repositorios: circuito abierto y timeout por operación. No son
+ * resultados de la consulta y deben llegar al cliente como 503; los servicios no los convierten en vacío.
+ */
+public final class ResilienceErrors {
+
+    private ResilienceErrors() {
+    }
+
+    public static boolean isUnavailable(Throwable error) {
+        return error instanceof CallNotPermittedException || error instanceof TimeoutException;
+    }
+
+    public static boolean isRecoverable(Throwable error) {
+        return !isUnavailable(error);
+    }
+}
@@ -0,0 +1,63 @@
+package com.academy.apicrud.routing;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Marcas en el contexto de Reactor que deciden a qué base de datos va cada conexión.
+ * <p>
+ * Las lecturas que toleran el retraso de la réplica se envuelven con {@code replica(...)}; todo lo
+ * demás (escrituras, métodos {@code @Transactional}, lecturas sin marca) va al primario. Una petición
+ * pegada al primario (lee sus propias escrituras) ignora la marca de réplica. Sin réplica configurada
+ * {@code replica(...)} devuelve el publisher sin cambios. Cada contexto de Spring registra su instancia en
+ * {@code ReadRoutingConfig} según {@code app.r2dbc.replica.enabled}.
+ */
+public class ReadRouting {
+
+    static final String REPLICA = ReadRouting.class.getName() + ".REPLICA";
+    static final String STICKY_PRIMARY = ReadRouting.class.getName() + ".STICKY_PRIMARY";
+
+    private final boolean enabled;
+
+    public ReadRouting(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Lectura fuera de transacción que puede servir la réplica
+     */
+    public <T> Mono<T> replica(Mono<T> mono) {
+        return enabled ? mono.contextWrite(ReadRouting::markReplica) : mono;
+    }
+
+    /**
+     * Lectura fuera de transacción que puede servir la réplica
+     */
+    public <T> Flux<T> replica(Flux<T> flux) {
+        return enabled ? flux.contextWrite(ReadRouting::markReplica) : flux;
+    }
+
+    /**
+     * Todas las lecturas de la petición van al primario, aunque estén marcadas para la réplica
+     */
+    public static Context stickToPrimary(Context context) {
+        return context.put(STICKY_PRIMARY, Boolean.TRUE);
+    }
+
+    /**
+     * Indica si la petición lee sus propias escrituras y por tanto no debe recibir datos en cache
+     */
+    public static boolean isStickyPrimary(ContextView context) {
+        return context.hasKey(STICKY_PRIMARY);
+    }
+
+    private static Context markReplica(Context context) {
+        return context.put(REPLICA, Boolean.TRUE);
+    }
+}
@@ -0,0 +1,99 @@
+package com.academy.apicrud.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ConnectionFactory que reparte las conexiones entre el primario y una réplica de solo lectura según
+ * el contexto de Reactor de quien la pide (ver {@link ReadRouting}).
+ * <p>
+ * Va a la réplica una lectura marcada de una petición no pegada al primario, salvo que ya haya una
+ * transacción activa: las escrituras {@code @Transactional} abren su conexión en el primario antes de
+ * llegar a las lecturas marcadas y éstas reutilizan esa conexión. Los métodos CRUD de los repositorios
+ * abren su propia transacción de solo lectura; al abrirla todavía no está activa, así que una lectura
+ * marcada por {@code findById} o {@code findAll} sí va a la réplica. La marca solo debe envolver lecturas.
+ */
+public class ReadWriteRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements Disposable {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ConnectionFactory primary;
+    private final ConnectionFactory replica;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replica,
+                                             MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.primaryConnections = connectionCounter(meterRegistry, Target.PRIMARY);
+        this.replicaConnections = connectionCounter(meterRegistry, Target.REPLICA);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Target.PRIMARY, primary);
+        targets.put(Target.REPLICA, replica);
+        setTargetConnectionFactories(targets);
+        setDefaultTargetConnectionFactory(primary);
+        afterPropertiesSet();
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("r2dbc.routing.connections")
+                .description("Conexiones obtenidas por destino del enrutamiento de lecturas")
+                .tag("target", target.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            if (!context.hasKey(ReadRouting.REPLICA) || context.hasKey(ReadRouting.STICKY_PRIMARY)) {
+                return Mono.just(Target.PRIMARY);
+            }
+            return TransactionSynchronizationManager.forCurrentTransaction()
+                    .map(synchronization -> synchronization.isActualTransactionActive() ? Target.PRIMARY : Target.REPLICA)
+                    .onErrorResume(NoTransactionException.class, e -> Mono.just(Target.REPLICA));
+        }).doOnNext(target -> (target == Target.REPLICA ? replicaConnections : primaryConnections).increment())
+                .cast(Object.class);
+    }
+
+    /**
+     * Primario y réplica, para operar sobre cada pool (calentamiento, cierre)
+     */
+    public List<ConnectionFactory> getTargets() {
+        return List.of(primary, replica);
+    }
+
+    @Override
+    public void dispose() {
+        dispose(primary);
+        dispose(replica);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return isDisposed(primary) && isDisposed(replica);
+    }
+
+    private static void dispose(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof Disposable) {
+            ((Disposable) connectionFactory).dispose();
+        }
+    }
+
+    private static boolean isDisposed(ConnectionFactory connectionFactory) {
+        return !(connectionFactory instanceof Disposable) || ((Disposable) connectionFactory).isDisposed();
+    }
+}
@@ -0,0 +1,86 @@
+package com.academy.apicrud.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Lee tus propias escrituras: tras una escritura con éxito se envía una cookie con el instante hasta el
+ * que las lecturas de ese cliente van al primario, de modo que no vea datos anteriores a su escritura
+ * mientras la réplica se pone al día. La cookie funciona con cualquier instancia detrás del balanceador.
+ */
+@Slf4j
+public class ReadYourWritesFilter implements WebFilter, Ordered {
+
+    public static final String COOKIE = "read-primary-until";
+
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ReadYourWritesFilter(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    @Override
+    public int getOrder() {
+        // Justo después del control de admisión
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (window.isZero() || window.isNegative()) {
+            return chain.filter(exchange);
+        }
+        if (isWrite(exchange.getRequest().getMethod())) {
+            exchange.getResponse().beforeCommit(() -> {
+                HttpStatus status = exchange.getResponse().getStatusCode();
+                if (status == null || status.is2xxSuccessful()) {
+                    exchange.getResponse().addCookie(ResponseCookie.from(COOKIE, String.valueOf(clock.millis() + window.toMillis()))
+                            .maxAge(window)
+                            .path("/")
+                            .httpOnly(true)
+                            .build());
+                }
+                return Mono.empty();
+            });
+            return chain.filter(exchange);
+        }
+        if (isSticky(exchange)) {
+            log.debug("Lecturas al primario tras una escritura reciente: {}", exchange.getRequest().getPath());
+            return chain.filter(exchange).contextWrite(ReadRouting::stickToPrimary);
+        }
+        return chain.filter(exchange);
+    }
+
+    private boolean isSticky(ServerWebExchange exchange) {
+        HttpCookie cookie = exchange.getRequest().getCookies().getFirst(COOKIE);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(cookie.getValue()) > clock.millis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS;
+    }
+}
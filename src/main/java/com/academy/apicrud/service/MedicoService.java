@@ -1,12 +1,17 @@
 package com.academy.apicrud.service;
 
+import com.academy.apicrud.model.domain.MedicoChange;
 import com.academy.apicrud.model.dto.MedicoDto;
 import com.academy.apicrud.model.dto.PageResponseDto;
+import com.academy.apicrud.model.dto.SyncRecordDto;
 import com.academy.apicrud.model.response.ResponseMedico;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 public interface MedicoService {
 
     /**
@@ -28,6 +33,28 @@ public interface MedicoService {
      */
     Flux<MedicoDto> getAllMedicos();
 
+    /**
+     * Stream de todos los médicos leído por cursor al ritmo que los pide el suscriptor
+     * @return Flux de objetos MedicoDto; un error corta el stream
+     */
+    Flux<MedicoDto> streamMedicos();
+
+    /**
+     * Stream de todos los médicos con su especialidad leído por cursor al ritmo que los pide el suscriptor
+     * @return Flux de objetos ResponseMedico; un error corta el stream
+     */
+    Flux<ResponseMedico> streamMedicosWithEspecialidad();
+
+    /**
+     * Médicos con su especialidad para exportar: los filtros y el orden de la consulta paginada, sin límite,
+     * leídos por cursor al ritmo que los pide el suscriptor
+     * @param nombre Nombre del médico (opcional)
+     * @param especialidadId ID de la especialidad (opcional)
+     * @param sort Orden por id, nombre o especialidadId
+     * @return Flux de objetos ResponseMedico; un error corta el stream
+     */
+    Flux<ResponseMedico> exportMedicosWithEspecialidad(String nombre, Long especialidadId, Sort sort);
+
     /**
      * Obtiene un médico por su ID
      * @param id ID del médico
@@ -73,4 +100,18 @@ public interface MedicoService {
      * @throws IllegalArgumentException si los parámetros no son válidos
      */
     void validateSortParameters(String sortBy, String sortOrder);
-}
\ No newline at end of file
+
+    /**
+     * Stream de altas, modificaciones y bajas de médicos
+     * @param lastEventId Id del último cambio recibido por el cliente (opcional); se reenvían los posteriores
+     * @return Flux infinito de cambios
+     */
+    Flux<MedicoChange> getMedicoChanges(Long lastEventId);
+
+    /**
+     * Altas, modificaciones y bajas de médicos y especialidades posteriores a un watermark
+     * @param since Watermark devuelto por la sincronización anterior (opcional); sin él se envía la copia completa
+     * @return Flux de cambios que termina con el nuevo watermark
+     */
+    Flux<SyncRecordDto> getChangesSince(LocalDateTime since);
+}
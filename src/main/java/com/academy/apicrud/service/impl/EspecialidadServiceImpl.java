@@ -1,72 +1,93 @@
 package com.academy.apicrud.service.impl;
 
+import com.academy.apicrud.exception.InvalidRequestException;
 import com.academy.apicrud.exception.ResourceNotFoundException;
 import com.academy.apicrud.model.domain.Especialidad;
+import com.academy.apicrud.partitioning.MedicoPartitions;
 import com.academy.apicrud.repository.EspecialidadRepository;
+import com.academy.apicrud.routing.ReadRouting;
 import com.academy.apicrud.service.EspecialidadService;
+import com.academy.apicrud.sync.DeltaSync;
+import com.academy.apicrud.util.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EspecialidadServiceImpl implements EspecialidadService {
 
     private final EspecialidadRepository especialidadRepository;
+    private final DeltaSync deltaSync;
+    private final MedicoPartitions medicoPartitions;
+    private final ReadRouting readRouting;
 
     @Override
     public Flux<Especialidad> getAllEspecialidades() {
-        log.info("Obteniendo todas las especialidades");
-        return especialidadRepository.findAll();
+        log.debug("Obteniendo todas las especialidades");
+        return readRouting.replica(especialidadRepository.findAll());
     }
 
     @Override
     public Mono<Especialidad> getEspecialidadById(Long id) {
-        log.info("Buscando especialidad con ID: {}", id);
-        return especialidadRepository.findById(id)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Especialidad", "id", id)));
+        log.debug("Buscando especialidad con ID: {}", id);
+        return readRouting.replica(especialidadRepository.findById(id))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Especialidad", "id", id)));
     }
 
     @Override
     public Mono<Boolean> existsById(Long id) {
-        log.info("Verificando si existe especialidad con ID: {}", id);
-        return especialidadRepository.existsById(id);
+        log.debug("Verificando si existe especialidad con ID: {}", id);
+        // Dentro de la transacción de alta o modificación de un médico se resuelve en el primario
+        return readRouting.replica(especialidadRepository.existsById(id));
     }
 
     @Override
     public Mono<Especialidad> saveEspecialidad(Especialidad especialidad) {
-        log.info("Guardando nueva especialidad: {}", especialidad);
+        log.debug("Guardando nueva especialidad: {}", especialidad);
+        // Sin transacción: la partición se crea cuando el alta ya tiene commit, sin alargar su bloqueo sobre
+        // medico. El cliente solo conoce el id tras la respuesta, así que sus médicos llegan con la partición creada
         return validarEspecialidad(especialidad)
-                .flatMap(especialidadRepository::save);
+                .doOnNext(valid -> valid.setUpdatedAt(LocalDateTime.now()))
+                .flatMap(especialidadRepository::save)
+                .flatMap(saved -> medicoPartitions.createFor(saved.getId()).thenReturn(saved));
     }
 
     @Override
     public Mono<Especialidad> updateEspecialidad(Long id, Especialidad especialidad) {
-        log.info("Actualizando especialidad con ID: {}", id);
+        log.debug("Actualizando especialidad con ID: {}", id);
         return especialidadRepository.findById(id)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Especialidad", "id", id)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Especialidad", "id", id)))
                 .flatMap(existingEspecialidad -> validarEspecialidad(especialidad)
                         .map(validEspecialidad -> {
                             existingEspecialidad.setNombre(validEspecialidad.getNombre());
+                            existingEspecialidad.setUpdatedAt(LocalDateTime.now());
                             return existingEspecialidad;
                         }))
                 .flatMap(especialidadRepository::save);
     }
 
     @Override
+    @Transactional
     public Mono<Void> deleteEspecialidad(Long id) {
-        log.info("Eliminando especialidad con ID: {}", id);
+        log.debug("Eliminando especialidad con ID: {}", id);
         return especialidadRepository.findById(id)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Especialidad", "id", id)))
-                .flatMap(especialidadRepository::delete);
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Especialidad", "id", id)))
+                .flatMap(especialidadRepository::delete)
+                .then(deltaSync.recordDeletion(DeltaSync.ESPECIALIDAD, id))
+                // La partición vacía se elimina tras el commit, con su propia conexión
+                .then(AfterCommit.run(() -> medicoPartitions.dropFor(id).subscribe()));
     }
 
     private Mono<Especialidad> validarEspecialidad(Especialidad especialidad) {
         if (especialidad.getNombre() == null || especialidad.getNombre().trim().isEmpty()) {
-            return Mono.error(new IllegalArgumentException("El nombre de la especialidad no puede ser nulo o vacío"));
+            return Mono.error(new InvalidRequestException("El nombre de la especialidad no puede ser nulo o vacío"));
         }
         return Mono.just(especialidad);
     }
@@ -1,14 +1,25 @@
 package com.academy.apicrud.service.impl;
 
+import com.academy.apicrud.cache.CacheInvalidationBus;
+import com.academy.apicrud.cache.MedicoPageCache;
+import com.academy.apicrud.cache.MissingMedicoCache;
+import com.academy.apicrud.cache.PageKey;
+import com.academy.apicrud.changefeed.MedicoChangeFeed;
+import com.academy.apicrud.exception.InvalidRequestException;
 import com.academy.apicrud.exception.ResourceNotFoundException;
 import com.academy.apicrud.mapper.IMedicoMapper;
 import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.domain.MedicoChange;
 import com.academy.apicrud.model.dto.MedicoDto;
 import com.academy.apicrud.model.dto.PageResponseDto;
+import com.academy.apicrud.model.dto.SyncRecordDto;
 import com.academy.apicrud.model.response.ResponseMedico;
 import com.academy.apicrud.repository.MedicoRepository;
+import com.academy.apicrud.resilience.ResilienceErrors;
+import com.academy.apicrud.routing.ReadRouting;
 import com.academy.apicrud.service.EspecialidadService;
 import com.academy.apicrud.service.MedicoService;
+import com.academy.apicrud.sync.DeltaSync;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Objects;
@@ -31,6 +43,12 @@ public class MedicoServiceImpl implements MedicoService {
     private final MedicoRepository medicoRepository;
     private final EspecialidadService especialidadService;
     private final IMedicoMapper medicoMapper;
+    private final MedicoPageCache medicoPageCache;
+    private final MissingMedicoCache missingMedicoCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final MedicoChangeFeed medicoChangeFeed;
+    private final DeltaSync deltaSync;
+    private final ReadRouting readRouting;
 
     // Campos válidos para ordenar
     private static final Set<String> VALID_SORT_FIELDS = new HashSet<>(Arrays.asList(
@@ -39,10 +57,10 @@ public class MedicoServiceImpl implements MedicoService {
 
     @Override
     public Flux<ResponseMedico> getAllMedicosWithEspecialidad() {
-        log.info("Obteniendo todos los médicos con su especialidad");
-        return medicoRepository.findAllMedicoWithEspecialidad()
-                .doOnComplete(() -> log.info("Consulta de médicos con especialidad completada"))
-                .onErrorResume(error -> {
+        log.debug("Obteniendo todos los médicos con su especialidad");
+        return readRouting.replica(medicoRepository.findAllMedicoWithEspecialidad())
+                .doOnComplete(() -> log.debug("Consulta de médicos con especialidad completada"))
+                .onErrorResume(ResilienceErrors::isRecoverable, error -> {
                     log.error("Error al obtener médicos con especialidad: {}", error.getMessage());
                     return Flux.empty();
                 });
@@ -50,20 +68,21 @@ public class MedicoServiceImpl implements MedicoService {
 
     @Override
     public Mono<ResponseMedico> getMedicoWithEspecialidadById(Long id) {
-        log.info("Buscando médico con especialidad, ID: {}", id);
+        log.debug("Buscando médico con especialidad, ID: {}", id);
         return Mono.just(id)
                 .filter(Objects::nonNull)
-                .flatMap(medicoRepository::findMedicoWithEspecialidadById)
+                .filter(this::notKnownMissing)
+                .flatMap(validId -> readRouting.replica(medicoRepository.findMedicoWithEspecialidadById(validId)))
                 .switchIfEmpty(Mono.defer(() -> {
                     log.warn("No se encontró médico con especialidad para el ID: {}", id);
                     return Mono.empty();
                 }))
                 .doOnSuccess(medico -> {
                     if (medico != null) {
-                        log.info("Médico con especialidad encontrado: {}", medico);
+                        log.debug("Médico con especialidad encontrado: {}", medico);
                     }
                 })
-                .onErrorResume(error -> {
+                .onErrorResume(ResilienceErrors::isRecoverable, error -> {
                     log.error("Error al buscar médico con especialidad, ID {}: {}", id, error.getMessage());
                     return Mono.empty();
                 });
@@ -71,22 +90,49 @@ public class MedicoServiceImpl implements MedicoService {
 
     @Override
     public Flux<MedicoDto> getAllMedicos() {
-        log.info("Obteniendo todos los médicos");
-        return medicoRepository.findAll()
+        log.debug("Obteniendo todos los médicos");
+        return readRouting.replica(medicoRepository.findAll())
                 .map(medicoMapper::toDto)
-                .doOnComplete(() -> log.info("Consulta de todos los médicos completada"))
-                .onErrorResume(error -> {
+                .doOnComplete(() -> log.debug("Consulta de todos los médicos completada"))
+                .onErrorResume(ResilienceErrors::isRecoverable, error -> {
                     log.error("Error al obtener todos los médicos: {}", error.getMessage());
                     return Flux.empty();
                 });
     }
 
+    @Override
+    public Flux<MedicoDto> streamMedicos() {
+        log.debug("Stream de todos los médicos");
+        // Sin onErrorResume: un stream que termina vacío tras un error parecería completo al cliente
+        return readRouting.replica(medicoRepository.streamAll())
+                .map(medicoMapper::toDto)
+                .doOnError(error -> log.error("Error en el stream de médicos: {}", error.getMessage()));
+    }
+
+    @Override
+    public Flux<ResponseMedico> streamMedicosWithEspecialidad() {
+        log.debug("Stream de todos los médicos con su especialidad");
+        return readRouting.replica(medicoRepository.streamAllMedicoWithEspecialidad())
+                .doOnError(error -> log.error("Error en el stream de médicos con especialidad: {}", error.getMessage()));
+    }
+
+    @Override
+    public Flux<ResponseMedico> exportMedicosWithEspecialidad(String nombre, Long especialidadId, Sort sort) {
+        log.debug("Exportación de médicos con especialidad: nombre={}, especialidadId={}, orden={}", nombre, especialidadId, sort);
+        return readRouting.replica(medicoRepository.streamMedicoWithEspecialidad(nombre, especialidadId, sort))
+                .doOnError(error -> log.error("Error en la exportación de médicos: {}", error.getMessage()));
+    }
+
     @Override
     public Mono<MedicoDto> getMedicoById(Long id) {
-        log.info("Buscando médico con ID: {}", id);
+        log.debug("Buscando médico con ID: {}", id);
         return Mono.just(id)
                 .filter(Objects::nonNull)
-                .flatMap(medicoRepository::findById)
+                .filter(this::notKnownMissing)
+                .flatMap(validId -> readRouting.replica(medicoRepository.findById(validId))
+                        // Un alta reciente puede no haber llegado a la réplica: se confirma en el primario antes de cachear la ausencia
+                        .switchIfEmpty(Mono.defer(() -> readRouting.isEnabled() ? medicoRepository.findById(validId) : Mono.empty()))
+                        .switchIfEmpty(Mono.fromRunnable(() -> missingMedicoCache.markMissing(validId))))
                 .map(medicoMapper::toDto)
                 .switchIfEmpty(Mono.defer(() -> {
                     log.warn("No se encontró médico con ID: {}", id);
@@ -94,10 +140,10 @@ public class MedicoServiceImpl implements MedicoService {
                 }))
                 .doOnSuccess(medico -> {
                     if (medico != null) {
-                        log.info("Médico encontrado: {}", medico);
+                        log.debug("Médico encontrado: {}", medico);
                     }
                 })
-                .onErrorResume(error -> {
+                .onErrorResume(ResilienceErrors::isRecoverable, error -> {
                     log.error("Error al buscar médico con ID {}: {}", id, error.getMessage());
                     return Mono.empty();
                 });
@@ -106,21 +152,22 @@ public class MedicoServiceImpl implements MedicoService {
     @Override
     @Transactional
     public Mono<MedicoDto> saveMedico(MedicoDto medicoDto) {
-        log.info("Guardando nuevo médico: {}", medicoDto);
+        log.debug("Guardando nuevo médico: {}", medicoDto);
 
         // Verificar si el DTO es nulo antes de crear el Mono
         if (medicoDto == null) {
             log.error("Error al guardar médico: El médico no puede ser nulo");
-            return Mono.error(new IllegalArgumentException("El médico no puede ser nulo"));
+            return Mono.error(new InvalidRequestException("El médico no puede ser nulo"));
         }
 
         return Mono.just(medicoDto)
                 .filter(this::validateMedicoDto)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Datos de médico inválidos")))
+                .switchIfEmpty(Mono.error(() -> new InvalidRequestException("Datos de médico inválidos")))
                 .flatMap(validMedicoDto -> {
                     Medico medico = medicoMapper.toEntity(validMedicoDto);
                     // Asegurar que el ID sea nulo para nuevas entidades
                     medico.setId(null);
+                    medico.setUpdatedAt(LocalDateTime.now());
 
                     // Verificar que la especialidad existe
                     return especialidadService.existsById(medico.getEspecialidadId())
@@ -130,10 +177,16 @@ public class MedicoServiceImpl implements MedicoService {
                                             "Especialidad", "id", medico.getEspecialidadId()));
                                 }
                                 return medicoRepository.save(medico)
+                                        .flatMap(saved -> medicoChangeFeed.record(saved.getId(), MedicoChange.Operation.CREATE)
+                                                .thenReturn(saved))
                                         .map(medicoMapper::toDto);
                             });
                 })
-                .doOnSuccess(saved -> log.info("Médico guardado con éxito: {}", saved))
+                .flatMap(saved -> medicoPageCache.invalidateAfterCommit()
+                        .then(missingMedicoCache.markPresentAfterCommit(saved.getId()))
+                        .then(cacheInvalidationBus.publish(CacheInvalidationBus.MEDICO, saved.getId()))
+                        .thenReturn(saved))
+                .doOnSuccess(saved -> log.debug("Médico guardado con éxito: {}", saved))
                 .onErrorResume(error -> {
                     log.error("Error al guardar médico: {}", error.getMessage());
                     return Mono.error(error);
@@ -143,17 +196,17 @@ public class MedicoServiceImpl implements MedicoService {
     @Override
     @Transactional
     public Mono<MedicoDto> updateMedico(Long id, MedicoDto medicoDto) {
-        log.info("Actualizando médico con ID: {}", id);
+        log.debug("Actualizando médico con ID: {}", id);
 
         // Verificar si el ID o el DTO son nulos antes de crear el Mono
         if (id == null || medicoDto == null) {
             log.error("Error al actualizar médico: Médico o ID no pueden ser nulos");
-            return Mono.error(new IllegalArgumentException("Médico o ID no pueden ser nulos"));
+            return Mono.error(new InvalidRequestException("Médico o ID no pueden ser nulos"));
         }
 
         return Mono.just(medicoDto)
                 .filter(this::validateMedicoDto)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Datos de médico inválidos")))
+                .switchIfEmpty(Mono.error(() -> new InvalidRequestException("Datos de médico inválidos")))
                 .flatMap(validMedicoDto -> {
                     Medico medico = medicoMapper.toEntity(validMedicoDto);
 
@@ -166,15 +219,21 @@ public class MedicoServiceImpl implements MedicoService {
                                 }
 
                                 return medicoRepository.findById(id)
-                                        .switchIfEmpty(Mono.error(new ResourceNotFoundException("Médico", "id", id)))
+                                        .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)))
                                         .flatMap(existingMedico -> {
                                             medico.setId(id);
+                                            medico.setUpdatedAt(LocalDateTime.now());
                                             return medicoRepository.save(medico)
+                                                    .flatMap(updated -> medicoChangeFeed.record(id, MedicoChange.Operation.UPDATE)
+                                                            .thenReturn(updated))
                                                     .map(medicoMapper::toDto);
                                         });
                             });
                 })
-                .doOnSuccess(updated -> log.info("Médico actualizado con éxito: {}", updated))
+                .flatMap(updated -> medicoPageCache.invalidateAfterCommit()
+                        .then(cacheInvalidationBus.publish(CacheInvalidationBus.MEDICO, id))
+                        .thenReturn(updated))
+                .doOnSuccess(updated -> log.debug("Médico actualizado con éxito: {}", updated))
                 .onErrorResume(error -> {
                     log.error("Error al actualizar médico con ID {}: {}", id, error.getMessage());
                     return Mono.error(error);
@@ -184,22 +243,27 @@ public class MedicoServiceImpl implements MedicoService {
     @Override
     @Transactional
     public Mono<Void> deleteMedico(Long id) {
-        log.info("Eliminando médico con ID: {}", id);
+        log.debug("Eliminando médico con ID: {}", id);
 
         // Verificar si el ID es nulo antes de crear el Mono
         if (id == null) {
             log.error("Error al eliminar médico: El ID no puede ser nulo");
-            return Mono.error(new IllegalArgumentException("El ID no puede ser nulo"));
+            return Mono.error(new InvalidRequestException("El ID no puede ser nulo"));
         }
 
         return medicoRepository.findById(id)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Médico", "id", id)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Médico", "id", id)))
                 .flatMap(medico -> {
-                    log.info("Médico encontrado para eliminar: {}", medico);
-                    return medicoRepository.deleteById(id);
+                    log.debug("Médico encontrado para eliminar: {}", medico);
+                    return medicoRepository.deleteById(id)
+                            .then(medicoChangeFeed.record(id, MedicoChange.Operation.DELETE))
+                            .then(deltaSync.recordDeletion(DeltaSync.MEDICO, id))
+                            .then(medicoPageCache.invalidateAfterCommit())
+                            .then(missingMedicoCache.markMissingAfterCommit(id))
+                            .then(cacheInvalidationBus.publish(CacheInvalidationBus.MEDICO, id));
                 })
-                .doOnSuccess(v -> log.info("Médico con ID {} eliminado con éxito", id))
-                .onErrorResume(error -> {
+                .doOnSuccess(v -> log.debug("Médico con ID {} eliminado con éxito", id))
+                .onErrorResume(ResilienceErrors::isRecoverable, error -> {
                     log.error("Error al eliminar médico con ID {}: {}", id, error.getMessage());
                     if (error instanceof ResourceNotFoundException) {
                         return Mono.error(error);
@@ -213,12 +277,34 @@ public class MedicoServiceImpl implements MedicoService {
         // Validar que pageable no sea nulo
         if (pageable == null) {
             log.error("Error al obtener médicos paginados: Pageable no puede ser nulo");
-            return Mono.error(new IllegalArgumentException("Pageable no puede ser nulo"));
+            return Mono.error(new InvalidRequestException("Pageable no puede ser nulo"));
         }
 
-        log.info("Obteniendo médicos paginados: página={}, tamaño={}, ordenamiento={}, nombre={}, especialidadId={}",
-                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), nombre, especialidadId);
+        if (log.isDebugEnabled()) {
+            log.debug("Obteniendo médicos paginados: página={}, tamaño={}, ordenamiento={}, nombre={}, especialidadId={}",
+                    pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), nombre, especialidadId);
+        }
 
+        // La cache carga fuera del contexto de la petición: un cliente que acaba de escribir la evita y lee
+        // del primario, porque la página en cache puede venir de una réplica anterior a su escritura
+        return Mono.deferContextual(context -> ReadRouting.isStickyPrimary(context)
+                ? loadMedicosPaginados(nombre, especialidadId, pageable)
+                : medicoPageCache.get(PageKey.of(nombre, especialidadId, pageable),
+                        () -> loadMedicosPaginados(nombre, especialidadId, pageable)));
+    }
+
+    /**
+     * Los ids que la base de datos ya confirmó como inexistentes se responden sin consultarla
+     */
+    private boolean notKnownMissing(Long id) {
+        if (missingMedicoCache.isMissing(id)) {
+            log.debug("ID {} en la cache de médicos inexistentes", id);
+            return false;
+        }
+        return true;
+    }
+
+    private Mono<PageResponseDto<MedicoDto>> loadMedicosPaginados(String nombre, Long especialidadId, Pageable pageable) {
         int size = pageable.getPageSize();
         long offset = pageable.getOffset();
 
@@ -237,7 +323,7 @@ public class MedicoServiceImpl implements MedicoService {
         }
 
         // Transformar y construir la respuesta
-        return medicosFlux
+        return readRouting.replica(medicosFlux)
                 .map(medicoMapper::toDto)
                 .collectList()
                 .map(medicos -> {
@@ -253,7 +339,7 @@ public class MedicoServiceImpl implements MedicoService {
                             .empty(medicos.isEmpty())
                             .build();
                 })
-                .doOnSuccess(page -> log.info("Consulta paginada completada: {} resultados", page.getContent().size()))
+                .doOnSuccess(page -> log.debug("Consulta paginada completada: {} resultados", page.getContent().size()))
                 .onErrorResume(error -> {
                     log.error("Error al obtener médicos paginados: {}", error.getMessage());
                     return Mono.error(error);
@@ -263,7 +349,7 @@ public class MedicoServiceImpl implements MedicoService {
     private Flux<Medico> getUnfilteredMedicosWithSort(String sortBy, boolean isAscending, int size, long offset) {
         // Validar que los parámetros sean correctos
         if (size < 0 || offset < 0) {
-            return Flux.error(new IllegalArgumentException("Tamaño y offset deben ser mayores o iguales a cero"));
+            return Flux.error(new InvalidRequestException("Tamaño y offset deben ser mayores o iguales a cero"));
         }
 
         // Usamos solo los métodos que existen en el repositorio
@@ -280,7 +366,14 @@ public class MedicoServiceImpl implements MedicoService {
     private Flux<Medico> getFilteredMedicosWithSort(String nombre, Long especialidadId, String sortBy, boolean isAscending, int size, long offset) {
         // Validar que los parámetros sean correctos
         if (size < 0 || offset < 0) {
-            return Flux.error(new IllegalArgumentException("Tamaño y offset deben ser mayores o iguales a cero"));
+            return Flux.error(new InvalidRequestException("Tamaño y offset deben ser mayores o iguales a cero"));
+        }
+
+        // Con especialidad, consultas que permiten descartar particiones de medico
+        if (especialidadId != null) {
+            return "id".equals(sortBy) && !isAscending
+                    ? medicoRepository.findByEspecialidadIdAndNombreOrderByIdDesc(especialidadId, nombre, size, offset)
+                    : medicoRepository.findByEspecialidadIdAndNombreOrderByIdAsc(especialidadId, nombre, size, offset);
         }
 
         // Usamos solo los métodos que existen en el repositorio
@@ -312,18 +405,31 @@ public class MedicoServiceImpl implements MedicoService {
     public void validateSortParameters(String sortBy, String sortOrder) {
         // Validar el campo de ordenamiento
         if (!VALID_SORT_FIELDS.contains(sortBy)) {
-            throw new IllegalArgumentException("Campo de ordenamiento no válido: " + sortBy +
+            throw new InvalidRequestException("Campo de ordenamiento no válido: " + sortBy +
                     ". Campos válidos: " + String.join(", ", VALID_SORT_FIELDS));
         }
 
         // Validar la dirección de ordenamiento
         if (!sortOrder.equalsIgnoreCase(Sort.Direction.ASC.name()) &&
                 !sortOrder.equalsIgnoreCase(Sort.Direction.DESC.name())) {
-            throw new IllegalArgumentException("Dirección de ordenamiento no válida: " + sortOrder +
+            throw new InvalidRequestException("Dirección de ordenamiento no válida: " + sortOrder +
                     ". Direcciones válidas: ASC, DESC");
         }
     }
 
+    @Override
+    public Flux<MedicoChange> getMedicoChanges(Long lastEventId) {
+        log.debug("Suscripción al feed de cambios de médicos desde el ID: {}", lastEventId);
+        return medicoChangeFeed.subscribe(lastEventId);
+    }
+
+    @Override
+    public Flux<SyncRecordDto> getChangesSince(LocalDateTime since) {
+        log.debug("Sincronización de médicos desde el watermark: {}", since);
+        // Siempre en el primario: con el retraso de la réplica el watermark dejaría cambios fuera
+        return deltaSync.changesSince(since);
+    }
+
     /**
      * Valida que los datos del DTO del médico sean correctos
      * @param medicoDto El DTO del médico a validar
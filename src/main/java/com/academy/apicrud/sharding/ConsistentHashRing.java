@@ -0,0 +1,62 @@
+package com.academy.apicrud.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hashing consistente con nodos virtuales. Cada nodo ocupa {@code virtualNodes} posiciones
+ * del anillo y una clave pertenece al primer nodo en sentido horario; al añadir o quitar un nodo solo
+ * cambian de nodo las claves de sus tramos (aproximadamente 1/N).
+ */
+public class ConsistentHashRing<T> {
+
+    private final NavigableMap<Long, T> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Map<String, T> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("El anillo necesita al menos un nodo");
+        }
+        nodes.forEach((name, node) -> {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(position(name + "#" + i), node);
+            }
+        });
+    }
+
+    public T get(long key) {
+        Map.Entry<Long, T> entry = ring.ceilingEntry(mix(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Posición de un nodo virtual: primeros 8 bytes del MD5 de su nombre, estable entre versiones de la JVM
+     */
+    private static long position(String label) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(label.getBytes(StandardCharsets.UTF_8));
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (digest[i] & 0xff);
+            }
+            return value;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Finalizador de MurmurHash3: reparte por todo el anillo claves consecutivas como los ids
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,49 @@
+package com.academy.apicrud.sharding;
+
+import com.academy.apicrud.config.PostgresqlDriverProperties;
+import com.academy.apicrud.repository.MedicoCursorRepositoryImpl;
+import com.academy.apicrud.repository.MedicoRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.Getter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import reactor.core.Disposable;
+
+/**
+ * Base de datos con una parte de la tabla medico. Usa las mismas consultas de {@link MedicoRepository},
+ * creado sobre la ConnectionFactory del shard fuera del contexto de Spring.
+ */
+@Getter
+public class MedicoShard implements Disposable {
+
+    private final String name;
+    private final ConnectionFactory connectionFactory;
+    private final R2dbcEntityTemplate template;
+    private final MedicoRepository repository;
+
+    public MedicoShard(String name, ConnectionFactory connectionFactory, PostgresqlDriverProperties driver) {
+        this.name = name;
+        this.connectionFactory = connectionFactory;
+        this.template = new R2dbcEntityTemplate(connectionFactory);
+        this.repository = new R2dbcRepositoryFactory(template).getRepository(MedicoRepository.class,
+                RepositoryFragments.just(new MedicoCursorRepositoryImpl(template.getDatabaseClient(), template.getConverter(), driver)));
+    }
+
+    @Override
+    public void dispose() {
+        if (connectionFactory instanceof Disposable) {
+            ((Disposable) connectionFactory).dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return !(connectionFactory instanceof Disposable) || ((Disposable) connectionFactory).isDisposed();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,463 @@
+package com.academy.apicrud.sharding;
+
+import com.academy.apicrud.config.ShardingProperties.ShardKey;
+import com.academy.apicrud.model.domain.Especialidad;
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.academy.apicrud.repository.EspecialidadRepository;
+import com.academy.apicrud.repository.MedicoRepository;
+import org.reactivestreams.Publisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.util.Assert;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * {@link MedicoRepository} repartido entre varios shards por hashing consistente del id del médico o
+ * de su especialidad.
+ * <p>
+ * Las operaciones sobre un médico concreto van a un único shard con la clave ID. Los listados, páginas y
+ * conteos consultan todos los shards (o uno solo si la clave es la especialidad y se filtra por ella) y
+ * combinan los resultados: cada shard devuelve sus filas ya ordenadas y una mezcla k-way por la clave de
+ * orden produce el orden global. Para una página cada shard aporta sus primeras {@code offset + size}
+ * filas, así que el coste de las páginas profundas crece con el offset en cada shard. El orden por nombre
+ * se mezcla con el orden de {@code String}: los shards deben usar una collation equivalente (C).
+ * <p>
+ * Los ids se asignan con la secuencia de la base de datos principal antes de insertar, ya que el shard
+ * depende del id. especialidad sigue en la base de datos principal y el JOIN de las consultas con
+ * especialidad se resuelve en memoria. Las escrituras en un shard no forman parte de la transacción de
+ * la base de datos principal.
+ */
+public class ShardedMedicoRepository implements MedicoRepository, Disposable {
+
+    private static final Comparator<Medico> BY_ID = Comparator.comparing(Medico::getId);
+    private static final Comparator<Medico> BY_NOMBRE = Comparator.comparing(Medico::getNombre).thenComparing(BY_ID);
+    // Como PostgreSQL: los nulos al final en orden ascendente y al principio en descendente
+    private static final Comparator<Medico> BY_ESPECIALIDAD_ID = Comparator.comparing(Medico::getEspecialidadId,
+            Comparator.nullsLast(Comparator.<Long>naturalOrder())).thenComparing(BY_ID);
+    private static final Comparator<Medico> BY_UPDATED_AT = Comparator.comparing(Medico::getUpdatedAt).thenComparing(BY_ID);
+
+    private final List<MedicoShard> shards;
+    private final ConsistentHashRing<MedicoShard> ring;
+    private final ShardKey key;
+    private final Mono<Long> nextId;
+    private final EspecialidadRepository especialidadRepository;
+
+    public ShardedMedicoRepository(List<MedicoShard> shards, ShardKey key, int virtualNodes, Mono<Long> nextId,
+                                   EspecialidadRepository especialidadRepository) {
+        Map<String, MedicoShard> byName = new LinkedHashMap<>();
+        shards.forEach(shard -> {
+            if (byName.put(shard.getName(), shard) != null) {
+                throw new IllegalArgumentException("Nombre de shard duplicado: " + shard.getName());
+            }
+        });
+        this.shards = List.copyOf(shards);
+        this.ring = new ConsistentHashRing<>(byName, virtualNodes);
+        this.key = key;
+        this.nextId = nextId;
+        this.especialidadRepository = especialidadRepository;
+    }
+
+    /**
+     * Shard donde se guarda el médico
+     */
+    MedicoShard shardFor(Medico medico) {
+        Long value = key == ShardKey.ID ? medico.getId() : medico.getEspecialidadId();
+        Assert.notNull(value, "La clave de shard no puede ser nula: " + key);
+        return ring.get(value);
+    }
+
+    /**
+     * Shards que pueden tener médicos de la especialidad (todos si no se filtra o la clave es el id)
+     */
+    private List<MedicoShard> shardsFor(Long especialidadId) {
+        return key == ShardKey.ESPECIALIDAD_ID && especialidadId != null
+                ? Collections.singletonList(ring.get(especialidadId))
+                : shards;
+    }
+
+    /**
+     * Shard que contiene el médico; con la clave por especialidad hay que preguntar a todos
+     */
+    private Mono<MedicoShard> locate(Long id) {
+        if (key == ShardKey.ID) {
+            return Mono.just(ring.get(id));
+        }
+        return Flux.fromIterable(shards)
+                .flatMap(shard -> shard.getRepository().existsById(id)
+                        .filter(Boolean::booleanValue)
+                        .map(exists -> shard))
+                .next();
+    }
+
+    private static <R> Flux<R> fanOut(List<MedicoShard> targets, Function<MedicoShard, Publisher<R>> query) {
+        return Flux.fromIterable(targets).flatMap(query);
+    }
+
+    private static Mono<Long> sum(List<MedicoShard> targets, Function<MedicoRepository, Mono<Long>> count) {
+        return fanOut(targets, shard -> count.apply(shard.getRepository())).reduce(0L, Long::sum);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Flux<Medico> mergeSorted(List<MedicoShard> targets, Comparator<Medico> order,
+                                            Function<MedicoShard, Flux<Medico>> query) {
+        Publisher<Medico>[] sources = targets.stream().map(query).toArray(Publisher[]::new);
+        return Flux.mergeComparing(order, sources);
+    }
+
+    private static Flux<Medico> page(List<MedicoShard> targets, Comparator<Medico> order, int size, long offset,
+                                     PageQuery query) {
+        if (targets.size() == 1) {
+            return query.fetch(targets.get(0).getRepository(), size, offset);
+        }
+        // Cada shard aporta sus primeras offset + size filas; la mezcla descarta las offset primeras del orden global
+        int limit = (int) Math.min(Integer.MAX_VALUE, offset + size);
+        return mergeSorted(targets, order, shard -> query.fetch(shard.getRepository(), limit, 0))
+                .skip(offset)
+                .take(size);
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        Flux<Medico> fetch(MedicoRepository repository, int size, long offset);
+    }
+
+    // Consultas con especialidad
+
+    @Override
+    public Flux<ResponseMedico> findAllMedicoWithEspecialidad() {
+        return especialidadRepository.findAll()
+                .collectMap(Especialidad::getId, Especialidad::getNombre)
+                .flatMapMany(nombres -> findAll()
+                        .filter(medico -> nombres.containsKey(medico.getEspecialidadId()))
+                        .map(medico -> toResponse(medico, nombres.get(medico.getEspecialidadId()))));
+    }
+
+    @Override
+    public Mono<ResponseMedico> findMedicoWithEspecialidadById(Long id) {
+        return findById(id)
+                .flatMap(medico -> especialidadRepository.findById(medico.getEspecialidadId())
+                        .map(especialidad -> toResponse(medico, especialidad.getNombre())));
+    }
+
+    private static ResponseMedico toResponse(Medico medico, String nombreEspecialidad) {
+        return new ResponseMedico(medico.getId(), medico.getNombre(), medico.getEspecialidadId(), nombreEspecialidad);
+    }
+
+    // Lecturas por cursor: cada shard lee por bloques y la mezcla solo pide a los shards lo que piden aguas abajo
+
+    @Override
+    public Flux<Medico> streamAll() {
+        return fanOut(shards, shard -> shard.getRepository().streamAll());
+    }
+
+    @Override
+    public Flux<ResponseMedico> streamAllMedicoWithEspecialidad() {
+        return especialidadRepository.findAll()
+                .collectMap(Especialidad::getId, Especialidad::getNombre)
+                .flatMapMany(nombres -> streamAll()
+                        .filter(medico -> nombres.containsKey(medico.getEspecialidadId()))
+                        .map(medico -> toResponse(medico, nombres.get(medico.getEspecialidadId()))));
+    }
+
+    @Override
+    public Flux<Medico> streamByNombreAndEspecialidadId(String nombre, Long especialidadId, Sort sort) {
+        return mergeSorted(shardsFor(especialidadId), order(sort), shard -> shard.getRepository()
+                .streamByNombreAndEspecialidadId(nombre, especialidadId, sort));
+    }
+
+    @Override
+    public Flux<ResponseMedico> streamMedicoWithEspecialidad(String nombre, Long especialidadId, Sort sort) {
+        return especialidadRepository.findAll()
+                .collectMap(Especialidad::getId, Especialidad::getNombre)
+                .flatMapMany(nombres -> streamByNombreAndEspecialidadId(nombre, especialidadId, sort)
+                        .filter(medico -> nombres.containsKey(medico.getEspecialidadId()))
+                        .map(medico -> toResponse(medico, nombres.get(medico.getEspecialidadId()))));
+    }
+
+    /**
+     * Orden de la mezcla para el primer criterio de {@code sort}, con el id como desempate en su dirección
+     */
+    static Comparator<Medico> order(Sort sort) {
+        Sort.Order first = sort.isSorted() ? sort.iterator().next() : Sort.Order.asc("id");
+        Comparator<Medico> order;
+        switch (first.getProperty()) {
+            case "nombre":
+                order = BY_NOMBRE;
+                break;
+            case "especialidadId":
+                order = BY_ESPECIALIDAD_ID;
+                break;
+            default:
+                order = BY_ID;
+        }
+        return first.isAscending() ? order : order.reversed();
+    }
+
+    // Consultas paginadas
+
+    @Override
+    public Flux<Medico> findAllPaged(int size, long offset) {
+        // Sin orden en la consulta original; repartida entre shards se pagina por id para que sea estable
+        return findAllPagedOrderByIdAsc(size, offset);
+    }
+
+    @Override
+    public Flux<Medico> findAllPagedOrderByIdAsc(int size, long offset) {
+        return page(shards, BY_ID, size, offset, MedicoRepository::findAllPagedOrderByIdAsc);
+    }
+
+    @Override
+    public Flux<Medico> findAllPagedOrderByIdDesc(int size, long offset) {
+        return page(shards, BY_ID.reversed(), size, offset, MedicoRepository::findAllPagedOrderByIdDesc);
+    }
+
+    @Override
+    public Flux<Medico> findAllPagedOrderByNombreAsc(int size, long offset) {
+        return page(shards, BY_NOMBRE, size, offset, MedicoRepository::findAllPagedOrderByNombreAsc);
+    }
+
+    @Override
+    public Flux<Medico> findAllPagedOrderByNombreDesc(int size, long offset) {
+        return page(shards, BY_NOMBRE.reversed(), size, offset, MedicoRepository::findAllPagedOrderByNombreDesc);
+    }
+
+    @Override
+    public Flux<Medico> findAllPagedOrderByEspecialidadIdAsc(int size, long offset) {
+        return page(shards, BY_ESPECIALIDAD_ID, size, offset, MedicoRepository::findAllPagedOrderByEspecialidadIdAsc);
+    }
+
+    @Override
+    public Flux<Medico> findAllPagedOrderByEspecialidadIdDesc(int size, long offset) {
+        return page(shards, BY_ESPECIALIDAD_ID.reversed(), size, offset, MedicoRepository::findAllPagedOrderByEspecialidadIdDesc);
+    }
+
+    @Override
+    public Flux<Medico> findByNombreAndEspecialidadIdOrderByIdAsc(String nombre, Long especialidadId, int size, long offset) {
+        return page(shardsFor(especialidadId), BY_ID, size, offset, (repository, limit, skip) ->
+                repository.findByNombreAndEspecialidadIdOrderByIdAsc(nombre, especialidadId, limit, skip));
+    }
+
+    @Override
+    public Flux<Medico> findByNombreAndEspecialidadIdOrderByIdDesc(String nombre, Long especialidadId, int size, long offset) {
+        return page(shardsFor(especialidadId), BY_ID.reversed(), size, offset, (repository, limit, skip) ->
+                repository.findByNombreAndEspecialidadIdOrderByIdDesc(nombre, especialidadId, limit, skip));
+    }
+
+    @Override
+    public Flux<Medico> findByNombreAndEspecialidadIdOrderByNombreAsc(String nombre, Long especialidadId, int size, long offset) {
+        return page(shardsFor(especialidadId), BY_NOMBRE, size, offset, (repository, limit, skip) ->
+                repository.findByNombreAndEspecialidadIdOrderByNombreAsc(nombre, especialidadId, limit, skip));
+    }
+
+    @Override
+    public Flux<Medico> findByNombreAndEspecialidadIdOrderByNombreDesc(String nombre, Long especialidadId, int size, long offset) {
+        return page(shardsFor(especialidadId), BY_NOMBRE.reversed(), size, offset, (repository, limit, skip) ->
+                repository.findByNombreAndEspecialidadIdOrderByNombreDesc(nombre, especialidadId, limit, skip));
+    }
+
+    @Override
+    public Flux<Medico> findByNombreAndEspecialidadIdOrderByEspecialidadIdAsc(String nombre, Long especialidadId, int size, long offset) {
+        return page(shardsFor(especialidadId), BY_ESPECIALIDAD_ID, size, offset, (repository, limit, skip) ->
+                repository.findByNombreAndEspecialidadIdOrderByEspecialidadIdAsc(nombre, especialidadId, limit, skip));
+    }
+
+    @Override
+    public Flux<Medico> findByNombreAndEspecialidadIdOrderByEspecialidadIdDesc(String nombre, Long especialidadId, int size, long offset) {
+        return page(shardsFor(especialidadId), BY_ESPECIALIDAD_ID.reversed(), size, offset, (repository, limit, skip) ->
+                repository.findByNombreAndEspecialidadIdOrderByEspecialidadIdDesc(nombre, especialidadId, limit, skip));
+    }
+
+    @Override
+    public Flux<Medico> findByEspecialidadIdAndNombreOrderByIdAsc(Long especialidadId, String nombre, int size, long offset) {
+        return page(shardsFor(especialidadId), BY_ID, size, offset, (repository, limit, skip) ->
+                repository.findByEspecialidadIdAndNombreOrderByIdAsc(especialidadId, nombre, limit, skip));
+    }
+
+    @Override
+    public Flux<Medico> findByEspecialidadIdAndNombreOrderByIdDesc(Long especialidadId, String nombre, int size, long offset) {
+        return page(shardsFor(especialidadId), BY_ID.reversed(), size, offset, (repository, limit, skip) ->
+                repository.findByEspecialidadIdAndNombreOrderByIdDesc(especialidadId, nombre, limit, skip));
+    }
+
+    // Conteos
+
+    @Override
+    public Mono<Long> count() {
+        return sum(shards, MedicoRepository::count);
+    }
+
+    @Override
+    public Mono<Long> countByNombreAndEspecialidadId(String nombre, Long especialidadId) {
+        return sum(shardsFor(especialidadId), repository -> repository.countByNombreAndEspecialidadId(nombre, especialidadId));
+    }
+
+    @Override
+    public Flux<Medico> findUpdatedAfter(LocalDateTime since) {
+        return mergeSorted(shards, BY_UPDATED_AT, shard -> shard.getRepository().findUpdatedAfter(since));
+    }
+
+    // CRUD
+
+    @Override
+    public <S extends Medico> Mono<S> save(S medico) {
+        Assert.notNull(medico, "El médico no puede ser nulo");
+        if (medico.getId() == null) {
+            return nextId.flatMap(id -> {
+                medico.setId(id);
+                return shardFor(medico).getTemplate().insert(medico);
+            });
+        }
+        MedicoShard target = shardFor(medico);
+        if (key == ShardKey.ID) {
+            return target.getRepository().save(medico);
+        }
+        // Con la clave por especialidad, cambiar de especialidad mueve el médico a otro shard
+        return locate(medico.getId())
+                .filter(current -> current != target)
+                .flatMap(current -> target.getTemplate().insert(medico)
+                        .flatMap(moved -> current.getRepository().deleteById(moved.getId()).thenReturn(moved)))
+                .switchIfEmpty(Mono.defer(() -> target.getRepository().save(medico)));
+    }
+
+    @Override
+    public <S extends Medico> Flux<S> saveAll(Iterable<S> medicos) {
+        return Flux.fromIterable(medicos).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Medico> Flux<S> saveAll(Publisher<S> medicos) {
+        return Flux.from(medicos).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<Medico> findById(Long id) {
+        Assert.notNull(id, "El id no puede ser nulo");
+        if (key == ShardKey.ID) {
+            return ring.get(id).getRepository().findById(id);
+        }
+        return fanOut(shards, shard -> shard.getRepository().findById(id)).next();
+    }
+
+    @Override
+    public Mono<Medico> findById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return findById(id).hasElement();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Medico> findAll() {
+        return mergeSorted(shards, BY_ID, shard -> shard.getTemplate()
+                .select(Medico.class)
+                .matching(Query.empty().sort(Sort.by("id")))
+                .all());
+    }
+
+    @Override
+    public Flux<Medico> findAllById(Iterable<Long> ids) {
+        List<Long> padded = padInList(ids);
+        if (padded.isEmpty()) {
+            return Flux.empty();
+        }
+        return fanOut(shards, shard -> shard.getRepository().findAllById(padded));
+    }
+
+    /**
+     * El IN de findAllById lleva un parámetro por id, así que cada tamaño de lista es otra sentencia preparada
+     * en el servidor. Sin duplicados y rellena hasta la siguiente potencia de dos repitiendo el último id,
+     * las listas de hasta 1024 ids comparten 11 sentencias.
+     */
+    static List<Long> padInList(Iterable<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        ids.forEach(id -> {
+            Assert.notNull(id, "Los ids no pueden ser nulos");
+            distinct.add(id);
+        });
+        List<Long> padded = new ArrayList<>(distinct);
+        if (padded.isEmpty()) {
+            return padded;
+        }
+        int size = Integer.highestOneBit(padded.size());
+        if (size < padded.size()) {
+            size <<= 1;
+        }
+        Long last = padded.get(padded.size() - 1);
+        while (padded.size() < size) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    @Override
+    public Flux<Medico> findAllById(Publisher<Long> ids) {
+        return Flux.from(ids).collectList().flatMapMany(this::findAllById);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        Assert.notNull(id, "El id no puede ser nulo");
+        return locate(id).flatMap(shard -> shard.getRepository().deleteById(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Medico medico) {
+        return deleteById(medico.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends Long> ids) {
+        return fanOut(shards, shard -> shard.getRepository().deleteAllById(ids)).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Medico> medicos) {
+        return Flux.fromIterable(medicos).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Medico> medicos) {
+        return Flux.from(medicos).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return fanOut(shards, shard -> shard.getRepository().deleteAll()).then();
+    }
+
+    @Override
+    public void dispose() {
+        shards.forEach(MedicoShard::dispose);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return shards.stream().allMatch(MedicoShard::isDisposed);
+    }
+}
@@ -0,0 +1,158 @@
+package com.academy.apicrud.sync;
+
+import com.academy.apicrud.config.DeltaSyncProperties;
+import com.academy.apicrud.mapper.IMedicoMapper;
+import com.academy.apicrud.model.domain.Especialidad;
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.domain.Tombstone;
+import com.academy.apicrud.model.dto.SyncRecordDto;
+import com.academy.apicrud.repository.EspecialidadRepository;
+import com.academy.apicrud.repository.MedicoRepository;
+import com.academy.apicrud.repository.TombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Sincronización incremental de médicos y especialidades para clientes offline.
+ * <p>
+ * Las altas y modificaciones se localizan por {@code updated_at} y las bajas por la tabla
+ * {@code tombstone}, ambas indexadas, de modo que el coste es proporcional a los cambios y no al tamaño
+ * de las tablas. El stream termina con el watermark que el cliente envía como {@code since} en la
+ * siguiente llamada; se calcula al empezar la consulta menos {@code overlap}, por lo que los cambios
+ * cercanos al corte pueden llegar dos veces y el cliente debe aplicarlos de forma idempotente.
+ * <p>
+ * Sin {@code since} se envía la copia completa. Si {@code since} es anterior a la retención de las bajas
+ * no se puede saber qué se eliminó: se envía RESET seguido de la copia completa.
+ */
+@Slf4j
+public class DeltaSync implements SmartLifecycle {
+
+    public static final String MEDICO = "medico";
+    public static final String ESPECIALIDAD = "especialidad";
+
+    private final MedicoRepository medicoRepository;
+    private final EspecialidadRepository especialidadRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final IMedicoMapper medicoMapper;
+    private final DeltaSyncProperties properties;
+    private final Clock clock;
+
+    private volatile Disposable pruning;
+
+    public DeltaSync(MedicoRepository medicoRepository, EspecialidadRepository especialidadRepository,
+                     TombstoneRepository tombstoneRepository, IMedicoMapper medicoMapper,
+                     DeltaSyncProperties properties) {
+        this(medicoRepository, especialidadRepository, tombstoneRepository, medicoMapper, properties, Clock.systemDefaultZone());
+    }
+
+    DeltaSync(MedicoRepository medicoRepository, EspecialidadRepository especialidadRepository,
+              TombstoneRepository tombstoneRepository, IMedicoMapper medicoMapper,
+              DeltaSyncProperties properties, Clock clock) {
+        this.medicoRepository = medicoRepository;
+        this.especialidadRepository = especialidadRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.medicoMapper = medicoMapper;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Registra la baja en la transacción en curso
+     */
+    public Mono<Void> recordDeletion(String entity, Long id) {
+        return Mono.defer(() -> tombstoneRepository.save(new Tombstone(null, entity, id, now()))).then();
+    }
+
+    /**
+     * Cambios posteriores a {@code since} (especialidades primero, ya que los médicos las referencian),
+     * bajas y el nuevo watermark
+     */
+    public Flux<SyncRecordDto> changesSince(LocalDateTime since) {
+        return Flux.defer(() -> {
+            LocalDateTime start = now();
+            SyncRecordDto watermark = SyncRecordDto.builder()
+                    .type(SyncRecordDto.Type.WATERMARK)
+                    .watermark(start.minus(properties.getOverlap()))
+                    .build();
+
+            if (since != null && !since.isBefore(start.minus(properties.getTombstoneRetention()))) {
+                log.debug("Sincronización incremental desde {}", since);
+                return Flux.concat(
+                        especialidadRepository.findUpdatedAfter(since).map(DeltaSync::upsert),
+                        medicoRepository.findUpdatedAfter(since).map(this::upsert),
+                        tombstoneRepository.findDeletedAfter(since).map(DeltaSync::delete),
+                        Mono.just(watermark));
+            }
+
+            log.debug("Sincronización completa, watermark recibido: {}", since);
+            Flux<SyncRecordDto> reset = since == null
+                    ? Flux.empty()
+                    : Flux.just(SyncRecordDto.builder().type(SyncRecordDto.Type.RESET).build());
+            return Flux.concat(
+                    reset,
+                    especialidadRepository.findAll().map(DeltaSync::upsert),
+                    medicoRepository.findAll().map(this::upsert),
+                    Mono.just(watermark));
+        });
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static SyncRecordDto upsert(Especialidad especialidad) {
+        return SyncRecordDto.builder()
+                .type(SyncRecordDto.Type.UPSERT)
+                .entity(ESPECIALIDAD)
+                .id(especialidad.getId())
+                .data(especialidad)
+                .build();
+    }
+
+    private SyncRecordDto upsert(Medico medico) {
+        return SyncRecordDto.builder()
+                .type(SyncRecordDto.Type.UPSERT)
+                .entity(MEDICO)
+                .id(medico.getId())
+                .data(medicoMapper.toDto(medico))
+                .build();
+    }
+
+    private static SyncRecordDto delete(Tombstone tombstone) {
+        return SyncRecordDto.builder()
+                .type(SyncRecordDto.Type.DELETE)
+                .entity(tombstone.getEntity())
+                .id(tombstone.getEntityId())
+                .build();
+    }
+
+    @Override
+    public void start() {
+        pruning = Flux.interval(properties.getPruneInterval())
+                .concatMap(tick -> tombstoneRepository.deleteOlderThan(now().minus(properties.getTombstoneRetention()))
+                        .doOnNext(deleted -> log.debug("Eliminadas {} bajas antiguas de tombstone", deleted))
+                        .onErrorResume(error -> {
+                            log.warn("Error al depurar tombstone: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (pruning != null) {
+            pruning.dispose();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return pruning != null && !pruning.isDisposed();
+    }
+}
@@ -0,0 +1,39 @@
+package com.academy.apicrud.util;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ejecuta una acción cuando la transacción reactiva en curso hace commit,
+ * o en el momento si no hay transacción.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static Mono<Void> run(Runnable action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .map(synchronizationManager -> {
+                    if (!synchronizationManager.isSynchronizationActive()) {
+                        return false;
+                    }
+                    synchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(action);
+                        }
+                    });
+                    return true;
+                })
+                .onErrorResume(NoTransactionException.class, e -> Mono.just(false))
+                .doOnNext(registered -> {
+                    if (!registered) {
+                        action.run();
+                    }
+                })
+                .then();
+    }
+}
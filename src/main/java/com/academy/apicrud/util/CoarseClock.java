@@ -0,0 +1,36 @@
+package com.academy.apicrud.util;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reloj con resolución de milisegundos que reutiliza la misma instancia de {@link LocalDateTime}
+ * mientras no cambie el milisegundo. Pensado para marcas de tiempo de respuestas de error, donde
+ * {@code LocalDateTime.now()} por petición generaba basura sin aportar precisión.
+ */
+public final class CoarseClock {
+
+    private static volatile Tick current = new Tick(System.currentTimeMillis());
+
+    private CoarseClock() {
+    }
+
+    public static LocalDateTime now() {
+        long millis = System.currentTimeMillis();
+        Tick tick = current;
+        if (tick.millis != millis) {
+            tick = new Tick(millis);
+            current = tick;
+        }
+        return tick.dateTime;
+    }
+
+    private static final class Tick {
+        private final long millis;
+        private final LocalDateTime dateTime;
+
+        private Tick(long millis) {
+            this.millis = millis;
+            this.dateTime = LocalDateTime.now();
+        }
+    }
+}
@@ -8,6 +8,7 @@ public class Constants {
     public static final int HTTP_BAD_REQUEST = 400;
     public static final int HTTP_NOT_FOUND = 404;
     public static final int HTTP_INTERNAL_SERVER_ERROR = 500;
+    public static final int HTTP_SERVICE_UNAVAILABLE = 503;
 
     // CRUD operations
     public static final String GET = "Operación GET realizada con éxito";
@@ -23,4 +24,9 @@ public class Constants {
     // Mensajes para médicos
     public static final String MEDICO_NOT_FOUND = "Médico no encontrado";
     public static final String ESPECIALIDAD_NOT_FOUND = "Especialidad no encontrada";
+
+    // Control de admisión
+    public static final String SERVICIO_SATURADO = "Servicio saturado, reintente más tarde";
+    public static final String BASE_DATOS_NO_DISPONIBLE = "Base de datos no disponible, reintente más tarde";
+    public static final String BASE_DATOS_SIN_RESPUESTA = "La base de datos no respondió a tiempo, reintente más tarde";
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.academy.apicrud.util;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Muestreo de logs por petición.
+ * <p>
+ * Con DEBUG activo se registran todas las peticiones. Con INFO solo una de cada {@code sampleRate},
+ * de modo que en producción se mantiene visibilidad del tráfico sin formatear un mensaje por petición.
+ * Uso: {@code if (logSampler.sample(log)) logSampler.log(log, "...", a, b, c);} para que los
+ * argumentos solo se evalúen cuando el mensaje realmente se va a escribir. La instancia se registra
+ * en {@code LoggingConfig} con {@code app.logging.sample-rate}.
+ */
+public final class LogSampler {
+
+    private final int sampleRate;
+
+    public LogSampler(int sampleRate) {
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Indica si el mensaje de esta petición debe escribirse
+     * @param logger Logger de la clase que registra la petición
+     * @return true si DEBUG está activo o si la petición fue seleccionada para INFO
+     */
+    public boolean sample(Logger logger) {
+        if (logger.isDebugEnabled()) {
+            return true;
+        }
+        return logger.isInfoEnabled() && (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0);
+    }
+
+    /**
+     * Escribe el mensaje en DEBUG si está activo o, en caso contrario, en INFO (petición muestreada)
+     */
+    public void log(Logger logger, String format, Object... args) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(format, args);
+        } else {
+            logger.info(format, args);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.academy.apicrud.warmup;
+
+import com.academy.apicrud.model.domain.Especialidad;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.dto.PageResponseDto;
+import com.academy.apicrud.model.response.ResponseDataCrud;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.academy.apicrud.repository.MedicoRepository;
+import com.academy.apicrud.routing.ReadWriteRoutingConnectionFactory;
+import com.academy.apicrud.service.EspecialidadService;
+import com.academy.apicrud.service.MedicoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Calentamiento tras el arranque: abre las conexiones iniciales del pool, ejecuta una vez cada consulta de
+ * {@link MedicoRepository} (sentencias preparadas en PostgreSQL, mapeo de filas y aspectos en el JIT), lee las
+ * especialidades, carga la primera página por defecto en la cache de páginas y codifica los tipos de respuesta
+ * principales con el codificador JSON registrado en WebFlux, que guarda un ObjectWriter por tipo. Como ApplicationRunner termina antes de que Spring Boot
+ * publique ReadinessState.ACCEPTING_TRAFFIC: /actuator/health/readiness responde OUT_OF_SERVICE mientras dura.
+ * Un error o superar maxDuration no impide el arranque; la duración queda en el timer startup.warmup con el
+ * resultado (completed, timeout, failed).
+ */
+@Slf4j
+public class StartupWarmUp implements ApplicationRunner {
+
+    static final String METRIC = "startup.warmup";
+
+    // Primera página de GET /api/medicos/page con los valores por defecto del controlador
+    static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("id").ascending());
+
+    // Tipos de retorno de MedicoController; las rutas funcionales escriben con la clase de la instancia
+    private static final ResolvableType PAGE_RESPONSE = ResolvableType.forType(
+            new ParameterizedTypeReference<ResponseDataCrud<PageResponseDto<MedicoDto>>>() {
+            });
+    private static final ResolvableType LIST_RESPONSE = ResolvableType.forType(
+            new ParameterizedTypeReference<ResponseDataCrud<List<MedicoDto>>>() {
+            });
+    private static final ResolvableType MEDICO_RESPONSE = ResolvableType.forType(
+            new ParameterizedTypeReference<ResponseDataCrud<MedicoDto>>() {
+            });
+    private static final ResolvableType MEDICO_ESPECIALIDAD_LIST_RESPONSE = ResolvableType.forType(
+            new ParameterizedTypeReference<ResponseDataCrud<List<ResponseMedico>>>() {
+            });
+    private static final ResolvableType MEDICO_ESPECIALIDAD_RESPONSE = ResolvableType.forType(
+            new ParameterizedTypeReference<ResponseDataCrud<ResponseMedico>>() {
+            });
+    private static final ResolvableType FUNCTIONAL_RESPONSE = ResolvableType.forClass(ResponseDataCrud.class);
+
+    private final ConnectionFactory connectionFactory;
+    private final MedicoRepository medicoRepository;
+    private final EspecialidadService especialidadService;
+    private final MedicoService medicoService;
+    private final Jackson2JsonEncoder jsonEncoder;
+    private final Duration maxDuration;
+    private final MeterRegistry meterRegistry;
+
+    public StartupWarmUp(ConnectionFactory connectionFactory, MedicoRepository medicoRepository,
+                         EspecialidadService especialidadService, MedicoService medicoService,
+                         Jackson2JsonEncoder jsonEncoder, Duration maxDuration, MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.medicoRepository = medicoRepository;
+        this.especialidadService = especialidadService;
+        this.medicoService = medicoService;
+        this.jsonEncoder = jsonEncoder;
+        this.maxDuration = maxDuration;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = warmUp()
+                .timeout(maxDuration)
+                .thenReturn("completed")
+                .onErrorResume(TimeoutException.class, e -> {
+                    log.warn("Calentamiento interrumpido al superar {}", maxDuration);
+                    return Mono.just("timeout");
+                })
+                .onErrorResume(e -> {
+                    log.warn("Calentamiento fallido, se acepta tráfico igualmente: {}", e.getMessage());
+                    return Mono.just("failed");
+                })
+                .block();
+        long nanos = sample.stop(Timer.builder(METRIC)
+                .description("Duración del calentamiento previo a aceptar tráfico")
+                .tag("result", result)
+                .register(meterRegistry));
+        log.info("Calentamiento {} en {} ms", result, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    Mono<Void> warmUp() {
+        return openPool(connectionFactory)
+                .doOnNext(opened -> log.debug("Conexiones abiertas en el pool: {}", opened))
+                .then(Mono.defer(() -> especialidadService.getAllEspecialidades().map(Especialidad::getId).collectList()))
+                .flatMap(ids -> primeQueries(ids.isEmpty() ? 0L : ids.get(0)))
+                .then(Mono.defer(() -> medicoService.getMedicosPaginados(null, null, FIRST_PAGE)))
+                .flatMap(page -> Mono.fromRunnable(() -> encodeResponses(page)))
+                .then();
+    }
+
+    /**
+     * Conexiones iniciales (spring.r2dbc.pool.initial-size) del pool bajo el proxy de monitorización; con réplica,
+     * las de los pools del primario y de la réplica que hay detrás del enrutador
+     */
+    private Mono<Integer> openPool(ConnectionFactory connectionFactory) {
+        ConnectionFactory target = connectionFactory;
+        while (!(target instanceof ConnectionPool) && target instanceof Wrapped) {
+            Object unwrapped = ((Wrapped<?>) target).unwrap();
+            if (!(unwrapped instanceof ConnectionFactory) || unwrapped == target) {
+                break;
+            }
+            target = (ConnectionFactory) unwrapped;
+        }
+        if (target instanceof ReadWriteRoutingConnectionFactory) {
+            return Flux.fromIterable(((ReadWriteRoutingConnectionFactory) target).getTargets())
+                    .concatMap(this::openPool)
+                    .reduce(0, Integer::sum);
+        }
+        return target instanceof ConnectionPool ? ((ConnectionPool) target).warmup() : Mono.just(0);
+    }
+
+    /**
+     * Cada consulta del repositorio una vez, con una sola fila como mucho
+     */
+    private Mono<Void> primeQueries(Long especialidadId) {
+        Sort byId = Sort.by("id");
+        LocalDateTime now = LocalDateTime.now();
+        return Flux.<Object>concat(
+                        medicoRepository.findById(0L),
+                        medicoRepository.existsById(0L),
+                        medicoRepository.count(),
+                        medicoRepository.countByNombreAndEspecialidadId(null, null),
+                        medicoRepository.findMedicoWithEspecialidadById(0L),
+                        medicoRepository.findAllMedicoWithEspecialidad().take(1),
+                        medicoRepository.findAllPaged(1, 0),
+                        medicoRepository.findAllPagedOrderByIdAsc(1, 0),
+                        medicoRepository.findAllPagedOrderByIdDesc(1, 0),
+                        medicoRepository.findAllPagedOrderByNombreAsc(1, 0),
+                        medicoRepository.findAllPagedOrderByNombreDesc(1, 0),
+                        medicoRepository.findAllPagedOrderByEspecialidadIdAsc(1, 0),
+                        medicoRepository.findAllPagedOrderByEspecialidadIdDesc(1, 0),
+                        medicoRepository.findByNombreAndEspecialidadIdOrderByIdAsc(null, null, 1, 0),
+                        medicoRepository.findByNombreAndEspecialidadIdOrderByIdDesc(null, null, 1, 0),
+                        medicoRepository.findByNombreAndEspecialidadIdOrderByNombreAsc(null, null, 1, 0),
+                        medicoRepository.findByNombreAndEspecialidadIdOrderByNombreDesc(null, null, 1, 0),
+                        medicoRepository.findByNombreAndEspecialidadIdOrderByEspecialidadIdAsc(null, null, 1, 0),
+                        medicoRepository.findByNombreAndEspecialidadIdOrderByEspecialidadIdDesc(null, null, 1, 0),
+                        medicoRepository.findByEspecialidadIdAndNombreOrderByIdAsc(especialidadId, null, 1, 0),
+                        medicoRepository.findByEspecialidadIdAndNombreOrderByIdDesc(especialidadId, null, 1, 0),
+                        medicoRepository.findUpdatedAfter(now).take(1),
+                        medicoRepository.streamAll().take(1),
+                        medicoRepository.streamAllMedicoWithEspecialidad().take(1),
+                        medicoRepository.streamByNombreAndEspecialidadId(null, especialidadId, byId).take(1),
+                        medicoRepository.streamMedicoWithEspecialidad(null, especialidadId, byId).take(1))
+                .then();
+    }
+
+    /**
+     * Writers del codificador de WebFlux, que los guarda por el tipo genérico completo de la respuesta, y
+     * serializadores de Jackson de cada tipo
+     */
+    private void encodeResponses(PageResponseDto<MedicoDto> page) {
+        MedicoDto medico = new MedicoDto(1L, "Calentamiento", 1L);
+        ResponseMedico medicoEspecialidad = new ResponseMedico(1L, "Calentamiento", 1L, "Calentamiento");
+        encode(PAGE_RESPONSE, new ResponseDataCrud<>("200", "Calentamiento", page.getContent().size(), page));
+        encode(LIST_RESPONSE, new ResponseDataCrud<>("200", "Calentamiento", 1, List.of(medico)));
+        encode(MEDICO_RESPONSE, new ResponseDataCrud<>("200", "Calentamiento", 1, medico));
+        encode(MEDICO_ESPECIALIDAD_LIST_RESPONSE, new ResponseDataCrud<>("200", "Calentamiento", 1, List.of(medicoEspecialidad)));
+        encode(MEDICO_ESPECIALIDAD_RESPONSE, new ResponseDataCrud<>("200", "Calentamiento", 1, medicoEspecialidad));
+        encode(FUNCTIONAL_RESPONSE, new ResponseDataCrud<>("200", "Calentamiento", 1, medico));
+    }
+
+    private void encode(ResolvableType type, Object value) {
+        DataBufferUtils.release(jsonEncoder.encodeValue(value, DefaultDataBufferFactory.sharedInstance, type,
+                MediaType.APPLICATION_JSON, null));
+    }
+}
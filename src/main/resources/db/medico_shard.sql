@@ -0,0 +1,13 @@
+-- Tabla medico en cada shard (app.sharding). Los ids los asigna la secuencia medico_id_seq de la base
+-- de datos principal, por eso la columna no es SERIAL; especialidad sigue en la base principal y no hay FK.
+CREATE TABLE IF NOT EXISTS medico (
+    id BIGINT PRIMARY KEY,
+    -- Las páginas de cada shard se mezclan con el orden de String: el nombre usa la collation C
+    nombre VARCHAR(150) COLLATE "C" NOT NULL,
+    especialidad_id BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_medico_nombre ON medico (nombre, id);
+CREATE INDEX IF NOT EXISTS idx_medico_especialidad_id ON medico (especialidad_id, id);
+CREATE INDEX IF NOT EXISTS idx_medico_updated_at ON medico (updated_at, id);
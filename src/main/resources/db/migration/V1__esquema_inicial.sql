@@ -0,0 +1,13 @@
+-- Esquema inicial de db_apolo. En una base de datos existente con estas tablas Flyway la registra como
+-- baseline (versión 1) y aplica solo las migraciones siguientes.
+CREATE TABLE IF NOT EXISTS especialidad (
+    id BIGSERIAL PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS medico (
+    id BIGSERIAL PRIMARY KEY,
+    nombre VARCHAR(150) NOT NULL,
+    especialidad_id BIGINT,
+    CONSTRAINT fk_medico_especialidad FOREIGN KEY (especialidad_id) REFERENCES especialidad (id)
+);
@@ -0,0 +1,9 @@
+-- Registro de cambios de médicos para GET /api/medicos/changes (Last-Event-ID = id)
+CREATE TABLE IF NOT EXISTS medico_change (
+    id BIGSERIAL PRIMARY KEY,
+    medico_id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_medico_change_changed_at ON medico_change (changed_at);
@@ -0,0 +1,15 @@
+-- Sincronización incremental GET /api/medicos/sync?since=: marca de modificación y registro de bajas
+ALTER TABLE medico ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE especialidad ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_medico_updated_at ON medico (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_especialidad_updated_at ON especialidad (updated_at, id);
+
+CREATE TABLE IF NOT EXISTS tombstone (
+    id BIGSERIAL PRIMARY KEY,
+    entity VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_tombstone_deleted_at ON tombstone (deleted_at);
@@ -0,0 +1,16 @@
+-- Índices de las consultas de MedicoRepository; SchemaIndexVerifier comprueba al arrancar que existen.
+-- El id de desempate permite recorrer el índice en el mismo orden que ORDER BY ... LIMIT.
+
+-- ORDER BY nombre (listado paginado y filtrado solo por nombre)
+CREATE INDEX IF NOT EXISTS idx_medico_nombre ON medico (nombre, id);
+
+-- FK, ORDER BY especialidad_id y filtro por especialidad ordenado por id
+DROP INDEX IF EXISTS idx_medico_especialidad_id;
+CREATE INDEX idx_medico_especialidad_id ON medico (especialidad_id, id);
+
+-- Filtro por especialidad ordenado por nombre
+CREATE INDEX IF NOT EXISTS idx_medico_especialidad_nombre ON medico (especialidad_id, nombre, id);
+
+-- nombre LIKE '%texto%': un B-tree no sirve con comodín inicial, el índice de trigramas sí
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_medico_nombre_trgm ON medico USING gin (nombre gin_trgm_ops);
@@ -0,0 +1,55 @@
+-- medico particionada por LIST (especialidad_id): las páginas filtradas por especialidad leen solo su
+-- partición. Cada especialidad tiene la partición medico_esp_<id> (la crea medico_crear_particion al dar de
+-- alta la especialidad) y medico_default recoge cualquier otro valor.
+--
+-- La clave primaria incluye especialidad_id, como exige PostgreSQL en tablas particionadas; los ids siguen
+-- saliendo de medico_id_seq. Las búsquedas solo por id consultan el índice de cada partición.
+-- La migración copia la tabla bajo bloqueo: en tablas grandes conviene aplicarla en una ventana de mantenimiento.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM medico WHERE especialidad_id IS NULL) THEN
+        RAISE EXCEPTION 'medico tiene filas sin especialidad_id: asignarlas antes de particionar';
+    END IF;
+END $$;
+
+CREATE TABLE medico_particionada (
+    id BIGINT NOT NULL DEFAULT nextval('medico_id_seq'),
+    nombre VARCHAR(150) NOT NULL,
+    especialidad_id BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT medico_particionada_pkey PRIMARY KEY (id, especialidad_id),
+    CONSTRAINT fk_medico_particionada_especialidad FOREIGN KEY (especialidad_id) REFERENCES especialidad (id)
+) PARTITION BY LIST (especialidad_id);
+
+CREATE TABLE medico_default PARTITION OF medico_particionada DEFAULT;
+
+ALTER SEQUENCE medico_id_seq OWNED BY NONE;
+ALTER TABLE medico RENAME TO medico_sin_particionar;
+ALTER TABLE medico_particionada RENAME TO medico;
+ALTER TABLE medico RENAME CONSTRAINT fk_medico_particionada_especialidad TO fk_medico_especialidad;
+ALTER SEQUENCE medico_id_seq OWNED BY medico.id;
+
+-- Idempotente: EspecialidadServiceImpl la llama en la misma transacción que el alta de la especialidad
+CREATE OR REPLACE FUNCTION medico_crear_particion(p_especialidad_id BIGINT) RETURNS VOID AS $$
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF medico FOR VALUES IN (%s)',
+                   'medico_esp_' || p_especialidad_id, p_especialidad_id);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Las particiones se crean antes de copiar: con filas de una especialidad en medico_default no se podría
+SELECT medico_crear_particion(id) FROM especialidad;
+
+INSERT INTO medico (id, nombre, especialidad_id, updated_at)
+SELECT id, nombre, especialidad_id, updated_at FROM medico_sin_particionar;
+
+DROP TABLE medico_sin_particionar;
+ALTER TABLE medico RENAME CONSTRAINT medico_particionada_pkey TO medico_pkey;
+
+-- Índices particionados con los mismos nombres que V3 y V4; las particiones nuevas los heredan
+CREATE INDEX idx_medico_nombre ON medico (nombre, id);
+CREATE INDEX idx_medico_especialidad_id ON medico (especialidad_id, id);
+CREATE INDEX idx_medico_especialidad_nombre ON medico (especialidad_id, nombre, id);
+CREATE INDEX idx_medico_nombre_trgm ON medico USING gin (nombre gin_trgm_ops);
+CREATE INDEX idx_medico_updated_at ON medico (updated_at, id);
@@ -0,0 +1,44 @@
+-- Mantenimiento de particiones sin bloquear medico.
+--
+-- CREATE TABLE ... PARTITION OF toma ACCESS EXCLUSIVE sobre medico, y mientras espera ese bloqueo también
+-- detiene las lecturas que llegan detrás. Ahora la partición se crea como tabla suelta y se adjunta con
+-- ATTACH PARTITION. Eso toma SHARE UPDATE EXCLUSIVE sobre medico, que es compatible con lecturas y
+-- escrituras, y ACCESS EXCLUSIVE solo sobre medico_default mientras se comprueba que no guarda filas de la
+-- especialidad. El CHECK previo evita recorrer la tabla nueva. lock_timeout hace que la función falle en vez
+-- de quedarse en la cola de bloqueos; EspecialidadServiceImpl la llama fuera de la transacción del alta y,
+-- si falla, los médicos de esa especialidad van a medico_default.
+
+CREATE OR REPLACE FUNCTION medico_crear_particion(p_especialidad_id BIGINT) RETURNS VOID AS $$
+DECLARE
+    v_particion TEXT := 'medico_esp_' || p_especialidad_id;
+BEGIN
+    IF to_regclass(v_particion) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    PERFORM set_config('lock_timeout', '5s', true);
+    EXECUTE format('CREATE TABLE %I (LIKE medico INCLUDING DEFAULTS)', v_particion);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (especialidad_id IS NOT NULL AND especialidad_id = %s)',
+                   v_particion, v_particion || '_rango', p_especialidad_id);
+    EXECUTE format('ALTER TABLE medico ATTACH PARTITION %I FOR VALUES IN (%s)', v_particion, p_especialidad_id);
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', v_particion, v_particion || '_rango');
+END;
+$$ LANGUAGE plpgsql;
+
+-- Se llama después del commit de la baja de la especialidad. La clave foránea garantiza que la partición
+-- está vacía; aun así solo se elimina si no tiene filas. Eliminar la partición bloquea medico en exclusiva
+-- un instante, y lock_timeout acota la espera.
+CREATE OR REPLACE FUNCTION medico_eliminar_particion(p_especialidad_id BIGINT) RETURNS VOID AS $$
+DECLARE
+    v_particion TEXT := 'medico_esp_' || p_especialidad_id;
+    v_vacia BOOLEAN;
+BEGIN
+    IF to_regclass(v_particion) IS NULL THEN
+        RETURN;
+    END IF;
+    PERFORM set_config('lock_timeout', '5s', true);
+    EXECUTE format('SELECT NOT EXISTS (SELECT 1 FROM %I)', v_particion) INTO v_vacia;
+    IF v_vacia THEN
+        EXECUTE format('DROP TABLE %I', v_particion);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Tiempo hasta /actuator/health UP y memoria residente (VmRSS/VmHWM) del jar de la JVM y del ejecutable nativo.
+# Cada artefacto se arranca RUNS veces; los argumentos extra se pasan a ambos (p. ej. otra base de datos) y
+# JAVA_OPTS solo a la JVM. Sin ejecutable nativo ("") compara variantes de la JVM, p. ej. con el archivo CDS:
+#   src/native/startup-comparison.sh target/apireactivo-0.0.1-SNAPSHOT-exec.jar target/apireactivo [args...]
+#   JAVA_OPTS=-XX:SharedArchiveFile=target/cds/apireactivo.jsa \
+#     src/native/startup-comparison.sh target/cds/apireactivo-0.0.1-SNAPSHOT-cds.jar "" --spring.profiles.active=fast-startup
+# Solo Linux: lee /proc/<pid>/status.
+set -euo pipefail
+
+JAR=${1:?jar de la JVM}
+NATIVE=${2:-}
+shift $(( $# < 2 ? $# : 2 ))
+
+PORT=${PORT:-18088}
+RUNS=${RUNS:-5}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-60}
+HEALTH="http://localhost:${PORT}/actuator/health"
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_kb() {
+    awk -v field="$2:" '$1 == field { print $2 }' "/proc/$1/status"
+}
+
+measure() {
+    local label=$1
+    shift
+    local start pid elapsed rss hwm
+    start=$(now_ms)
+    "$@" --server.port="${PORT}" "${EXTRA_ARGS[@]}" > "/tmp/startup-${label}.log" 2>&1 &
+    pid=$!
+    until curl -fs "${HEALTH}" 2>/dev/null | grep -q '"UP"'; do
+        if ! kill -0 "${pid}" 2>/dev/null || (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            echo "${label}: no arrancó, ver /tmp/startup-${label}.log" >&2
+            kill "${pid}" 2>/dev/null || true
+            return 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(rss_kb "${pid}" VmRSS)
+    hwm=$(rss_kb "${pid}" VmHWM)
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    printf '%-6s %8d ms %8d KB RSS %8d KB pico\n' "${label}" "${elapsed}" "${rss}" "${hwm}"
+}
+
+EXTRA_ARGS=("$@")
+for run in $(seq 1 "${RUNS}"); do
+    # shellcheck disable=SC2086
+    measure jvm java ${JAVA_OPTS:-} -jar "${JAR}"
+    if [[ -n "${NATIVE}" ]]; then
+        measure native "${NATIVE}"
+    fi
+done
@@ -0,0 +1,387 @@
+package com.academy.apicrud.admission;
+
+import com.academy.apicrud.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Resiliencia")
+@Feature("Control de admisión")
+public class AdmissionControlFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private VirtualTimeScheduler timer;
+    private AdmissionControlProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        timer = VirtualTimeScheduler.create();
+        properties = new AdmissionControlProperties();
+        properties.setMode(AdmissionControlProperties.Mode.STATIC);
+        properties.setRead(group(1, 1));
+        properties.setWrite(group(1, 0));
+        properties.setStream(group(1, 0));
+    }
+
+    @Test
+    @DisplayName("Rechazo con 503 y Retry-After cuando el grupo está saturado")
+    @Story("Load shedding")
+    @Description("Debe responder 503 sin ejecutar la cadena cuando no hay permiso ni sitio en la cola")
+    public void filter_RejectsWhenSaturated() {
+        // Arrange
+        AdmissionControlFilter filter = filter();
+        Sinks.Empty<Void> inProgress = Sinks.empty();
+        filter.filter(exchange(MockServerHttpRequest.post("/api/medicos")), e -> inProgress.asMono()).subscribe();
+
+        // Act
+        MockServerWebExchange rejected = exchange(MockServerHttpRequest.post("/api/medicos"));
+        filter.filter(rejected, e -> Mono.error(new IllegalStateException("No debe ejecutarse"))).block();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("http.admission.requests").tags("group", "write", "outcome", "rejected").counter().count());
+        inProgress.tryEmitEmpty();
+    }
+
+    @Test
+    @DisplayName("Lecturas y escrituras con límites independientes")
+    @Story("Grupos de rutas")
+    @Description("Debe admitir lecturas aunque el grupo de escrituras esté lleno, y no limitar rutas excluidas")
+    public void filter_UsesGroupPerMethod() {
+        // Arrange
+        AdmissionControlFilter filter = filter();
+        filter.filter(exchange(MockServerHttpRequest.put("/api/medicos/1")), e -> Mono.never()).subscribe();
+
+        // Act
+        MockServerWebExchange read = exchange(MockServerHttpRequest.get("/api/medicos/1"));
+        filter.filter(read, e -> Mono.empty()).block();
+        MockServerWebExchange actuator = exchange(MockServerHttpRequest.post("/actuator/slowqueries"));
+        filter.filter(actuator, e -> Mono.empty()).block();
+
+        // Assert
+        assertNull(read.getResponse().getStatusCode());
+        assertNull(actuator.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("SSE de cambios fuera del control de admisión")
+    @Story("Grupos de rutas")
+    @Description("Debe dejar pasar las rutas de excludePaths aunque el grupo de lecturas esté saturado, y seguir "
+            + "limitando la exportación CSV y la sincronización")
+    public void filter_SkipsExcludedPaths() {
+        // Arrange
+        AdmissionControlFilter filter = filter();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/medicos/1")), e -> Mono.never()).subscribe();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/medicos/2")), e -> Mono.never()).subscribe();
+
+        // Act
+        MockServerWebExchange rejected = exchange(MockServerHttpRequest.get("/api/medicos/3"));
+        filter.filter(rejected, e -> Mono.empty()).block();
+        MockServerWebExchange changes = exchange(MockServerHttpRequest.get("/api/medicos/changes"));
+        filter.filter(changes, e -> Mono.empty()).block();
+        MockServerWebExchange export = exchange(MockServerHttpRequest.get("/api/medicos/export.csv"));
+        filter.filter(export, e -> Mono.empty()).block();
+        MockServerWebExchange sync = exchange(MockServerHttpRequest.get("/api/medicos/sync"));
+        filter.filter(sync, e -> Mono.empty()).block();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertNull(changes.getResponse().getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, export.getResponse().getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, sync.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Exportación CSV y sincronización con el límite de streams")
+    @Story("Grupos de rutas")
+    @Description("Debe devolver el permiso de lecturas de la exportación CSV al comprometer la respuesta y "
+            + "conservar el de streams, rechazando la sincronización mientras la exportación siga abierta")
+    public void filter_CapsStreamPathsWhateverTheContentType() {
+        // Arrange
+        properties.setRead(group(1, 0));
+        AdmissionControlFilter filter = filter();
+        MockServerWebExchange export = exchange(MockServerHttpRequest.get("/api/medicos/export.csv"));
+        filter.filter(export, e -> {
+            e.getResponse().getHeaders().setContentType(MediaType.parseMediaType("text/csv"));
+            DataBuffer row = e.getResponse().bufferFactory().wrap("id,nombre\n".getBytes(StandardCharsets.UTF_8));
+            return e.getResponse().writeWith(Flux.just(row).concatWith(Flux.never()));
+        }).subscribe();
+
+        // Act
+        MockServerWebExchange json = exchange(MockServerHttpRequest.get("/api/medicos/1"));
+        filter.filter(json, e -> Mono.empty()).block();
+        MockServerWebExchange sync = exchange(MockServerHttpRequest.get("/api/medicos/sync"));
+        filter.filter(sync, e -> Mono.error(new IllegalStateException("No debe ejecutarse"))).block();
+
+        // Assert
+        assertTrue(export.getResponse().isCommitted());
+        assertNull(json.getResponse().getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, sync.getResponse().getStatusCode());
+        assertEquals(1.0, meterRegistry.get("http.admission.requests").tags("group", "stream", "outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Stream NDJSON devuelve el permiso al comprometer la respuesta")
+    @Story("Grupos de rutas")
+    @Description("Debe liberar el permiso de un stream en cuanto envía las cabeceras, aunque la conexión siga abierta")
+    public void filter_ReleasesPermitWhenStreamCommits() {
+        // Arrange
+        properties.setRead(group(1, 0));
+        AdmissionControlFilter filter = filter();
+        MockServerWebExchange stream = exchange(MockServerHttpRequest.get("/api/medicos")
+                .accept(MediaType.APPLICATION_NDJSON));
+        filter.filter(stream, e -> {
+            e.getResponse().getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+            DataBuffer line = e.getResponse().bufferFactory().wrap("{}\n".getBytes(StandardCharsets.UTF_8));
+            return e.getResponse().writeWith(Flux.just(line).concatWith(Flux.never()));
+        }).subscribe();
+
+        // Act
+        MockServerWebExchange json = exchange(MockServerHttpRequest.get("/api/medicos"));
+        filter.filter(json, e -> Mono.empty()).block();
+
+        // Assert
+        assertTrue(stream.getResponse().isCommitted());
+        assertNull(json.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Streams por cursor con límite propio hasta que terminan")
+    @Story("Grupos de rutas")
+    @Description("Debe rechazar un segundo stream NDJSON mientras el primero sigue abierto, sin limitar las lecturas "
+            + "JSON, y admitirlo cuando el primero termina")
+    public void filter_CapsConcurrentStreamsUntilTheyComplete() {
+        // Arrange
+        properties.setRead(group(1, 0));
+        AdmissionControlFilter filter = filter();
+        Sinks.Empty<Void> firstEnds = Sinks.empty();
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/medicos")
+                .accept(MediaType.APPLICATION_NDJSON));
+        filter.filter(first, e -> {
+            e.getResponse().getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+            DataBuffer line = e.getResponse().bufferFactory().wrap("{}\n".getBytes(StandardCharsets.UTF_8));
+            return e.getResponse().writeWith(Flux.just(line).concatWith(firstEnds.asMono().then(Mono.empty())));
+        }).subscribe();
+
+        // Act
+        MockServerWebExchange rejected = exchange(MockServerHttpRequest.get("/api/medicos/with-especialidad")
+                .accept(MediaType.APPLICATION_NDJSON));
+        filter.filter(rejected, e -> Mono.error(new IllegalStateException("No debe ejecutarse"))).block();
+        MockServerWebExchange json = exchange(MockServerHttpRequest.get("/api/medicos")
+                .accept(MediaType.ALL));
+        filter.filter(json, e -> Mono.empty()).block();
+        firstEnds.tryEmitEmpty();
+        MockServerWebExchange next = exchange(MockServerHttpRequest.get("/api/medicos")
+                .accept(MediaType.APPLICATION_NDJSON));
+        filter.filter(next, e -> Mono.empty()).block();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals(1.0, meterRegistry.get("http.admission.requests").tags("group", "stream", "outcome", "rejected").counter().count());
+        assertNull(json.getResponse().getStatusCode());
+        assertNull(next.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Petición en cola admitida al liberar un permiso")
+    @Story("Cola de espera")
+    @Description("Debe entregar el permiso liberado a la petición que espera en la cola")
+    public void limiter_GrantsQueuedRequestOnRelease() {
+        // Arrange
+        AdmissionLimiter limiter = limiter(properties.getRead());
+        AdmissionLimiter.Permit first = limiter.acquire().block();
+        AtomicReference<AdmissionLimiter.Permit> second = new AtomicReference<>();
+        limiter.acquire().subscribe(second::set);
+
+        // Act
+        assertNull(second.get());
+        assertEquals(1, limiter.getQueued());
+        first.release();
+
+        // Assert
+        assertTrue(second.get().isAdmitted());
+        assertEquals(0, limiter.getQueued());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Rechazo al vencer la espera en la cola")
+    @Story("Cola de espera")
+    @Description("Debe rechazar la petición encolada cuando supera queue-timeout")
+    public void limiter_RejectsOnQueueTimeout() {
+        // Arrange
+        AdmissionLimiter limiter = limiter(properties.getRead());
+        limiter.acquire().block();
+        AtomicReference<AdmissionLimiter.Permit> queued = new AtomicReference<>();
+        limiter.acquire().subscribe(queued::set);
+
+        // Act
+        timer.advanceTimeBy(Duration.ofMillis(500));
+
+        // Assert
+        assertFalse(queued.get().isAdmitted());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    @DisplayName("Límite adaptativo AIMD")
+    @Story("Límite adaptativo")
+    @Description("Debe reducir el límite una vez por ventana con respuestas lentas y recuperarlo con respuestas rápidas")
+    public void limiter_AdaptsLimitToLatency() {
+        // Arrange
+        properties.setMode(AdmissionControlProperties.Mode.ADAPTIVE);
+        properties.setBackoffRatio(0.5);
+        AdmissionControlProperties.Group group = new AdmissionControlProperties.Group(8, 2, 16, 0);
+        AdmissionLimiter limiter = limiter(group);
+        long start = System.nanoTime();
+        long second = Duration.ofSeconds(1).toNanos();
+
+        // Act & Assert
+        limiter.release(start, start + second);
+        assertEquals(4.0, limiter.getLimit());
+        // Iniciadas antes de la reducción: misma ventana
+        limiter.release(start, start + 2 * second);
+        limiter.release(start + second / 2, start + 2 * second);
+        assertEquals(4.0, limiter.getLimit());
+        limiter.release(start + 2 * second, start + 3 * second);
+        assertEquals(2.0, limiter.getLimit());
+        limiter.release(start + 3 * second, start + 3 * second + Duration.ofMillis(10).toNanos());
+        assertEquals(2.5, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Permiso devuelto si el suscriptor cancela antes de recibirlo")
+    @Story("Cola de espera")
+    @Description("Debe devolver el permiso descartado por un suscriptor cancelado sin dejarlo en vuelo")
+    public void limiter_ReturnsPermitDiscardedOnCancel() {
+        // Arrange
+        AdmissionLimiter limiter = limiter(properties.getRead());
+
+        // Act
+        limiter.acquire().subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                cancel();
+            }
+        });
+
+        // Assert
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.acquire().block().isAdmitted());
+    }
+
+    @Test
+    @DisplayName("Sin permisos perdidos con cancelaciones concurrentes")
+    @Story("Cola de espera")
+    @Description("Debe terminar sin peticiones en vuelo aunque los suscriptores cancelen mientras se conceden los permisos")
+    public void limiter_DoesNotLeakPermitsOnConcurrentCancel() throws Exception {
+        // Arrange
+        AdmissionLimiter limiter = limiter(new AdmissionControlProperties.Group(2, 2, 2, 1000));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int task = 0; task < 4; task++) {
+            tasks.add(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    // Como AdmissionControlFilter; un subscribe(Permit::release) tiraría con onNextDropped el permiso
+                    // que le llega tras cancelar, fuera del alcance del limitador
+                    Disposable subscription = limiter.acquire()
+                            .flatMap(permit -> Mono.empty().doFinally(signal -> permit.release()))
+                            .subscribe();
+                    if (i % 2 == 0) {
+                        subscription.dispose();
+                    }
+                }
+                return null;
+            });
+        }
+
+        // Act
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        timer.advanceTimeBy(Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(0, limiter.getQueued());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Cola larga de peticiones síncronas sin desbordar la pila")
+    @Story("Cola de espera")
+    @Description("Debe entregar los permisos en cadena sin llamadas anidadas cuando cada petición libera en el mismo hilo")
+    public void limiter_GrantsLongSynchronousChainWithoutRecursion() {
+        // Arrange
+        AdmissionLimiter limiter = limiter(new AdmissionControlProperties.Group(1, 1, 1, 20_000));
+        AdmissionLimiter.Permit first = limiter.acquire().block();
+        for (int i = 0; i < 20_000; i++) {
+            limiter.acquire()
+                    .flatMap(permit -> Mono.empty().doFinally(signal -> permit.release()))
+                    .subscribe();
+        }
+
+        // Act
+        first.release();
+
+        // Assert
+        assertEquals(0, limiter.getQueued());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private AdmissionControlFilter filter() {
+        return new AdmissionControlFilter(limiter(properties.getRead()), new AdmissionLimiter("write",
+                properties.getWrite(), properties, meterRegistry, timer), new AdmissionLimiter("stream",
+                properties.getStream(), false, properties, meterRegistry, timer), properties);
+    }
+
+    private AdmissionLimiter limiter(AdmissionControlProperties.Group group) {
+        return new AdmissionLimiter("read", group, properties, meterRegistry, timer);
+    }
+
+    private static AdmissionControlProperties.Group group(int limit, int queueSize) {
+        return new AdmissionControlProperties.Group(limit, limit, limit, queueSize);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+}
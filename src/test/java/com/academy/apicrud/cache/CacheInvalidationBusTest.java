@@ -0,0 +1,92 @@
+package com.academy.apicrud.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Epic("Cache")
+@Feature("Invalidación entre instancias")
+public class CacheInvalidationBusTest {
+
+    private MeterRegistry meterRegistry;
+    private DatabaseClient databaseClient;
+    private CacheInvalidationBus bus;
+    private List<Long> invalidated;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        databaseClient = Mockito.mock(DatabaseClient.class, Answers.RETURNS_DEEP_STUBS);
+        bus = new CacheInvalidationBus("cache_invalidation", databaseClient, meterRegistry);
+        invalidated = new ArrayList<>();
+        bus.register(CacheInvalidationBus.MEDICO, invalidated::add);
+    }
+
+    @Test
+    @DisplayName("Notificación de otra instancia")
+    @Story("Recepción")
+    @Description("Debe ejecutar los handlers de la entidad con el id recibido e ignorar las notificaciones propias o inválidas")
+    public void onNotification_InvokesHandlersForOtherNodes() {
+        // Act
+        bus.onNotification("medico:15:otra-instancia");
+        bus.onNotification("medico:*:otra-instancia");
+        bus.onNotification("medico:16:" + bus.getNodeId());
+        bus.onNotification("especialidad:3:otra-instancia");
+        bus.onNotification("medico:abc:otra-instancia");
+        bus.onNotification("formato-invalido");
+
+        // Assert
+        assertEquals(Arrays.asList(15L, null), invalidated);
+        assertEquals(4.0, meterRegistry.get("cache.invalidation").tag("direction", "received").counter().count());
+    }
+
+    @Test
+    @DisplayName("Publicación con pg_notify")
+    @Story("Envío")
+    @Description("Debe enviar la entidad, el id y la instancia de origen por el canal configurado")
+    public void publish_SendsNotification() {
+        // Arrange
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                .bind("channel", "cache_invalidation")
+                .bind("payload", "medico:15:" + bus.getNodeId());
+        Mockito.when(spec.then()).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(bus.publish(CacheInvalidationBus.MEDICO, 15L))
+                .verifyComplete();
+        Mockito.verify(spec).then();
+        assertEquals(1.0, meterRegistry.get("cache.invalidation").tag("direction", "sent").counter().count());
+    }
+
+    @Test
+    @DisplayName("Error al publicar")
+    @Story("Envío")
+    @Description("Un fallo de pg_notify no debe propagarse a la escritura")
+    public void publish_ErrorIsSwallowed() {
+        // Arrange
+        Mockito.when(databaseClient.sql(Mockito.anyString()).bind(Mockito.anyString(), Mockito.any())
+                        .bind(Mockito.anyString(), Mockito.any()).then())
+                .thenReturn(Mono.error(new IllegalStateException("conexión cerrada")));
+
+        // Act & Assert
+        StepVerifier.create(bus.publish(CacheInvalidationBus.MEDICO, 15L))
+                .verifyComplete();
+    }
+}
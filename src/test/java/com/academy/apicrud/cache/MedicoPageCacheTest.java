@@ -0,0 +1,123 @@
+package com.academy.apicrud.cache;
+
+import com.academy.apicrud.config.PageCacheProperties;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.dto.PageResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@Epic("Cache")
+@Feature("Cache de páginas de médicos")
+public class MedicoPageCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private MeterRegistry meterRegistry;
+    private MedicoPageCache cache;
+    private PageKey key;
+
+    @BeforeEach
+    public void setUp() {
+        PageCacheProperties properties = new PageCacheProperties();
+        properties.setTtl(Duration.ofSeconds(5));
+        properties.setStaleWhileRevalidate(Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new MedicoPageCache(properties, meterRegistry, now::get);
+        key = PageKey.of(null, null, PageRequest.of(0, 10, Sort.by("id")));
+    }
+
+    @Test
+    @DisplayName("Entrada vencida servida mientras se refresca")
+    @Story("Stale-while-revalidate")
+    @Description("Debe devolver la copia anterior tras el TTL y reemplazarla con un refresco en segundo plano")
+    public void staleEntry_IsServedAndRefreshed() {
+        // Arrange
+        PageResponseDto<MedicoDto> first = cache.get(key, this::loader).block();
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        // Act
+        PageResponseDto<MedicoDto> stale = cache.get(key, this::loader).block();
+        PageResponseDto<MedicoDto> refreshed = cache.get(key, this::loader).block();
+
+        // Assert
+        assertSame(first, stale);
+        assertEquals(2, loads.get());
+        assertEquals(2L, refreshed.getContent().get(0).getId());
+        assertEquals(1.0, meterRegistry.get("cache.stale.served").counter().count());
+    }
+
+    @Test
+    @DisplayName("Entrada descartada tras la ventana stale")
+    @Story("Stale-while-revalidate")
+    @Description("Debe esperar a la base de datos cuando la entrada supera TTL + staleWhileRevalidate")
+    public void expiredEntry_IsReloaded() {
+        // Arrange
+        cache.get(key, this::loader).block();
+        now.addAndGet(Duration.ofSeconds(40).toNanos());
+
+        // Act
+        PageResponseDto<MedicoDto> reloaded = cache.get(key, this::loader).block();
+
+        // Assert
+        assertEquals(2L, reloaded.getContent().get(0).getId());
+        assertEquals(0.0, meterRegistry.get("cache.stale.served").counter().count());
+    }
+
+    @Test
+    @DisplayName("Consultas concurrentes compartidas e invalidación")
+    @Story("Invalidación")
+    @Description("Debe compartir una consulta entre peticiones concurrentes y no guardar una consulta iniciada antes de invalidar")
+    public void concurrentLoads_AreSharedAndInvalidationWins() {
+        // Arrange
+        Sinks.One<PageResponseDto<MedicoDto>> pending = Sinks.one();
+        Mono<PageResponseDto<MedicoDto>> first = cache.get(key, () -> {
+            loads.incrementAndGet();
+            return pending.asMono();
+        }).cache();
+        Mono<PageResponseDto<MedicoDto>> second = cache.get(key, this::loader).cache();
+        first.subscribe();
+        second.subscribe();
+
+        // Act
+        cache.invalidateAll();
+        pending.tryEmitValue(page(99L));
+
+        // Assert
+        assertEquals(99L, second.block().getContent().get(0).getId());
+        assertEquals(1, loads.get());
+        assertEquals(2L, cache.get(key, this::loader).block().getContent().get(0).getId());
+    }
+
+    private Mono<PageResponseDto<MedicoDto>> loader() {
+        return Mono.fromSupplier(() -> page(loads.incrementAndGet()));
+    }
+
+    private static PageResponseDto<MedicoDto> page(long id) {
+        return PageResponseDto.<MedicoDto>builder()
+                .content(List.of(new MedicoDto(id, "Dr. Juan Pérez", 1L)))
+                .pageNumber(0)
+                .pageSize(10)
+                .first(true)
+                .build();
+    }
+}
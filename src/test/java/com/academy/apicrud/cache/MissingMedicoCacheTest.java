@@ -0,0 +1,74 @@
+package com.academy.apicrud.cache;
+
+import com.academy.apicrud.config.MissingMedicoCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Cache")
+@Feature("Cache de médicos inexistentes")
+public class MissingMedicoCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private MeterRegistry meterRegistry;
+    private MissingMedicoCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        MissingMedicoCacheProperties properties = new MissingMedicoCacheProperties();
+        properties.setTtl(Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new MissingMedicoCache(properties, meterRegistry, now::get);
+    }
+
+    @Test
+    @DisplayName("Id inexistente olvidado tras el TTL")
+    @Story("Cache negativa")
+    @Description("Debe responder el id como inexistente solo durante el TTL y publicar aciertos y fallos")
+    public void missingId_ExpiresAfterTtl() {
+        // Arrange
+        cache.markMissing(99L);
+
+        // Act
+        boolean beforeTtl = cache.isMissing(99L);
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        boolean afterTtl = cache.isMissing(99L);
+
+        // Assert
+        assertTrue(beforeTtl);
+        assertFalse(afterTtl);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "medicoMissing", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "medicoMissing", "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Alta y baja sin transacción")
+    @Story("Cache negativa")
+    @Description("Sin transacción activa el alta retira el id y la baja lo marca en el momento")
+    public void presentAndMissing_WithoutTransaction() {
+        // Arrange
+        cache.markMissing(1L);
+
+        // Act
+        cache.markPresentAfterCommit(1L).block();
+        cache.markMissingAfterCommit(2L).block();
+
+        // Assert
+        assertFalse(cache.isMissing(1L));
+        assertTrue(cache.isMissing(2L));
+    }
+}
@@ -0,0 +1,65 @@
+package com.academy.apicrud.cache;
+
+import com.academy.apicrud.config.CacheInvalidationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.postgresql.api.PostgresqlStatement;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Cache")
+@Feature("Invalidación entre instancias")
+public class PostgresNotificationListenerTest {
+
+    @Test
+    @DisplayName("Reconexión con backoff tras un cierre limpio")
+    @Story("Recepción")
+    @Description("Debe esperar el backoff antes de reabrir la conexión de LISTEN cuando el servidor la cierra sin error")
+    public void start_ReconnectsWithBackoffAfterCleanClose() throws InterruptedException {
+        // Arrange
+        AtomicInteger connections = new AtomicInteger();
+        PostgresqlConnection connection = Mockito.mock(PostgresqlConnection.class);
+        PostgresqlStatement statement = Mockito.mock(PostgresqlStatement.class);
+        PostgresqlResult result = Mockito.mock(PostgresqlResult.class);
+        Mockito.when(connection.createStatement(Mockito.anyString())).thenReturn(statement);
+        Mockito.when(statement.execute()).thenAnswer(invocation -> Flux.just(result));
+        Mockito.when(result.getRowsUpdated()).thenAnswer(invocation -> Mono.just(0));
+        // Cierre limpio: el stream de notificaciones termina sin error
+        Mockito.when(connection.getNotifications()).thenReturn(Flux.empty());
+        Mockito.when(connection.close()).thenAnswer(invocation -> Mono.empty());
+        ConnectionFactory connectionFactory = Mockito.mock(ConnectionFactory.class);
+        Mockito.doAnswer(invocation -> Mono.fromSupplier(() -> {
+            connections.incrementAndGet();
+            return connection;
+        })).when(connectionFactory).create();
+
+        CacheInvalidationProperties properties = new CacheInvalidationProperties();
+        properties.setMinReconnectBackoff(Duration.ofMillis(100));
+        properties.setMaxReconnectBackoff(Duration.ofSeconds(1));
+        PostgresNotificationListener listener = new PostgresNotificationListener(connectionFactory,
+                new CacheInvalidationBus("cache_invalidation", null, new SimpleMeterRegistry()), properties);
+
+        // Act
+        listener.start();
+        Thread.sleep(500);
+        listener.stop();
+
+        // Assert
+        assertTrue(connections.get() >= 2, "Sin reconexión: " + connections.get());
+        assertTrue(connections.get() <= 5, "Reconexión sin backoff: " + connections.get());
+    }
+}
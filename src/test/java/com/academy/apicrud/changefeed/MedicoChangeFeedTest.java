@@ -0,0 +1,260 @@
+package com.academy.apicrud.changefeed;
+
+import com.academy.apicrud.config.MedicoChangeFeedProperties;
+import com.academy.apicrud.model.domain.MedicoChange;
+import com.academy.apicrud.repository.MedicoChangeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@Epic("Feed de cambios")
+@Feature("Medico Change Feed")
+public class MedicoChangeFeedTest {
+
+    @Mock
+    private MedicoChangeRepository repository;
+
+    private MeterRegistry meterRegistry;
+    private MedicoChangeFeedProperties properties;
+    private MedicoChangeFeed feed;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new MedicoChangeFeedProperties();
+        properties.setBatchSize(2);
+        properties.setSubscriberBuffer(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (feed != null) {
+            feed.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Reenvío desde Last-Event-ID y cambios en vivo")
+    @Story("Reanudación")
+    @Description("Debe reenviar por lotes las filas posteriores al id recibido y continuar con los cambios nuevos sin duplicados")
+    public void subscribe_ReplaysThenStreamsLiveChanges() {
+        // Arrange
+        when(repository.findLastId()).thenReturn(Mono.just(8L));
+        when(repository.findById(5L)).thenReturn(Mono.empty());
+        when(repository.findAfter(5L, 2)).thenReturn(Flux.just(change(6L), change(7L)));
+        when(repository.findAfter(7L, 2)).thenReturn(Flux.just(change(8L)));
+        when(repository.findAfter(8L, 2)).thenReturn(Flux.just(change(9L)));
+        startFeed();
+
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(5L))
+                .expectNextMatches(change -> change.getId() == 6L)
+                .expectNextMatches(change -> change.getId() == 7L)
+                .expectNextMatches(change -> change.getId() == 8L)
+                .then(feed::wakeUp)
+                .expectNextMatches(change -> change.getId() == 9L)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(0.0, meterRegistry.get("medico.changes.subscribers").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Suscriptor lento desconectado")
+    @Story("Buffer por suscriptor")
+    @Description("Con DISCONNECT debe entregar lo acumulado en el buffer y cerrar el stream del suscriptor lento")
+    public void slowSubscriber_IsDisconnected() {
+        // Arrange
+        when(repository.findLastId()).thenReturn(Mono.just(0L));
+        when(repository.findAfter(0L, 2)).thenReturn(Flux.just(change(1L), change(2L)));
+        when(repository.findAfter(2L, 2)).thenReturn(Flux.just(change(3L)));
+        startFeed();
+
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(null), 0)
+                .then(feed::wakeUp)
+                .thenRequest(10)
+                .expectNextCount(2)
+                .expectError(SlowConsumerException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1.0, meterRegistry.get("medico.changes.overflow").tag("policy", "disconnect").counter().count());
+    }
+
+    @Test
+    @DisplayName("Suscriptor lento con descarte")
+    @Story("Buffer por suscriptor")
+    @Description("Con DROP debe descartar los eventos que no caben y mantener el stream abierto")
+    public void slowSubscriber_DropsWithDropPolicy() {
+        // Arrange
+        properties.setOverflow(MedicoChangeFeedProperties.Overflow.DROP);
+        when(repository.findLastId()).thenReturn(Mono.just(0L));
+        when(repository.findAfter(0L, 2)).thenReturn(Flux.just(change(1L), change(2L)));
+        when(repository.findAfter(2L, 2)).thenReturn(Flux.just(change(3L)));
+        startFeed();
+
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(null), 0)
+                .then(feed::wakeUp)
+                .thenRequest(10)
+                .expectNextCount(2)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1.0, meterRegistry.get("medico.changes.overflow").tag("policy", "drop").counter().count());
+    }
+
+    @Test
+    @DisplayName("Commit tardío publicado en vivo")
+    @Story("Cambios en vivo")
+    @Description("Debe publicar la fila de un id saltado cuando su transacción hace commit después de otra con id mayor")
+    public void lateCommit_IsPublishedLive() {
+        // Arrange
+        when(repository.findLastId()).thenReturn(Mono.just(0L));
+        when(repository.findAfter(0L, 2)).thenReturn(Flux.just(change(1L), change(3L)));
+        when(repository.findAfter(3L, 2)).thenReturn(Flux.empty());
+        when(repository.findByIds(List.of(2L))).thenReturn(Flux.empty(), Flux.just(change(2L)));
+        startFeed();
+
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(null))
+                .then(feed::wakeUp)
+                .expectNextMatches(change -> change.getId() == 1L)
+                .expectNextMatches(change -> change.getId() == 3L)
+                // El id 2 aún no es visible en la siguiente lectura; aparece en la posterior
+                .then(feed::wakeUp)
+                .expectNoEvent(Duration.ofMillis(100))
+                .then(feed::wakeUp)
+                .expectNextMatches(change -> change.getId() == 2L)
+                .then(feed::wakeUp)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        verify(repository, times(2)).findByIds(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Commit tardío sin duplicados tras el reenvío")
+    @Story("Reanudación")
+    @Description("Debe descartar en vivo el id saltado que ya se reenvió desde la tabla")
+    public void lateCommit_AlreadyReplayedIsNotDuplicated() {
+        // Arrange
+        when(repository.findLastId()).thenReturn(Mono.just(0L));
+        when(repository.findAfter(0L, 2)).thenReturn(Flux.just(change(1L), change(3L)));
+        when(repository.findAfter(3L, 2)).thenReturn(Flux.empty());
+        when(repository.findByIds(List.of(2L))).thenReturn(Flux.just(change(2L)));
+        startFeed();
+        feed.wakeUp();
+        when(repository.findById(1L)).thenReturn(Mono.just(change(1L)));
+        when(repository.findBeforeChangedSince(any(Long.class), any(LocalDateTime.class))).thenReturn(Flux.empty());
+        when(repository.findAfter(1L, 2)).thenReturn(Flux.just(change(2L), change(3L)));
+
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(1L))
+                .expectNextMatches(change -> change.getId() == 2L)
+                .expectNextMatches(change -> change.getId() == 3L)
+                .then(feed::wakeUp)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        verify(repository).findByIds(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Reanudación con un commit tardío anterior a Last-Event-ID")
+    @Story("Reanudación")
+    @Description("Debe reenviar la fila con id menor que Last-Event-ID registrada dentro de lateCommitWindow y no duplicarla cuando llega en vivo")
+    public void resume_ReplaysLateCommitBelowLastEventId() {
+        // Arrange
+        MedicoChange last = change(11L);
+        when(repository.findLastId()).thenReturn(Mono.just(9L));
+        when(repository.findAfter(9L, 2)).thenReturn(Flux.just(last));
+        when(repository.findAfter(11L, 2)).thenReturn(Flux.empty());
+        startFeed();
+        // El 11 se publica con el 10 aún sin commit
+        feed.wakeUp();
+        when(repository.findById(11L)).thenReturn(Mono.just(last));
+        when(repository.findBeforeChangedSince(11L, last.getChangedAt().minus(properties.getLateCommitWindow())))
+                .thenReturn(Flux.just(change(10L)));
+        when(repository.findByIds(List.of(10L))).thenReturn(Flux.just(change(10L)));
+
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(11L))
+                .expectNextMatches(change -> change.getId() == 10L)
+                // El commit tardío del 10 se publica en vivo y ya se reenvió
+                .then(feed::wakeUp)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        verify(repository).findByIds(List.of(10L));
+    }
+
+    @Test
+    @DisplayName("Id saltado descartado tras lateCommitWindow")
+    @Story("Cambios en vivo")
+    @Description("Debe dejar de buscar un id saltado cuando su transacción no hace commit dentro de la ventana")
+    public void gap_ExpiresAfterLateCommitWindow() {
+        // Arrange
+        properties.setLateCommitWindow(Duration.ZERO);
+        when(repository.findLastId()).thenReturn(Mono.just(0L));
+        when(repository.findAfter(0L, 2)).thenReturn(Flux.just(change(2L)));
+        when(repository.findAfter(2L, 2)).thenReturn(Flux.empty());
+        startFeed();
+
+        // Act
+        feed.wakeUp();
+        feed.wakeUp();
+
+        // Assert
+        verify(repository, never()).findByIds(any());
+    }
+
+    @Test
+    @DisplayName("Registro del cambio")
+    @Story("Registro")
+    @Description("Debe insertar una fila en medico_change con la operación realizada")
+    public void record_SavesChange() {
+        // Arrange
+        feed = new MedicoChangeFeed(repository, properties, meterRegistry);
+        when(repository.save(any(MedicoChange.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(feed.record(1L, MedicoChange.Operation.DELETE))
+                .verifyComplete();
+        verify(repository).save(argThat(change ->
+                change.getMedicoId() == 1L && change.getOperation() == MedicoChange.Operation.DELETE));
+    }
+
+    private void startFeed() {
+        feed = new MedicoChangeFeed(repository, properties, meterRegistry);
+        feed.start();
+    }
+
+    private static MedicoChange change(long id) {
+        return new MedicoChange(id, 1L, MedicoChange.Operation.UPDATE, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,226 @@
+package com.academy.apicrud.config;
+
+import com.academy.apicrud.cache.MedicoPageCache;
+import com.academy.apicrud.cache.MissingMedicoCache;
+import com.academy.apicrud.monitoring.StatementCacheMetricsListener;
+import com.academy.apicrud.repository.EspecialidadRepository;
+import com.academy.apicrud.repository.MedicoChangeRepository;
+import com.academy.apicrud.repository.MedicoCursorRepositoryImpl;
+import com.academy.apicrud.repository.MedicoRepository;
+import com.academy.apicrud.repository.TombstoneRepository;
+import com.academy.apicrud.service.impl.EspecialidadServiceImpl;
+import com.academy.apicrud.service.impl.MedicoServiceImpl;
+import com.academy.apicrud.sharding.ShardedMedicoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.framework.ProxyProcessorSupport;
+import org.springframework.aop.target.EmptyTargetSource;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * La configuración de META-INF/native-image solo se usa al compilar con el profile native, así que un
+ * modelo nuevo o un cambio en la configuración de una cache pasaría desapercibido hasta que la imagen
+ * fallase en ejecución. Estas pruebas comprueban en la JVM que cubre las clases y proxies reales.
+ */
+@Epic("Imagen nativa")
+@Feature("Configuración de reflexión y proxies")
+public class NativeImageConfigTest {
+
+    private static final String CONFIG = "META-INF/native-image/com.academy/apireactivo/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Map<String, JsonNode> reflection;
+    private Set<List<String>> proxies;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        reflection = new HashMap<>();
+        for (JsonNode type : objectMapper.readTree(new ClassPathResource(CONFIG + "reflect-config.json").getInputStream())) {
+            reflection.put(type.get("name").asText(), type);
+        }
+        proxies = new HashSet<>();
+        for (JsonNode proxy : objectMapper.readTree(new ClassPathResource(CONFIG + "proxy-config.json").getInputStream())) {
+            List<String> interfaces = new ArrayList<>();
+            proxy.get("interfaces").forEach(name -> interfaces.add(name.asText()));
+            proxies.add(interfaces);
+        }
+    }
+
+    @Test
+    @DisplayName("Modelo registrado para reflexión")
+    @Story("Reflexión")
+    @Description("Cada clase del modelo debe tener constructores, métodos públicos (accesores de Lombok) y campos registrados")
+    public void reflectConfig_CoversEveryModelClass() throws IOException {
+        // Arrange
+        Resource[] classes = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:com/academy/apicrud/model/**/*.class");
+
+        // Act & Assert
+        assertTrue(classes.length > 0);
+        for (Resource resource : classes) {
+            String path = resource.getURL().getPath();
+            String name = path.substring(path.indexOf("com/academy/apicrud/model/"), path.length() - ".class".length())
+                    .replace('/', '.');
+            if (name.contains("$")) {
+                // Builders de Lombok: no se instancian por reflexión
+                continue;
+            }
+            JsonNode type = reflection.get(name);
+            assertTrue(type != null, "Falta en reflect-config.json: " + name);
+            assertTrue(type.path("allDeclaredConstructors").asBoolean()
+                    && type.path("allPublicMethods").asBoolean()
+                    && type.path("allDeclaredFields").asBoolean(), "Registro incompleto: " + name);
+        }
+        reflection.keySet().forEach(name -> assertDoesNotThrow(() -> Class.forName(name), name));
+    }
+
+    @Test
+    @DisplayName("Clases generadas de Caffeine")
+    @Story("Reflexión")
+    @Description("Las clases de cache y de nodo que Caffeine carga por nombre para las caches de la aplicación deben estar registradas")
+    public void reflectConfig_CoversCaffeineGeneratedClasses() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<Object> caches = List.of(
+                ReflectionTestUtils.getField(new MedicoPageCache(new PageCacheProperties(), meterRegistry), "cache"),
+                ReflectionTestUtils.getField(new MissingMedicoCache(new MissingMedicoCacheProperties(), meterRegistry), "cache"),
+                ReflectionTestUtils.getField(new StatementCacheMetricsListener(256, meterRegistry), "statements"));
+
+        // Act & Assert
+        for (Object cache : caches) {
+            Object local = ReflectionTestUtils.getField(cache, "cache");
+            assertGeneratedClassesRegistered(local.getClass());
+            assertGeneratedClassesRegistered(ReflectionTestUtils.getField(local, "nodeFactory").getClass());
+        }
+    }
+
+    private void assertGeneratedClassesRegistered(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            // Solo las clases generadas (PSWMS, SSSMW...); BoundedLocalCache y Node no se cargan por nombre
+            if (current.getName().startsWith("com.github.benmanes.caffeine.cache.")
+                    && current.getSimpleName().matches("[A-Z]+")) {
+                JsonNode registered = reflection.get(current.getName());
+                assertTrue(registered != null && registered.path("allDeclaredConstructors").asBoolean(),
+                        "Falta en reflect-config.json: " + current.getName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Proxies JDK de r2dbc-proxy")
+    @Story("Proxies")
+    @Description("Los proxies de la monitorización de consultas deben estar en proxy-config.json con sus interfaces en el mismo orden")
+    public void proxyConfig_CoversR2dbcProxies() {
+        // Arrange
+        ConnectionFactory connectionFactory = ProxyConnectionFactory
+                .builder(ConnectionFactories.get("r2dbc:h2:mem:///native_proxy"))
+                .build();
+
+        // Act
+        Connection connection = Mono.from(connectionFactory.create()).block();
+        Statement statement = connection.createStatement("SELECT 1");
+        List<Object> proxied = List.of(connectionFactory, connection, statement, connection.createBatch(),
+                Flux.from(statement.execute()).blockFirst());
+        Mono.from(connection.close()).block();
+
+        // Assert
+        proxied.forEach(proxy -> assertProxyRegistered(proxy.getClass().getInterfaces()));
+    }
+
+    @Test
+    @DisplayName("Proxies de repositorios y servicios")
+    @Story("Proxies")
+    @Description("Los repositorios de Spring Data, el aspecto de resiliencia y @Transactional deben usar proxies JDK registrados")
+    public void proxyConfig_CoversRepositoryAndServiceProxies() {
+        // Arrange
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(ConnectionFactories.get("r2dbc:h2:mem:///native_repositories"));
+        R2dbcRepositoryFactory factory = new R2dbcRepositoryFactory(template);
+        RepositoryFragments cursor = RepositoryFragments.just(new MedicoCursorRepositoryImpl(
+                template.getDatabaseClient(), template.getConverter(), new PostgresqlDriverProperties()));
+
+        // Act & Assert
+        assertProxyRegistered(factory.getRepository(MedicoRepository.class, cursor).getClass().getInterfaces());
+        for (Class<?> repository : List.of(EspecialidadRepository.class, MedicoChangeRepository.class, TombstoneRepository.class)) {
+            assertProxyRegistered(factory.getRepository(repository).getClass().getInterfaces());
+        }
+        // En el perfil native (spring.aop.proxy-target-class=false) el auto-proxy (aspecto y @Transactional) usa las interfaces del bean
+        for (Class<?> bean : List.of(MedicoServiceImpl.class, EspecialidadServiceImpl.class, ShardedMedicoRepository.class)) {
+            assertProxyRegistered(interfaceProxy(bean));
+        }
+    }
+
+    @Test
+    @DisplayName("Proxies JDK solo en el perfil native")
+    @Story("Proxies")
+    @Description("spring.aop.proxy-target-class=false debe limitarse al perfil native y la JVM conservar los proxies CGLIB")
+    public void applicationYml_ScopesInterfaceProxiesToNativeProfile() throws IOException {
+        // Arrange
+        List<PropertySource<?>> documents = new YamlPropertySourceLoader()
+                .load("application.yml", new ClassPathResource("application.yml"));
+
+        // Act
+        List<Object> profiles = documents.stream()
+                .filter(document -> document.containsProperty("spring.aop.proxy-target-class"))
+                .map(document -> document.getProperty("spring.config.activate.on-profile"))
+                .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(List.of("native"), profiles);
+    }
+
+    private static Class<?>[] interfaceProxy(Class<?> beanClass) {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        new ProxyProcessorSupport() {
+            {
+                evaluateProxyInterfaces(beanClass, proxyFactory);
+            }
+        };
+        assertFalse(proxyFactory.isProxyTargetClass(), "Sin interfaces: " + beanClass.getName());
+        proxyFactory.setTargetSource(EmptyTargetSource.forClass(beanClass));
+        return proxyFactory.getProxy().getClass().getInterfaces();
+    }
+
+    private void assertProxyRegistered(Class<?>[] interfaces) {
+        List<String> names = Arrays.stream(interfaces).map(Class::getName).collect(Collectors.toList());
+        assertTrue(proxies.contains(names), "Falta en proxy-config.json: " + names);
+    }
+}
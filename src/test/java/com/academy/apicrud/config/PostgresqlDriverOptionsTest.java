@@ -0,0 +1,71 @@
+package com.academy.apicrud.config;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Epic("Base de datos")
+@Feature("Driver PostgreSQL")
+public class PostgresqlDriverOptionsTest {
+
+    private static final String URL = "r2dbc:pool:postgresql://localhost:5432/medicos";
+
+    @Test
+    @DisplayName("Fuerza planes personalizados en cada sesión")
+    @Story("Cache de sentencias")
+    @Description("Debe enviar plan_cache_mode al abrir la conexión para que las consultas con filtros opcionales no pasen al plan genérico")
+    public void apply_SetsPlanCacheMode() {
+        // Arrange
+        ConnectionFactoryOptions.Builder builder = ConnectionFactoryOptions.parse(URL).mutate();
+
+        // Act
+        PostgresqlDriverOptions.apply(builder, URL, new PostgresqlDriverProperties());
+
+        // Assert
+        assertEquals(Map.of("plan_cache_mode", "force_custom_plan"),
+                builder.build().getValue(PostgresqlConnectionFactoryProvider.OPTIONS));
+    }
+
+    @Test
+    @DisplayName("Respeta las options de la URL")
+    @Story("Cache de sentencias")
+    @Description("No debe reemplazar los parámetros de sesión que ya declara la URL")
+    public void apply_KeepsUrlOptions() {
+        // Arrange
+        String url = URL + "?options=statement_timeout=5000";
+        ConnectionFactoryOptions.Builder builder = ConnectionFactoryOptions.parse(url).mutate();
+
+        // Act
+        PostgresqlDriverOptions.apply(builder, url, new PostgresqlDriverProperties());
+
+        // Assert
+        assertEquals("statement_timeout=5000", builder.build().getValue(PostgresqlConnectionFactoryProvider.OPTIONS));
+    }
+
+    @Test
+    @DisplayName("Sin plan_cache_mode deja el valor del servidor")
+    @Story("Cache de sentencias")
+    @Description("Con la propiedad vacía no debe enviar parámetros de sesión")
+    public void apply_EmptyPlanCacheMode_SetsNothing() {
+        // Arrange
+        PostgresqlDriverProperties properties = new PostgresqlDriverProperties();
+        properties.setPlanCacheMode("");
+        ConnectionFactoryOptions.Builder builder = ConnectionFactoryOptions.parse(URL).mutate();
+
+        // Act
+        PostgresqlDriverOptions.apply(builder, URL, properties);
+
+        // Assert
+        assertFalse(builder.build().hasOption(PostgresqlConnectionFactoryProvider.OPTIONS));
+    }
+}
@@ -0,0 +1,86 @@
+package com.academy.apicrud.config;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Epic("Base de datos")
+@Feature("Migraciones")
+public class SchemaIndexVerifierTest {
+
+    private final SchemaIndexVerifier verifier = new SchemaIndexVerifier();
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        // H2 no tiene pg_trgm: idx_medico_nombre_trgm se crea como B-tree, solo se comprueba el nombre
+        connection = DriverManager.getConnection("jdbc:h2:mem:schema_index;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE especialidad (id BIGSERIAL PRIMARY KEY, nombre VARCHAR(100) NOT NULL, " +
+                    "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE TABLE medico (id BIGSERIAL PRIMARY KEY, nombre VARCHAR(150) NOT NULL, " +
+                    "especialidad_id BIGINT REFERENCES especialidad (id), " +
+                    "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE TABLE medico_change (id BIGSERIAL PRIMARY KEY, medico_id BIGINT NOT NULL, " +
+                    "operation VARCHAR(10) NOT NULL, changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE TABLE tombstone (id BIGSERIAL PRIMARY KEY, entity VARCHAR(20) NOT NULL, " +
+                    "entity_id BIGINT NOT NULL, deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_medico_nombre ON medico (nombre, id)");
+            statement.execute("CREATE INDEX idx_medico_especialidad_id ON medico (especialidad_id, id)");
+            statement.execute("CREATE INDEX idx_medico_especialidad_nombre ON medico (especialidad_id, nombre, id)");
+            statement.execute("CREATE INDEX idx_medico_nombre_trgm ON medico (nombre)");
+            statement.execute("CREATE INDEX idx_medico_updated_at ON medico (updated_at, id)");
+            statement.execute("CREATE INDEX idx_especialidad_updated_at ON especialidad (updated_at, id)");
+            statement.execute("CREATE INDEX idx_medico_change_changed_at ON medico_change (changed_at)");
+            statement.execute("CREATE INDEX idx_tombstone_deleted_at ON tombstone (deleted_at)");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Esquema con todos los índices")
+    @Story("Verificación de índices")
+    @Description("Debe aceptar un esquema con todos los índices de las consultas de médicos")
+    public void verify_AllIndexesPresent_Passes() {
+        // Act & Assert
+        assertDoesNotThrow(() -> verifier.verify(connection));
+    }
+
+    @Test
+    @DisplayName("Falla si falta un índice")
+    @Story("Verificación de índices")
+    @Description("Debe fallar indicando el índice que falta para que no arranque la aplicación")
+    public void verify_MissingIndex_Fails() throws SQLException {
+        // Arrange
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX idx_medico_especialidad_nombre");
+        }
+
+        // Act
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> verifier.verify(connection));
+
+        // Assert
+        assertEquals("Faltan índices requeridos por las consultas: [idx_medico_especialidad_nombre]", ex.getMessage());
+    }
+}
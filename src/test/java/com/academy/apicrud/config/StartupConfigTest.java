@@ -0,0 +1,62 @@
+package com.academy.apicrud.config;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.r2dbc.init.R2dbcScriptDatabaseInitializer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Arranque")
+@Feature("Inicialización diferida")
+public class StartupConfigTest {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @BeforeEach
+    public void setUp() {
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("eagerApplicationBeans", StartupConfig.eagerApplicationBeans());
+    }
+
+    @Test
+    @DisplayName("Beans de la aplicación inmediatos con lazy-initialization")
+    @Story("Perfil fast-startup")
+    @Description("Los beans propios y los inicializadores de la base de datos se crean al arrancar; OpenApiConfig y los de librerías en su primer uso")
+    public void eagerApplicationBeans_DefersOnlyNonCriticalBeans() {
+        // Arrange
+        register("schemaIndexVerifier", SchemaIndexVerifier.class);
+        register("openApiConfig", OpenApiConfig.class);
+        register("apiInfo", OpenAPI.class);
+        register("flywayInitializer", FlywayMigrationInitializer.class);
+        register("r2dbcScriptDatabaseInitializer", R2dbcScriptDatabaseInitializer.class);
+
+        // Act
+        new LazyInitializationBeanFactoryPostProcessor().postProcessBeanFactory(beanFactory);
+
+        // Assert
+        assertFalse(isLazy("schemaIndexVerifier"));
+        assertFalse(isLazy("flywayInitializer"));
+        assertFalse(isLazy("r2dbcScriptDatabaseInitializer"));
+        assertTrue(isLazy("openApiConfig"));
+        assertTrue(isLazy("apiInfo"));
+    }
+
+    private void register(String beanName, Class<?> beanClass) {
+        beanFactory.registerBeanDefinition(beanName, new RootBeanDefinition(beanClass));
+    }
+
+    private boolean isLazy(String beanName) {
+        return beanFactory.getBeanDefinition(beanName).isLazyInit();
+    }
+}
@@ -1,10 +1,13 @@
 package com.academy.apicrud.controller;
 
 import com.academy.apicrud.exception.ResourceNotFoundException;
+import com.academy.apicrud.model.domain.MedicoChange;
 import com.academy.apicrud.model.dto.MedicoDto;
 import com.academy.apicrud.model.dto.PageResponseDto;
+import com.academy.apicrud.model.dto.SyncRecordDto;
 import com.academy.apicrud.model.response.ResponseMedico;
 import com.academy.apicrud.service.MedicoService;
+import com.academy.apicrud.util.LogSampler;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -13,21 +16,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 
@@ -39,7 +50,6 @@ public class MedicoControllerTest {
     @Mock
     private MedicoService medicoService;
 
-    @InjectMocks
     private MedicoController medicoController;
 
     private WebTestClient webTestClient;
@@ -48,6 +58,7 @@ public class MedicoControllerTest {
 
     @BeforeEach
     public void setUp() {
+        medicoController = new MedicoController(medicoService, new LogSampler(100));
         webTestClient = WebTestClient.bindToController(medicoController).build();
         
         // Crear datos de prueba
@@ -87,6 +98,132 @@ public class MedicoControllerTest {
                 .jsonPath("$.data[0].especialidadId").isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("Stream de cambios de médicos")
+    @Story("Feed de cambios")
+    @Description("Debe emitir cada cambio como evento SSE con su id y reenviar desde Last-Event-ID")
+    public void getMedicoChanges_StreamsServerSentEvents() {
+        // Arrange
+        MedicoChange change = new MedicoChange(8L, 1L, MedicoChange.Operation.UPDATE, LocalDateTime.now());
+        when(medicoService.getMedicoChanges(7L)).thenReturn(Flux.just(change));
+
+        // Act
+        String body = webTestClient.get()
+                .uri("/api/medicos/changes")
+                .header("Last-Event-ID", "7")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertTrue(body.contains("id:8"));
+        assertTrue(body.contains("event:UPDATE"));
+        assertTrue(body.contains("\"medicoId\":1"));
+    }
+
+    @Test
+    @DisplayName("Sincronización incremental de médicos")
+    @Story("Sincronización incremental")
+    @Description("Debe emitir una línea NDJSON por cambio y terminar con el nuevo watermark")
+    public void syncMedicos_StreamsNdjson() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(medicoService.getChangesSince(since)).thenReturn(Flux.just(
+                SyncRecordDto.builder().type(SyncRecordDto.Type.DELETE).entity("medico").id(5L).build(),
+                SyncRecordDto.builder().type(SyncRecordDto.Type.WATERMARK).watermark(since.plusHours(2)).build()));
+
+        // Act
+        String body = webTestClient.get()
+                .uri("/api/medicos/sync?since=2024-01-01T10:00:00")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"type\":\"DELETE\",\"entity\":\"medico\",\"id\":5}", lines[0]);
+        assertEquals("{\"type\":\"WATERMARK\",\"watermark\":\"2024-01-01T12:00:00\"}", lines[1]);
+    }
+
+    @Test
+    @DisplayName("Stream NDJSON de médicos")
+    @Story("Obtener todos los médicos")
+    @Description("Con Accept NDJSON debe emitir un médico por línea; sin él, la respuesta JSON de siempre")
+    public void streamMedicos_StreamsNdjsonOnlyWhenRequested() {
+        // Arrange
+        when(medicoService.streamMedicos()).thenReturn(Flux.just(medicoDto, new MedicoDto(2L, "Dra. Ana Gómez", 2L)));
+        when(medicoService.getAllMedicos()).thenReturn(Flux.just(medicoDto));
+
+        // Act
+        String body = webTestClient.get()
+                .uri("/api/medicos")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains("\"nombre\":\"Dra. Ana Gómez\""));
+        webTestClient.get()
+                .uri("/api/medicos")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.data[0].id").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Exportar médicos en CSV")
+    @Story("Exportar médicos")
+    @Description("Debe exportar en CSV con los filtros y el orden de /page, como descarga, y en gzip si el cliente lo acepta")
+    public void exportMedicosCsv_StreamsCsvAndGzipWhenAccepted() throws IOException {
+        // Arrange
+        when(medicoService.exportMedicosWithEspecialidad(null, 1L, Sort.by("id").descending()))
+                .thenAnswer(invocation -> Flux.just(responseMedico));
+        String expected = "id,nombreMedico,especialidadId,nombreEspecialidad\r\n1,Dr. Juan Pérez,1,Cardiología\r\n";
+
+        // Act & Assert
+        String csv = webTestClient.get()
+                .uri("/api/medicos/export.csv?especialidadId=1&sortOrder=desc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("text/csv;charset=UTF-8")
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"medicos.csv\"")
+                .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertEquals(expected, csv);
+
+        byte[] compressed = webTestClient.get()
+                .uri("/api/medicos/export.csv?especialidadId=1&sortOrder=desc")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(expected, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
     @Test
     @DisplayName("Obtener médicos con especialidad")
     @Story("Obtener médicos con especialidad")
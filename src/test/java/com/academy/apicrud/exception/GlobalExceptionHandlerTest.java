@@ -0,0 +1,109 @@
+package com.academy.apicrud.exception;
+
+import com.academy.apicrud.model.response.ErrorDetails;
+import com.academy.apicrud.model.response.NotFoundDetails;
+import com.academy.apicrud.model.response.ResponseDataCrud;
+import com.academy.apicrud.util.Constants;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Excepciones")
+@Feature("Global Exception Handler")
+public class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Excepción de recurso no encontrado sin traza")
+    @Story("Excepciones de negocio")
+    @Description("Debe construir el mensaje bajo demanda y no capturar la traza de la pila")
+    public void resourceNotFoundException_IsStackless() {
+        ResourceNotFoundException ex = new ResourceNotFoundException("Médico", "id", 99L);
+
+        assertEquals(0, ex.getStackTrace().length);
+        assertEquals("Médico no encontrado con id: '99'", ex.getMessage());
+        assertTrue(ex.getMessage() == ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Respuesta 404 para recurso no encontrado")
+    @Story("Respuestas de error")
+    @Description("Debe responder 404 con los datos del recurso buscado")
+    public void handleResourceNotFoundException_ReturnsNotFound() {
+        StepVerifier.create(handler.handleResourceNotFoundException(new ResourceNotFoundException("Médico", "id", 99L)))
+                .assertNext(entity -> {
+                    assertEquals(HttpStatus.NOT_FOUND, entity.getStatusCode());
+                    ResponseDataCrud<NotFoundDetails> body = entity.getBody();
+                    assertNotNull(body);
+                    assertEquals("404", body.getCode());
+                    assertEquals("Médico no encontrado con id: '99'", body.getMessage());
+                    assertEquals("Médico", body.getData().getResourceName());
+                    assertEquals(99L, body.getData().getFieldValue());
+                    assertNotNull(body.getData().getTimestamp());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Respuesta 400 para solicitud inválida")
+    @Story("Respuestas de error")
+    @Description("Debe responder 400 para los errores de validación sin traza")
+    public void handleIllegalArgumentException_ReturnsBadRequest() {
+        InvalidRequestException ex = new InvalidRequestException("Datos de médico inválidos");
+
+        StepVerifier.create(handler.handleIllegalArgumentException(ex))
+                .assertNext(entity -> {
+                    assertEquals(HttpStatus.BAD_REQUEST, entity.getStatusCode());
+                    ErrorDetails details = entity.getBody().getData();
+                    assertEquals("Solicitud inválida", details.getError());
+                    assertEquals("Datos de médico inválidos", details.getMessage());
+                })
+                .verifyComplete();
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Respuesta 503 con el circuito abierto")
+    @Story("Respuestas de error")
+    @Description("Debe responder 503 con Retry-After cuando el circuit breaker rechaza la llamada")
+    public void handleCallNotPermittedException_ReturnsServiceUnavailable() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("database");
+        circuitBreaker.transitionToOpenState();
+
+        StepVerifier.create(handler.handleCallNotPermittedException(CallNotPermittedException.createCallNotPermittedException(circuitBreaker)))
+                .assertNext(entity -> {
+                    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, entity.getStatusCode());
+                    assertNotNull(entity.getHeaders().getFirst("Retry-After"));
+                    assertEquals("503", entity.getBody().getCode());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Respuesta 503 tras un timeout de base de datos")
+    @Story("Respuestas de error")
+    @Description("Debe responder 503 con Retry-After cuando una operación de repositorio supera su timeout")
+    public void handleTimeoutException_ReturnsServiceUnavailable() {
+        StepVerifier.create(handler.handleTimeoutException(new TimeoutException()))
+                .assertNext(entity -> {
+                    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, entity.getStatusCode());
+                    assertNotNull(entity.getHeaders().getFirst("Retry-After"));
+                    assertEquals(Constants.BASE_DATOS_SIN_RESPUESTA, entity.getBody().getMessage());
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,178 @@
+package com.academy.apicrud.export;
+
+import com.academy.apicrud.model.response.ResponseMedico;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Exportación")
+@Feature("CSV de médicos")
+public class MedicoCsvTest {
+
+    private static final String HEADER = "id,nombreMedico,especialidadId,nombreEspecialidad\r\n";
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    private static Flux<ResponseMedico> medicos(int count) {
+        return Flux.range(1, count)
+                .map(i -> new ResponseMedico((long) i, "Dr. " + i, (long) (i % 3 + 1), "Especialidad " + (i % 3 + 1)));
+    }
+
+    private static String text(List<DataBuffer> buffers) {
+        return buffers.stream()
+                .map(buffer -> {
+                    String text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .collect(Collectors.joining());
+    }
+
+    private static byte[] bytes(List<DataBuffer> buffers) {
+        int length = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int count = buffer.readableByteCount();
+            buffer.read(bytes, offset, count);
+            offset += count;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+
+    private static String gunzip(byte[] compressed) {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Escapado RFC 4180 y UTF-8")
+    @Story("Formato")
+    @Description("Debe entrecomillar los campos con coma, comillas o salto de línea, duplicar las comillas y codificar en UTF-8")
+    public void write_EscapesFieldsAndEncodesUtf8() {
+        // Arrange
+        Flux<ResponseMedico> medicos = Flux.just(
+                new ResponseMedico(1L, "Dr. Pérez, Juan", 2L, "Cardiología"),
+                new ResponseMedico(-12L, "Dra. \"Ana\"\nGómez", null, "Pediatría 👶"),
+                new ResponseMedico(3L, null, 4L, "Sin comas"));
+
+        // Act
+        List<DataBuffer> buffers = MedicoCsv.write(medicos, bufferFactory, false).collectList().block();
+
+        // Assert
+        assertEquals(HEADER +
+                "1,\"Dr. Pérez, Juan\",2,Cardiología\r\n" +
+                "-12,\"Dra. \"\"Ana\"\"\nGómez\",,Pediatría 👶\r\n" +
+                "3,,4,Sin comas\r\n", text(buffers));
+    }
+
+    @Test
+    @DisplayName("Filas agrupadas por buffer")
+    @Story("Formato")
+    @Description("Debe escribir la cabecera con las primeras filas y agrupar las filas en buffers de tamaño fijo; sin filas, solo la cabecera")
+    public void write_GroupsRowsPerBuffer() {
+        // Act
+        List<DataBuffer> buffers = MedicoCsv.write(medicos(MedicoCsv.ROWS_PER_BUFFER * 2 + 1), bufferFactory, false)
+                .collectList().block();
+        List<DataBuffer> empty = MedicoCsv.write(Flux.empty(), bufferFactory, false).collectList().block();
+
+        // Assert
+        assertEquals(3, buffers.size());
+        String csv = text(buffers);
+        assertTrue(csv.startsWith(HEADER + "1,Dr. 1,2,Especialidad 2\r\n"));
+        assertEquals(MedicoCsv.ROWS_PER_BUFFER * 2 + 2, csv.split("\r\n").length);
+        assertEquals(HEADER, text(empty));
+    }
+
+    @Test
+    @DisplayName("Compresión gzip")
+    @Story("Compresión")
+    @Description("Debe producir un gzip válido con el mismo contenido que el CSV sin comprimir")
+    public void write_GzipMatchesPlainCsv() {
+        // Arrange
+        int count = MedicoCsv.ROWS_PER_BUFFER * 10;
+
+        // Act
+        String plain = text(MedicoCsv.write(medicos(count), bufferFactory, false).collectList().block());
+        byte[] compressed = bytes(MedicoCsv.write(medicos(count), bufferFactory, true).collectList().block());
+
+        // Assert
+        assertTrue(compressed.length < plain.length() / 3);
+        assertEquals(plain, gunzip(compressed));
+        assertEquals(HEADER, gunzip(bytes(MedicoCsv.write(Flux.empty(), bufferFactory, true).collectList().block())));
+    }
+
+    @Test
+    @DisplayName("Buffers del pool liberados al cancelar")
+    @Story("Memoria")
+    @Description("Con buffers de Netty, cancelar la exportación a mitad no debe dejar buffers sin liberar")
+    public void write_ReleasesPooledBuffersOnCancel() {
+        // Arrange
+        List<NettyDataBuffer> allocated = new CopyOnWriteArrayList<>();
+        NettyDataBufferFactory nettyFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT) {
+            @Override
+            public NettyDataBuffer allocateBuffer(int initialCapacity) {
+                NettyDataBuffer buffer = super.allocateBuffer(initialCapacity);
+                allocated.add(buffer);
+                return buffer;
+            }
+        };
+
+        // Act
+        StepVerifier.create(MedicoCsv.write(medicos(MedicoCsv.ROWS_PER_BUFFER * 20), nettyFactory, true), 1)
+                .consumeNextWith(DataBufferUtils::release)
+                .thenCancel()
+                .verify();
+
+        // Assert
+        assertTrue(allocated.size() > 1);
+        allocated.forEach(buffer -> assertEquals(0, buffer.getNativeBuffer().refCnt()));
+    }
+
+    @Test
+    @DisplayName("Negociación de gzip")
+    @Story("Compresión")
+    @Description("Debe comprimir solo si Accept-Encoding admite gzip con calidad mayor que cero")
+    public void acceptsGzip_HonoursQuality() {
+        assertTrue(MedicoCsv.acceptsGzip(headers("gzip, deflate, br")));
+        assertTrue(MedicoCsv.acceptsGzip(headers("br;q=1.0, GZIP;q=0.5")));
+        assertFalse(MedicoCsv.acceptsGzip(headers("gzip;q=0")));
+        assertFalse(MedicoCsv.acceptsGzip(headers("identity")));
+        assertFalse(MedicoCsv.acceptsGzip(new HttpHeaders()));
+    }
+
+    private static HttpHeaders headers(String acceptEncoding) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return headers;
+    }
+}
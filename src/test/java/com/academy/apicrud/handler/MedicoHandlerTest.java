@@ -0,0 +1,333 @@
+package com.academy.apicrud.handler;
+
+import com.academy.apicrud.config.MedicoRouterConfig;
+import com.academy.apicrud.controller.MedicoController;
+import com.academy.apicrud.exception.GlobalExceptionHandler;
+import com.academy.apicrud.exception.InvalidRequestException;
+import com.academy.apicrud.model.domain.MedicoChange;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.dto.SyncRecordDto;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.academy.apicrud.service.MedicoService;
+import com.academy.apicrud.util.Constants;
+import com.academy.apicrud.util.LogSampler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@Epic("Controladores")
+@Feature("Médico Handler")
+public class MedicoHandlerTest {
+
+    @Mock
+    private MedicoService medicoService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LogSampler logSampler = new LogSampler(100);
+
+    private WebTestClient functionalClient;
+    private WebTestClient annotatedClient;
+    private MedicoDto medicoDto;
+
+    @BeforeEach
+    public void setUp() {
+        GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+        functionalClient = WebTestClient.bindToRouterFunction(new MedicoRouterConfig().medicoRoutes(
+                new MedicoHandler(medicoService, logSampler), new GlobalErrorFilter(exceptionHandler))).build();
+        annotatedClient = WebTestClient.bindToController(new MedicoController(medicoService, logSampler))
+                .controllerAdvice(exceptionHandler)
+                .build();
+
+        medicoDto = new MedicoDto(1L, "Dr. Juan Pérez", 1L);
+    }
+
+    @Test
+    @DisplayName("Obtener médico por ID con rutas funcionales")
+    @Story("Obtener médico por ID")
+    @Description("Debe responder igual que el controlador anotado")
+    public void getMedicoById_Success() {
+        // Arrange
+        when(medicoService.getMedicoById(1L)).thenReturn(Mono.just(medicoDto));
+
+        // Act & Assert
+        functionalClient.get()
+                .uri("/api/medicos/{id}", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("200")
+                .jsonPath("$.totalrows").isEqualTo(1)
+                .jsonPath("$.data.nombre").isEqualTo("Dr. Juan Pérez");
+    }
+
+    @Test
+    @DisplayName("Base de datos no disponible en ambos estilos")
+    @Story("Resiliencia")
+    @Description("Debe responder 503 con Retry-After con el circuito abierto o tras un timeout, también en la consulta paginada")
+    public void resilienceErrors_ReturnServiceUnavailable() {
+        // Arrange
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("database");
+        circuitBreaker.transitionToOpenState();
+        when(medicoService.getMedicoById(1L))
+                .thenReturn(Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker)));
+        when(medicoService.getMedicosPaginados(any(), any(), any())).thenReturn(Mono.error(new TimeoutException()));
+
+        // Act & Assert
+        for (WebTestClient client : new WebTestClient[]{functionalClient, annotatedClient}) {
+            client.get()
+                    .uri("/api/medicos/{id}", 1L)
+                    .exchange()
+                    .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                    .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                    .expectBody()
+                    .jsonPath("$.code").isEqualTo("503");
+            client.get()
+                    .uri("/api/medicos/page")
+                    .exchange()
+                    .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                    .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                    .expectBody()
+                    .jsonPath("$.message").isEqualTo(Constants.BASE_DATOS_SIN_RESPUESTA);
+        }
+    }
+
+    @Test
+    @DisplayName("Obtener médico por ID - No encontrado con rutas funcionales")
+    @Story("Obtener médico por ID")
+    @Description("Debe responder 404 con el GlobalExceptionHandler compartido")
+    public void getMedicoById_NotFound() {
+        // Arrange
+        when(medicoService.getMedicoById(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        functionalClient.get()
+                .uri("/api/medicos/{id}", 99L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("404")
+                .jsonPath("$.data.resourceName").isEqualTo("Médico")
+                .jsonPath("$.data.fieldValue").isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("Stream de cambios con rutas funcionales")
+    @Story("Feed de cambios")
+    @Description("Debe resolver /changes antes que /{id} y emitir el mismo stream SSE que el controlador anotado")
+    public void getMedicoChanges_MatchesAnnotatedController() {
+        // Arrange
+        MedicoChange change = new MedicoChange(8L, 1L, MedicoChange.Operation.DELETE, LocalDateTime.of(2024, 1, 1, 0, 0));
+        when(medicoService.getMedicoChanges(7L)).thenAnswer(invocation -> Flux.just(change));
+
+        // Act
+        String functional = changes(functionalClient);
+        String annotated = changes(annotatedClient);
+
+        // Assert
+        assertEquals(annotated, functional);
+    }
+
+    private static String changes(WebTestClient client) {
+        return client.get()
+                .uri("/api/medicos/changes")
+                .header("Last-Event-ID", "7")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Test
+    @DisplayName("Sincronización con rutas funcionales")
+    @Story("Sincronización incremental")
+    @Description("Debe resolver /sync antes que /{id}, convertir since igual que @DateTimeFormat y emitir el mismo NDJSON")
+    public void syncMedicos_MatchesAnnotatedController() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 10, 30, 15, 123000000);
+        when(medicoService.getChangesSince(since)).thenAnswer(invocation -> Flux.just(
+                SyncRecordDto.builder().type(SyncRecordDto.Type.UPSERT).entity("medico").id(1L).data(medicoDto).build(),
+                SyncRecordDto.builder().type(SyncRecordDto.Type.WATERMARK).watermark(since.plusHours(1)).build()));
+
+        // Act
+        String functional = sync(functionalClient);
+        String annotated = sync(annotatedClient);
+
+        // Assert
+        assertEquals(annotated, functional);
+    }
+
+    private static String sync(WebTestClient client) {
+        return client.get()
+                .uri("/api/medicos/sync?since=2024-01-01T10:30:15.123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Test
+    @DisplayName("Stream NDJSON con rutas funcionales")
+    @Story("Paridad con MedicoController")
+    @Description("Con Accept NDJSON ambos stacks deben emitir el mismo stream de médicos con especialidad")
+    public void streamMedicosWithEspecialidad_MatchesAnnotatedController() {
+        // Arrange
+        when(medicoService.streamMedicosWithEspecialidad()).thenAnswer(invocation -> Flux.just(
+                new ResponseMedico(1L, "Dr. Juan Pérez", 1L, "Cardiología"),
+                new ResponseMedico(2L, "Dra. Ana Gómez", 2L, "Pediatría")));
+
+        // Act
+        String functional = stream(functionalClient);
+        String annotated = stream(annotatedClient);
+
+        // Assert
+        assertEquals(annotated, functional);
+        assertEquals(2, functional.trim().split("\n").length);
+    }
+
+    private static String stream(WebTestClient client) {
+        return client.get()
+                .uri("/api/medicos/with-especialidad")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Test
+    @DisplayName("Exportación CSV con rutas funcionales")
+    @Story("Paridad con MedicoController")
+    @Description("Ambos stacks deben exportar el mismo CSV, con las mismas cabeceras, sin comprimir y en gzip")
+    public void exportMedicosCsv_MatchesAnnotatedController() {
+        // Arrange
+        when(medicoService.exportMedicosWithEspecialidad("Pérez", 1L, Sort.by("nombre").descending()))
+                .thenAnswer(invocation -> Flux.just(
+                        new ResponseMedico(1L, "Dr. Juan Pérez", 1L, "Cardiología"),
+                        new ResponseMedico(3L, "Dr. Luis Pérez, hijo", 1L, "Cardiología")));
+
+        for (String acceptEncoding : new String[]{"identity", "gzip"}) {
+            // Act
+            EntityExchangeResult<byte[]> annotated = export(annotatedClient, acceptEncoding);
+            EntityExchangeResult<byte[]> functional = export(functionalClient, acceptEncoding);
+
+            // Assert
+            assertEquals(annotated.getResponseHeaders().getContentType(), functional.getResponseHeaders().getContentType());
+            assertEquals(annotated.getResponseHeaders().getContentDisposition(), functional.getResponseHeaders().getContentDisposition());
+            assertEquals(annotated.getResponseHeaders().get(HttpHeaders.CONTENT_ENCODING),
+                    functional.getResponseHeaders().get(HttpHeaders.CONTENT_ENCODING));
+            assertArrayEquals(annotated.getResponseBody(), functional.getResponseBody());
+        }
+    }
+
+    private static EntityExchangeResult<byte[]> export(WebTestClient client, String acceptEncoding) {
+        return client.get()
+                .uri("/api/medicos/export.csv?nombre=Pérez&especialidadId=1&sortBy=nombre&sortOrder=desc")
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult();
+    }
+
+    @Test
+    @DisplayName("Misma respuesta que el controlador anotado")
+    @Story("Paridad con MedicoController")
+    @Description("Debe producir el mismo código HTTP y el mismo cuerpo en ambos stacks")
+    public void responses_MatchAnnotatedController() throws IOException {
+        // Arrange
+        lenient().when(medicoService.getMedicoById(1L)).thenReturn(Mono.just(medicoDto));
+        lenient().when(medicoService.getMedicoById(99L)).thenReturn(Mono.empty());
+        lenient().when(medicoService.getMedicosPaginados(any(), any(), any())).thenReturn(Mono.error(new InvalidRequestException("Página fuera de rango")));
+        lenient().doThrow(new InvalidRequestException("Campo de ordenamiento inválido"))
+                .when(medicoService).validateSortParameters(eq("apellido"), anyString());
+        lenient().when(medicoService.saveMedico(any(MedicoDto.class))).thenReturn(Mono.just(medicoDto));
+        lenient().when(medicoService.updateMedico(eq(99L), any(MedicoDto.class))).thenReturn(Mono.empty());
+        lenient().when(medicoService.deleteMedico(1L)).thenReturn(Mono.empty());
+
+        String body = "{\"nombre\":\"Dr. Juan Pérez\",\"especialidadId\":1}";
+
+        // Act & Assert
+        assertSameResponse(HttpMethod.GET, "/api/medicos/1", null);
+        assertSameResponse(HttpMethod.GET, "/api/medicos/99", null);
+        assertSameResponse(HttpMethod.GET, "/api/medicos/abc", null);
+        assertSameResponse(HttpMethod.GET, "/api/medicos/page?sortBy=apellido", null);
+        assertSameResponse(HttpMethod.GET, "/api/medicos/page?page=2&size=5", null);
+        assertSameResponse(HttpMethod.GET, "/api/medicos/export.csv?sortBy=apellido", null);
+        assertSameResponse(HttpMethod.POST, "/api/medicos", body);
+        assertSameResponse(HttpMethod.PUT, "/api/medicos/99", body);
+        assertSameResponse(HttpMethod.DELETE, "/api/medicos/1", null);
+        assertSameResponse(HttpMethod.DELETE, "/api/medicos/99", null);
+    }
+
+    private void assertSameResponse(HttpMethod method, String uri, String body) throws IOException {
+        EntityExchangeResult<byte[]> expected = exchange(annotatedClient, method, uri, body);
+        EntityExchangeResult<byte[]> actual = exchange(functionalClient, method, uri, body);
+
+        assertEquals(expected.getStatus(), actual.getStatus(), method + " " + uri);
+        assertEquals(normalize(expected.getResponseBody()), normalize(actual.getResponseBody()), method + " " + uri);
+    }
+
+    private static EntityExchangeResult<byte[]> exchange(WebTestClient client, HttpMethod method, String uri, String body) {
+        WebTestClient.RequestBodySpec request = client.method(method).uri(uri);
+        WebTestClient.RequestHeadersSpec<?> spec = body == null
+                ? request
+                : request.contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+        return spec.exchange().expectBody().returnResult();
+    }
+
+    /**
+     * El timestamp de los detalles de error depende del instante de la petición
+     */
+    private JsonNode normalize(byte[] body) throws IOException {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        JsonNode json = objectMapper.readTree(body);
+        if (json.path("data").isObject()) {
+            ((ObjectNode) json.get("data")).remove("timestamp");
+        }
+        return json;
+    }
+}
@@ -0,0 +1,94 @@
+package com.academy.apicrud.json;
+
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.response.ResponseDataCrud;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2CodecSupport;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Epic("Serialización")
+@Feature("Codificador JSON")
+public class CachingJackson2JsonEncoderTest {
+
+    private static final ResolvableType LIST_RESPONSE = ResolvableType.forClassWithGenerics(ResponseDataCrud.class,
+            ResolvableType.forClassWithGenerics(List.class, MedicoDto.class));
+    private static final ResolvableType MEDICO_RESPONSE = ResolvableType.forClassWithGenerics(ResponseDataCrud.class,
+            ResponseMedico.class);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().modules(new MedicoJsonModule()).build();
+    private final CachingJackson2JsonEncoder encoder = new CachingJackson2JsonEncoder(objectMapper);
+    private final Jackson2JsonEncoder springEncoder = new Jackson2JsonEncoder(objectMapper);
+
+    private static String encode(Jackson2JsonEncoder encoder, Object value, ResolvableType type, Map<String, Object> hints) {
+        DataBuffer buffer = encoder.encodeValue(value, DefaultDataBufferFactory.sharedInstance, type,
+                MediaType.APPLICATION_JSON, hints);
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    @Test
+    @DisplayName("Un writer por tipo de respuesta")
+    @Story("Cache de ObjectWriter")
+    @Description("Debe reutilizar el writer de cada tipo genérico de ResponseDataCrud con la misma salida que el codificador de Spring")
+    public void encodeValue_ReusesWriterPerResponseType() {
+        // Arrange
+        ResponseDataCrud<List<MedicoDto>> list = new ResponseDataCrud<>("200", "OK", 1, List.of(new MedicoDto(1L, "Dr. Uno", 2L)));
+        ResponseDataCrud<ResponseMedico> medico = new ResponseDataCrud<>("200", "OK", 1, new ResponseMedico(1L, "Dr. Uno", 2L, "Cardiología"));
+
+        // Act
+        String first = encode(encoder, list, LIST_RESPONSE, null);
+        String second = encode(encoder, list, LIST_RESPONSE, null);
+        String withEspecialidad = encode(encoder, medico, MEDICO_RESPONSE, null);
+
+        // Assert
+        assertEquals(encode(springEncoder, list, LIST_RESPONSE, null), first);
+        assertEquals(first, second);
+        assertEquals(encode(springEncoder, medico, MEDICO_RESPONSE, null), withEspecialidad);
+        assertEquals(2, encoder.cachedWriters());
+    }
+
+    @Test
+    @DisplayName("Sin cache fuera de ResponseDataCrud o con vista JSON")
+    @Story("Cache de ObjectWriter")
+    @Description("Debe usar el writer de Spring para otros tipos y cuando la respuesta lleva una vista JSON")
+    public void encodeValue_SkipsOtherTypesAndJsonViews() {
+        // Arrange
+        MedicoDto dto = new MedicoDto(1L, "Dr. Uno", 2L);
+        ResponseDataCrud<List<MedicoDto>> list = new ResponseDataCrud<>("200", "OK", 1, List.of(dto));
+        Map<String, Object> view = Map.of(Jackson2CodecSupport.JSON_VIEW_HINT, Summary.class);
+
+        // Act
+        String plain = encode(encoder, dto, ResolvableType.forClass(MedicoDto.class), null);
+        String withView = encode(encoder, list, LIST_RESPONSE, view);
+
+        // Assert
+        assertEquals(encode(springEncoder, dto, ResolvableType.forClass(MedicoDto.class), null), plain);
+        assertEquals(encode(springEncoder, list, LIST_RESPONSE, view), withView);
+        assertEquals(0, encoder.cachedWriters());
+    }
+
+    interface Summary {
+    }
+}
@@ -0,0 +1,72 @@
+package com.academy.apicrud.json;
+
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.response.ResponseDataCrud;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Epic("Serialización")
+@Feature("Serializadores de médicos")
+public class MedicoJsonModuleTest {
+
+    // Configuración por defecto del ObjectMapper de Spring Boot, con y sin el módulo
+    private final ObjectMapper beanSerializers = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper customSerializers = Jackson2ObjectMapperBuilder.json().modules(new MedicoJsonModule()).build();
+
+    @Test
+    @DisplayName("MedicoDto igual que con el BeanSerializer")
+    @Story("MedicoDto")
+    @Description("Debe escribir los mismos campos, en el mismo orden, con nulos y caracteres escapados")
+    public void medicoDto_MatchesBeanSerializer() throws Exception {
+        // Arrange
+        List<MedicoDto> medicos = Arrays.asList(
+                new MedicoDto(1L, "Dr. \"Juan\" Pérez\n", 3L),
+                new MedicoDto(null, null, null),
+                new MedicoDto(Long.MAX_VALUE, "Dra. 李", -1L),
+                null);
+        ResponseDataCrud<List<MedicoDto>> response = new ResponseDataCrud<>("200", "OK", medicos.size(), medicos);
+        TypeReference<ResponseDataCrud<List<MedicoDto>>> type = new TypeReference<>() {
+        };
+
+        // Act
+        String expected = beanSerializers.writerFor(type).writeValueAsString(response);
+        String actual = customSerializers.writerFor(type).writeValueAsString(response);
+
+        // Assert
+        assertEquals(expected, actual);
+        assertEquals(expected, customSerializers.writeValueAsString(response));
+    }
+
+    @Test
+    @DisplayName("ResponseMedico igual que con el BeanSerializer")
+    @Story("ResponseMedico")
+    @Description("Debe escribir los mismos campos, en el mismo orden, con nulos y caracteres escapados")
+    public void responseMedico_MatchesBeanSerializer() throws Exception {
+        // Arrange
+        List<ResponseMedico> medicos = List.of(
+                new ResponseMedico(1L, "Dr. Juan Pérez", 3L, "Pediatría, \"general\""),
+                new ResponseMedico(2L, null, null, null));
+        ResponseDataCrud<List<ResponseMedico>> response = new ResponseDataCrud<>("200", "OK", medicos.size(), medicos);
+
+        // Act
+        String expected = beanSerializers.writeValueAsString(response);
+        String actual = customSerializers.writeValueAsString(response);
+
+        // Assert
+        assertEquals(expected, actual);
+        assertEquals(beanSerializers.writeValueAsString(medicos.get(0)), customSerializers.writeValueAsString(medicos.get(0)));
+    }
+}
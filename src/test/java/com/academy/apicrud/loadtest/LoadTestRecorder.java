@@ -0,0 +1,103 @@
+package com.academy.apicrud.loadtest;
+
+import com.academy.apicrud.loadtest.LoadTestSettings.Operation;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y errores por operación. La latencia se mide desde el instante en que la petición
+ * debía lanzarse según la tasa fija, de modo que un servidor saturado no oculta su cola
+ * (omisión coordinada).
+ */
+class LoadTestRecorder {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadTestRecorder() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        latencies.get(operation).recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void reset() {
+        latencies.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    Map<String, Object> report(LoadTestSettings settings, long elapsedNanos) {
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        long totalErrors = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            long operationErrors = errors.get(operation).sum();
+            total.add(histogram);
+            totalErrors += operationErrors;
+            operations.put(operation.key(), summary(histogram, operationErrors, elapsedNanos));
+        }
+
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("targetRate", settings.getRate());
+        configuration.put("durationSeconds", settings.getDuration().getSeconds());
+        configuration.put("warmupSeconds", settings.getWarmup().getSeconds());
+        configuration.put("medicos", settings.getMedicos());
+        configuration.put("especialidades", settings.getEspecialidades());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        settings.getMix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        configuration.put("mix", mix);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("configuration", configuration);
+        report.putAll(summary(total, totalErrors, elapsedNanos));
+        report.put("operations", operations);
+        return report;
+    }
+
+    double errorRate() {
+        long count = 0;
+        long failed = 0;
+        for (Operation operation : Operation.values()) {
+            count += latencies.get(operation).getTotalCount();
+            failed += errors.get(operation).sum();
+        }
+        return count == 0 ? 0 : (double) failed / count;
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errorCount, long elapsedNanos) {
+        long count = histogram.getTotalCount();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("errors", errorCount);
+        summary.put("errorRate", count == 0 ? 0 : (double) errorCount / count);
+        summary.put("throughput", count / (elapsedNanos / 1e9));
+
+        Map<String, Double> latency = new LinkedHashMap<>();
+        latency.put("mean", histogram.getMean() / 1e6);
+        latency.put("p50", histogram.getValueAtPercentile(50) / 1e6);
+        latency.put("p99", histogram.getValueAtPercentile(99) / 1e6);
+        latency.put("p999", histogram.getValueAtPercentile(99.9) / 1e6);
+        latency.put("max", histogram.getMaxValue() / 1e6);
+        summary.put("latencyMs", latency);
+        return summary;
+    }
+}
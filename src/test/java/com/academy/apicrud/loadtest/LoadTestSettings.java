@@ -0,0 +1,93 @@
+package com.academy.apicrud.loadtest;
+
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga, leídos de propiedades de sistema ({@code -Dloadtest.*}).
+ */
+@Getter
+class LoadTestSettings {
+
+    private static final String DEFAULT_MIX = "page:35,byId:30,withEspecialidad:5,create:10,update:10,delete:10";
+
+    /**
+     * Peticiones por segundo que se lanzan, independientemente de lo que tarden en responder
+     */
+    private final int rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int medicos;
+    private final int especialidades;
+    private final double maxErrorRate;
+    private final Map<Operation, Integer> mix;
+    private final Path output;
+
+    private LoadTestSettings() {
+        rate = Integer.getInteger("loadtest.rate", 200);
+        warmup = duration("loadtest.warmup", "5s");
+        duration = duration("loadtest.duration", "30s");
+        medicos = Integer.getInteger("loadtest.medicos", 10_000);
+        especialidades = Integer.getInteger("loadtest.especialidades", 50);
+        maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+        output = Paths.get(System.getProperty("loadtest.output", "target/load-test/load-test-result.json"));
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings();
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    /**
+     * Formato {@code operacion:peso,...}; las operaciones no indicadas no se ejecutan
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada de loadtest.mix inválida: " + entry);
+            }
+            weights.put(Operation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    enum Operation {
+        PAGE("page"),
+        BY_ID("byId"),
+        WITH_ESPECIALIDAD("withEspecialidad"),
+        CREATE("create"),
+        UPDATE("update"),
+        DELETE("delete");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        String key() {
+            return key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Operación de carga desconocida: " + key);
+        }
+    }
+}
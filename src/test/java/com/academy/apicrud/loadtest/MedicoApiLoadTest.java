@@ -0,0 +1,203 @@
+package com.academy.apicrud.loadtest;
+
+import com.academy.apicrud.loadtest.LoadTestSettings.Operation;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga extremo a extremo: levanta la aplicación contra H2 en modo PostgreSQL, la siembra con
+ * {@code loadtest.medicos} médicos y lanza la mezcla de operaciones a tasa fija (modelo abierto).
+ * Solo se ejecuta con {@code mvn -Pload-test test}.
+ */
+@Slf4j
+@Epic("Rendimiento")
+@Feature("Prueba de carga")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class MedicoApiLoadTest {
+
+    private static final int MAX_IN_FLIGHT = 2_048;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private final LoadTestRecorder recorder = new LoadTestRecorder();
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private WebClient webClient;
+    private Operation[] operationWheel;
+
+    @BeforeEach
+    public void setUp() {
+        seed();
+
+        ConnectionProvider provider = ConnectionProvider.builder("loadtest")
+                .maxConnections(MAX_IN_FLIGHT)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + port + "/api/medicos")
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+                .build();
+        operationWheel = buildOperationWheel(settings.getMix());
+    }
+
+    @Test
+    @DisplayName("Mezcla de operaciones a tasa fija")
+    @Story("Throughput y latencia")
+    @Description("Debe sostener la tasa configurada con una tasa de error bajo loadtest.max-error-rate")
+    public void sustainedMixedLoad() throws Exception {
+        long intervalNanos = 1_000_000_000L / settings.getRate();
+        long warmupRequests = settings.getWarmup().toNanos() / intervalNanos;
+        long totalRequests = warmupRequests + settings.getDuration().toNanos() / intervalNanos;
+        long start = System.nanoTime();
+
+        Flux.interval(Duration.ofNanos(intervalNanos))
+                .take(totalRequests)
+                .onBackpressureDrop(tick -> dropped.incrementAndGet())
+                .flatMap(tick -> {
+                    if (tick == warmupRequests) {
+                        recorder.reset();
+                    }
+                    Operation operation = operationWheel[ThreadLocalRandom.current().nextInt(operationWheel.length)];
+                    return execute(operation, start + tick * intervalNanos, tick >= warmupRequests);
+                }, MAX_IN_FLIGHT)
+                .blockLast(settings.getWarmup().plus(settings.getDuration()).plusMinutes(2));
+
+        long elapsed = System.nanoTime() - start - settings.getWarmup().toNanos();
+        Map<String, Object> report = recorder.report(settings, elapsed);
+        report.put("dropped", dropped.get());
+
+        Files.createDirectories(settings.getOutput().toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(settings.getOutput().toFile(), report);
+        log.warn("Resultado de la prueba de carga en {}: {}", settings.getOutput().toAbsolutePath(),
+                objectMapper.writeValueAsString(report));
+
+        assertTrue(recorder.errorRate() <= settings.getMaxErrorRate(),
+                "Tasa de error " + recorder.errorRate() + " supera " + settings.getMaxErrorRate());
+    }
+
+    private Mono<Void> execute(Operation operation, long intendedStart, boolean measured) {
+        return request(operation)
+                .onErrorReturn(false)
+                .doOnNext(success -> {
+                    if (measured) {
+                        recorder.record(operation, System.nanoTime() - intendedStart, success);
+                    }
+                })
+                .then();
+    }
+
+    private Mono<Boolean> request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long seededId = random.nextLong(1, settings.getMedicos() + 1L);
+        switch (operation) {
+            case PAGE:
+                return exchange(webClient.get().uri(uri -> uri.path("/page")
+                        .queryParam("page", random.nextInt(50))
+                        .queryParam("size", 10)
+                        .queryParam("sortBy", random.nextBoolean() ? "id" : "nombre")
+                        .queryParam("sortOrder", random.nextBoolean() ? "asc" : "desc")
+                        .build()), HttpStatus.OK);
+            case BY_ID:
+                return exchange(webClient.get().uri("/{id}", seededId), HttpStatus.OK);
+            case WITH_ESPECIALIDAD:
+                return exchange(webClient.get().uri("/with-especialidad"), HttpStatus.OK);
+            case UPDATE:
+                return exchange(webClient.put().uri("/{id}", seededId)
+                        .bodyValue(medico("Médico actualizado " + seededId)), HttpStatus.OK);
+            case DELETE:
+                // Solo se eliminan médicos creados durante la prueba, para no vaciar el conjunto sembrado
+                Long id = createdIds.poll();
+                if (id != null) {
+                    return exchange(webClient.delete().uri("/{id}", id), HttpStatus.NO_CONTENT);
+                }
+                return create();
+            case CREATE:
+            default:
+                return create();
+        }
+    }
+
+    private Mono<Boolean> create() {
+        return webClient.post()
+                .bodyValue(medico("Médico de carga"))
+                .exchangeToMono(response -> response.bodyToMono(JsonNode.class)
+                        .map(body -> {
+                            boolean created = response.statusCode() == HttpStatus.CREATED;
+                            if (created) {
+                                createdIds.add(body.path("data").path("id").asLong());
+                            }
+                            return created;
+                        })
+                        .defaultIfEmpty(false));
+    }
+
+    private static Mono<Boolean> exchange(WebClient.RequestHeadersSpec<?> request, HttpStatus expected) {
+        return request.exchangeToMono(response -> response.releaseBody()
+                .thenReturn(response.statusCode() == expected));
+    }
+
+    private MedicoDto medico(String nombre) {
+        long especialidadId = ThreadLocalRandom.current().nextLong(1, settings.getEspecialidades() + 1L);
+        return MedicoDto.builder().nombre(nombre).especialidadId(especialidadId).build();
+    }
+
+    private void seed() {
+        databaseClient.sql("INSERT INTO especialidad (nombre) " +
+                        "SELECT CONCAT('Especialidad ', x) FROM SYSTEM_RANGE(1, :total)")
+                .bind("total", settings.getEspecialidades())
+                .then()
+                .then(databaseClient.sql("INSERT INTO medico (nombre, especialidad_id) " +
+                                "SELECT CONCAT('Dr. Médico ', x), MOD(x, :especialidades) + 1 FROM SYSTEM_RANGE(1, :total)")
+                        .bind("especialidades", settings.getEspecialidades())
+                        .bind("total", settings.getMedicos())
+                        .then())
+                .block();
+    }
+
+    private static Operation[] buildOperationWheel(Map<Operation, Integer> mix) {
+        return mix.entrySet().stream()
+                .flatMap(entry -> java.util.Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+    }
+}
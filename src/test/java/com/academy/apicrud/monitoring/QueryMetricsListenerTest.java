@@ -0,0 +1,101 @@
+package com.academy.apicrud.monitoring;
+
+import com.academy.apicrud.config.QueryMonitoringProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@ExtendWith(MockitoExtension.class)
+@Epic("Monitoreo")
+@Feature("Consultas R2DBC")
+public class QueryMetricsListenerTest {
+
+    private static final String QUERY_BY_ID = "SELECT * FROM medico WHERE id = $1";
+    private static final String QUERY_ALL = "SELECT * FROM medico";
+
+    @Mock
+    private QueryExecutionInfo execInfo;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryStatsRegistry statsRegistry;
+    private QueryMetricsListener listener;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        statsRegistry = new QueryStatsRegistry();
+        listener = new QueryMetricsListener(new QueryMonitoringProperties(), meterRegistry, statsRegistry);
+    }
+
+    @Test
+    @DisplayName("Registrar tiempo y filas por consulta")
+    @Story("Histogramas por consulta")
+    @Description("Debe publicar un timer y acumular estadísticas usando el texto normalizado de la consulta")
+    public void afterQuery_RecordsTimerAndStats() {
+        // Arrange
+        mockExecution("SELECT *\n    FROM medico   WHERE id = $1", Duration.ofMillis(12), 1, true);
+
+        // Act
+        listener.afterQuery(execInfo);
+
+        // Assert
+        Timer timer = meterRegistry.find("r2dbc.query")
+                .tag("query", QUERY_BY_ID)
+                .tag("outcome", "SUCCESS")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+
+        List<QueryStatsRegistry.QuerySummary> top = statsRegistry.topSlowest(10);
+        assertEquals(1, top.size());
+        assertEquals(QUERY_BY_ID, top.get(0).getQuery());
+        assertEquals(1, top.get(0).getTotalRows());
+        assertEquals(12.0, top.get(0).getMaxMs(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Ordenar consultas por su peor tiempo")
+    @Story("Top de consultas lentas")
+    @Description("Debe devolver las consultas de la más lenta a la más rápida respetando el límite")
+    public void topSlowest_OrdersByMaxDuration() {
+        // Arrange
+        statsRegistry.record(QUERY_BY_ID, Duration.ofMillis(5).toNanos(), 1, true);
+        statsRegistry.record(QUERY_ALL, Duration.ofMillis(80).toNanos(), 100, true);
+        statsRegistry.record(QUERY_BY_ID, Duration.ofMillis(7).toNanos(), 0, false);
+
+        // Act
+        List<QueryStatsRegistry.QuerySummary> top = statsRegistry.topSlowest(1);
+
+        // Assert
+        assertEquals(1, top.size());
+        assertEquals(QUERY_ALL, top.get(0).getQuery());
+        assertEquals(2, statsRegistry.topSlowest(10).get(1).getExecutions());
+        assertEquals(1, statsRegistry.topSlowest(10).get(1).getErrors());
+    }
+
+    private void mockExecution(String query, Duration duration, int rows, boolean success) {
+        Mockito.when(execInfo.getQueries()).thenReturn(Collections.singletonList(new QueryInfo(query)));
+        Mockito.when(execInfo.getExecuteDuration()).thenReturn(duration);
+        Mockito.when(execInfo.getCurrentResultCount()).thenReturn(rows);
+        Mockito.when(execInfo.isSuccess()).thenReturn(success);
+    }
+}
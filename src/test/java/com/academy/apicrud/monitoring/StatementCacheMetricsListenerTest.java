@@ -0,0 +1,140 @@
+package com.academy.apicrud.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.proxy.core.Bindings;
+import io.r2dbc.proxy.core.BoundValue;
+import io.r2dbc.proxy.core.ConnectionInfo;
+import io.r2dbc.proxy.core.ExecutionType;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+@ExtendWith(MockitoExtension.class)
+@Epic("Monitoreo")
+@Feature("Cache de sentencias preparadas")
+public class StatementCacheMetricsListenerTest {
+
+    private static final String QUERY_BY_ID = "SELECT * FROM medico WHERE id = $1";
+    private static final String QUERY_BY_NOMBRE = "SELECT * FROM medico WHERE nombre = $1";
+
+    @Mock
+    private QueryExecutionInfo execInfo;
+
+    @Mock
+    private ConnectionInfo connectionInfo;
+
+    @Mock
+    private PostgresqlConnection physicalConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Acierto al repetir texto y tipos en la conexión física")
+    @Story("Aciertos y fallos")
+    @Description("Debe contar un fallo la primera vez y aciertos después, aunque la conexión prestada por el pool cambie")
+    public void beforeQuery_CountsHitsPerPhysicalConnection() {
+        // Arrange
+        StatementCacheMetricsListener listener = new StatementCacheMetricsListener(256, meterRegistry);
+
+        // Act
+        execute(listener, pooled(physicalConnection), QUERY_BY_ID, BoundValue.value(1L));
+        execute(listener, pooled(physicalConnection), QUERY_BY_ID, BoundValue.value(2L));
+        execute(listener, pooled(physicalConnection), QUERY_BY_ID, BoundValue.nullValue(Long.class));
+        execute(listener, pooled(physicalConnection), QUERY_BY_ID, BoundValue.nullValue(String.class));
+
+        // Assert
+        assertEquals(2.0, count("hit"));
+        assertEquals(2.0, count("miss"));
+    }
+
+    @Test
+    @DisplayName("Expulsión al superar el límite")
+    @Story("Aciertos y fallos")
+    @Description("Con más sentencias que preparedStatementCacheQueries la menos usada debe expulsarse y volver a fallar")
+    public void beforeQuery_EvictsLeastRecentlyUsed() {
+        // Arrange
+        StatementCacheMetricsListener listener = new StatementCacheMetricsListener(1, meterRegistry);
+
+        // Act
+        execute(listener, physicalConnection, QUERY_BY_ID, BoundValue.value(1L));
+        execute(listener, physicalConnection, QUERY_BY_NOMBRE, BoundValue.value("Ana"));
+        execute(listener, physicalConnection, QUERY_BY_ID, BoundValue.value(1L));
+
+        // Assert
+        assertEquals(0.0, count("hit"));
+        assertEquals(3.0, count("miss"));
+        assertEquals(2.0, meterRegistry.get("r2dbc.statement.cache.evictions").counter().count());
+    }
+
+    @Test
+    @DisplayName("Solo conexiones PostgreSQL con parámetros")
+    @Story("Aciertos y fallos")
+    @Description("Debe ignorar otros drivers y, con la cache deshabilitada, contar cada ejecución como fallo")
+    public void beforeQuery_IgnoresOtherDriversAndDisabledCacheAlwaysMisses() {
+        // Arrange
+        StatementCacheMetricsListener disabled = new StatementCacheMetricsListener(0, meterRegistry);
+
+        // Act
+        execute(disabled, mock(Connection.class), QUERY_BY_ID, BoundValue.value(1L));
+        execute(disabled, physicalConnection, QUERY_BY_ID, BoundValue.value(1L));
+        execute(disabled, physicalConnection, QUERY_BY_ID, BoundValue.value(1L));
+
+        // Assert
+        assertEquals(0.0, count("hit"));
+        assertEquals(2.0, count("miss"));
+        assertNotEquals(StatementCacheMetricsListener.key(QUERY_BY_ID, bindings(BoundValue.value(1L))),
+                StatementCacheMetricsListener.key(QUERY_BY_ID, bindings(BoundValue.value("1"))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Connection pooled(Connection physical) {
+        Connection pooled = mock(Connection.class, withSettings().extraInterfaces(Wrapped.class));
+        Mockito.when(((Wrapped<Connection>) pooled).unwrap()).thenReturn(physical);
+        return pooled;
+    }
+
+    private void execute(StatementCacheMetricsListener listener, Connection connection, String query, BoundValue value) {
+        QueryInfo queryInfo = new QueryInfo(query);
+        queryInfo.getBindingsList().add(bindings(value));
+        Mockito.when(execInfo.getType()).thenReturn(ExecutionType.STATEMENT);
+        Mockito.when(execInfo.getQueries()).thenReturn(Collections.singletonList(queryInfo));
+        Mockito.when(execInfo.getConnectionInfo()).thenReturn(connectionInfo);
+        Mockito.when(connectionInfo.getOriginalConnection()).thenReturn(connection);
+        listener.beforeQuery(execInfo);
+    }
+
+    private static Bindings bindings(BoundValue value) {
+        Bindings bindings = new Bindings();
+        bindings.addIndexBinding(Bindings.indexBinding(0, value));
+        return bindings;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("r2dbc.statement.cache").tag("result", result).counter().count();
+    }
+}
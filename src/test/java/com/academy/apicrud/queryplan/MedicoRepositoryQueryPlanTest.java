@@ -0,0 +1,419 @@
+package com.academy.apicrud.queryplan;
+
+import com.academy.apicrud.config.SchemaIndexVerifier;
+import com.academy.apicrud.repository.EspecialidadRepository;
+import com.academy.apicrud.repository.MedicoRepository;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.r2dbc.repository.Query;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regresión de planes de consulta: crea el esquema con las migraciones de db/migration en un PostgreSQL
+ * local, lo puebla con una distribución sesgada de médicos por especialidad y ejecuta
+ * {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)} sobre cada {@code @Query} de los repositorios y las
+ * consultas que genera Spring Data. Los valores se sustituyen como literales, equivalente a los planes
+ * personalizados que PostgreSQL usa con los parámetros enlazados de R2DBC; las expectativas marcadas como
+ * genéricas se ejecutan con PREPARE y {@code plan_cache_mode = force_generic_plan}, el plan que PostgreSQL
+ * acabaría reutilizando para una sentencia frecuente si la aplicación no forzara planes personalizados
+ * (app.r2dbc.postgresql.plan-cache-mode).
+ * Solo se ejecuta con {@code mvn -Pquery-plan test}.
+ */
+@Slf4j
+@Epic("Base de datos")
+@Feature("Planes de consulta")
+public class MedicoRepositoryQueryPlanTest {
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+    private static final String[] POR_ESPECIALIDAD = {"idx_medico_especialidad_id", "idx_medico_especialidad_nombre"};
+    private static final Map<String, String> PARAMETER_TYPES = Map.of(
+            "especialidadId", "bigint",
+            "nombre", "text",
+            "size", "integer",
+            "offset", "bigint",
+            "id", "bigint",
+            "since", "timestamp");
+
+    private static final QueryPlanSettings settings = QueryPlanSettings.fromSystemProperties();
+    private static Connection connection;
+    private static Map<String, String> partitionParents;
+
+    @BeforeAll
+    public static void setUp() throws SQLException {
+        Flyway flyway = Flyway.configure()
+                .dataSource(settings.getUrl(), settings.getUsername(), settings.getPassword())
+                .cleanDisabled(false)
+                .callbacks(new SchemaIndexVerifier())
+                .load();
+        flyway.clean();
+        flyway.migrate();
+
+        connection = DriverManager.getConnection(settings.getUrl(), settings.getUsername(), settings.getPassword());
+        seed();
+        partitionParents = partitionParents();
+        connection.setAutoCommit(false);
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Pocas especialidades concentran la mayoría de médicos (la 1 ~27 %, la 7 ~2.6 %) y los nombres se
+     * repiten como en datos reales; VACUUM ANALYZE deja estadísticas y mapa de visibilidad al día.
+     */
+    private static void seed() throws SQLException {
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO especialidad (nombre, updated_at) " +
+                    "SELECT 'Especialidad ' || g, now() - random() * interval '365 days' " +
+                    "FROM generate_series(1, " + settings.getEspecialidades() + ") g");
+            // Como EspecialidadServiceImpl al dar de alta cada especialidad
+            statement.execute("SELECT medico_crear_particion(id) FROM especialidad");
+            statement.execute("INSERT INTO medico (nombre, especialidad_id, updated_at) " +
+                    "SELECT (ARRAY['Ana','Luis','María','José','Carmen','Jorge','Lucía','Pedro','Rosa','Miguel'])[1 + floor(random() * 10)::int]" +
+                    " || ' ' || (ARRAY['García','Rodríguez','López','Martínez','Sánchez','Pérez','Gómez','Díaz','Torres','Ramírez','Flores','Vargas'])[1 + floor(random() * 12)::int]" +
+                    " || ' ' || (ARRAY['García','Rodríguez','López','Martínez','Sánchez','Pérez','Gómez','Díaz','Torres','Ramírez','Flores','Vargas'])[1 + floor(random() * 12)::int], " +
+                    "1 + floor(power(random(), 3) * " + settings.getEspecialidades() + ")::int, " +
+                    "now() - random() * interval '365 days' " +
+                    "FROM generate_series(1, " + settings.getMedicos() + ") g");
+            statement.execute("VACUUM ANALYZE");
+        }
+        log.info("Datos de prueba: {} médicos y {} especialidades en {} ms", settings.getMedicos(),
+                settings.getEspecialidades(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static Map<String, String> partitionParents() throws SQLException {
+        Map<String, String> parents = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT c.relname, p.relname FROM pg_inherits i " +
+                     "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent")) {
+            while (rs.next()) {
+                parents.put(rs.getString(1), rs.getString(2));
+            }
+        }
+        return parents;
+    }
+
+    static Stream<PlanExpectation> expectations() {
+        // Calculado en la base de datos, con la misma zona horaria que updated_at
+        String since = "(now() - interval '1 hour')::timestamp";
+        double fullScan = 15_000 * settings.scale();
+        // Sin especialidad en la condición una búsqueda por id consulta el índice de cada partición
+        double byId = 20.0 * (settings.getEspecialidades() + 1);
+        return Stream.of(
+                // Listados paginados: el índice da el orden y LIMIT corta el recorrido
+                query("findAllPaged").page().allowSeqScan().maxCost(100),
+                query("findAllPagedOrderByIdAsc").page().usesIndex("medico_pkey").maxCost(1_000),
+                query("findAllPagedOrderByIdDesc").page().usesIndex("medico_pkey").maxCost(1_000),
+                query("findAllPagedOrderByNombreAsc").page().usesIndex("idx_medico_nombre").maxCost(1_000),
+                query("findAllPagedOrderByNombreDesc").page().usesIndex("idx_medico_nombre").maxCost(1_000),
+                query("findAllPagedOrderByEspecialidadIdAsc").page().usesIndex(POR_ESPECIALIDAD).maxCost(1_000),
+                query("findAllPagedOrderByEspecialidadIdDesc").page().usesIndex(POR_ESPECIALIDAD).maxCost(1_000),
+
+                // Filtro por especialidad: el índice compuesto filtra y ordena a la vez
+                query("findByNombreAndEspecialidadIdOrderByIdAsc").page().porEspecialidad().usesIndex("idx_medico_especialidad_id").maxCost(1_000),
+                query("findByNombreAndEspecialidadIdOrderByIdDesc").page().porEspecialidad().usesIndex("idx_medico_especialidad_id").maxCost(1_000),
+                query("findByNombreAndEspecialidadIdOrderByNombreAsc").page().porEspecialidad().usesIndex("idx_medico_especialidad_nombre").maxCost(1_000),
+                query("findByNombreAndEspecialidadIdOrderByNombreDesc").page().porEspecialidad().usesIndex("idx_medico_especialidad_nombre").maxCost(1_000),
+                query("findByNombreAndEspecialidadIdOrderByEspecialidadIdAsc").page().porEspecialidad().usesIndex(POR_ESPECIALIDAD).maxCost(1_000),
+                query("findByNombreAndEspecialidadIdOrderByEspecialidadIdDesc").page().porEspecialidad().usesIndex(POR_ESPECIALIDAD).maxCost(1_000),
+
+                // Consultas del servicio con especialidad: una sola partición también con el plan genérico
+                query("findByEspecialidadIdAndNombreOrderByIdAsc").page().porEspecialidad().pruned().usesIndex("medico_pkey", "idx_medico_especialidad_id").maxCost(1_000),
+                query("findByEspecialidadIdAndNombreOrderByIdDesc").page().porEspecialidad().pruned().usesIndex("medico_pkey", "idx_medico_especialidad_id").maxCost(1_000),
+                query("findByEspecialidadIdAndNombreOrderByIdAsc").page().porEspecialidad().generic().pruned().usesIndex("medico_pkey", "idx_medico_especialidad_id").maxCost(5_000),
+                query("findByEspecialidadIdAndNombreOrderByIdDesc").page().porEspecialidad().generic().pruned().usesIndex("medico_pkey", "idx_medico_especialidad_id").maxCost(5_000),
+
+                // Filtro por nombre: sin recorrido secuencial; puede ordenar en memoria lo que devuelva el índice de trigramas
+                query("findByNombreAndEspecialidadIdOrderByIdAsc").page().porNombre().allowSort().maxCost(5_000),
+                query("findByNombreAndEspecialidadIdOrderByNombreAsc").page().porNombre().allowSort().maxCost(5_000),
+                query("findByNombreAndEspecialidadIdOrderByEspecialidadIdAsc").page().porNombre().allowSort().maxCost(5_000),
+
+                // Conteos
+                query("count").allowSeqScan().maxCost(fullScan),
+                query("countByNombreAndEspecialidadId").porEspecialidad().usesIndex(POR_ESPECIALIDAD).maxCost(2_000),
+                query("countByNombreAndEspecialidadId").porNombre().allowSeqScan().allowSort().maxCost(fullScan),
+
+                // Consultas con especialidad y sincronización
+                query("findAllMedicoWithEspecialidad").allowSeqScan().allowSort().maxCost(fullScan),
+                query("findMedicoWithEspecialidadById").with("id", "12345").usesIndex("medico_pkey").maxCost(byId),
+                query("findUpdatedAfter").with("since", since).usesIndex("idx_medico_updated_at").allowSort().maxCost(1_000),
+
+                // CRUD generado por Spring Data para medico
+                generated("findById", "SELECT medico.* FROM medico WHERE medico.id = 12345 LIMIT 2").usesIndex("medico_pkey").maxCost(byId),
+                generated("existsById", "SELECT medico.id FROM medico WHERE medico.id = 12345 LIMIT 1").usesIndex("medico_pkey").maxCost(byId),
+                generated("update", "UPDATE medico SET nombre = 'Ana García', especialidad_id = 7, updated_at = now() WHERE medico.id = -1").usesIndex("medico_pkey").maxCost(byId),
+                generated("deleteById", "DELETE FROM medico WHERE medico.id = -1").usesIndex("medico_pkey").maxCost(byId),
+
+                // EspecialidadRepository: tabla pequeña, el recorrido secuencial es correcto; se acota el coste
+                especialidad("findUpdatedAfter").with("since", since).allowSeqScan().allowSort().maxCost(100),
+                generated("especialidad findById", "SELECT especialidad.* FROM especialidad WHERE especialidad.id = 7 LIMIT 2").allowSeqScan().maxCost(50),
+                generated("especialidad existsById", "SELECT especialidad.id FROM especialidad WHERE especialidad.id = 7 LIMIT 1").allowSeqScan().maxCost(50),
+                generated("especialidad findAll", "SELECT especialidad.* FROM especialidad").allowSeqScan().maxCost(100),
+                generated("especialidad count", "SELECT COUNT(especialidad.id) FROM especialidad").allowSeqScan().maxCost(100),
+                generated("especialidad update", "UPDATE especialidad SET nombre = 'Cardiología', updated_at = now() WHERE especialidad.id = -1").allowSeqScan().maxCost(50),
+                generated("especialidad deleteById", "DELETE FROM especialidad WHERE especialidad.id = -1").allowSeqScan().maxCost(50)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("expectations")
+    @DisplayName("Plan de cada consulta")
+    @Story("Forma del plan")
+    @Description("Cada consulta debe usar el índice esperado, no recorrer medico secuencialmente, no ordenar en disco y no superar su coste")
+    public void plan_MatchesExpectation(PlanExpectation expectation) throws Exception {
+        // Act
+        QueryPlan plan = expectation.generic ? explainGeneric(expectation) : explain(expectation.sql());
+        String detail = expectation + plan.describe();
+        log.info("Plan de {}", detail);
+
+        // Assert
+        if (expectation.indexes != null) {
+            assertTrue(plan.usesAnyIndex(expectation.indexes), "Sin el índice " + Arrays.toString(expectation.indexes) + ": " + detail);
+        }
+        if (!expectation.seqScanAllowed) {
+            assertFalse(plan.seqScanOn("medico"), "Recorrido secuencial de medico: " + detail);
+        }
+        if (!expectation.sortAllowed) {
+            assertFalse(plan.sorts(), "Ordenación que debería resolver el índice: " + detail);
+        }
+        if (expectation.pruned) {
+            assertEquals(1, plan.relationsScanned("medico"), "Sin descartar particiones: " + detail);
+        }
+        assertFalse(plan.spillsToDisk(), "Ordenación en disco: " + detail);
+        assertTrue(plan.totalCost() <= expectation.maxCost,
+                "Coste " + plan.totalCost() + " mayor que " + expectation.maxCost + ": " + detail);
+    }
+
+    @Test
+    @DisplayName("Todas las consultas tienen expectativa")
+    @Story("Cobertura")
+    @Description("Cada @Query de MedicoRepository y EspecialidadRepository debe tener al menos una expectativa de plan")
+    public void everyQuery_HasExpectation() {
+        // Arrange
+        Set<String> covered = expectations().map(expectation -> expectation.method).collect(Collectors.toSet());
+
+        // Act
+        List<String> missing = Stream.of(MedicoRepository.class, EspecialidadRepository.class)
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                .filter(method -> method.isAnnotationPresent(Query.class))
+                .map(method -> method.getDeclaringClass().getSimpleName() + "." + method.getName())
+                .filter(method -> !covered.contains(method))
+                .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(List.of(), missing);
+    }
+
+    /**
+     * Ejecuta y deshace la sentencia: ANALYZE da el método real de ordenación sin modificar los datos
+     */
+    private static QueryPlan explain(String sql) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+            rs.next();
+            return QueryPlan.parse(rs.getString(1), partitionParents);
+        } finally {
+            connection.rollback();
+        }
+    }
+
+    /**
+     * Plan genérico de la sentencia preparada: los parámetros solo se conocen al ejecutar, y las particiones
+     * se descartan al iniciar la ejecución si la condición lo permite
+     */
+    private static QueryPlan explainGeneric(PlanExpectation expectation) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            statement.execute(expectation.prepare("plan_generico"));
+            try (ResultSet rs = statement.executeQuery("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + expectation.execute("plan_generico"))) {
+                rs.next();
+                return QueryPlan.parse(rs.getString(1), partitionParents);
+            } finally {
+                statement.execute("DEALLOCATE plan_generico");
+            }
+        } finally {
+            connection.rollback();
+        }
+    }
+
+    private static PlanExpectation query(String method) {
+        return new PlanExpectation(MedicoRepository.class, method);
+    }
+
+    private static PlanExpectation especialidad(String method) {
+        return new PlanExpectation(EspecialidadRepository.class, method);
+    }
+
+    private static PlanExpectation generated(String label, String sql) {
+        return new PlanExpectation(label, sql);
+    }
+
+    static final class PlanExpectation {
+        private final String method;
+        private final String template;
+        private final Map<String, String> parameters = new HashMap<>();
+        private String scenario = "";
+        private String[] indexes;
+        private boolean seqScanAllowed;
+        private boolean sortAllowed;
+        private boolean pruned;
+        private boolean generic;
+        private double maxCost;
+
+        private PlanExpectation(Class<?> repository, String method) {
+            this.method = repository.getSimpleName() + "." + method;
+            this.template = Arrays.stream(repository.getDeclaredMethods())
+                    .filter(candidate -> candidate.getName().equals(method))
+                    .map(candidate -> candidate.getAnnotation(Query.class))
+                    .filter(Objects::nonNull)
+                    .map(Query::value)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Sin @Query: " + this.method));
+        }
+
+        private PlanExpectation(String label, String sql) {
+            this.method = "generada " + label;
+            this.template = sql;
+        }
+
+        PlanExpectation with(String name, String literal) {
+            parameters.put(name, literal);
+            return this;
+        }
+
+        /**
+         * Página 11 de 10 elementos
+         */
+        PlanExpectation page() {
+            return with("size", "10").with("offset", "100");
+        }
+
+        PlanExpectation porEspecialidad() {
+            scenario = " [especialidadId=7]";
+            return with("nombre", "NULL").with("especialidadId", "7");
+        }
+
+        PlanExpectation porNombre() {
+            scenario = " [nombre=Garc]";
+            return with("nombre", "'Garc'").with("especialidadId", "NULL");
+        }
+
+        PlanExpectation usesIndex(String... anyOf) {
+            indexes = anyOf;
+            return this;
+        }
+
+        PlanExpectation allowSeqScan() {
+            seqScanAllowed = true;
+            return this;
+        }
+
+        PlanExpectation allowSort() {
+            sortAllowed = true;
+            return this;
+        }
+
+        /**
+         * Debe leer una sola partición de medico
+         */
+        PlanExpectation pruned() {
+            pruned = true;
+            return this;
+        }
+
+        PlanExpectation generic() {
+            generic = true;
+            scenario += " [plan genérico]";
+            return this;
+        }
+
+        PlanExpectation maxCost(double value) {
+            maxCost = value;
+            return this;
+        }
+
+        String sql() {
+            Matcher matcher = NAMED_PARAMETER.matcher(template);
+            StringBuilder sql = new StringBuilder();
+            while (matcher.find()) {
+                String literal = parameters.get(matcher.group(1));
+                if (literal == null) {
+                    throw new IllegalArgumentException("Sin valor para :" + matcher.group(1) + " en " + method);
+                }
+                matcher.appendReplacement(sql, Matcher.quoteReplacement(literal));
+            }
+            return matcher.appendTail(sql).toString();
+        }
+
+        /**
+         * PREPARE con los parámetros con nombre numerados por orden de aparición
+         */
+        String prepare(String name) {
+            List<String> names = parameterNames();
+            Matcher matcher = NAMED_PARAMETER.matcher(template);
+            StringBuilder sql = new StringBuilder();
+            while (matcher.find()) {
+                matcher.appendReplacement(sql, "\\$" + (names.indexOf(matcher.group(1)) + 1));
+            }
+            String types = names.stream().map(PARAMETER_TYPES::get).collect(Collectors.joining(", "));
+            return "PREPARE " + name + " (" + types + ") AS " + matcher.appendTail(sql);
+        }
+
+        String execute(String name) {
+            return "EXECUTE " + name + " (" + parameterNames().stream()
+                    .map(parameters::get)
+                    .collect(Collectors.joining(", ")) + ")";
+        }
+
+        private List<String> parameterNames() {
+            List<String> names = new ArrayList<>();
+            Matcher matcher = NAMED_PARAMETER.matcher(template);
+            while (matcher.find()) {
+                if (!names.contains(matcher.group(1))) {
+                    names.add(matcher.group(1));
+                }
+            }
+            return names;
+        }
+
+        @Override
+        public String toString() {
+            return method + scenario;
+        }
+    }
+}
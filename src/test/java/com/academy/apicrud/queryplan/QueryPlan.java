@@ -0,0 +1,110 @@
+package com.academy.apicrud.queryplan;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plan de {@code EXPLAIN (ANALYZE, FORMAT JSON)} aplanado en la lista de sus nodos. Las tablas e índices
+ * de las particiones se comparan por el nombre de la tabla o el índice particionado del que cuelgan.
+ */
+class QueryPlan {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JsonNode root;
+    private final Map<String, String> parents;
+    private final List<JsonNode> nodes = new ArrayList<>();
+
+    private QueryPlan(JsonNode root, Map<String, String> parents) {
+        this.root = root;
+        this.parents = parents;
+        collect(root);
+    }
+
+    /**
+     * @param parents partición o índice de partición → tabla o índice particionado
+     */
+    static QueryPlan parse(String json, Map<String, String> parents) throws JsonProcessingException {
+        return new QueryPlan(MAPPER.readTree(json).get(0).get("Plan"), parents);
+    }
+
+    private String parentOf(String name) {
+        return parents.getOrDefault(name, name);
+    }
+
+    private void collect(JsonNode node) {
+        nodes.add(node);
+        node.path("Plans").forEach(this::collect);
+    }
+
+    /**
+     * Coste total estimado por el planificador, en sus unidades (no en tiempo)
+     */
+    double totalCost() {
+        return root.path("Total Cost").asDouble();
+    }
+
+    boolean usesAnyIndex(String... indexes) {
+        List<String> names = Arrays.asList(indexes);
+        return nodes.stream()
+                .filter(node -> node.has("Index Name"))
+                .anyMatch(node -> names.contains(parentOf(node.path("Index Name").asText())));
+    }
+
+    boolean seqScanOn(String table) {
+        return nodes.stream().anyMatch(node -> "Seq Scan".equals(node.path("Node Type").asText())
+                && table.equals(parentOf(node.path("Relation Name").asText())));
+    }
+
+    /**
+     * Particiones (o la propia tabla) que lee el plan; las descartadas por el planificador o al iniciar
+     * la ejecución no aparecen
+     */
+    long relationsScanned(String table) {
+        return nodes.stream()
+                .filter(node -> node.has("Relation Name"))
+                .map(node -> node.path("Relation Name").asText())
+                .filter(relation -> table.equals(parentOf(relation)))
+                .distinct()
+                .count();
+    }
+
+    boolean sorts() {
+        return nodes.stream().anyMatch(node -> node.path("Node Type").asText().endsWith("Sort"));
+    }
+
+    /**
+     * Ordenación que no cupo en work_mem y se hizo en disco (solo visible con ANALYZE)
+     */
+    boolean spillsToDisk() {
+        return nodes.stream().anyMatch(node -> "Disk".equals(node.path("Sort Space Type").asText())
+                || node.path("Sort Method").asText().startsWith("external"));
+    }
+
+    /**
+     * Árbol resumido para los mensajes de error: tipo de nodo, tabla, índice y coste
+     */
+    String describe() {
+        StringBuilder sb = new StringBuilder();
+        describe(root, 0, sb);
+        return sb.toString();
+    }
+
+    private static void describe(JsonNode node, int depth, StringBuilder sb) {
+        sb.append('\n').append("  ".repeat(depth)).append("-> ").append(node.path("Node Type").asText());
+        if (node.has("Relation Name")) {
+            sb.append(" on ").append(node.path("Relation Name").asText());
+        }
+        if (node.has("Index Name")) {
+            sb.append(" using ").append(node.path("Index Name").asText());
+        }
+        sb.append(" (cost=").append(node.path("Total Cost").asDouble()).append(')');
+        node.path("Plans").forEach(child -> describe(child, depth + 1, sb));
+    }
+}
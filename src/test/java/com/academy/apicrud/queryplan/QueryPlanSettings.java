@@ -0,0 +1,43 @@
+package com.academy.apicrud.queryplan;
+
+import lombok.Getter;
+
+/**
+ * Parámetros de la suite de planes, leídos de propiedades de sistema ({@code -Dqueryplan.*}).
+ */
+@Getter
+class QueryPlanSettings {
+
+    /**
+     * Volumen de referencia de las cotas de coste de las consultas que recorren toda la tabla
+     */
+    static final int REFERENCE_MEDICOS = 200_000;
+
+    /**
+     * La base de datos se borra y se recrea con las migraciones en cada ejecución
+     */
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int medicos;
+    private final int especialidades;
+
+    private QueryPlanSettings() {
+        url = System.getProperty("queryplan.url", "jdbc:postgresql://localhost:5432/apolo_plan");
+        username = System.getProperty("queryplan.username", "postgres");
+        password = System.getProperty("queryplan.password", "123456");
+        medicos = Integer.getInteger("queryplan.medicos", REFERENCE_MEDICOS);
+        especialidades = Integer.getInteger("queryplan.especialidades", 50);
+    }
+
+    static QueryPlanSettings fromSystemProperties() {
+        return new QueryPlanSettings();
+    }
+
+    /**
+     * Factor para escalar las cotas de coste proporcionales al tamaño de la tabla
+     */
+    double scale() {
+        return Math.max(1.0, (double) medicos / REFERENCE_MEDICOS);
+    }
+}
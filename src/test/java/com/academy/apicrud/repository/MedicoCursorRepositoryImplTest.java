@@ -0,0 +1,161 @@
+package com.academy.apicrud.repository;
+
+import com.academy.apicrud.config.PostgresqlDriverProperties;
+import com.academy.apicrud.exception.InvalidRequestException;
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.response.ResponseMedico;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.core.MethodExecutionInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Repositorios")
+@Feature("Lecturas por cursor")
+public class MedicoCursorRepositoryImplTest {
+
+    private final List<Object> fetchSizes = new CopyOnWriteArrayList<>();
+    private ConnectionFactory connectionFactory;
+    private R2dbcEntityTemplate template;
+
+    @BeforeEach
+    public void setup() {
+        // H2 ignora el fetch size; el proxy registra el valor que recibiría r2dbc-postgresql
+        ConnectionFactory h2 = ConnectionFactories.get("r2dbc:h2:mem:///cursor;DB_CLOSE_DELAY=-1");
+        connectionFactory = ProxyConnectionFactory.builder(h2)
+                .listener(new ProxyExecutionListener() {
+                    @Override
+                    public void beforeMethod(MethodExecutionInfo executionInfo) {
+                        if ("fetchSize".equals(executionInfo.getMethod().getName())) {
+                            fetchSizes.add(executionInfo.getMethodArgs()[0]);
+                        }
+                    }
+                })
+                .build();
+        template = new R2dbcEntityTemplate(connectionFactory);
+        DatabaseClient client = template.getDatabaseClient();
+        client.sql("CREATE TABLE especialidad (id BIGINT PRIMARY KEY, nombre VARCHAR(100) NOT NULL)").then().block();
+        client.sql("CREATE TABLE medico (id BIGINT PRIMARY KEY, nombre VARCHAR(150) NOT NULL, " +
+                "especialidad_id BIGINT NOT NULL, updated_at TIMESTAMP)").then().block();
+        client.sql("INSERT INTO especialidad VALUES (1, 'Cardiología'), (2, 'Pediatría')").then().block();
+        client.sql("INSERT INTO medico (id, nombre, especialidad_id) " +
+                "SELECT X, 'Dr. ' || X, MOD(X, 2) + 1 FROM SYSTEM_RANGE(1, 20)").then().block();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        template.getDatabaseClient().sql("DROP TABLE medico").then()
+                .then(template.getDatabaseClient().sql("DROP TABLE especialidad").then())
+                .block();
+    }
+
+    private MedicoCursorRepository repository(int fetchSize) {
+        PostgresqlDriverProperties properties = new PostgresqlDriverProperties();
+        properties.setCursorFetchSize(fetchSize);
+        return new MedicoCursorRepositoryImpl(template.getDatabaseClient(), template.getConverter(), properties);
+    }
+
+    @Test
+    @DisplayName("Lectura completa por bloques")
+    @Story("Fetch size")
+    @Description("Debe fijar el fetch size en la sentencia y devolver todas las filas mapeadas")
+    public void streamAll_SetsFetchSizeAndReadsEveryRow() {
+        // Act & Assert
+        StepVerifier.create(repository(5).streamAll().map(Medico::getId).sort().collectList())
+                .assertNext(ids -> {
+                    assertEquals(20, ids.size());
+                    assertEquals(1L, ids.get(0));
+                })
+                .verifyComplete();
+        assertEquals(List.of(5), fetchSizes);
+    }
+
+    @Test
+    @DisplayName("Filas bajo demanda del suscriptor")
+    @Story("Backpressure")
+    @Description("Debe emitir solo las filas pedidas y cancelar la lectura sin error")
+    public void streamAllMedicoWithEspecialidad_FollowsDemand() {
+        // Act & Assert
+        StepVerifier.create(repository(5).streamAllMedicoWithEspecialidad(), 0)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenRequest(3)
+                .expectNextMatches(medico -> medico.getNombreEspecialidad() != null && medico.getNombreMedico().startsWith("Dr. "))
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Lectura filtrada y ordenada")
+    @Story("Exportación")
+    @Description("Debe aplicar solo los filtros presentes, ordenar por el criterio pedido con el id como desempate y leer por bloques")
+    public void streamMedicoWithEspecialidad_FiltersAndSorts() {
+        // Arrange
+        MedicoCursorRepository repository = repository(5);
+        template.getDatabaseClient().sql("UPDATE medico SET nombre = 'Dr. Igual' WHERE id IN (4, 6)").then().block();
+
+        // Act & Assert
+        StepVerifier.create(repository.streamMedicoWithEspecialidad(null, 1L, Sort.by("nombre").descending())
+                        .map(ResponseMedico::getId)
+                        .collectList())
+                .assertNext(ids -> {
+                    assertEquals(10, ids.size());
+                    assertEquals(List.of(6L, 4L, 8L), ids.subList(0, 3));
+                })
+                .verifyComplete();
+        StepVerifier.create(repository.streamMedicoWithEspecialidad("1", null, Sort.unsorted()).map(ResponseMedico::getId))
+                .expectNext(1L, 10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L)
+                .verifyComplete();
+        StepVerifier.create(repository.streamByNombreAndEspecialidadId("Igual", 2L, Sort.by("id").ascending()))
+                .verifyComplete();
+        assertEquals(List.of(5, 5, 5), fetchSizes);
+    }
+
+    @Test
+    @DisplayName("SQL de la exportación")
+    @Story("Exportación")
+    @Description("Debe construir el WHERE con los filtros presentes y rechazar propiedades de orden desconocidas")
+    public void filtered_BuildsWhereAndOrderBy() {
+        assertEquals("SELECT m.* FROM medico m ORDER BY m.id ASC",
+                MedicoCursorRepositoryImpl.filtered(MedicoCursorRepositoryImpl.FIND_FILTERED, "", null, Sort.unsorted()));
+        assertEquals("SELECT m.* FROM medico m WHERE m.especialidad_id = :especialidadId " +
+                        "AND m.nombre LIKE CONCAT('%', :nombre, '%') ORDER BY m.especialidad_id DESC, m.id DESC",
+                MedicoCursorRepositoryImpl.filtered(MedicoCursorRepositoryImpl.FIND_FILTERED, "Ana", 3L,
+                        Sort.by("especialidadId").descending()));
+        assertThrows(InvalidRequestException.class, () -> MedicoCursorRepositoryImpl.filtered(
+                MedicoCursorRepositoryImpl.FIND_FILTERED, null, null, Sort.by("nombre; DROP TABLE medico")));
+    }
+
+    @Test
+    @DisplayName("Fetch size deshabilitado")
+    @Story("Fetch size")
+    @Description("Con cursor-fetch-size 0 no debe fijar el fetch size y el driver lee el resultado de una vez")
+    public void streamAll_WithoutFetchSize() {
+        // Act & Assert
+        StepVerifier.create(repository(0).streamAll().count())
+                .expectNext(20L)
+                .verifyComplete();
+        assertTrue(fetchSizes.isEmpty());
+    }
+}
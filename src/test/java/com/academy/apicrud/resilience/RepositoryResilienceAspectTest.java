@@ -0,0 +1,196 @@
+package com.academy.apicrud.resilience;
+
+import com.academy.apicrud.config.RepositoryResilienceProperties;
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.repository.MedicoRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@Epic("Resiliencia")
+@Feature("Resiliencia de repositorios")
+public class RepositoryResilienceAspectTest {
+
+    @Mock
+    private MedicoRepository medicoRepository;
+
+    private RepositoryResilienceProperties properties;
+    private CircuitBreaker circuitBreaker;
+    private MeterRegistry meterRegistry;
+    private MedicoRepository repository;
+    private Medico medico;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new RepositoryResilienceProperties();
+        properties.getTimeout().setDefaultTimeout(Duration.ofMillis(200));
+        properties.getRetry().setMinBackoff(Duration.ofMillis(1));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(5));
+        circuitBreaker = CircuitBreaker.ofDefaults("database");
+        meterRegistry = new SimpleMeterRegistry();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(medicoRepository);
+        factory.addAspect(new RepositoryResilienceAspect(properties, circuitBreaker, meterRegistry));
+        repository = factory.getProxy();
+
+        medico = new Medico(1L, "Dr. Juan Pérez", 1L);
+    }
+
+    @Test
+    @DisplayName("Reintento de lectura ante error transitorio")
+    @Story("Reintentos")
+    @Description("Debe reintentar una lectura idempotente que falla de forma transitoria")
+    public void read_RetriesTransientError() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        when(medicoRepository.findById(1L)).thenReturn(Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(new TransientDataAccessResourceException("Conexión reiniciada"))
+                : Mono.just(medico)));
+
+        // Act & Assert
+        StepVerifier.create(repository.findById(1L))
+                .expectNext(medico)
+                .verifyComplete();
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, meterRegistry.get("repository.retries").tag("operation", "findById").counter().count());
+    }
+
+    @Test
+    @DisplayName("Lectura sin reintento dentro de una transacción")
+    @Story("Reintentos")
+    @Description("No debe reintentar una lectura dentro de una transacción activa: PostgreSQL la aborta tras el primer error")
+    public void read_IsNotRetriedInsideTransaction() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        when(medicoRepository.findById(1L)).thenReturn(Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new TransientDataAccessResourceException("Conexión reiniciada"));
+        }));
+        TransactionalOperator transactionalOperator = TransactionalOperator.create(
+                new R2dbcTransactionManager(ConnectionFactories.get("r2dbc:h2:mem:///resilience_tx")));
+
+        // Act & Assert
+        StepVerifier.create(transactionalOperator.transactional(repository.findById(1L)))
+                .expectError(TransientDataAccessResourceException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Escritura sin reintento")
+    @Story("Reintentos")
+    @Description("No debe reintentar operaciones que no son idempotentes")
+    public void write_IsNotRetried() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        when(medicoRepository.save(any(Medico.class))).thenReturn(Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new TransientDataAccessResourceException("Conexión reiniciada"));
+        }));
+
+        // Act & Assert
+        StepVerifier.create(repository.save(medico))
+                .expectError(TransientDataAccessResourceException.class)
+                .verify();
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Flux sin reintento tras emitir elementos")
+    @Story("Reintentos")
+    @Description("No debe reintentar un Flux que ya emitió elementos para no duplicar filas")
+    public void flux_IsNotRetriedAfterFirstElement() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        when(medicoRepository.findAll()).thenReturn(Flux.defer(() -> {
+            attempts.incrementAndGet();
+            return Flux.just(medico).concatWith(Flux.error(new TransientDataAccessResourceException("Conexión reiniciada")));
+        }));
+
+        // Act & Assert
+        StepVerifier.create(repository.findAll())
+                .expectNext(medico)
+                .expectError(TransientDataAccessResourceException.class)
+                .verify();
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Timeout de una consulta bloqueada")
+    @Story("Timeouts")
+    @Description("Debe cortar una consulta que no responde dentro del timeout configurado")
+    public void stuckQuery_TimesOut() {
+        // Arrange
+        properties.getRetry().setMaxAttempts(0);
+        when(medicoRepository.findById(1L)).thenReturn(Mono.never());
+
+        // Act & Assert
+        StepVerifier.create(repository.findById(1L))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1.0, meterRegistry.get("repository.timeouts").tag("operation", "findById").counter().count());
+    }
+
+    @Test
+    @DisplayName("Fallo rápido con el circuito abierto")
+    @Story("Circuit breaker")
+    @Description("Debe fallar sin consultar la base de datos mientras el circuito está abierto")
+    public void openCircuit_FailsFast() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        when(medicoRepository.findById(1L)).thenReturn(Mono.fromCallable(() -> {
+            attempts.incrementAndGet();
+            return medico;
+        }));
+        circuitBreaker.transitionToOpenState();
+
+        // Act & Assert
+        StepVerifier.create(repository.findById(1L))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+        assertEquals(0, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Lectura por cursor fuera del circuit breaker")
+    @Story("Circuit breaker")
+    @Description("Un stream* debe seguir leyendo con el circuito abierto: su duración depende del cliente, no de la base de datos")
+    public void streamRead_BypassesCircuitBreaker() {
+        // Arrange
+        when(medicoRepository.streamAll()).thenReturn(Flux.just(medico));
+        circuitBreaker.transitionToOpenState();
+
+        // Act & Assert
+        StepVerifier.create(repository.streamAll())
+                .expectNext(medico)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,112 @@
+package com.academy.apicrud.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Epic("Base de datos")
+@Feature("Enrutamiento de lecturas")
+public class ReadWriteRoutingConnectionFactoryTest {
+
+    private MeterRegistry meterRegistry;
+    private DatabaseClient databaseClient;
+    private TransactionalOperator transactionalOperator;
+    private TransactionalOperator readOnlyOperator;
+    private final ReadRouting readRouting = new ReadRouting(true);
+
+    @BeforeEach
+    public void setUp() {
+        // Dos bases H2 en memoria hacen de primario y réplica; cada una responde con su nombre
+        ConnectionFactory primary = database("primary");
+        ConnectionFactory replica = database("replica");
+        meterRegistry = new SimpleMeterRegistry();
+        ReadWriteRoutingConnectionFactory routing = new ReadWriteRoutingConnectionFactory(primary, replica, meterRegistry);
+        databaseClient = DatabaseClient.create(routing);
+        R2dbcTransactionManager transactionManager = new R2dbcTransactionManager(routing);
+        transactionalOperator = TransactionalOperator.create(transactionManager);
+        DefaultTransactionDefinition readOnly = new DefaultTransactionDefinition();
+        readOnly.setReadOnly(true);
+        readOnlyOperator = TransactionalOperator.create(transactionManager, readOnly);
+    }
+
+    private static ConnectionFactory database(String name) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///routing_" + name + ";DB_CLOSE_DELAY=-1");
+        DatabaseClient client = DatabaseClient.create(connectionFactory);
+        client.sql("CREATE TABLE IF NOT EXISTS origen (nombre VARCHAR(20))").then()
+                .then(client.sql("DELETE FROM origen").then())
+                .then(client.sql("INSERT INTO origen (nombre) VALUES ('" + name + "')").then())
+                .block();
+        return connectionFactory;
+    }
+
+    private Mono<String> origen() {
+        return databaseClient.sql("SELECT nombre FROM origen")
+                .map(row -> row.get("nombre", String.class))
+                .one();
+    }
+
+    @Test
+    @DisplayName("Lecturas marcadas a la réplica")
+    @Story("Réplica de lectura")
+    @Description("Una lectura marcada fuera de transacción debe ir a la réplica y una sin marca al primario")
+    public void markedRead_GoesToReplica() {
+        // Act & Assert
+        StepVerifier.create(readRouting.replica(origen()))
+                .expectNext("replica")
+                .verifyComplete();
+        StepVerifier.create(origen())
+                .expectNext("primary")
+                .verifyComplete();
+        assertEquals(1.0, meterRegistry.get("r2dbc.routing.connections").tag("target", "replica").counter().count());
+        assertEquals(1.0, meterRegistry.get("r2dbc.routing.connections").tag("target", "primary").counter().count());
+    }
+
+    @Test
+    @DisplayName("Transacciones en el primario")
+    @Story("Réplica de lectura")
+    @Description("Una lectura marcada para la réplica dentro de una transacción ya activa debe ir al primario")
+    public void markedReadInTransaction_GoesToPrimary() {
+        // Act & Assert
+        StepVerifier.create(readRouting.replica(origen()).as(transactionalOperator::transactional))
+                .expectNext("primary")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Transacción de solo lectura del repositorio en la réplica")
+    @Story("Réplica de lectura")
+    @Description("Una lectura marcada que abre su propia transacción de solo lectura, como los métodos CRUD, debe ir a la réplica")
+    public void markedReadOnlyTransaction_GoesToReplica() {
+        // Act & Assert
+        StepVerifier.create(readRouting.replica(readOnlyOperator.transactional(origen())))
+                .expectNext("replica")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Petición pegada al primario")
+    @Story("Leer las propias escrituras")
+    @Description("Tras una escritura del cliente sus lecturas marcadas deben ir al primario")
+    public void stickyRequest_GoesToPrimary() {
+        // Act & Assert
+        StepVerifier.create(readRouting.replica(origen()).contextWrite(ReadRouting::stickToPrimary))
+                .expectNext("primary")
+                .verifyComplete();
+    }
+}
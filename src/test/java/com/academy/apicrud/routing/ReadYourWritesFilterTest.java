@@ -0,0 +1,80 @@
+package com.academy.apicrud.routing;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Base de datos")
+@Feature("Enrutamiento de lecturas")
+public class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-10T12:00:00Z");
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("Cookie tras una escritura con éxito")
+    @Story("Leer las propias escrituras")
+    @Description("Debe enviar la cookie con el instante hasta el que las lecturas van al primario")
+    public void successfulWrite_SetsCookie() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/medicos"));
+        WebFilterChain chain = ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.CREATED);
+            return ex.getResponse().setComplete();
+        };
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Assert
+        ResponseCookie cookie = exchange.getResponse().getCookies().getFirst(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertEquals(String.valueOf(NOW.toEpochMilli() + 5000), cookie.getValue());
+        assertEquals(Duration.ofSeconds(5), cookie.getMaxAge());
+    }
+
+    @Test
+    @DisplayName("Lecturas al primario con la cookie vigente")
+    @Story("Leer las propias escrituras")
+    @Description("Con la cookie vigente la petición debe pegarse al primario; vencida debe seguir enrutándose normalmente")
+    public void readWithCookie_SticksToPrimaryUntilExpired() {
+        // Act & Assert
+        assertTrue(sticky(NOW.toEpochMilli() + 1000));
+        assertFalse(sticky(NOW.toEpochMilli() - 1));
+    }
+
+    private boolean sticky(long until) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/medicos/1")
+                .cookie(new HttpCookie(ReadYourWritesFilter.COOKIE, String.valueOf(until))));
+        AtomicBoolean sticky = new AtomicBoolean();
+        WebFilterChain chain = ex -> Mono.deferContextual(context -> {
+            sticky.set(context.hasKey(ReadRouting.STICKY_PRIMARY));
+            return Mono.empty();
+        });
+        filter.filter(exchange, chain).block();
+        return sticky.get();
+    }
+}
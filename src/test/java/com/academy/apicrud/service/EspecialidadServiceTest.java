@@ -1,8 +1,11 @@
 package com.academy.apicrud.service;
 
 import com.academy.apicrud.model.domain.Especialidad;
+import com.academy.apicrud.partitioning.MedicoPartitions;
 import com.academy.apicrud.repository.EspecialidadRepository;
+import com.academy.apicrud.routing.ReadRouting;
 import com.academy.apicrud.service.impl.EspecialidadServiceImpl;
+import com.academy.apicrud.sync.DeltaSync;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
@@ -15,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ClassPathResource;
 import reactor.core.publisher.Flux;
@@ -31,6 +35,15 @@ public class EspecialidadServiceTest {
     @Mock
     private EspecialidadRepository especialidadRepository;
 
+    @Mock
+    private DeltaSync deltaSync;
+
+    @Mock
+    private MedicoPartitions medicoPartitions;
+
+    @Spy
+    private ReadRouting readRouting = new ReadRouting(false);
+
     @InjectMocks
     private EspecialidadServiceImpl especialidadService;
 
@@ -120,6 +133,7 @@ public class EspecialidadServiceTest {
 
         Mockito.when(especialidadRepository.save(Mockito.any(Especialidad.class)))
                 .thenReturn(Mono.just(especialidadGuardada));
+        Mockito.when(medicoPartitions.createFor(3L)).thenReturn(Mono.empty());
 
         // Act (When)
         Mono<Especialidad> result = especialidadService.saveEspecialidad(nuevaEspecialidad);
@@ -129,6 +143,7 @@ public class EspecialidadServiceTest {
                 .expectNextMatches(esp -> esp.getId() == 3L && 
                                    esp.getNombre().equals(nuevaEspecialidad.getNombre()))
                 .verifyComplete();
+        Mockito.verify(medicoPartitions).createFor(3L);
     }
 
     @Test
@@ -194,12 +209,20 @@ public class EspecialidadServiceTest {
         Mockito.when(especialidadRepository.delete(Mockito.any(Especialidad.class)))
                 .thenReturn(Mono.empty());
 
+        Mockito.when(deltaSync.recordDeletion(DeltaSync.ESPECIALIDAD, especialidad.getId()))
+                .thenReturn(Mono.empty());
+
+        Mockito.when(medicoPartitions.dropFor(especialidad.getId()))
+                .thenReturn(Mono.empty());
+
         // Act (When)
         Mono<Void> result = especialidadService.deleteEspecialidad(especialidad.getId());
 
         // Assert (Then)
         StepVerifier.create(result)
                 .verifyComplete();
+        Mockito.verify(deltaSync).recordDeletion(DeltaSync.ESPECIALIDAD, especialidad.getId());
+        Mockito.verify(medicoPartitions).dropFor(especialidad.getId());
     }
 
     @Test
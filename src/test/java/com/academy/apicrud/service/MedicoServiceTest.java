@@ -1,14 +1,26 @@
 package com.academy.apicrud.service;
 
+import com.academy.apicrud.cache.CacheInvalidationBus;
+import com.academy.apicrud.cache.MedicoPageCache;
+import com.academy.apicrud.cache.MissingMedicoCache;
+import com.academy.apicrud.changefeed.MedicoChangeFeed;
+import com.academy.apicrud.config.MissingMedicoCacheProperties;
+import com.academy.apicrud.config.PageCacheProperties;
 import com.academy.apicrud.exception.ResourceNotFoundException;
 import com.academy.apicrud.mapper.IMedicoMapper;
 import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.domain.MedicoChange;
 import com.academy.apicrud.model.dto.MedicoDto;
 import com.academy.apicrud.model.dto.PageResponseDto;
 import com.academy.apicrud.model.response.ResponseMedico;
 import com.academy.apicrud.repository.MedicoRepository;
+import com.academy.apicrud.routing.ReadRouting;
 import com.academy.apicrud.service.impl.MedicoServiceImpl;
+import com.academy.apicrud.sync.DeltaSync;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -20,6 +32,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.PageRequest;
@@ -32,6 +45,7 @@ import reactor.test.StepVerifier;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -52,6 +66,24 @@ public class MedicoServiceTest {
     @Mock
     private EspecialidadService especialidadService;
 
+    @Spy
+    private MedicoPageCache medicoPageCache = new MedicoPageCache(new PageCacheProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private MissingMedicoCache missingMedicoCache = new MissingMedicoCache(new MissingMedicoCacheProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private CacheInvalidationBus cacheInvalidationBus = new CacheInvalidationBus("cache_invalidation", null, new SimpleMeterRegistry());
+
+    @Mock
+    private MedicoChangeFeed medicoChangeFeed;
+
+    @Mock
+    private DeltaSync deltaSync;
+
+    @Spy
+    private ReadRouting readRouting = new ReadRouting(false);
+
     @InjectMocks
     private MedicoServiceImpl medicoService;
 
@@ -62,6 +94,11 @@ public class MedicoServiceTest {
 
     @BeforeEach
     public void setup() throws IOException {
+        Mockito.lenient().when(medicoChangeFeed.record(Mockito.any(), Mockito.any()))
+                .thenReturn(Mono.empty());
+        Mockito.lenient().when(deltaSync.recordDeletion(Mockito.any(), Mockito.any()))
+                .thenReturn(Mono.empty());
+
         // Cargar datos de prueba desde JSON
         medico = objectMapper.readValue(
                 new ClassPathResource("mock/medico.json").getInputStream(),
@@ -278,6 +315,30 @@ public class MedicoServiceTest {
                 .verifyComplete(); // Devuelve un Mono vacío cuando no encuentra el médico
     }
 
+    @Test
+    @DisplayName("Obtener médico por ID - Ausente en la réplica")
+    @Story("Obtener médico por ID")
+    @Description("Con réplica de lectura un id ausente en ella debe confirmarse en el primario antes de cachear la ausencia")
+    public void getMedicoById_MissingOnReplica_ConfirmsOnPrimary() {
+        // Arrange (Given)
+        MedicoServiceImpl replicaService = new MedicoServiceImpl(medicoRepository, especialidadService, medicoMapper,
+                medicoPageCache, missingMedicoCache, cacheInvalidationBus, medicoChangeFeed, deltaSync, new ReadRouting(true));
+        Mockito.when(medicoRepository.findById(1L))
+                .thenReturn(Mono.empty(), Mono.just(medico));
+
+        Mockito.when(medicoMapper.toDto(Mockito.any(Medico.class)))
+                .thenReturn(medicoDto);
+
+        // Act (When)
+        Mono<MedicoDto> result = replicaService.getMedicoById(1L);
+
+        // Assert (Then)
+        StepVerifier.create(result)
+                .expectNext(medicoDto)
+                .verifyComplete();
+        assertFalse(missingMedicoCache.isMissing(1L));
+    }
+
     @Test
     @DisplayName("Obtener médico por ID - Error")
     @Story("Obtener médico por ID")
@@ -296,6 +357,29 @@ public class MedicoServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Obtener médico por ID - Circuito abierto")
+    @Story("Obtener médico por ID")
+    @Description("Debe propagar los errores de resiliencia en lugar de responder como si el médico no existiera")
+    public void getMedicoById_ResilienceErrorPropagates() {
+        // Arrange (Given)
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("database");
+        circuitBreaker.transitionToOpenState();
+        Mockito.when(medicoRepository.findById(1L))
+                .thenReturn(Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker)));
+        Mockito.when(medicoRepository.findAll())
+                .thenReturn(Flux.error(new TimeoutException()));
+
+        // Act & Assert
+        StepVerifier.create(medicoService.getMedicoById(1L))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+        StepVerifier.create(medicoService.getAllMedicos())
+                .expectError(TimeoutException.class)
+                .verify();
+        assertFalse(missingMedicoCache.isMissing(1L));
+    }
+
     @Test
     @DisplayName("Guardar médico - Caso exitoso")
     @Story("Guardar médico")
@@ -543,6 +627,10 @@ public class MedicoServiceTest {
         // Assert (Then)
         StepVerifier.create(result)
                 .verifyComplete();
+        assertTrue(missingMedicoCache.isMissing(1L));
+        Mockito.verify(cacheInvalidationBus).publish(CacheInvalidationBus.MEDICO, 1L);
+        Mockito.verify(medicoChangeFeed).record(1L, MedicoChange.Operation.DELETE);
+        Mockito.verify(deltaSync).recordDeletion(DeltaSync.MEDICO, 1L);
     }
 
     @Test
@@ -651,8 +739,8 @@ public class MedicoServiceTest {
         List<Medico> medicos = new ArrayList<>();
         medicos.add(medico);
         
-        Mockito.when(medicoRepository.findByNombreAndEspecialidadIdOrderByIdAsc(
-                Mockito.anyString(), Mockito.anyLong(), Mockito.anyInt(), Mockito.anyLong()))
+        Mockito.when(medicoRepository.findByEspecialidadIdAndNombreOrderByIdAsc(
+                Mockito.anyLong(), Mockito.anyString(), Mockito.anyInt(), Mockito.anyLong()))
                 .thenReturn(Flux.fromIterable(medicos));
         
         Mockito.when(medicoMapper.toDto(Mockito.any(Medico.class)))
@@ -747,8 +835,8 @@ public class MedicoServiceTest {
         Long especialidadId = 999L;
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
         
-        Mockito.when(medicoRepository.findByNombreAndEspecialidadIdOrderByIdAsc(
-                Mockito.anyString(), Mockito.anyLong(), Mockito.anyInt(), Mockito.anyLong()))
+        Mockito.when(medicoRepository.findByEspecialidadIdAndNombreOrderByIdAsc(
+                Mockito.anyLong(), Mockito.anyString(), Mockito.anyInt(), Mockito.anyLong()))
                 .thenReturn(Flux.empty());
         
         // Act (When)
@@ -765,4 +853,144 @@ public class MedicoServiceTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    @DisplayName("Obtener médicos paginados - Servido desde cache")
+    @Story("Obtener médicos paginados")
+    @Description("Debe servir la misma página desde cache sin volver a consultar el repositorio")
+    public void getMedicosPaginados_ServedFromCache() {
+        // Arrange (Given)
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
+        Mockito.when(medicoRepository.findAllPagedOrderByIdAsc(10, 0))
+                .thenReturn(Flux.just(medico));
+        Mockito.when(medicoMapper.toDto(Mockito.any(Medico.class)))
+                .thenReturn(medicoDto);
+
+        // Act (When)
+        medicoService.getMedicosPaginados(null, null, pageable).block();
+        PageResponseDto<MedicoDto> cached = medicoService.getMedicosPaginados("", null, PageRequest.of(0, 10, Sort.by("id"))).block();
+
+        // Assert (Then)
+        assertEquals(medicoDto, cached.getContent().get(0));
+        Mockito.verify(medicoRepository, Mockito.times(1)).findAllPagedOrderByIdAsc(10, 0);
+    }
+
+    @Test
+    @DisplayName("Obtener médicos paginados - Lectura pegada al primario no usa la cache")
+    @Story("Obtener médicos paginados")
+    @Description("Debe consultar la base de datos cuando la petición lee sus propias escrituras, aunque la página esté en cache")
+    public void getMedicosPaginados_StickyPrimaryBypassesCache() {
+        // Arrange (Given)
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
+        Mockito.when(medicoRepository.findAllPagedOrderByIdAsc(10, 0))
+                .thenReturn(Flux.just(medico));
+        Mockito.when(medicoMapper.toDto(Mockito.any(Medico.class)))
+                .thenReturn(medicoDto);
+        medicoService.getMedicosPaginados(null, null, pageable).block();
+
+        // Act (When)
+        PageResponseDto<MedicoDto> result = medicoService.getMedicosPaginados(null, null, pageable)
+                .contextWrite(ReadRouting::stickToPrimary)
+                .block();
+
+        // Assert (Then)
+        assertEquals(medicoDto, result.getContent().get(0));
+        Mockito.verify(medicoRepository, Mockito.times(2)).findAllPagedOrderByIdAsc(10, 0);
+    }
+
+    @Test
+    @DisplayName("Guardar médico - Invalida la cache de páginas")
+    @Story("Guardar médico")
+    @Description("Debe descartar las páginas en cache tras guardar un médico")
+    public void saveMedico_InvalidatesPageCache() {
+        // Arrange (Given)
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
+        Mockito.when(medicoRepository.findAllPagedOrderByIdAsc(10, 0))
+                .thenReturn(Flux.just(medico));
+        Mockito.when(medicoMapper.toDto(Mockito.any(Medico.class)))
+                .thenReturn(medicoDto);
+        Mockito.when(especialidadService.existsById(medicoDto.getEspecialidadId()))
+                .thenReturn(Mono.just(true));
+        Mockito.when(medicoMapper.toEntity(Mockito.any(MedicoDto.class)))
+                .thenReturn(medico);
+        Mockito.when(medicoRepository.save(Mockito.any(Medico.class)))
+                .thenReturn(Mono.just(medico));
+
+        // Act (When)
+        medicoService.getMedicosPaginados(null, null, pageable).block();
+        medicoService.saveMedico(medicoDto).block();
+        medicoService.getMedicosPaginados(null, null, pageable).block();
+
+        // Assert (Then)
+        Mockito.verify(medicoPageCache).invalidateAfterCommit();
+        Mockito.verify(medicoRepository, Mockito.times(2)).findAllPagedOrderByIdAsc(10, 0);
+    }
+
+    @Test
+    @DisplayName("Obtener médico por ID - Id inexistente servido desde cache negativa")
+    @Story("Obtener médico por ID")
+    @Description("Debe responder vacío sin consultar el repositorio para un id que ya no existía")
+    public void getMedicoById_MissingIdServedFromCache() {
+        // Arrange (Given)
+        Mockito.when(medicoRepository.findById(99L))
+                .thenReturn(Mono.empty());
+
+        // Act (When)
+        medicoService.getMedicoById(99L).block();
+        Mono<MedicoDto> result = medicoService.getMedicoById(99L);
+        Mono<ResponseMedico> withEspecialidad = medicoService.getMedicoWithEspecialidadById(99L);
+
+        // Assert (Then)
+        StepVerifier.create(result).verifyComplete();
+        StepVerifier.create(withEspecialidad).verifyComplete();
+        Mockito.verify(medicoRepository, Mockito.times(1)).findById(99L);
+        Mockito.verify(medicoRepository, Mockito.never()).findMedicoWithEspecialidadById(99L);
+    }
+
+    @Test
+    @DisplayName("Obtener médico con especialidad - Sin resultado no marca el id")
+    @Story("Obtener médico con especialidad")
+    @Description("Un médico sin especialidad no aparece en el INNER JOIN pero sigue existiendo")
+    public void getMedicoWithEspecialidadById_NotFoundDoesNotMarkMissing() {
+        // Arrange (Given)
+        Mockito.when(medicoRepository.findMedicoWithEspecialidadById(1L))
+                .thenReturn(Mono.empty());
+        Mockito.when(medicoRepository.findById(1L))
+                .thenReturn(Mono.just(medico));
+        Mockito.when(medicoMapper.toDto(medico))
+                .thenReturn(medicoDto);
+
+        // Act (When)
+        medicoService.getMedicoWithEspecialidadById(1L).block();
+        Mono<MedicoDto> result = medicoService.getMedicoById(1L);
+
+        // Assert (Then)
+        StepVerifier.create(result)
+                .expectNext(medicoDto)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Guardar médico - Retira el id de la cache negativa")
+    @Story("Guardar médico")
+    @Description("Un id probado antes de crearse debe encontrarse tras el alta")
+    public void saveMedico_RemovesIdFromMissingCache() {
+        // Arrange (Given)
+        missingMedicoCache.markMissing(medicoDto.getId());
+        Mockito.when(especialidadService.existsById(medicoDto.getEspecialidadId()))
+                .thenReturn(Mono.just(true));
+        Mockito.when(medicoMapper.toEntity(Mockito.any(MedicoDto.class)))
+                .thenReturn(medico);
+        Mockito.when(medicoRepository.save(Mockito.any(Medico.class)))
+                .thenReturn(Mono.just(medico));
+        Mockito.when(medicoMapper.toDto(Mockito.any(Medico.class)))
+                .thenReturn(medicoDto);
+
+        // Act (When)
+        medicoService.saveMedico(medicoDto).block();
+
+        // Assert (Then)
+        assertFalse(missingMedicoCache.isMissing(medicoDto.getId()));
+        Mockito.verify(medicoChangeFeed).record(medico.getId(), MedicoChange.Operation.CREATE);
+    }
 }
@@ -0,0 +1,70 @@
+package com.academy.apicrud.sharding;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Base de datos")
+@Feature("Sharding de médicos")
+public class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    private static Map<String, String> nodes(int count) {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            nodes.put("shard-" + i, "shard-" + i);
+        }
+        return nodes;
+    }
+
+    @Test
+    @DisplayName("Reparto uniforme de ids consecutivos")
+    @Story("Hashing consistente")
+    @Description("Los ids consecutivos deben repartirse entre los nodos con una desviación pequeña")
+    public void get_DistributesConsecutiveKeysEvenly() {
+        // Arrange
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes(3), 160);
+        Map<String, Integer> counts = new HashMap<>();
+
+        // Act
+        for (long key = 1; key <= KEYS; key++) {
+            counts.merge(ring.get(key), 1, Integer::sum);
+        }
+
+        // Assert
+        counts.values().forEach(count -> assertTrue(Math.abs(count - KEYS / 3) < KEYS / 3 * 0.15, counts.toString()));
+    }
+
+    @Test
+    @DisplayName("Añadir un nodo mueve solo su parte")
+    @Story("Hashing consistente")
+    @Description("Al pasar de 3 a 4 nodos solo deben cambiar de nodo cerca de 1/4 de las claves, todas hacia el nuevo")
+    public void addNode_MovesAboutOneNthOfKeys() {
+        // Arrange
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(nodes(3), 160);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(nodes(4), 160);
+        int moved = 0;
+
+        // Act
+        for (long key = 1; key <= KEYS; key++) {
+            String target = after.get(key);
+            if (!target.equals(before.get(key))) {
+                moved++;
+                assertTrue(target.equals("shard-3"));
+            }
+        }
+
+        // Assert
+        assertTrue(moved > KEYS * 0.18 && moved < KEYS * 0.32, String.valueOf(moved));
+    }
+}
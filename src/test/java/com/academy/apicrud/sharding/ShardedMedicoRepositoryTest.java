@@ -0,0 +1,260 @@
+package com.academy.apicrud.sharding;
+
+import com.academy.apicrud.config.PostgresqlDriverProperties;
+import com.academy.apicrud.config.ShardingProperties.ShardKey;
+import com.academy.apicrud.model.domain.Especialidad;
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.response.ResponseMedico;
+import com.academy.apicrud.repository.EspecialidadRepository;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@Epic("Base de datos")
+@Feature("Sharding de médicos")
+@ExtendWith(MockitoExtension.class)
+public class ShardedMedicoRepositoryTest {
+
+    private static final int SHARDS = 3;
+
+    @Mock
+    private EspecialidadRepository especialidadRepository;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private List<MedicoShard> shards;
+    private ShardedMedicoRepository repository;
+
+    @AfterEach
+    public void tearDown() {
+        shards.forEach(shard -> DatabaseClient.create(shard.getConnectionFactory()).sql("DROP TABLE medico").then().block());
+    }
+
+    private void createRepository(ShardKey key) {
+        // Tres bases H2 en memoria hacen de shards; los ids salen de un contador como de la secuencia principal
+        shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///shard_" + i + ";DB_CLOSE_DELAY=-1");
+            DatabaseClient.create(connectionFactory).sql("CREATE TABLE IF NOT EXISTS medico (id BIGINT PRIMARY KEY, " +
+                    "nombre VARCHAR(150) NOT NULL, especialidad_id BIGINT NOT NULL, " +
+                    "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)").then().block();
+            shards.add(new MedicoShard("shard-" + i, connectionFactory, new PostgresqlDriverProperties()));
+        }
+        repository = new ShardedMedicoRepository(shards, key, 160, Mono.fromSupplier(sequence::incrementAndGet),
+                especialidadRepository);
+    }
+
+    private List<Medico> insertMedicos(int count) {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new Medico(null, "Dr. " + (char) ('A' + i % 26) + i, (long) (i % 4 + 1), base.plusSeconds(count - i)))
+                .map(medico -> repository.save(medico).block())
+                .collect(Collectors.toList());
+    }
+
+    private long countIn(MedicoShard shard) {
+        return shard.getRepository().count().block();
+    }
+
+    @Test
+    @DisplayName("Cada médico en un único shard")
+    @Story("Operaciones por id")
+    @Description("Con la clave id cada médico debe guardarse en el shard del anillo y leerse solo de él")
+    public void save_StoresEachMedicoInExactlyOneShard() {
+        // Arrange
+        createRepository(ShardKey.ID);
+
+        // Act
+        List<Medico> medicos = insertMedicos(60);
+
+        // Assert
+        for (Medico medico : medicos) {
+            MedicoShard owner = repository.shardFor(medico);
+            for (MedicoShard shard : shards) {
+                assertEquals(shard == owner, shard.getRepository().existsById(medico.getId()).block());
+            }
+        }
+        assertTrue(shards.stream().allMatch(shard -> countIn(shard) > 0));
+        StepVerifier.create(repository.findById(medicos.get(7).getId()))
+                .expectNext(medicos.get(7))
+                .verifyComplete();
+        StepVerifier.create(repository.deleteById(medicos.get(7).getId()).then(repository.count()))
+                .expectNext(59L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Páginas con el orden global")
+    @Story("Consultas repartidas")
+    @Description("La mezcla de los shards debe devolver las mismas páginas que una única tabla ordenada")
+    public void pages_MergeShardsInGlobalOrder() {
+        // Arrange
+        createRepository(ShardKey.ID);
+        List<Medico> medicos = insertMedicos(50);
+        Comparator<Medico> byNombre = Comparator.comparing(Medico::getNombre).thenComparing(Medico::getId);
+        List<Medico> expected = medicos.stream().sorted(byNombre.reversed()).collect(Collectors.toList());
+
+        // Act & Assert
+        StepVerifier.create(repository.findAllPagedOrderByNombreDesc(10, 20).collectList())
+                .expectNext(expected.subList(20, 30))
+                .verifyComplete();
+        StepVerifier.create(repository.findAllPagedOrderByIdAsc(10, 45).map(Medico::getId).collectList())
+                .expectNext(List.of(46L, 47L, 48L, 49L, 50L))
+                .verifyComplete();
+        StepVerifier.create(repository.findAll().map(Medico::getId).collectList())
+                .expectNext(LongStream.rangeClosed(1, 50).boxed().collect(Collectors.toList()))
+                .verifyComplete();
+        StepVerifier.create(repository.findUpdatedAfter(LocalDateTime.of(2026, 1, 1, 0, 0, 39)).map(Medico::getId).collectList())
+                .expectNext(List.of(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Conteos sumados entre shards")
+    @Story("Consultas repartidas")
+    @Description("count y el conteo filtrado deben sumar los conteos de todos los shards")
+    public void counts_SumAllShards() {
+        // Arrange
+        createRepository(ShardKey.ID);
+        insertMedicos(40);
+
+        // Act & Assert
+        StepVerifier.create(repository.count())
+                .expectNext(40L)
+                .verifyComplete();
+        StepVerifier.create(repository.countByNombreAndEspecialidadId(null, 2L))
+                .expectNext(10L)
+                .verifyComplete();
+        StepVerifier.create(repository.findByNombreAndEspecialidadIdOrderByIdDesc(null, 2L, 3, 0).map(Medico::getId).collectList())
+                .expectNext(List.of(37L, 33L, 29L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Lista IN rellenada a potencia de dos")
+    @Story("Sentencias estables")
+    @Description("findAllById debe devolver cada médico una vez aunque la lista IN se rellene y tenga duplicados")
+    public void findAllById_PadsInListToPowerOfTwo() {
+        // Arrange
+        createRepository(ShardKey.ID);
+        insertMedicos(10);
+
+        // Act
+        List<Long> padded = ShardedMedicoRepository.padInList(List.of(3L, 5L, 3L, 7L, 9L, 1L));
+
+        // Assert
+        assertEquals(List.of(3L, 5L, 7L, 9L, 1L, 1L, 1L, 1L), padded);
+        assertEquals(List.of(4L), ShardedMedicoRepository.padInList(List.of(4L)));
+        StepVerifier.create(repository.findAllById(List.of(3L, 5L, 3L, 7L, 9L, 1L)).map(Medico::getId).sort().collectList())
+                .expectNext(List.of(1L, 3L, 5L, 7L, 9L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Clave por especialidad")
+    @Story("Clave de shard")
+    @Description("Los médicos de una especialidad deben compartir shard y cambiar de shard al cambiar de especialidad")
+    public void especialidadKey_GroupsBySpecialtyAndMovesOnUpdate() {
+        // Arrange
+        createRepository(ShardKey.ESPECIALIDAD_ID);
+        List<Medico> medicos = insertMedicos(20);
+        Medico medico = medicos.get(0);
+        MedicoShard before = repository.shardFor(medico);
+        Long otraEspecialidad = LongStream.rangeClosed(5, 100).boxed()
+                .filter(id -> repository.shardFor(new Medico(null, "", id)) != before)
+                .findFirst()
+                .orElseThrow();
+
+        // Act
+        medico.setEspecialidadId(otraEspecialidad);
+        repository.save(medico).block();
+
+        // Assert
+        MedicoShard after = repository.shardFor(medico);
+        assertEquals(Boolean.FALSE, before.getRepository().existsById(medico.getId()).block());
+        assertEquals(Boolean.TRUE, after.getRepository().existsById(medico.getId()).block());
+        StepVerifier.create(repository.findById(medico.getId()).map(Medico::getEspecialidadId))
+                .expectNext(otraEspecialidad)
+                .verifyComplete();
+        StepVerifier.create(repository.count())
+                .expectNext(20L)
+                .verifyComplete();
+        StepVerifier.create(repository.findByNombreAndEspecialidadIdOrderByIdAsc(null, 3L, 10, 0).map(Medico::getId).collectList())
+                .expectNext(List.of(2L, 6L, 10L, 14L, 18L))
+                .verifyComplete();
+        assertEquals(1L, shards.stream()
+                .filter(shard -> shard.getRepository().countByNombreAndEspecialidadId(null, 3L).block() > 0)
+                .count());
+    }
+
+    @Test
+    @DisplayName("JOIN con especialidad en memoria")
+    @Story("Consultas con especialidad")
+    @Description("Debe completar el nombre de la especialidad desde la base de datos principal")
+    public void findMedicoWithEspecialidad_JoinsInMemory() {
+        // Arrange
+        createRepository(ShardKey.ID);
+        insertMedicos(4);
+        when(especialidadRepository.findAll()).thenReturn(Flux.just(new Especialidad(2L, "Cardiología", null),
+                new Especialidad(3L, "Pediatría", null)));
+
+        // Act & Assert
+        StepVerifier.create(repository.findAllMedicoWithEspecialidad())
+                .assertNext(response -> {
+                    assertEquals(1L, response.getId());
+                    assertEquals("Cardiología", response.getNombreEspecialidad());
+                })
+                .assertNext(response -> assertEquals("Pediatría", response.getNombreEspecialidad()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Exportación filtrada y ordenada entre shards")
+    @Story("Lecturas por cursor")
+    @Description("Debe mezclar las lecturas por cursor de los shards en el orden global pedido y completar la especialidad")
+    public void streamMedicoWithEspecialidad_MergesShardsInRequestedOrder() {
+        // Arrange
+        createRepository(ShardKey.ID);
+        List<Medico> medicos = insertMedicos(40);
+        when(especialidadRepository.findAll()).thenReturn(Flux.just(new Especialidad(2L, "Cardiología", null)));
+        List<Long> expected = medicos.stream()
+                .filter(medico -> medico.getEspecialidadId() == 2L)
+                .sorted(Comparator.comparing(Medico::getNombre).reversed())
+                .map(Medico::getId)
+                .collect(Collectors.toList());
+
+        // Act & Assert
+        StepVerifier.create(repository.streamMedicoWithEspecialidad(null, 2L, Sort.by("nombre").descending()).collectList())
+                .assertNext(responses -> {
+                    assertEquals(expected, responses.stream().map(ResponseMedico::getId).collect(Collectors.toList()));
+                    assertTrue(responses.stream().allMatch(response -> "Cardiología".equals(response.getNombreEspecialidad())));
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,135 @@
+package com.academy.apicrud.sync;
+
+import com.academy.apicrud.config.DeltaSyncProperties;
+import com.academy.apicrud.mapper.impl.MedicoMapperImpl;
+import com.academy.apicrud.model.domain.Especialidad;
+import com.academy.apicrud.model.domain.Medico;
+import com.academy.apicrud.model.domain.Tombstone;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.dto.SyncRecordDto;
+import com.academy.apicrud.repository.EspecialidadRepository;
+import com.academy.apicrud.repository.MedicoRepository;
+import com.academy.apicrud.repository.TombstoneRepository;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@Epic("Sincronización")
+@Feature("Delta Sync")
+public class DeltaSyncTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 10, 12, 0);
+
+    @Mock
+    private MedicoRepository medicoRepository;
+
+    @Mock
+    private EspecialidadRepository especialidadRepository;
+
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+
+    private DeltaSync deltaSync;
+
+    @BeforeEach
+    public void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+        deltaSync = new DeltaSync(medicoRepository, especialidadRepository, tombstoneRepository,
+                new MedicoMapperImpl(), new DeltaSyncProperties(), clock);
+    }
+
+    @Test
+    @DisplayName("Sincronización incremental desde un watermark")
+    @Story("Cambios desde un watermark")
+    @Description("Debe enviar solo las altas, modificaciones y bajas posteriores al watermark y terminar con el nuevo watermark menos el margen")
+    public void changesSince_StreamsUpsertsDeletesAndWatermark() {
+        // Arrange
+        LocalDateTime since = NOW.minusHours(1);
+        when(especialidadRepository.findUpdatedAfter(since))
+                .thenReturn(Flux.just(new Especialidad(3L, "Cardiología", NOW.minusMinutes(30))));
+        when(medicoRepository.findUpdatedAfter(since))
+                .thenReturn(Flux.just(new Medico(7L, "Dr. Juan Pérez", 3L, NOW.minusMinutes(10))));
+        when(tombstoneRepository.findDeletedAfter(since))
+                .thenReturn(Flux.just(new Tombstone(1L, DeltaSync.MEDICO, 5L, NOW.minusMinutes(5))));
+
+        // Act & Assert
+        StepVerifier.create(deltaSync.changesSince(since))
+                .assertNext(record -> {
+                    assertEquals(SyncRecordDto.Type.UPSERT, record.getType());
+                    assertEquals(DeltaSync.ESPECIALIDAD, record.getEntity());
+                    assertEquals(3L, record.getId());
+                })
+                .assertNext(record -> {
+                    assertEquals(SyncRecordDto.Type.UPSERT, record.getType());
+                    assertEquals(DeltaSync.MEDICO, record.getEntity());
+                    assertEquals(new MedicoDto(7L, "Dr. Juan Pérez", 3L), record.getData());
+                })
+                .assertNext(record -> {
+                    assertEquals(SyncRecordDto.Type.DELETE, record.getType());
+                    assertEquals(DeltaSync.MEDICO, record.getEntity());
+                    assertEquals(5L, record.getId());
+                })
+                .assertNext(record -> {
+                    assertEquals(SyncRecordDto.Type.WATERMARK, record.getType());
+                    assertEquals(NOW.minusSeconds(5), record.getWatermark());
+                })
+                .verifyComplete();
+        verify(medicoRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Watermark anterior a la retención de bajas")
+    @Story("Cambios desde un watermark")
+    @Description("Debe enviar RESET y la copia completa cuando las bajas de ese periodo ya se depuraron")
+    public void changesSince_ExpiredWatermark_SendsResetAndSnapshot() {
+        // Arrange
+        when(especialidadRepository.findAll()).thenReturn(Flux.just(new Especialidad(3L, "Cardiología", NOW)));
+        when(medicoRepository.findAll()).thenReturn(Flux.just(new Medico(7L, "Dr. Juan Pérez", 3L)));
+
+        // Act & Assert
+        StepVerifier.create(deltaSync.changesSince(NOW.minusDays(31)))
+                .assertNext(record -> assertEquals(SyncRecordDto.Type.RESET, record.getType()))
+                .assertNext(record -> assertEquals(DeltaSync.ESPECIALIDAD, record.getEntity()))
+                .assertNext(record -> assertEquals(DeltaSync.MEDICO, record.getEntity()))
+                .assertNext(record -> assertEquals(SyncRecordDto.Type.WATERMARK, record.getType()))
+                .verifyComplete();
+        verify(tombstoneRepository, never()).findDeletedAfter(any());
+    }
+
+    @Test
+    @DisplayName("Primera sincronización sin watermark")
+    @Story("Copia completa")
+    @Description("Sin since debe enviar la copia completa sin RESET ni bajas")
+    public void changesSince_WithoutWatermark_SendsSnapshot() {
+        // Arrange
+        when(especialidadRepository.findAll()).thenReturn(Flux.empty());
+        when(medicoRepository.findAll()).thenReturn(Flux.just(new Medico(7L, "Dr. Juan Pérez", 3L)));
+
+        // Act & Assert
+        StepVerifier.create(deltaSync.changesSince(null))
+                .assertNext(record -> assertEquals(SyncRecordDto.Type.UPSERT, record.getType()))
+                .assertNext(record -> assertEquals(SyncRecordDto.Type.WATERMARK, record.getType()))
+                .verifyComplete();
+    }
+}
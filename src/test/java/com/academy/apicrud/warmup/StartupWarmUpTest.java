@@ -0,0 +1,251 @@
+package com.academy.apicrud.warmup;
+
+import com.academy.apicrud.config.MedicoRouterConfig;
+import com.academy.apicrud.controller.MedicoController;
+import com.academy.apicrud.exception.GlobalExceptionHandler;
+import com.academy.apicrud.handler.GlobalErrorFilter;
+import com.academy.apicrud.handler.MedicoHandler;
+import com.academy.apicrud.json.CachingJackson2JsonEncoder;
+import com.academy.apicrud.model.domain.Especialidad;
+import com.academy.apicrud.model.dto.MedicoDto;
+import com.academy.apicrud.model.dto.PageResponseDto;
+import com.academy.apicrud.repository.MedicoCursorRepository;
+import com.academy.apicrud.repository.MedicoRepository;
+import com.academy.apicrud.routing.ReadWriteRoutingConnectionFactory;
+import com.academy.apicrud.service.EspecialidadService;
+import com.academy.apicrud.service.MedicoService;
+import com.academy.apicrud.util.LogSampler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Epic("Arranque")
+@Feature("Calentamiento")
+public class StartupWarmUpTest {
+
+    private ConnectionPool pool;
+    private ConnectionPool replicaPool;
+    private final Set<String> subscribed = ConcurrentHashMap.newKeySet();
+    private MedicoRepository medicoRepository;
+    private EspecialidadService especialidadService;
+    private MedicoService medicoService;
+    private SimpleMeterRegistry meterRegistry;
+    private final CachingJackson2JsonEncoder jsonEncoder = new CachingJackson2JsonEncoder(new ObjectMapper());
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get("r2dbc:h2:mem:///warmup"))
+                .initialSize(3)
+                .maxSize(5)
+                .build());
+        replicaPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get("r2dbc:h2:mem:///warmup_replica"))
+                .initialSize(2)
+                .maxSize(5)
+                .build());
+        medicoRepository = mock(MedicoRepository.class, empty());
+        especialidadService = mock(EspecialidadService.class);
+        medicoService = mock(MedicoService.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        Especialidad especialidad = new Especialidad();
+        especialidad.setId(7L);
+        when(especialidadService.getAllEspecialidades()).thenReturn(Flux.just(especialidad));
+        when(medicoService.getMedicosPaginados(any(), any(), any())).thenReturn(Mono.just(PageResponseDto.<MedicoDto>builder()
+                .content(List.of(new MedicoDto(1L, "Dr. Uno", 7L)))
+                .pageSize(10)
+                .first(true)
+                .last(true)
+                .build()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.dispose();
+        replicaPool.dispose();
+    }
+
+    // Cada consulta del repositorio responde vacía y anota su firma cuando el calentamiento se suscribe
+    private Answer<Object> empty() {
+        return invocation -> {
+            String signature = signature(invocation.getMethod());
+            return Flux.class.equals(invocation.getMethod().getReturnType())
+                    ? Flux.empty().doOnSubscribe(subscription -> subscribed.add(signature))
+                    : Mono.empty().doOnSubscribe(subscription -> subscribed.add(signature));
+        };
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    private StartupWarmUp warmUp(Duration maxDuration) {
+        // Pool bajo el proxy de r2dbc-proxy, como la ConnectionFactory monitorizada de la aplicación
+        ConnectionFactory monitored = ProxyConnectionFactory.builder(pool).build();
+        return new StartupWarmUp(monitored, medicoRepository, especialidadService, medicoService,
+                jsonEncoder, maxDuration, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Ejecuta cada consulta del repositorio de médicos")
+    @Story("Consultas")
+    @Description("Debe ejecutar todos los métodos declarados en MedicoRepository y MedicoCursorRepository; falla si primeQueries omite alguno o no se suscribe a él")
+    public void run_InvokesEveryMedicoRepositoryQuery() {
+        // Arrange
+        StartupWarmUp startupWarmUp = warmUp(Duration.ofSeconds(10));
+
+        // Act
+        startupWarmUp.run(null);
+
+        // Assert
+        List<String> declared = Stream.of(MedicoRepository.class, MedicoCursorRepository.class)
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                .map(StartupWarmUpTest::signature)
+                .collect(Collectors.toList());
+        assertTrue(subscribed.containsAll(declared), "Sin calentar: " + declared.stream()
+                .filter(signature -> !subscribed.contains(signature))
+                .collect(Collectors.toList()));
+        verify(medicoRepository).findByEspecialidadIdAndNombreOrderByIdAsc(7L, null, 1, 0);
+    }
+
+    @Test
+    @DisplayName("Abre los pools del primario y de la réplica")
+    @Story("Pool y métricas")
+    @Description("Con réplica de lectura debe abrir las conexiones iniciales de cada pool detrás del enrutador")
+    public void run_OpensEveryPoolBehindReadReplicaRouter() {
+        // Arrange
+        ReadWriteRoutingConnectionFactory router = new ReadWriteRoutingConnectionFactory(
+                ProxyConnectionFactory.builder(pool).build(), ProxyConnectionFactory.builder(replicaPool).build(), meterRegistry);
+        StartupWarmUp startupWarmUp = new StartupWarmUp(router, medicoRepository, especialidadService, medicoService,
+                jsonEncoder, Duration.ofSeconds(10), meterRegistry);
+
+        // Act
+        startupWarmUp.run(null);
+
+        // Assert
+        assertEquals(3, pool.getMetrics().orElseThrow().allocatedSize());
+        assertEquals(2, replicaPool.getMetrics().orElseThrow().allocatedSize());
+    }
+
+    @Test
+    @DisplayName("Llena la cache de writers del codificador JSON")
+    @Story("Serialización")
+    @Description("Las respuestas de los controladores y de las rutas funcionales deben reutilizar los writers creados en el calentamiento")
+    public void run_WarmsEncoderWritersForEndpointResponses() {
+        // Arrange
+        MedicoDto medico = new MedicoDto(1L, "Dr. Uno", 7L);
+        when(medicoService.getAllMedicos()).thenReturn(Flux.just(medico));
+        when(medicoService.getMedicoById(1L)).thenReturn(Mono.just(medico));
+        LogSampler logSampler = new LogSampler(100);
+        WebTestClient annotatedClient = WebTestClient.bindToController(new MedicoController(medicoService, logSampler))
+                .httpMessageCodecs(configurer -> configurer.defaultCodecs().jackson2JsonEncoder(jsonEncoder))
+                .build();
+        WebTestClient functionalClient = WebTestClient.bindToRouterFunction(new MedicoRouterConfig().medicoRoutes(
+                        new MedicoHandler(medicoService, logSampler), new GlobalErrorFilter(new GlobalExceptionHandler())))
+                .handlerStrategies(HandlerStrategies.builder()
+                        .codecs(configurer -> configurer.defaultCodecs().jackson2JsonEncoder(jsonEncoder))
+                        .build())
+                .build();
+        StartupWarmUp startupWarmUp = warmUp(Duration.ofSeconds(10));
+
+        // Act
+        startupWarmUp.run(null);
+        int warmed = jsonEncoder.cachedWriters();
+        for (WebTestClient client : List.of(annotatedClient, functionalClient)) {
+            for (String uri : List.of("/api/medicos", "/api/medicos/page", "/api/medicos/1")) {
+                client.get().uri(uri).exchange().expectStatus().isOk();
+            }
+        }
+
+        // Assert
+        assertEquals(6, warmed);
+        assertEquals(warmed, jsonEncoder.cachedWriters());
+    }
+
+    @Test
+    @DisplayName("Abre el pool y registra la duración")
+    @Story("Pool y métricas")
+    @Description("Debe abrir las conexiones iniciales del pool, cargar la primera página y registrar el timer con resultado completed")
+    public void run_OpensPoolAndRecordsDuration() {
+        // Arrange
+        StartupWarmUp startupWarmUp = warmUp(Duration.ofSeconds(10));
+
+        // Act
+        startupWarmUp.run(null);
+
+        // Assert
+        assertEquals(3, pool.getMetrics().orElseThrow().allocatedSize());
+        verify(medicoService).getMedicosPaginados(null, null, StartupWarmUp.FIRST_PAGE);
+        Timer timer = meterRegistry.find(StartupWarmUp.METRIC).tag("result", "completed").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Tiempo máximo agotado sin fallar el arranque")
+    @Story("Límites")
+    @Description("Debe interrumpir el calentamiento al superar maxDuration y registrar el resultado timeout")
+    public void run_StopsAfterMaxDuration() {
+        // Arrange
+        when(medicoService.getMedicosPaginados(any(), any(), any())).thenReturn(Mono.never());
+        StartupWarmUp startupWarmUp = warmUp(Duration.ofMillis(200));
+
+        // Act
+        startupWarmUp.run(null);
+
+        // Assert
+        assertNotNull(meterRegistry.find(StartupWarmUp.METRIC).tag("result", "timeout").timer());
+    }
+
+    @Test
+    @DisplayName("Error sin fallar el arranque")
+    @Story("Límites")
+    @Description("Debe registrar el resultado failed cuando falla una consulta y terminar sin lanzar la excepción")
+    public void run_FailureDoesNotFailStartup() {
+        // Arrange
+        when(especialidadService.getAllEspecialidades()).thenReturn(Flux.error(new IllegalStateException("Sin conexión")));
+        StartupWarmUp startupWarmUp = warmUp(Duration.ofSeconds(10));
+
+        // Act
+        startupWarmUp.run(null);
+
+        // Assert
+        assertNotNull(meterRegistry.find(StartupWarmUp.METRIC).tag("result", "failed").timer());
+    }
+}
@@ -0,0 +1,42 @@
+-- Esquema equivalente al de db_apolo para la prueba de carga
+DROP TABLE IF EXISTS tombstone;
+DROP TABLE IF EXISTS medico_change;
+DROP TABLE IF EXISTS medico;
+DROP TABLE IF EXISTS especialidad;
+
+CREATE TABLE especialidad (
+    id BIGSERIAL PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE medico (
+    id BIGSERIAL PRIMARY KEY,
+    nombre VARCHAR(150) NOT NULL,
+    especialidad_id BIGINT REFERENCES especialidad (id),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_medico_nombre ON medico (nombre, id);
+CREATE INDEX idx_medico_especialidad_id ON medico (especialidad_id, id);
+CREATE INDEX idx_medico_especialidad_nombre ON medico (especialidad_id, nombre, id);
+CREATE INDEX idx_medico_updated_at ON medico (updated_at, id);
+CREATE INDEX idx_especialidad_updated_at ON especialidad (updated_at, id);
+
+CREATE TABLE medico_change (
+    id BIGSERIAL PRIMARY KEY,
+    medico_id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_medico_change_changed_at ON medico_change (changed_at);
+
+CREATE TABLE tombstone (
+    id BIGSERIAL PRIMARY KEY,
+    entity VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_tombstone_deleted_at ON tombstone (deleted_at);